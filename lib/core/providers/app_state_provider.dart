@@ -95,6 +95,21 @@ class AppStateProvider extends ChangeNotifier {
     }
   }
 
+  // Tam profili (ad, soyad vb.) yalnızca ihtiyaç duyulduğunda yükle
+  Future<bool> loadProfile() async {
+    if (_token == null) {
+      return false;
+    }
+    final response = await ApiService.getProfile(token: _token!);
+    if (response['success'] == true && response['data'] is Map<String, dynamic>) {
+      _userData = response['data'];
+      notifyListeners();
+      return true;
+    }
+    print('⚠️ Profil yüklenemedi: ${response['message']}');
+    return false;
+  }
+
   // Çıkış işlemi
   void logout() {
     _isLoggedIn = false;
@@ -13,6 +13,7 @@ class ApiService {
     required String email,
     required String password,
     required String role, // WHOLESALER veya RETAILER
+    String? verificationTicket, // /verification/verify yanıtındaki bilet
   }) async {
     try {
       final response = await http.post(
@@ -26,6 +27,7 @@ class ApiService {
           'email': email,
           'password': password,
           'role': role,
+          if (verificationTicket != null) 'verificationTicket': verificationTicket,
         }),
       );
 
@@ -408,6 +410,85 @@ class ApiService {
     }
   }
   
+  // Giriş yapmış kullanıcının tam profili (giriş yanıtı yalnızca id, email, role ve paymentStatus içerir)
+  static Future<Map<String, dynamic>> getProfile({
+    required String token,
+  }) async {
+    try {
+      final response = await http.get(
+        Uri.parse('$baseUrl/users/me'),
+        headers: {
+          'Content-Type': 'application/json',
+          'Authorization': 'Bearer $token',
+        },
+      );
+
+      final responseData = jsonDecode(response.body);
+      
+      if (response.statusCode == 200) {
+        return {
+          'success': true,
+          'message': responseData['message'] ?? 'Kullanıcı profili alındı',
+          'data': responseData['data'],
+        };
+      } else {
+        return {
+          'success': false,
+          'message': responseData['message'] ?? 'Kullanıcı profili alınamadı',
+          'data': null,
+        };
+      }
+    } catch (e) {
+      return {
+        'success': false,
+        'message': 'Bağlantı hatası: $e',
+        'data': null,
+      };
+    }
+  }
+  
+  // Ürün araması (son kelime önek olarak aranır; data.items skora göre sıralı ürün ve skor listesidir)
+  static Future<Map<String, dynamic>> searchProducts({
+    required String token,
+    required String query,
+    int limit = 20,
+  }) async {
+    try {
+      final response = await http.get(
+        Uri.parse('$baseUrl/catalog/search').replace(queryParameters: {
+          'q': query,
+          'limit': '$limit',
+        }),
+        headers: {
+          'Content-Type': 'application/json',
+          'Authorization': 'Bearer $token',
+        },
+      );
+
+      final responseData = jsonDecode(response.body);
+
+      if (response.statusCode == 200) {
+        return {
+          'success': true,
+          'message': responseData['message'] ?? 'Arama tamamlandı',
+          'data': responseData['data'],
+        };
+      } else {
+        return {
+          'success': false,
+          'message': responseData['message'] ?? 'Arama yapılamadı',
+          'data': null,
+        };
+      }
+    } catch (e) {
+      return {
+        'success': false,
+        'message': 'Bağlantı hatası: $e',
+        'data': null,
+      };
+    }
+  }
+
   // Doğrulama ve kayıt sonrası otomatik giriş
   static Future<Map<String, dynamic>> completeRegistrationAndLogin({
     required String firstName,
@@ -415,6 +496,7 @@ class ApiService {
     required String email,
     required String password,
     required String role,
+    String? verificationTicket,
   }) async {
     try {
       // 1. Kayıt işlemini tamamla
@@ -424,6 +506,7 @@ class ApiService {
         email: email,
         password: password,
         role: role,
+        verificationTicket: verificationTicket,
       );
       
       if (!registerResponse['success']) {
@@ -121,7 +121,10 @@ class _VerificationCodePageState extends State<VerificationCodePage> {
           });
 
           // Doğrulama başarılı, doğrudan kayıt işlemini tamamla
-          _completeRegistration();
+          final data = response['data'];
+          _completeRegistration(
+            verificationTicket: data is Map ? data['verificationTicket'] as String? : null,
+          );
         } else {
           setState(() {
             _errorMessage = response['message'];
@@ -187,25 +190,27 @@ class _VerificationCodePageState extends State<VerificationCodePage> {
 
   // Ödeme sayfası geçici olarak kaldırıldı
 
-  Future<void> _completeRegistration() async {
+  Future<void> _completeRegistration({String? verificationTicket}) async {
     setState(() {
       _isLoading = true;
       _errorMessage = null; // Önceki hata mesajlarını temizle
     });
 
     try {
-      // Önce e-posta doğrulama durumunu kontrol et
-      final verificationStatus = await ApiService.checkVerificationStatus(
-        email: widget.email,
-      );
-      
-      if (!verificationStatus['success'] || verificationStatus['data'] == false) {
-        // Doğrulama başarısız
-        setState(() {
-          _isLoading = false;
-          _errorMessage = 'E-posta adresiniz doğrulanmamış. Lütfen doğrulama kodunu tekrar kontrol edin.';
-        });
-        return;
+      // Bilet yoksa önce e-posta doğrulama durumunu kontrol et (bilet sunucuda ayrıca doğrulanır)
+      if (verificationTicket == null) {
+        final verificationStatus = await ApiService.checkVerificationStatus(
+          email: widget.email,
+        );
+
+        if (!verificationStatus['success'] || verificationStatus['data'] == false) {
+          // Doğrulama başarısız
+          setState(() {
+            _isLoading = false;
+            _errorMessage = 'E-posta adresiniz doğrulanmamış. Lütfen doğrulama kodunu tekrar kontrol edin.';
+          });
+          return;
+        }
       }
 
       // Kayıt ve otomatik giriş işlemini tek seferde yap
@@ -215,6 +220,7 @@ class _VerificationCodePageState extends State<VerificationCodePage> {
         email: widget.email,
         password: widget.password,
         role: widget.role.name,
+        verificationTicket: verificationTicket,
       );
 
       if (mounted) {
@@ -0,0 +1,53 @@
+package com.example.toptanstreet_backend.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kayıt (encode) ve giriş (matches) yollarındaki BCrypt maliyetini farklı strength
+ * değerleri için ölçer. app.password-hashing.* ayarlarının seçiminde referans alınır.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordEncodingBenchmark {
+
+	private static final String PASSWORD = "Toptan.Street-2025!";
+
+	@Param({"4", "8", "10", "12"})
+	private int strength;
+
+	private AdaptiveBCryptPasswordEncoder encoder;
+	private String encoded;
+
+	@Setup
+	public void setUp() {
+		encoder = AdaptiveBCryptPasswordEncoder.fixed(strength);
+		encoded = encoder.encode(PASSWORD);
+	}
+
+	@Benchmark
+	public String encode() {
+		return encoder.encode(PASSWORD);
+	}
+
+	@Benchmark
+	public boolean matches() {
+		return encoder.matches(PASSWORD, encoded);
+	}
+
+}
@@ -0,0 +1,60 @@
+package com.example.toptanstreet_backend.service;
+
+import com.example.toptanstreet_backend.dto.JwtPrincipal;
+import com.example.toptanstreet_backend.model.User;
+import com.example.toptanstreet_backend.model.UserRole;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Her istekte çalışan JWT doğrulamasının önbellekli ve önbelleksiz (max-size 0) maliyeti.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+	private static final String SECRET = "benchmark_secret_key_for_toptanstreet_jwt_service_0123456789";
+
+	private JwtService cached;
+	private JwtService uncached;
+	private String token;
+
+	@Setup
+	public void setUp() {
+		cached = new JwtService(new SimpleMeterRegistry(), SECRET, 3_600_000, 10_000, 300_000);
+		uncached = new JwtService(new SimpleMeterRegistry(), SECRET, 3_600_000, 0, 300_000);
+
+		User user = new User();
+		user.setId(42L);
+		user.setEmail("magaza@toptanstreet.test");
+		user.setRole(UserRole.RETAILER);
+		token = cached.generateToken(user);
+	}
+
+	@Benchmark
+	public Optional<JwtPrincipal> verifyCached() {
+		return cached.verify(token);
+	}
+
+	@Benchmark
+	public Optional<JwtPrincipal> verifyUncached() {
+		return uncached.verify(token);
+	}
+
+}
@@ -0,0 +1,160 @@
+package com.example.toptanstreet_backend.service;
+
+import ch.qos.logback.classic.LoggerContext;
+import com.example.toptanstreet_backend.dto.LoginCredentials;
+import com.example.toptanstreet_backend.dto.LoginRequest;
+import com.example.toptanstreet_backend.model.User;
+import com.example.toptanstreet_backend.model.UserRole;
+import com.example.toptanstreet_backend.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.logging.LogFile;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingInitializationContext;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Giriş yolunda loglamanın istek başına maliyeti. BCrypt ve veritabanı sabit yanıt veren
+ * stub'larla değiştirilir; geriye AuthService.login'in kendi işi, JWT üretimi ve loglama kalır.
+ * <ul>
+ *   <li>legacy: Spring Boot varsayılan (senkron) konsol + dosya appender'ları ve eski
+ *       System.out satırları</li>
+ *   <li>async: logback-spring.xml (halka tamponlu asenkron appender, JSON dosya çıktısı)</li>
+ * </ul>
+ * Konsol çıktısı target/jmh-logs altındaki bir dosyaya yönlendirilir.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class LoginLoggingBenchmark {
+
+	private static final Path LOG_DIR = Path.of("target", "jmh-logs");
+
+	@Param({"legacy", "async"})
+	private String pipeline;
+
+	@Param({"INFO", "DEBUG"})
+	private String level;
+
+	private PrintStream originalOut;
+	private LoggingSystem loggingSystem;
+	private PasswordHashingService hashingService;
+	private AuthService authService;
+	private LoginRequest request;
+	private User user;
+
+	@Setup
+	public void setUp() throws IOException {
+		Files.createDirectories(LOG_DIR);
+		originalOut = System.out;
+		System.setOut(new PrintStream(new FileOutputStream(LOG_DIR.resolve(pipeline + "-stdout.log").toFile()), true));
+
+		StandardEnvironment environment = new StandardEnvironment();
+		environment.getPropertySources().addFirst(new MapPropertySource("benchmark",
+				Map.of("logging.file.name", LOG_DIR.resolve(pipeline + ".log").toString())));
+		loggingSystem = LoggingSystem.get(getClass().getClassLoader());
+		loggingSystem.beforeInitialize();
+		loggingSystem.initialize(new LoggingInitializationContext(environment),
+				pipeline.equals("async") ? "classpath:logback-spring.xml" : null, LogFile.get(environment));
+		loggingSystem.setLogLevel("com.example.toptanstreet_backend", LogLevel.valueOf(level));
+
+		user = new User();
+		user.setId(42L);
+		user.setEmail("magaza@toptanstreet.test");
+		user.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z2Z1Fv5dS1tZLQ3rYzEw9rZe");
+		user.setRole(UserRole.RETAILER);
+		user.setPaymentStatus(true);
+		request = new LoginRequest(user.getEmail(), "Toptan.Street-2025!");
+		LoginCredentials credentials = new LoginCredentials(user.getId(), user.getPassword(), user.getRole(), user.getPaymentStatus());
+
+		// Mockito stub'ları çağrı başına yığın taraması yaptığından elle yazılmış sabit yanıtlar kullanılır
+		UserRepository userRepository = (UserRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+				new Class<?>[]{UserRepository.class}, (proxy, method, args) -> {
+					if (method.getName().equals("findLoginCredentialsByEmail")) {
+						return Optional.of(credentials);
+					}
+					throw new UnsupportedOperationException(method.getName());
+				});
+		hashingService = new PasswordHashingService(NoOpPasswordEncoder.getInstance(), new SimpleMeterRegistry(), Tracer.NOOP, 1, 1, 1) {
+			@Override
+			public boolean matches(CharSequence rawPassword, String encodedPassword) {
+				return true;
+			}
+
+			@Override
+			public Optional<String> rehashIfNeeded(CharSequence rawPassword, String encodedPassword) {
+				return Optional.empty();
+			}
+		};
+		JwtService jwtService = new JwtService(new SimpleMeterRegistry(),
+				"benchmark_secret_key_for_toptanstreet_jwt_service_0123456789", 3_600_000, 0, 300_000);
+		// Filtre kapalıyken her e-posta "kayıtlı olabilir" kabul edilir
+		RegisteredEmailFilter registeredEmailFilter = new RegisteredEmailFilter(userRepository, null,
+				new SimpleMeterRegistry(), false, false, 1_000, 0.01);
+
+		authService = new AuthService(userRepository, hashingService, jwtService, registeredEmailFilter);
+	}
+
+	@TearDown
+	public void tearDown() {
+		((LoggerContext) LoggerFactory.getILoggerFactory()).stop();
+		loggingSystem.cleanUp();
+		hashingService.destroy();
+		System.out.close();
+		System.setOut(originalOut);
+	}
+
+	@Benchmark
+	public Map<String, Object> login() {
+		if (pipeline.equals("legacy")) {
+			legacyConsoleOutput();
+		}
+		return authService.login(request);
+	}
+
+	/**
+	 * Başarılı bir girişte AuthService'in eskiden System.out'a yazdığı satırlar
+	 */
+	private void legacyConsoleOutput() {
+		System.out.println("\n\n🔑 🔑 🔑 GİRİŞ DENEMESİ: " + request.getEmail() + " 🔑 🔑 🔑\n");
+		System.out.println("✅ Kullanıcı bulundu: ID=" + user.getId() + ", Email=" + user.getEmail() + ", Role=" + user.getRole());
+		System.out.println("🔐 ŞİFRE DOĞRULAMA İŞLEMİ BAŞLATILDI");
+		System.out.println("🔐 Girişte kullanıcının girdiği şifre: " + request.getPassword());
+		System.out.println("🔐 Veritabanındaki hash: " + user.getPassword());
+		System.out.println("🔐 Karşılaştırma sonucu: " + true);
+		System.out.println("✅ ŞİFRE DOĞRULAMASI BAŞARILI!");
+	}
+
+}
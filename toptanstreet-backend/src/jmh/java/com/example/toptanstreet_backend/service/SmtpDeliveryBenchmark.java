@@ -0,0 +1,99 @@
+package com.example.toptanstreet_backend.service;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import com.example.toptanstreet_backend.model.MailTemplateType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outbox dispatcher'ın bir batch'i gönderme maliyeti: havuzdaki SMTP bağlantılarını yeniden
+ * kullanan SmtpConnectionPool ile her mesaj için bağlantı açan JavaMailSenderImpl.send.
+ * Yerel GreenMail sunucusu kullanılır, ağ gerektirmez.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SmtpDeliveryBenchmark {
+
+	@Param({"1", "20"})
+	private int batchSize;
+
+	private GreenMail greenMail;
+	private JavaMailSenderImpl mailSender;
+	private SmtpConnectionPool pool;
+	private MailTemplateEngine mailTemplateEngine;
+
+	@Setup
+	public void setUp() {
+		greenMail = new GreenMail(new ServerSetup(0, "127.0.0.1", ServerSetup.PROTOCOL_SMTP));
+		greenMail.start();
+		mailSender = new JavaMailSenderImpl();
+		mailSender.setHost("127.0.0.1");
+		mailSender.setPort(greenMail.getSmtp().getPort());
+		pool = new SmtpConnectionPool(mailSender, new SimpleMeterRegistry(), Tracer.NOOP, 4, 100, 60_000, 15_000, 5_000);
+		mailTemplateEngine = new MailTemplateEngine(List.of("tr", "en"), "tr");
+	}
+
+	@TearDown(Level.Iteration)
+	public void purge() throws Exception {
+		greenMail.purgeEmailFromAllMailboxes();
+	}
+
+	@TearDown
+	public void tearDown() {
+		pool.destroy();
+		greenMail.stop();
+	}
+
+	@Benchmark
+	public Map<Integer, MessagingException> pooled() throws MessagingException {
+		return pool.sendBatch(batch());
+	}
+
+	@Benchmark
+	public int connectionPerMessage() throws MessagingException {
+		List<MimeMessage> messages = batch();
+		for (MimeMessage message : messages) {
+			mailSender.send(message);
+		}
+		return messages.size();
+	}
+
+	private List<MimeMessage> batch() throws MessagingException {
+		Map<String, String> fields = Map.of("code", "482915", "expiryMinutes", "15");
+		String subject = mailTemplateEngine.renderSubject(MailTemplateType.VERIFICATION_CODE, Locale.forLanguageTag("tr"), fields);
+		List<MimeMessage> messages = new ArrayList<>(batchSize);
+		for (int i = 0; i < batchSize; i++) {
+			messages.add(mailTemplateEngine.createMessage(mailSender.getSession(), "noreply@toptanstreet.test",
+					"user" + i + "@toptanstreet.test", subject, MailTemplateType.VERIFICATION_CODE, Locale.forLanguageTag("tr"), fields));
+		}
+		return messages;
+	}
+
+}
@@ -0,0 +1,55 @@
+package com.example.toptanstreet_backend.service;
+
+import com.example.toptanstreet_backend.model.MailTemplateType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Doğrulama kodu üretimi ve doğrulama e-postası HTML'inin şablondan oluşturulması.
+ * Servisler repository/outbox bağımlılıkları olmadan kurulur; yalnızca CPU tarafı ölçülür.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VerificationBenchmark {
+
+	private VerificationService verificationService;
+	private MailTemplateEngine mailTemplateEngine;
+
+	@Setup
+	public void setUp() {
+		verificationService = new VerificationService(null, null, new SimpleMeterRegistry(), null);
+		ReflectionTestUtils.setField(verificationService, "codeLength", 6);
+		mailTemplateEngine = new MailTemplateEngine(List.of("tr", "en"), "tr");
+	}
+
+	@Benchmark
+	public String generateRandomCode() {
+		return verificationService.generateRandomCode();
+	}
+
+	@Benchmark
+	public String renderVerificationHtml() {
+		return mailTemplateEngine.renderHtml(MailTemplateType.VERIFICATION_CODE, Locale.forLanguageTag("tr"),
+				Map.of("code", "482915", "expiryMinutes", "15"));
+	}
+
+}
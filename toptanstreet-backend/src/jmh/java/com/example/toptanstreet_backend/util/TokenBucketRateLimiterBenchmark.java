@@ -0,0 +1,107 @@
+package com.example.toptanstreet_backend.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RateLimitFilter'ın her istekte yaptığı tryAcquire çağrısı; tek anahtar üzerinde çekişme
+ * (aynı IP'den yoğun istek) ve dağınık anahtarlar (farklı kullanıcılar) senaryoları.
+ * <p>
+ * Kural saniyede 10^9 token verir (1 ns yayım aralığı), yani kova hiç boşalmaz ve her çağrı
+ * CAS ile güncelleme yapar; sınır aşıldığında izlenen salt okunur ret yolu ölçülmez.
+ * Çekişmenin thread sayısıyla değişimi 1/8/32/64 thread'li ayrı benchmark'larla görülür.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenBucketRateLimiterBenchmark {
+
+	private static final int KEY_COUNT = 10_000;
+
+	private TokenBucketRateLimiter limiter;
+	private TokenBucketRateLimiter.Rule rule;
+	private String[] keys;
+
+	@Setup
+	public void setUp() {
+		limiter = new TokenBucketRateLimiter(Duration.ofMinutes(10), 100_000);
+		rule = new TokenBucketRateLimiter.Rule(1_000_000_000, Duration.ofSeconds(1));
+		keys = new String[KEY_COUNT];
+		for (int i = 0; i < KEY_COUNT; i++) {
+			keys[i] = "ip:10.0." + (i >> 8) + "." + (i & 0xff);
+		}
+	}
+
+	@Benchmark
+	@Threads(1)
+	public long hotKey1() {
+		return hotKey();
+	}
+
+	@Benchmark
+	@Threads(8)
+	public long hotKey8() {
+		return hotKey();
+	}
+
+	@Benchmark
+	@Threads(32)
+	public long hotKey32() {
+		return hotKey();
+	}
+
+	@Benchmark
+	@Threads(64)
+	public long hotKey64() {
+		return hotKey();
+	}
+
+	@Benchmark
+	@Threads(1)
+	public long spreadKeys1() {
+		return spreadKeys();
+	}
+
+	@Benchmark
+	@Threads(8)
+	public long spreadKeys8() {
+		return spreadKeys();
+	}
+
+	@Benchmark
+	@Threads(32)
+	public long spreadKeys32() {
+		return spreadKeys();
+	}
+
+	@Benchmark
+	@Threads(64)
+	public long spreadKeys64() {
+		return spreadKeys();
+	}
+
+	private long hotKey() {
+		return limiter.tryAcquire(keys[0], rule);
+	}
+
+	private long spreadKeys() {
+		return limiter.tryAcquire(keys[ThreadLocalRandom.current().nextInt(KEY_COUNT)], rule);
+	}
+
+}
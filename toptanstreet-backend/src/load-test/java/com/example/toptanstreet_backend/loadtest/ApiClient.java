@@ -0,0 +1,221 @@
+package com.example.toptanstreet_backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+/**
+ * Uygulamanın REST API'sine JSON istekleri gönderir ve her çağrıyı endpoint bazında kaydeder.
+ * Başarı: 2xx yanıt ve ApiResponse.success == true.
+ */
+class ApiClient {
+
+	private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+	private final String baseUrl;
+	private final ObjectMapper objectMapper;
+	private final String opsToken;
+	private final HttpClient httpClient;
+	private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+	private volatile boolean recording;
+
+	/**
+	 * @param opsToken Ölçüme katılmayan metrik ve döküm isteklerinde X-Ops-Token olarak gönderilir
+	 */
+	ApiClient(String baseUrl, ObjectMapper objectMapper, String opsToken) {
+		this.baseUrl = baseUrl;
+		this.objectMapper = objectMapper;
+		this.opsToken = opsToken;
+		this.httpClient = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(Duration.ofSeconds(5))
+				.executor(Executors.newVirtualThreadPerTaskExecutor())
+				.build();
+	}
+
+	/**
+	 * @return Başarılı ise yanıttaki "data" alanı, aksi halde null
+	 */
+	JsonNode post(String path, Object body) throws InterruptedException {
+		HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+				.timeout(REQUEST_TIMEOUT)
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofByteArray(toJson(body)))
+				.build();
+
+		long start = System.nanoTime();
+		String outcome;
+		JsonNode data = null;
+		boolean success = false;
+		try {
+			HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+			outcome = String.valueOf(response.statusCode());
+			if (response.statusCode() / 100 == 2) {
+				JsonNode json = objectMapper.readTree(response.body());
+				success = json.path("success").asBoolean(false);
+				data = json.path("data");
+			}
+		} catch (HttpTimeoutException e) {
+			outcome = "timeout";
+		} catch (IOException e) {
+			outcome = e.getClass().getSimpleName();
+		}
+		record("POST " + path, System.nanoTime() - start, outcome, success);
+		return success ? data : null;
+	}
+
+	/**
+	 * @param name Kayıtta kullanılacak endpoint adı (sorgu parametreleri olmadan)
+	 * @return Başarılı ise yanıttaki "data" alanı, aksi halde null
+	 */
+	JsonNode get(String path, String name) throws InterruptedException {
+		HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+				.timeout(REQUEST_TIMEOUT)
+				.GET()
+				.build();
+
+		long start = System.nanoTime();
+		String outcome;
+		JsonNode data = null;
+		boolean success = false;
+		try {
+			HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+			outcome = String.valueOf(response.statusCode());
+			if (response.statusCode() / 100 == 2) {
+				JsonNode json = objectMapper.readTree(response.body());
+				success = json.path("success").asBoolean(false);
+				data = json.path("data");
+			}
+		} catch (HttpTimeoutException e) {
+			outcome = "timeout";
+		} catch (IOException e) {
+			outcome = e.getClass().getSimpleName();
+		}
+		record("GET " + name, System.nanoTime() - start, outcome, success);
+		return success ? data : null;
+	}
+
+	/**
+	 * Server-Sent Events akışını verilen olay gelene, akış kapanana veya süre dolana kadar okur.
+	 * Kayıt süresi bağlantının açık kaldığı süredir.
+	 *
+	 * @return Beklenen olay geldiyse true
+	 */
+	boolean awaitEvent(String path, String name, String event, Duration timeout) throws InterruptedException {
+		HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+				.timeout(timeout)
+				.header("Accept", "text/event-stream")
+				.GET()
+				.build();
+
+		long start = System.nanoTime();
+		String outcome;
+		boolean received = false;
+		try {
+			HttpResponse<Stream<String>> response = httpClient.send(request, HttpResponse.BodyHandlers.ofLines());
+			outcome = String.valueOf(response.statusCode());
+			try (Stream<String> lines = response.body()) {
+				Iterator<String> iterator = lines.iterator();
+				while (!received && iterator.hasNext()) {
+					String line = iterator.next();
+					received = line.startsWith("event:") && line.substring(6).trim().equals(event);
+				}
+			}
+			if (response.statusCode() == 200 && !received) {
+				outcome = "closed";
+			}
+		} catch (HttpTimeoutException e) {
+			outcome = "timeout";
+		} catch (IOException | UncheckedIOException e) {
+			outcome = e.getClass().getSimpleName();
+		}
+		record("GET " + name, System.nanoTime() - start, outcome, received);
+		return received;
+	}
+
+	/**
+	 * Prometheus çıktısından bir sayacın değerini okur (ölçüme katılmaz)
+	 *
+	 * @param metric Prometheus adı, ör. verification_status_lookups_total
+	 * @param label  Satırda bulunması gereken etiket, ör. source="database"
+	 * @return Sayaç değeri; satır yoksa 0
+	 */
+	double scrapeCounter(String metric, String label) throws IOException, InterruptedException {
+		HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/prometheus"))
+				.timeout(REQUEST_TIMEOUT)
+				.header("X-Ops-Token", opsToken)
+				.GET()
+				.build();
+		HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+		if (response.statusCode() != 200) {
+			throw new IOException("/actuator/prometheus için HTTP " + response.statusCode());
+		}
+		for (String line : response.body().split("\n")) {
+			if (line.startsWith(metric + "{") && line.contains(label)) {
+				return Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1));
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Ölçüme katmadan bir GET yanıtını dosyaya yazar
+	 */
+	void download(String path, Path target) throws IOException, InterruptedException {
+		HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+				.timeout(REQUEST_TIMEOUT)
+				.header("X-Ops-Token", opsToken)
+				.GET()
+				.build();
+		HttpResponse<Path> response = httpClient.send(request, HttpResponse.BodyHandlers.ofFile(target));
+		if (response.statusCode() != 200) {
+			throw new IOException(path + " için HTTP " + response.statusCode());
+		}
+	}
+
+	void record(String endpoint, long elapsedNanos, String outcome, boolean success) {
+		if (recording) {
+			stats.computeIfAbsent(endpoint, EndpointStats::new).record(elapsedNanos, outcome, success);
+		}
+	}
+
+	/**
+	 * Ölçümü başlatır; ısınma ve hesap hazırlama sırasında yapılan istekler sayılmaz
+	 */
+	void startRecording() {
+		stats.values().forEach(EndpointStats::reset);
+		recording = true;
+	}
+
+	void stopRecording() {
+		recording = false;
+	}
+
+	Map<String, EndpointStats> getStats() {
+		return stats;
+	}
+
+	private byte[] toJson(Object body) {
+		try {
+			return objectMapper.writeValueAsBytes(body);
+		} catch (IOException e) {
+			throw new IllegalArgumentException("İstek gövdesi JSON'a dönüştürülemedi", e);
+		}
+	}
+
+}
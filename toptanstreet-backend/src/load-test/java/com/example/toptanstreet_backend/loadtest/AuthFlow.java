@@ -0,0 +1,174 @@
+package com.example.toptanstreet_backend.loadtest;
+
+import com.example.toptanstreet_backend.dto.LoginRequest;
+import com.example.toptanstreet_backend.dto.RegisterRequest;
+import com.example.toptanstreet_backend.dto.SendVerificationRequest;
+import com.example.toptanstreet_backend.dto.VerifyCodeRequest;
+import com.example.toptanstreet_backend.model.UserRole;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sanal kullanıcıların çalıştırdığı senaryolar. Kayıt akışı mobil uygulamanın yaptığı sırayı izler:
+ * initiate-register, kodun tekrar gönderilmesi, doğrulama, kayıt ve giriş.
+ */
+class AuthFlow {
+
+	private static final String PASSWORD = "Toptan.Street-2025!";
+
+	private final ApiClient api;
+	private final Mailbox mailbox;
+	private final Duration mailTimeout;
+	private final Duration statusPollInterval;
+	private final Duration verifyDelay;
+	private final Executor watchers = Executors.newVirtualThreadPerTaskExecutor();
+	private final String runId = Long.toString(System.currentTimeMillis(), 36);
+	private final AtomicLong sequence = new AtomicLong();
+	private final List<String> registeredEmails = new CopyOnWriteArrayList<>();
+
+	AuthFlow(ApiClient api, Mailbox mailbox, LoadTestOptions options) {
+		this.api = api;
+		this.mailbox = mailbox;
+		this.mailTimeout = options.getMailTimeout();
+		this.statusPollInterval = options.getStatusPollInterval();
+		this.verifyDelay = options.getVerifyDelay();
+	}
+
+	void run(LoadTestOptions.Scenario scenario) throws InterruptedException {
+		long start = System.nanoTime();
+		boolean success = switch (scenario) {
+			case SIGNUP -> signup();
+			case LOGIN -> login();
+			case STATUS_POLL -> awaitVerification(false);
+			case STATUS_STREAM -> awaitVerification(true);
+		};
+		api.record("flow " + scenario.name().toLowerCase(), System.nanoTime() - start,
+				success ? "ok" : "failed", success);
+	}
+
+	boolean signup() throws InterruptedException {
+		String email = "lt-" + runId + "-" + sequence.incrementAndGet() + "@toptanstreet.test";
+		// Toptancı hesapları ödeme yapılana kadar giriş yapamaz; giriş senaryosu perakendeci hesaplarla koşar
+		RegisterRequest registerRequest = new RegisterRequest("Yük", "Testi", email, PASSWORD, UserRole.RETAILER, null);
+
+		try {
+			if (api.post("/api/v1/auth/initiate-register", registerRequest) == null
+					|| awaitCode(email, 1) == null
+					|| api.post("/api/v1/verification/send", new SendVerificationRequest(email)) == null) {
+				return false;
+			}
+			String code = awaitCode(email, 2);
+			if (code == null) {
+				return false;
+			}
+			JsonNode verified = api.post("/api/v1/verification/verify", new VerifyCodeRequest(email, code));
+			if (verified == null || !verified.path("verified").asBoolean(false)) {
+				return false;
+			}
+			registerRequest.setVerificationTicket(verified.path("verificationTicket").asText(null));
+			if (api.post("/api/v1/auth/register", registerRequest) == null) {
+				return false;
+			}
+			registeredEmails.add(email);
+			return api.post("/api/v1/auth/login", new LoginRequest(email, PASSWORD)) != null;
+		} finally {
+			mailbox.clear(email);
+		}
+	}
+
+	boolean login() throws InterruptedException {
+		if (registeredEmails.isEmpty()) {
+			return false;
+		}
+		String email = registeredEmails.get(ThreadLocalRandom.current().nextInt(registeredEmails.size()));
+		return api.post("/api/v1/auth/login", new LoginRequest(email, PASSWORD)) != null;
+	}
+
+	/**
+	 * Doğrulama ekranındaki kullanıcı: kod gelir, kullanıcı verifyDelay kadar sonra kodu girer.
+	 * Bu sürede durum ya yoklanır ya da SSE ile takip edilir; doğrulamanın ekrana yansıma
+	 * süresi "status notification" olarak kaydedilir.
+	 */
+	boolean awaitVerification(boolean stream) throws InterruptedException {
+		String email = "lt-" + runId + "-" + sequence.incrementAndGet() + "@toptanstreet.test";
+		RegisterRequest registerRequest = new RegisterRequest("Yük", "Testi", email, PASSWORD, UserRole.RETAILER, null);
+		String statusPath = "/api/v1/verification/status" + (stream ? "/stream" : "")
+				+ "?email=" + URLEncoder.encode(email, StandardCharsets.UTF_8);
+		Duration watchTimeout = verifyDelay.plus(mailTimeout);
+
+		try {
+			if (api.post("/api/v1/auth/initiate-register", registerRequest) == null) {
+				return false;
+			}
+			CompletableFuture<Boolean> watcher = CompletableFuture.supplyAsync(() -> {
+				try {
+					return stream
+							? api.awaitEvent(statusPath, "/api/v1/verification/status/stream", "verified", watchTimeout)
+							: pollUntilVerified(statusPath, watchTimeout);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return false;
+				}
+			}, watchers);
+
+			String code = awaitCode(email, 1);
+			if (code == null) {
+				watcher.cancel(true);
+				return false;
+			}
+			Thread.sleep(verifyDelay);
+			long verifiedAt = System.nanoTime();
+			if (api.post("/api/v1/verification/verify", new VerifyCodeRequest(email, code)) == null) {
+				watcher.cancel(true);
+				return false;
+			}
+			boolean observed = watcher.get(watchTimeout.toMillis(), TimeUnit.MILLISECONDS);
+			api.record("status notification", System.nanoTime() - verifiedAt, observed ? "observed" : "missed", observed);
+			return observed;
+		} catch (ExecutionException | TimeoutException e) {
+			return false;
+		} finally {
+			mailbox.clear(email);
+		}
+	}
+
+	private boolean pollUntilVerified(String statusPath, Duration timeout) throws InterruptedException {
+		long deadline = System.nanoTime() + timeout.toNanos();
+		while (System.nanoTime() < deadline) {
+			JsonNode verified = api.get(statusPath, "/api/v1/verification/status");
+			if (verified != null && verified.asBoolean(false)) {
+				return true;
+			}
+			Thread.sleep(statusPollInterval);
+		}
+		return false;
+	}
+
+	int getRegisteredCount() {
+		return registeredEmails.size();
+	}
+
+	/**
+	 * Kodun gelmesini bekler; gönderimden kutuya düşene kadar geçen süre de ayrı olarak kaydedilir
+	 */
+	private String awaitCode(String email, int expectedCount) throws InterruptedException {
+		long start = System.nanoTime();
+		String code = mailbox.awaitCode(email, expectedCount, mailTimeout);
+		api.record("SMTP delivery", System.nanoTime() - start, code == null ? "timeout" : "delivered", code != null);
+		return code;
+	}
+
+}
@@ -0,0 +1,79 @@
+package com.example.toptanstreet_backend.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bir endpoint için gecikme histogramı ve sonuç sayaçları. Gecikmeler mikro saniye
+ * çözünürlüğünde tutulur; birden fazla sanal kullanıcı aynı anda kayıt yapabilir.
+ */
+class EndpointStats {
+
+	private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+	private final String name;
+	private final Histogram latencies = new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3);
+	private final LongAdder errors = new LongAdder();
+	private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+	EndpointStats(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * @param elapsedNanos İstek süresi
+	 * @param outcome      HTTP durum kodu ya da hata sınıfı (ör. "200", "503", "timeout")
+	 * @param success      İsteğin başarılı sayılıp sayılmadığı
+	 */
+	void record(long elapsedNanos, String outcome, boolean success) {
+		latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), MAX_TRACKABLE_MICROS));
+		outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+		if (!success) {
+			errors.increment();
+		}
+	}
+
+	void reset() {
+		latencies.reset();
+		errors.reset();
+		outcomes.clear();
+	}
+
+	String getName() {
+		return name;
+	}
+
+	long getCount() {
+		return latencies.getTotalCount();
+	}
+
+	long getErrors() {
+		return errors.sum();
+	}
+
+	double getErrorRate() {
+		long count = getCount();
+		return count == 0 ? 0 : (double) getErrors() / count;
+	}
+
+	double percentileMillis(double percentile) {
+		return latencies.getValueAtPercentile(percentile) / 1000.0;
+	}
+
+	double maxMillis() {
+		return latencies.getMaxValue() / 1000.0;
+	}
+
+	Map<String, Long> getOutcomes() {
+		Map<String, Long> snapshot = new TreeMap<>();
+		outcomes.forEach((outcome, count) -> snapshot.put(outcome, count.sum()));
+		return snapshot;
+	}
+
+}
@@ -0,0 +1,84 @@
+package com.example.toptanstreet_backend.loadtest;
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Yük testi ayarları. Tümü -Dloadtest.* sistem özellikleri ile değiştirilebilir.
+ */
+@Getter
+class LoadTestOptions {
+
+	private final int users = Integer.getInteger("loadtest.users", 50);
+	private final Duration duration = Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 60));
+	private final Duration rampUp = Duration.ofSeconds(Long.getLong("loadtest.ramp-up-seconds", 10));
+	private final Duration thinkTime = Duration.ofMillis(Long.getLong("loadtest.think-time-ms", 0));
+	private final Duration mailTimeout = Duration.ofMillis(Long.getLong("loadtest.mail-timeout-ms", 30_000));
+	private final Duration statusPollInterval = Duration.ofMillis(Long.getLong("loadtest.status-poll-ms", 2_000));
+	private final Duration verifyDelay = Duration.ofMillis(Long.getLong("loadtest.verify-delay-ms", 10_000));
+	private final int seedUsers = Integer.getInteger("loadtest.seed-users", 20);
+	private final Map<Scenario, Integer> mix = parseMix(System.getProperty("loadtest.mix", "signup:1,login:4"));
+	private final List<ThreadMode> threadModes = parseThreadModes(System.getProperty("loadtest.thread-mode", "platform"));
+	private final String jdbcUrl = System.getProperty("loadtest.jdbc-url");
+	private final String jdbcUsername = System.getProperty("loadtest.jdbc-username", "postgres");
+	private final String jdbcPassword = System.getProperty("loadtest.jdbc-password", "");
+	private final String report = System.getProperty("loadtest.report", "target/load-test-report.json");
+
+	/**
+	 * "signup:1,login:4" biçimindeki senaryo ağırlıklarını ayrıştırır
+	 */
+	static Map<Scenario, Integer> parseMix(String value) {
+		Map<Scenario, Integer> mix = new LinkedHashMap<>();
+		for (String entry : value.split(",")) {
+			String[] parts = entry.trim().split(":");
+			if (parts.length != 2) {
+				throw new IllegalArgumentException("Geçersiz loadtest.mix değeri: " + value);
+			}
+			int weight = Integer.parseInt(parts[1].trim());
+			if (weight > 0) {
+				mix.put(Scenario.valueOf(parts[0].trim().toUpperCase()), weight);
+			}
+		}
+		if (mix.isEmpty()) {
+			throw new IllegalArgumentException("loadtest.mix en az bir senaryo içermeli: " + value);
+		}
+		return mix;
+	}
+
+	/**
+	 * "platform", "virtual" veya "both"; both iki koşuyu sırayla yapar ve sonuçları karşılaştırır
+	 */
+	static List<ThreadMode> parseThreadModes(String value) {
+		return "both".equalsIgnoreCase(value.trim())
+				? List.of(ThreadMode.PLATFORM, ThreadMode.VIRTUAL)
+				: List.of(ThreadMode.valueOf(value.trim().toUpperCase()));
+	}
+
+	/**
+	 * Uygulamanın istek ve async iş parçacığı modu (spring.threads.virtual.enabled)
+	 */
+	enum ThreadMode {
+		PLATFORM,
+		VIRTUAL;
+
+		boolean isVirtual() {
+			return this == VIRTUAL;
+		}
+	}
+
+	enum Scenario {
+		/** initiate-register, send, verify, register ve login adımlarının tamamı */
+		SIGNUP,
+		/** Önceden kayıtlı bir hesapla giriş */
+		LOGIN,
+		/** Kod gelene ve girilene kadar doğrulama ekranında bekleme; durum GET /verification/status ile yoklanır */
+		STATUS_POLL,
+		/** Aynı bekleme; durum /verification/status/stream aboneliğiyle (SSE) takip edilir */
+		STATUS_STREAM
+	}
+
+}
@@ -0,0 +1,120 @@
+package com.example.toptanstreet_backend.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Endpoint bazında throughput, hata oranı ve p50/p95/p99 gecikmelerini konsola ve JSON dosyasına yazar.
+ * JSON çıktısı sürümler arasında karşılaştırılabilecek şekilde sabit alan sırasıyla üretilir.
+ */
+class LoadTestReport {
+
+	private final LoadTestOptions options;
+	private final LoadTestOptions.ThreadMode threadMode;
+	private final String database;
+	private final Instant startedAt;
+	private final Duration measured;
+	private final List<EndpointStats> endpoints;
+	private final Map<String, Double> serverCounters;
+
+	LoadTestReport(LoadTestOptions options, LoadTestOptions.ThreadMode threadMode, String database, Instant startedAt,
+	               Duration measured, Map<String, EndpointStats> stats, Map<String, Double> serverCounters) {
+		this.options = options;
+		this.threadMode = threadMode;
+		this.database = database;
+		this.startedAt = startedAt;
+		this.measured = measured;
+		this.serverCounters = serverCounters;
+		this.endpoints = new ArrayList<>(stats.values());
+		this.endpoints.sort(Comparator.comparing(EndpointStats::getName));
+	}
+
+	void print(PrintStream out) {
+		double seconds = measuredSeconds();
+		out.printf("%nYük testi: %d sanal kullanıcı, %.1f sn, karışım %s, veritabanı %s, %s thread%n",
+				options.getUsers(), seconds, options.getMix(), database, threadMode.name().toLowerCase());
+		out.printf("%-40s %9s %9s %8s %8s %9s %9s %9s %9s%n",
+				"Endpoint", "İstek", "İstek/sn", "Hata", "Hata %", "p50 ms", "p95 ms", "p99 ms", "max ms");
+		for (EndpointStats endpoint : endpoints) {
+			out.printf("%-40s %9d %9.1f %8d %7.2f%% %9.1f %9.1f %9.1f %9.1f%n",
+					endpoint.getName(), endpoint.getCount(), endpoint.getCount() / seconds, endpoint.getErrors(),
+					endpoint.getErrorRate() * 100, endpoint.percentileMillis(50), endpoint.percentileMillis(95),
+					endpoint.percentileMillis(99), endpoint.maxMillis());
+		}
+		for (Map.Entry<String, Double> counter : serverCounters.entrySet()) {
+			out.printf("%-60s %12.2f%n", counter.getKey(), counter.getValue());
+		}
+	}
+
+	void write(Path path, ObjectMapper objectMapper) throws IOException {
+		Map<String, Object> config = new LinkedHashMap<>();
+		config.put("users", options.getUsers());
+		config.put("durationSeconds", options.getDuration().toSeconds());
+		config.put("rampUpSeconds", options.getRampUp().toSeconds());
+		config.put("thinkTimeMs", options.getThinkTime().toMillis());
+		config.put("seedUsers", options.getSeedUsers());
+		config.put("mix", options.getMix());
+		config.put("database", database);
+		config.put("threadMode", threadMode.name().toLowerCase());
+		config.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+		config.put("javaVersion", Runtime.version().toString());
+
+		List<Map<String, Object>> results = new ArrayList<>();
+		double seconds = measuredSeconds();
+		for (EndpointStats endpoint : endpoints) {
+			Map<String, Object> latency = new LinkedHashMap<>();
+			latency.put("p50", endpoint.percentileMillis(50));
+			latency.put("p95", endpoint.percentileMillis(95));
+			latency.put("p99", endpoint.percentileMillis(99));
+			latency.put("max", endpoint.maxMillis());
+
+			Map<String, Object> result = new LinkedHashMap<>();
+			result.put("endpoint", endpoint.getName());
+			result.put("requests", endpoint.getCount());
+			result.put("throughputPerSecond", endpoint.getCount() / seconds);
+			result.put("errors", endpoint.getErrors());
+			result.put("errorRate", endpoint.getErrorRate());
+			result.put("latencyMs", latency);
+			result.put("outcomes", endpoint.getOutcomes());
+			results.add(result);
+		}
+
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("startedAt", startedAt.toString());
+		report.put("measuredSeconds", seconds);
+		report.put("config", config);
+		report.put("endpoints", results);
+		report.put("serverCounters", serverCounters);
+
+		Path parent = path.toAbsolutePath().getParent();
+		if (parent != null) {
+			Files.createDirectories(parent);
+		}
+		objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), report);
+	}
+
+	LoadTestOptions.ThreadMode getThreadMode() {
+		return threadMode;
+	}
+
+	List<EndpointStats> getEndpoints() {
+		return endpoints;
+	}
+
+	double measuredSeconds() {
+		return Math.max(measured.toNanos() / 1e9, 1e-3);
+	}
+
+}
@@ -0,0 +1,270 @@
+package com.example.toptanstreet_backend.loadtest;
+
+import com.example.toptanstreet_backend.ToptanstreetBackendApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Uygulamayı yerel PostgreSQL (embedded) ve GreenMail SMTP sunucusu ile ayağa kaldırıp
+ * AuthController ve VerificationController üzerinde kapalı döngü yük testi koşturur.
+ * Ağ erişimi gerektirmez; çalıştırma:
+ * <pre>
+ * mvn -Pload-test -DskipTests verify -Dloadtest.users=100 -Dloadtest.duration-seconds=120 -Dloadtest.mix=signup:1,login:9
+ * </pre>
+ * Doğrulama ekranında bekleyen kullanıcı başına durum sorgusu, -Dloadtest.mix=status_poll:1 ve
+ * -Dloadtest.mix=status_stream:1 koşuları karşılaştırılarak ölçülür (-Dloadtest.verify-delay-ms,
+ * -Dloadtest.status-poll-ms).
+ * İş parçacığı modu -Dloadtest.thread-mode=platform|virtual ile seçilir (spring.threads.virtual.enabled);
+ * both verilirse iki koşu aynı veritabanı ve SMTP sunucusuyla sırayla yapılır, her biri kendi
+ * raporunu (ör. load-test-report-virtual.json) yazar ve endpoint başına throughput ve p99
+ * karşılaştırması load-test-report-comparison.json dosyasına yazılır.
+ * Giriş başına heap tahsisi sunucudaki auth.allocation{operation="auth.login"} özetinden
+ * ölçüm penceresi için hesaplanır (BCrypt ayrı havuzda çalıştığından dahil değildir).
+ * Embedded PostgreSQL root kullanıcısıyla başlatılamaz (initdb kısıtı); bu durumda
+ * -Dloadtest.jdbc-url ile yerelde çalışan bir PostgreSQL verilebilir.
+ */
+public class LoadTestRunner {
+
+	private static final String SCHEMA = "toptanstreet";
+	private static final String SMTP_USER = "loadtest@toptanstreet.test";
+	private static final String SMTP_PASSWORD = "loadtest";
+	private static final String STATUS_QUERIES = "verification_status_lookups_total";
+	private static final String DATABASE_SOURCE = "source=\"database\"";
+	private static final String ALLOCATION_BYTES = "auth_allocation_bytes_sum";
+	private static final String ALLOCATION_CALLS = "auth_allocation_bytes_count";
+	private static final String LOGIN_OPERATION = "operation=\"auth.login\"";
+
+	public static void main(String[] args) throws Exception {
+		// devtools yeniden başlatması main'i ikinci kez çalıştırıp altyapıyı iki kez kurar
+		System.setProperty("spring.devtools.restart.enabled", "false");
+		LoadTestOptions options = new LoadTestOptions();
+		EmbeddedPostgres postgres = null;
+		GreenMail greenMail = new GreenMail(new ServerSetup(0, "127.0.0.1", ServerSetup.PROTOCOL_SMTP));
+		try {
+			String jdbcUrl = options.getJdbcUrl();
+			String username = options.getJdbcUsername();
+			String password = options.getJdbcPassword();
+			String database = "external";
+			if (jdbcUrl == null) {
+				postgres = EmbeddedPostgres.builder().start();
+				jdbcUrl = postgres.getJdbcUrl("postgres", "postgres");
+				username = "postgres";
+				password = "";
+				database = "embedded";
+			}
+			createSchema(jdbcUrl, username, password);
+			greenMail.start();
+			greenMail.setUser(SMTP_USER, SMTP_USER, SMTP_PASSWORD);
+
+			List<LoadTestReport> reports = new ArrayList<>();
+			boolean compare = options.getThreadModes().size() > 1;
+			for (LoadTestOptions.ThreadMode threadMode : options.getThreadModes()) {
+				String reportBase = options.getReport().replaceFirst("\\.json$", "")
+						+ (compare ? "-" + threadMode.name().toLowerCase() : "");
+				reports.add(runApplication(options, threadMode, reportBase, greenMail,
+						jdbcUrl, username, password, database));
+			}
+			if (compare) {
+				ThreadModeComparison comparison = new ThreadModeComparison(reports);
+				comparison.print(System.out);
+				Path path = Path.of(options.getReport().replaceFirst("\\.json$", "") + "-comparison.json");
+				comparison.write(path, new ObjectMapper());
+				System.out.println("Karşılaştırma yazıldı: " + path.toAbsolutePath());
+			}
+		} finally {
+			greenMail.stop();
+			if (postgres != null) {
+				postgres.close();
+			}
+		}
+	}
+
+	/**
+	 * Uygulamayı verilen iş parçacığı moduyla başlatır, tohumlama ve ölçümü yapar, raporu,
+	 * Prometheus metriklerini ve span dökümünü reportBase önekiyle yazar ve uygulamayı kapatır
+	 */
+	private static LoadTestReport runApplication(LoadTestOptions options, LoadTestOptions.ThreadMode threadMode,
+	                                             String reportBase, GreenMail greenMail, String jdbcUrl,
+	                                             String username, String password, String database) throws Exception {
+		// Span dökümü rapor ile yan yana incelenebilsin diye her koşuda baştan yazılır
+		Path spans = Path.of(reportBase + "-spans.jsonl");
+		Files.deleteIfExists(spans);
+
+		ConfigurableApplicationContext context = new SpringApplicationBuilder(ToptanstreetBackendApplication.class)
+				.profiles("loadtest")
+				.run("--spring.datasource.url=" + withSchema(jdbcUrl),
+						"--spring.datasource.username=" + username,
+						"--spring.datasource.password=" + password,
+						"--spring.mail.host=127.0.0.1",
+						"--spring.mail.port=" + greenMail.getSmtp().getPort(),
+						"--spring.threads.virtual.enabled=" + threadMode.isVirtual(),
+						"--app.tracing.file.path=" + spans);
+		try {
+			int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+
+			ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+			ApiClient api = new ApiClient("http://127.0.0.1:" + port, objectMapper,
+					context.getEnvironment().getRequiredProperty("app.ops.token"));
+			AuthFlow flow = new AuthFlow(api, new Mailbox(greenMail), options);
+
+			seed(flow, options);
+			LoadTestReport report = run(api, flow, options, threadMode, database);
+			report.print(System.out);
+			Path reportPath = Path.of(reportBase + ".json");
+			report.write(reportPath, objectMapper);
+			System.out.println("Rapor yazıldı: " + reportPath.toAbsolutePath());
+			// Sunucu tarafı metrikler (havuz, kuyruk, BCrypt, SMTP) raporla yan yana incelenebilsin diye saklanır
+			Path metrics = Path.of(reportBase + "-metrics.prom");
+			api.download("/actuator/prometheus", metrics);
+			System.out.println("Metrikler yazıldı: " + metrics.toAbsolutePath());
+
+			// Bekleyen span'ler uygulama kapanırken dosyaya yazılır
+			context.close();
+			if (Files.exists(spans)) {
+				SpanBreakdown.read(spans, objectMapper).print(System.out, 30);
+				System.out.println("Span'ler: " + spans.toAbsolutePath());
+			}
+			return report;
+		} finally {
+			context.close();
+		}
+	}
+
+	/**
+	 * Giriş senaryosu için hesapları ölçüm dışında, kayıt akışının kendisiyle oluşturur
+	 */
+	private static void seed(AuthFlow flow, LoadTestOptions options) throws Exception {
+		if (!options.getMix().containsKey(LoadTestOptions.Scenario.LOGIN) || options.getSeedUsers() == 0) {
+			return;
+		}
+		try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+			List<Future<Boolean>> results = new ArrayList<>();
+			for (int i = 0; i < options.getSeedUsers(); i++) {
+				results.add(executor.submit(flow::signup));
+			}
+			for (Future<Boolean> result : results) {
+				result.get();
+			}
+		}
+		if (flow.getRegisteredCount() == 0) {
+			throw new IllegalStateException("Giriş senaryosu için hiçbir hesap oluşturulamadı");
+		}
+		System.out.printf("%d/%d hesap hazırlandı%n", flow.getRegisteredCount(), options.getSeedUsers());
+	}
+
+	private static LoadTestReport run(ApiClient api, AuthFlow flow, LoadTestOptions options,
+	                                  LoadTestOptions.ThreadMode threadMode, String database)
+			throws InterruptedException, IOException {
+		List<LoadTestOptions.Scenario> weighted = new ArrayList<>();
+		for (Map.Entry<LoadTestOptions.Scenario, Integer> entry : options.getMix().entrySet()) {
+			for (int i = 0; i < entry.getValue(); i++) {
+				weighted.add(entry.getKey());
+			}
+		}
+
+		long rampStepNanos = options.getUsers() > 1 ? options.getRampUp().toNanos() / options.getUsers() : 0;
+		long measureFrom = System.nanoTime() + options.getRampUp().toNanos();
+		long measureUntil = measureFrom + options.getDuration().toNanos();
+
+		ExecutorService users = Executors.newVirtualThreadPerTaskExecutor();
+		for (int i = 0; i < options.getUsers(); i++) {
+			long startAt = System.nanoTime() + i * rampStepNanos;
+			users.submit(() -> {
+				sleepUntil(startAt);
+				while (System.nanoTime() < measureUntil) {
+					flow.run(weighted.get(ThreadLocalRandom.current().nextInt(weighted.size())));
+					if (!options.getThinkTime().isZero()) {
+						Thread.sleep(options.getThinkTime());
+					}
+				}
+				return null;
+			});
+		}
+
+		sleepUntil(measureFrom);
+		double statusQueriesBefore = api.scrapeCounter(STATUS_QUERIES, DATABASE_SOURCE);
+		double loginBytesBefore = api.scrapeCounter(ALLOCATION_BYTES, LOGIN_OPERATION);
+		double loginCallsBefore = api.scrapeCounter(ALLOCATION_CALLS, LOGIN_OPERATION);
+		Instant startedAt = Instant.now();
+		api.startRecording();
+		long recordingStart = System.nanoTime();
+		sleepUntil(measureUntil);
+		api.stopRecording();
+		Duration measured = Duration.ofNanos(System.nanoTime() - recordingStart);
+		double statusQueries = api.scrapeCounter(STATUS_QUERIES, DATABASE_SOURCE) - statusQueriesBefore;
+		double loginBytes = api.scrapeCounter(ALLOCATION_BYTES, LOGIN_OPERATION) - loginBytesBefore;
+		double loginCalls = api.scrapeCounter(ALLOCATION_CALLS, LOGIN_OPERATION) - loginCallsBefore;
+
+		users.shutdown();
+		if (!users.awaitTermination(options.getMailTimeout().toSeconds() + 30, TimeUnit.SECONDS)) {
+			users.shutdownNow();
+		}
+		return new LoadTestReport(options, threadMode, database, startedAt, measured, api.getStats(),
+				serverCounters(api.getStats(), statusQueries, loginBytes, loginCalls));
+	}
+
+	/**
+	 * Doğrulama ekranında bekleyen kullanıcı başına veritabanına giden durum sorgusu.
+	 * Ölçüm penceresindeki sorgular, pencerede tamamlanan bekleme akışlarına bölünür.
+	 * Giriş yapıldıysa AuthService.login çağrısı başına heap tahsisi de eklenir.
+	 */
+	private static Map<String, Double> serverCounters(Map<String, EndpointStats> stats, double statusQueries,
+	                                                  double loginBytes, double loginCalls) {
+		long waits = 0;
+		for (LoadTestOptions.Scenario scenario : List.of(LoadTestOptions.Scenario.STATUS_POLL, LoadTestOptions.Scenario.STATUS_STREAM)) {
+			EndpointStats flow = stats.get("flow " + scenario.name().toLowerCase());
+			waits += flow != null ? flow.getCount() : 0;
+		}
+		Map<String, Double> counters = new LinkedHashMap<>();
+		counters.put("verification.status.lookups (database)", statusQueries);
+		if (waits > 0) {
+			counters.put("verification.status.lookups (database) per waiting user", statusQueries / waits);
+		}
+		if (loginCalls > 0) {
+			counters.put("auth.login allocated bytes per call", loginBytes / loginCalls);
+		}
+		return counters;
+	}
+
+	private static void sleepUntil(long nanoTime) throws InterruptedException {
+		long remaining = nanoTime - System.nanoTime();
+		if (remaining > 0) {
+			TimeUnit.NANOSECONDS.sleep(remaining);
+		}
+	}
+
+	static void createSchema(String jdbcUrl, String username, String password) throws SQLException {
+		try (Connection connection = DriverManager.getConnection(jdbcUrl, username, password);
+		     Statement statement = connection.createStatement()) {
+			statement.execute("CREATE SCHEMA IF NOT EXISTS " + SCHEMA);
+		}
+	}
+
+	static String withSchema(String jdbcUrl) {
+		return jdbcUrl + (jdbcUrl.contains("?") ? "&" : "?") + "currentSchema=" + SCHEMA;
+	}
+
+}
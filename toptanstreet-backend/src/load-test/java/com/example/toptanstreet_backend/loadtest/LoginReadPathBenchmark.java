@@ -0,0 +1,161 @@
+package com.example.toptanstreet_backend.loadtest;
+
+import com.example.toptanstreet_backend.ToptanstreetBackendApplication;
+import com.example.toptanstreet_backend.dto.LoginCredentials;
+import com.example.toptanstreet_backend.model.User;
+import com.example.toptanstreet_backend.model.UserRole;
+import com.example.toptanstreet_backend.repository.UserRepository;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * Girişin kullanıcı okuma adımını gerçek Hibernate ve PostgreSQL ile ölçer. BCrypt, JWT ve
+ * HTTP dahil değildir; çağrı başına süre, çağıran thread üzerindeki heap tahsisi ve SQL sayısı yazdırılır.
+ * <ul>
+ *   <li>entity: eski yol, tam User entity'si (natural-id + ikinci seviye önbellek, salt okunur transaction)</li>
+ *   <li>projection + read-only tx: giriş projeksiyonu bir Spring salt okunur transaction'ı içinde</li>
+ *   <li>projection: giriş projeksiyonu transaction'sız, salt okunur oturumda (AuthService'in kullandığı yol)</li>
+ * </ul>
+ * <pre>
+ * java -cp ... com.example.toptanstreet_backend.loadtest.LoginReadPathBenchmark
+ * </pre>
+ * -Dloadtest.jdbc-url ile harici PostgreSQL, -Dbenchmark.users / -Dbenchmark.iterations ile boyut verilebilir.
+ */
+public class LoginReadPathBenchmark {
+
+	private static final com.sun.management.ThreadMXBean THREADS =
+			(com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+	public static void main(String[] args) throws Exception {
+		System.setProperty("spring.devtools.restart.enabled", "false");
+		LoadTestOptions options = new LoadTestOptions();
+		int userCount = Integer.getInteger("benchmark.users", 1_000);
+		int iterations = Integer.getInteger("benchmark.iterations", 200_000);
+
+		EmbeddedPostgres postgres = null;
+		GreenMail greenMail = new GreenMail(new ServerSetup(0, "127.0.0.1", ServerSetup.PROTOCOL_SMTP));
+		ConfigurableApplicationContext context = null;
+		try {
+			String jdbcUrl = options.getJdbcUrl();
+			String username = options.getJdbcUsername();
+			String password = options.getJdbcPassword();
+			if (jdbcUrl == null) {
+				postgres = EmbeddedPostgres.builder().start();
+				jdbcUrl = postgres.getJdbcUrl("postgres", "postgres");
+				username = "postgres";
+				password = "";
+			}
+			LoadTestRunner.createSchema(jdbcUrl, username, password);
+			greenMail.start();
+
+			context = new SpringApplicationBuilder(ToptanstreetBackendApplication.class)
+					.profiles("loadtest")
+					.run("--spring.datasource.url=" + LoadTestRunner.withSchema(jdbcUrl),
+							"--spring.datasource.username=" + username,
+							"--spring.datasource.password=" + password,
+							"--spring.mail.host=127.0.0.1",
+							"--spring.mail.port=" + greenMail.getSmtp().getPort(),
+							"--app.tracing.file.enabled=false",
+							"--app.email-bloom.enabled=false",
+							"--logging.level.com.example.toptanstreet_backend=WARN");
+
+			UserRepository userRepository = context.getBean(UserRepository.class);
+			List<String> emails = seed(userRepository, userCount);
+			SessionFactory sessionFactory = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class);
+			sessionFactory.getStatistics().setStatisticsEnabled(true);
+
+			TransactionTemplate readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+			readOnly.setReadOnly(true);
+
+			Function<String, String> projection = email -> userRepository.findLoginCredentialsByEmail(email)
+					.map(LoginCredentials::getPasswordHash).orElseThrow();
+			List<Variant> variants = List.of(
+					new Variant("entity", email -> userRepository.findByEmail(email).orElseThrow().getPassword()),
+					new Variant("projection + read-only tx", email -> readOnly.execute(status -> projection.apply(email))),
+					new Variant("projection", projection));
+
+			// Tüm yollar önce ısıtılır (JIT, önbellekler), sonra sırayla ölçülür
+			for (Variant variant : variants) {
+				measure(variant, emails, iterations / 2);
+			}
+			System.out.printf("%nGiriş okuma yolu: %d kullanıcı, yol başına %d çağrı%n", userCount, iterations);
+			System.out.printf("%-30s %12s %14s %14s%n", "Yol", "ns/çağrı", "bayt/çağrı", "SQL/çağrı");
+			for (Variant variant : variants) {
+				sessionFactory.getStatistics().clear();
+				long[] result = measure(variant, emails, iterations);
+				System.out.printf("%-30s %12d %14d %14.3f%n", variant.name, result[0] / iterations, result[1] / iterations,
+						(double) sessionFactory.getStatistics().getPrepareStatementCount() / iterations);
+			}
+		} finally {
+			if (context != null) {
+				context.close();
+			}
+			greenMail.stop();
+			if (postgres != null) {
+				postgres.close();
+			}
+		}
+	}
+
+	private static List<String> seed(UserRepository userRepository, int count) {
+		List<String> emails = new ArrayList<>(count);
+		List<User> batch = new ArrayList<>(count);
+		long runId = System.currentTimeMillis();
+		for (int i = 0; i < count; i++) {
+			User user = new User();
+			user.setFirstName("Yük");
+			user.setLastName("Testi");
+			user.setEmail("bench-" + runId + "-" + i + "@toptanstreet.test");
+			user.setPassword("$2a$04$abcdefghijklmnopqrstuuDqOB1pKMD9kiGFZy7Lr1Z6U3sQ1/XxW");
+			user.setRole(UserRole.RETAILER);
+			user.setPaymentStatus(true);
+			batch.add(user);
+			emails.add(user.getEmail());
+		}
+		userRepository.saveAll(batch);
+		return emails;
+	}
+
+	/**
+	 * @return {toplam nanosaniye, toplam tahsis edilen bayt}
+	 */
+	private static long[] measure(Variant variant, List<String> emails, int iterations) {
+		long checksum = 0;
+		long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+		long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			String email = emails.get(ThreadLocalRandom.current().nextInt(emails.size()));
+			checksum += variant.read.apply(email).length();
+		}
+		long elapsed = System.nanoTime() - start;
+		long allocated = THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore;
+		if (checksum == 0) {
+			throw new IllegalStateException("Okuma sonucu boş");
+		}
+		return new long[]{elapsed, allocated};
+	}
+
+	private static final class Variant {
+		private final String name;
+		private final Function<String, String> read;
+
+		private Variant(String name, Function<String, String> read) {
+			this.name = name;
+			this.read = read;
+		}
+	}
+
+}
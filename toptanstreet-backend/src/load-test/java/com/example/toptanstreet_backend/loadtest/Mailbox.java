@@ -0,0 +1,106 @@
+package com.example.toptanstreet_backend.loadtest;
+
+import com.icegreen.greenmail.store.FolderException;
+import com.icegreen.greenmail.store.MailFolder;
+import com.icegreen.greenmail.store.StoredMessage;
+import com.icegreen.greenmail.user.GreenMailUser;
+import com.icegreen.greenmail.util.GreenMail;
+import jakarta.mail.BodyPart;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Multipart;
+import jakarta.mail.Part;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * GreenMail'e düşen doğrulama e-postalarını okur. Her alıcı GreenMail'de kendi INBOX'ına sahip
+ * olduğundan bekleme, tüm mesajları taramadan alıcı bazında yapılır.
+ */
+class Mailbox {
+
+	private static final Pattern CODE = Pattern.compile("<h1[^>]*>\\s*(\\d+)\\s*</h1>");
+	private static final long POLL_INTERVAL_MILLIS = 20;
+
+	private final GreenMail greenMail;
+
+	Mailbox(GreenMail greenMail) {
+		this.greenMail = greenMail;
+	}
+
+	/**
+	 * Alıcının kutusunda en az {@code expectedCount} mesaj olana kadar bekler ve son mesajdaki
+	 * doğrulama kodunu döndürür.
+	 *
+	 * @return Doğrulama kodu, süre dolarsa null
+	 */
+	String awaitCode(String email, int expectedCount, Duration timeout) throws InterruptedException {
+		long deadline = System.nanoTime() + timeout.toNanos();
+		while (System.nanoTime() < deadline) {
+			List<StoredMessage> messages = messages(email);
+			if (messages.size() >= expectedCount) {
+				return extractCode(messages.get(messages.size() - 1));
+			}
+			Thread.sleep(POLL_INTERVAL_MILLIS);
+		}
+		return null;
+	}
+
+	/**
+	 * Akışı tamamlanan alıcının mesajlarını siler; uzun koşularda bellek büyümesini önler
+	 */
+	void clear(String email) {
+		MailFolder inbox = inbox(email);
+		if (inbox != null) {
+			inbox.deleteAllMessages();
+		}
+	}
+
+	private List<StoredMessage> messages(String email) {
+		MailFolder inbox = inbox(email);
+		return inbox == null ? List.of() : inbox.getMessages();
+	}
+
+	private MailFolder inbox(String email) {
+		GreenMailUser user = greenMail.getUserManager().getUserByEmail(email);
+		if (user == null) {
+			return null;
+		}
+		try {
+			return greenMail.getManagers().getImapHostManager().getInbox(user);
+		} catch (FolderException e) {
+			return null;
+		}
+	}
+
+	private static String extractCode(StoredMessage message) {
+		try {
+			String html = findHtml(message.getMimeMessage());
+			Matcher matcher = CODE.matcher(html == null ? "" : html);
+			return matcher.find() ? matcher.group(1) : null;
+		} catch (MessagingException | IOException e) {
+			return null;
+		}
+	}
+
+	private static String findHtml(Part part) throws MessagingException, IOException {
+		if (part.isMimeType("text/html")) {
+			return (String) part.getContent();
+		}
+		if (part.isMimeType("multipart/*")) {
+			Multipart multipart = (Multipart) part.getContent();
+			for (int i = 0; i < multipart.getCount(); i++) {
+				BodyPart bodyPart = multipart.getBodyPart(i);
+				String html = findHtml(bodyPart);
+				if (html != null) {
+					return html;
+				}
+			}
+		}
+		return null;
+	}
+
+}
@@ -0,0 +1,152 @@
+package com.example.toptanstreet_backend.loadtest;
+
+import com.example.toptanstreet_backend.util.InvertedIndex;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.IntFunction;
+
+/**
+ * Ürün arama indeksinin (ProductSearchService ile aynı alan ağırlıkları) oluşturma süresini,
+ * heap kullanımını, sorgu gecikmesini ve güncelleme hızını sentetik katalogla ölçer. Veritabanı
+ * ve Spring dahil değildir; yalnızca InvertedIndex ölçülür.
+ * <pre>
+ * java -Xmx2g -cp ... com.example.toptanstreet_backend.loadtest.ProductSearchIndexBenchmark
+ * </pre>
+ * -Dbenchmark.products (1000000), -Dbenchmark.queries (20000, her sorgu tipi için) ve
+ * -Dbenchmark.updates (100000) verilebilir.
+ */
+public class ProductSearchIndexBenchmark {
+
+	private static final int[] FIELD_WEIGHTS = {3, 2, 2, 1};
+	private static final int LIMIT = 20;
+
+	private static final String[] PRODUCT_TYPES = {"Tişört", "Gömlek", "Pantolon", "Ceket", "Mont", "Elbise", "Etek",
+			"Kazak", "Hırka", "Şort", "Ayakkabı", "Bot", "Terlik", "Çanta", "Cüzdan", "Kemer", "Şapka", "Atkı",
+			"Eldiven", "Çorap", "Telefon", "Kulaklık", "Şarj Aleti", "Tablet", "Laptop", "Mouse", "Klavye",
+			"Monitör", "Hoparlör", "Saat", "Tencere", "Tava", "Çaydanlık", "Bardak", "Tabak", "Çatal Kaşık Seti",
+			"Havlu", "Nevresim", "Yastık", "Battaniye", "Deterjan", "Şampuan", "Sabun", "Diş Macunu", "Parfüm",
+			"Krem", "Oyuncak", "Kalem", "Defter", "Sırt Çantası"};
+	private static final String[] ADJECTIVES = {"Pamuklu", "Slim Fit", "Oversize", "Su Geçirmez", "Kablosuz",
+			"Paslanmaz Çelik", "Organik", "Deri", "Yün", "Keten", "Kışlık", "Yazlık", "Çocuk", "Kadın", "Erkek",
+			"Unisex", "Premium", "Ekonomik", "Büyük Boy", "Mini", "Çift Kişilik", "Tek Kişilik", "Hızlı", "Akıllı",
+			"Granit", "Döküm", "Porselen", "Cam", "Bambu", "Hipoalerjenik"};
+	private static final String[] COLORS = {"Siyah", "Beyaz", "Kırmızı", "Lacivert", "Gri", "Yeşil", "Sarı",
+			"Pembe", "Mor", "Turuncu", "Bej", "Kahverengi", "Haki", "Bordo", "Turkuaz"};
+	private static final String[] CATEGORIES = {"Giyim", "Ayakkabı", "Aksesuar", "Elektronik", "Mutfak",
+			"Ev Tekstili", "Kişisel Bakım", "Temizlik", "Kırtasiye", "Oyuncak", "Spor", "Bahçe"};
+	private static final String[] DESCRIPTION_WORDS = {"toptan", "koli", "adet", "kalite", "dayanıklı", "şık",
+			"rahat", "günlük", "kullanım", "hafif", "yıkanabilir", "garantili", "ithal", "yerli", "üretim",
+			"orijinal", "kampanya", "stok", "hızlı", "kargo", "beden", "ölçü", "renk", "seçeneği", "model",
+			"sezon", "yeni", "indirimli", "özel", "tasarım", "ergonomik", "enerji", "tasarruflu", "kolay",
+			"temizlenir", "çevre", "dostu", "malzeme", "uzun", "ömürlü"};
+	private static final String[] BRANDS = brandNames(2_000);
+
+	public static void main(String[] args) {
+		int products = Integer.getInteger("benchmark.products", 1_000_000);
+		int queries = Integer.getInteger("benchmark.queries", 20_000);
+		int updates = Integer.getInteger("benchmark.updates", 100_000);
+
+		long heapBefore = usedHeap();
+		long startedAt = System.nanoTime();
+		InvertedIndex index = new InvertedIndex(FIELD_WEIGHTS);
+		for (int i = 0; i < products; i++) {
+			String[] document = document(new SplittableRandom(i));
+			index.upsert(i + 1, document);
+		}
+		long buildMillis = (System.nanoTime() - startedAt) / 1_000_000;
+		long heapAfter = usedHeap();
+
+		System.out.printf("%nÜrün arama indeksi: %d ürün, %d terim, %d çekirdek%n", index.size(), index.termCount(),
+				Runtime.getRuntime().availableProcessors());
+		System.out.printf("oluşturma %d ms (%.0f ürün/sn), heap %.0f MB (ürün başına %.0f byte)%n", buildMillis,
+				products * 1000.0 / Math.max(1, buildMillis), (heapAfter - heapBefore) / 1_048_576.0,
+				(double) (heapAfter - heapBefore) / products);
+
+		SplittableRandom random = new SplittableRandom(42);
+		measure(index, "tek terim", queries, q -> pick(random, PRODUCT_TYPES).split(" ")[0]);
+		measure(index, "çok terimli", queries, q -> pick(random, COLORS) + " " + pick(random, ADJECTIVES).split(" ")[0]
+				+ " " + pick(random, PRODUCT_TYPES).split(" ")[0] + " ");
+		measure(index, "önek", queries, q -> {
+			String word = pick(random, PRODUCT_TYPES).split(" ")[0];
+			return pick(random, COLORS) + " " + word.substring(0, Math.min(word.length(), 2 + random.nextInt(3)));
+		});
+		measure(index, "marka önek", queries, q -> pick(random, BRANDS).substring(0, 4));
+
+		startedAt = System.nanoTime();
+		for (int i = 0; i < updates; i++) {
+			int id = 1 + random.nextInt(products);
+			if (i % 10 == 0) {
+				index.remove(id);
+			} else {
+				index.upsert(id, document(new SplittableRandom(products + (long) i)));
+			}
+		}
+		long updateNanos = System.nanoTime() - startedAt;
+		System.out.printf("güncelleme: %d işlem, %.0f işlem/sn, %d sıkıştırma%n", updates,
+				updates * 1e9 / updateNanos, index.getCompactions());
+	}
+
+	private static void measure(InvertedIndex index, String label, int queries, IntFunction<String> queryFactory) {
+		// Isınma
+		for (int i = 0; i < Math.min(queries, 2_000); i++) {
+			index.search(queryFactory.apply(i), LIMIT);
+		}
+		long[] nanos = new long[queries];
+		long hits = 0;
+		for (int i = 0; i < queries; i++) {
+			String query = queryFactory.apply(i);
+			long startedAt = System.nanoTime();
+			List<InvertedIndex.Hit> result = index.search(query, LIMIT);
+			nanos[i] = System.nanoTime() - startedAt;
+			hits += result.size();
+		}
+		Arrays.sort(nanos);
+		System.out.printf("%-12s p50 %.3f ms, p99 %.3f ms, max %.3f ms, ortalama %.1f sonuç%n", label,
+				nanos[queries / 2] / 1e6, nanos[(int) (queries * 0.99)] / 1e6, nanos[queries - 1] / 1e6,
+				(double) hits / queries);
+	}
+
+	/**
+	 * Ad, marka, kategori ve açıklama alanları; aynı tohum aynı ürünü üretir
+	 */
+	private static String[] document(SplittableRandom random) {
+		String name = pick(random, BRANDS) + " " + pick(random, ADJECTIVES) + " " + pick(random, COLORS) + " "
+				+ pick(random, PRODUCT_TYPES) + " " + (100 + random.nextInt(9_900));
+		StringBuilder description = new StringBuilder();
+		int words = 8 + random.nextInt(16);
+		for (int w = 0; w < words; w++) {
+			description.append(pick(random, DESCRIPTION_WORDS)).append(' ');
+		}
+		return new String[]{name, pick(random, BRANDS), pick(random, CATEGORIES), description.toString()};
+	}
+
+	private static String[] brandNames(int count) {
+		String[] syllables = {"ka", "ra", "de", "niz", "yıl", "dız", "ak", "su", "te", "mel", "or", "han", "ser",
+				"kan", "gül", "tan", "ay", "baş", "el", "çe"};
+		SplittableRandom random = new SplittableRandom(7);
+		String[] names = new String[count];
+		for (int i = 0; i < count; i++) {
+			StringBuilder name = new StringBuilder();
+			for (int s = 0; s < 3; s++) {
+				name.append(syllables[random.nextInt(syllables.length)]);
+			}
+			name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+			names[i] = name.append(i).toString();
+		}
+		return names;
+	}
+
+	private static String pick(SplittableRandom random, String[] values) {
+		return values[random.nextInt(values.length)];
+	}
+
+	private static long usedHeap() {
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		Runtime runtime = Runtime.getRuntime();
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
@@ -0,0 +1,78 @@
+package com.example.toptanstreet_backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Uygulamanın yazdığı span dosyasını (JSON Lines) okuyup span adı bazında sayı, toplam süre
+ * ve p50/p95/p99 gecikmeleri çıkarır. Bir endpoint'in süresinin hangi sorgu, BCrypt ya da
+ * SMTP adımında geçtiğini yük testi raporunun yanında göstermek için kullanılır.
+ * JDBC span'lerinde ad yerine SQL ifadesinin başı kullanılır.
+ */
+class SpanBreakdown {
+
+	private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+	private static final int SQL_PREFIX_LENGTH = 60;
+
+	private final Map<String, Histogram> durations = new HashMap<>();
+
+	static SpanBreakdown read(Path path, ObjectMapper objectMapper) throws IOException {
+		SpanBreakdown breakdown = new SpanBreakdown();
+		try (BufferedReader reader = Files.newBufferedReader(path)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (!line.isBlank()) {
+					breakdown.add(objectMapper.readTree(line));
+				}
+			}
+		}
+		return breakdown;
+	}
+
+	void print(PrintStream out, int limit) {
+		List<Map.Entry<String, Histogram>> rows = new ArrayList<>(durations.entrySet());
+		rows.sort(Comparator.comparingDouble((Map.Entry<String, Histogram> row) -> totalMicros(row.getValue())).reversed());
+
+		out.printf("%nSpan dökümü (toplam süreye göre ilk %d)%n", Math.min(limit, rows.size()));
+		out.printf("%-70s %9s %11s %9s %9s %9s%n", "Span", "Adet", "Toplam ms", "p50 ms", "p95 ms", "p99 ms");
+		for (Map.Entry<String, Histogram> row : rows.subList(0, Math.min(limit, rows.size()))) {
+			Histogram histogram = row.getValue();
+			out.printf("%-70s %9d %11.1f %9.2f %9.2f %9.2f%n",
+					row.getKey(), histogram.getTotalCount(), totalMicros(histogram) / 1000.0,
+					histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(95) / 1000.0,
+					histogram.getValueAtPercentile(99) / 1000.0);
+		}
+	}
+
+	private void add(JsonNode span) {
+		long micros = Math.min(span.path("durationMicros").asLong(), MAX_TRACKABLE_MICROS);
+		durations.computeIfAbsent(label(span), key -> new Histogram(MAX_TRACKABLE_MICROS, 3)).recordValue(micros);
+	}
+
+	private static String label(JsonNode span) {
+		String name = span.path("name").asText();
+		JsonNode sql = span.path("attributes").path("jdbc.query[0]");
+		if (sql.isMissingNode()) {
+			return name;
+		}
+		String statement = sql.asText().replaceAll("\\s+", " ").trim();
+		return name + ": " + (statement.length() > SQL_PREFIX_LENGTH ? statement.substring(0, SQL_PREFIX_LENGTH) + "…" : statement);
+	}
+
+	private static double totalMicros(Histogram histogram) {
+		return histogram.getMean() * histogram.getTotalCount();
+	}
+}
@@ -0,0 +1,96 @@
+package com.example.toptanstreet_backend.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Platform ve sanal iş parçacığı koşularını endpoint bazında throughput ve p99 gecikmesiyle
+ * yan yana koyar. Oranlar ilk koşuya (platform) göre hesaplanır.
+ */
+class ThreadModeComparison {
+
+	private final List<LoadTestReport> reports;
+
+	ThreadModeComparison(List<LoadTestReport> reports) {
+		this.reports = reports;
+	}
+
+	void print(PrintStream out) {
+		LoadTestReport baseline = reports.get(0);
+		out.printf("%nİş parçacığı modu karşılaştırması (oranlar %s koşusuna göre)%n",
+				baseline.getThreadMode().name().toLowerCase());
+		out.printf("%-40s %-9s %9s %9s %9s %9s%n", "Endpoint", "Mod", "İstek/sn", "Oran", "p99 ms", "Oran");
+		for (String endpoint : endpointNames()) {
+			EndpointStats base = find(baseline, endpoint);
+			for (LoadTestReport report : reports) {
+				EndpointStats stats = find(report, endpoint);
+				if (stats == null) {
+					continue;
+				}
+				double throughput = stats.getCount() / report.measuredSeconds();
+				double p99 = stats.percentileMillis(99);
+				out.printf("%-40s %-9s %9.1f %9s %9.1f %9s%n", endpoint, report.getThreadMode().name().toLowerCase(),
+						throughput, ratio(throughput, base != null ? base.getCount() / baseline.measuredSeconds() : 0),
+						p99, ratio(p99, base != null ? base.percentileMillis(99) : 0));
+			}
+		}
+	}
+
+	void write(Path path, ObjectMapper objectMapper) throws IOException {
+		List<Map<String, Object>> endpoints = new ArrayList<>();
+		for (String endpoint : endpointNames()) {
+			Map<String, Object> modes = new LinkedHashMap<>();
+			for (LoadTestReport report : reports) {
+				EndpointStats stats = find(report, endpoint);
+				if (stats != null) {
+					Map<String, Object> result = new LinkedHashMap<>();
+					result.put("requests", stats.getCount());
+					result.put("throughputPerSecond", stats.getCount() / report.measuredSeconds());
+					result.put("errorRate", stats.getErrorRate());
+					result.put("p99Ms", stats.percentileMillis(99));
+					modes.put(report.getThreadMode().name().toLowerCase(), result);
+				}
+			}
+			Map<String, Object> entry = new LinkedHashMap<>();
+			entry.put("endpoint", endpoint);
+			entry.put("modes", modes);
+			endpoints.add(entry);
+		}
+
+		Path parent = path.toAbsolutePath().getParent();
+		if (parent != null) {
+			Files.createDirectories(parent);
+		}
+		objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), Map.of("endpoints", endpoints));
+	}
+
+	private TreeSet<String> endpointNames() {
+		TreeSet<String> names = new TreeSet<>();
+		for (LoadTestReport report : reports) {
+			report.getEndpoints().forEach(stats -> names.add(stats.getName()));
+		}
+		return names;
+	}
+
+	private static EndpointStats find(LoadTestReport report, String endpoint) {
+		return report.getEndpoints().stream()
+				.filter(stats -> stats.getName().equals(endpoint))
+				.findFirst()
+				.orElse(null);
+	}
+
+	private static String ratio(double value, double baseline) {
+		return baseline > 0 ? String.format("%.2fx", value / baseline) : "-";
+	}
+
+}
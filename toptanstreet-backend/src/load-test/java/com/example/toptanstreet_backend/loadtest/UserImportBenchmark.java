@@ -0,0 +1,143 @@
+package com.example.toptanstreet_backend.loadtest;
+
+import com.example.toptanstreet_backend.ToptanstreetBackendApplication;
+import com.example.toptanstreet_backend.dto.UserImportResult;
+import com.example.toptanstreet_backend.service.UserImportReader;
+import com.example.toptanstreet_backend.service.UserImportService;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.Reader;
+
+/**
+ * Toplu kullanıcı içe aktarmanın satır/sn hızını gerçek Hibernate ve PostgreSQL ile ölçer.
+ * CSV bellekte üretilerek stream edilir; HTTP katmanı dahil değildir. Hash ve yazma süreleri
+ * ayrı yazdırılır, böylece BCrypt maliyetinden bağımsız olarak insert yolu da görülebilir.
+ * <pre>
+ * java -cp ... com.example.toptanstreet_backend.loadtest.UserImportBenchmark
+ * </pre>
+ * -Dbenchmark.rows (100000), -Dbenchmark.chunk-size (500), -Dbenchmark.batch-size (50; 1 = JDBC
+ * batch'leme kapalı), -Dbenchmark.bcrypt-strength (4; 0 = uygulamanın kalibre ettiği maliyet) ve
+ * -Dbenchmark.hash-threads (0 = çekirdek sayısının yarısı) verilebilir. -Dloadtest.jdbc-url ile
+ * harici PostgreSQL kullanılabilir.
+ */
+public class UserImportBenchmark {
+
+	private static final int WARMUP_ROWS = 5_000;
+
+	public static void main(String[] args) throws Exception {
+		System.setProperty("spring.devtools.restart.enabled", "false");
+		LoadTestOptions options = new LoadTestOptions();
+		int rows = Integer.getInteger("benchmark.rows", 100_000);
+		int chunkSize = Integer.getInteger("benchmark.chunk-size", 500);
+		int batchSize = Integer.getInteger("benchmark.batch-size", 50);
+		int strength = Integer.getInteger("benchmark.bcrypt-strength", 4);
+		int hashThreads = Integer.getInteger("benchmark.hash-threads", 0);
+
+		EmbeddedPostgres postgres = null;
+		GreenMail greenMail = new GreenMail(new ServerSetup(0, "127.0.0.1", ServerSetup.PROTOCOL_SMTP));
+		ConfigurableApplicationContext context = null;
+		try {
+			String jdbcUrl = options.getJdbcUrl();
+			String username = options.getJdbcUsername();
+			String password = options.getJdbcPassword();
+			if (jdbcUrl == null) {
+				postgres = EmbeddedPostgres.builder().start();
+				jdbcUrl = postgres.getJdbcUrl("postgres", "postgres");
+				username = "postgres";
+				password = "";
+			}
+			LoadTestRunner.createSchema(jdbcUrl, username, password);
+			greenMail.start();
+
+			context = new SpringApplicationBuilder(ToptanstreetBackendApplication.class)
+					.profiles("loadtest")
+					.run("--spring.datasource.url=" + LoadTestRunner.withSchema(jdbcUrl),
+							"--spring.datasource.username=" + username,
+							"--spring.datasource.password=" + password,
+							"--spring.mail.host=127.0.0.1",
+							"--spring.mail.port=" + greenMail.getSmtp().getPort(),
+							"--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+							"--spring.datasource.hikari.data-source-properties.reWriteBatchedInserts=" + (batchSize > 1),
+							"--app.password-hashing.strength=" + strength,
+							"--app.user-import.chunk-size=" + chunkSize,
+							"--app.user-import.hash-threads=" + hashThreads,
+							"--app.tracing.file.enabled=false",
+							"--logging.level.com.example.toptanstreet_backend=WARN");
+
+			UserImportService importService = context.getBean(UserImportService.class);
+			Statistics statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+			statistics.setStatisticsEnabled(true);
+			long runId = System.currentTimeMillis();
+
+			importService.importUsers(new GeneratedCsvReader("warmup-" + runId, WARMUP_ROWS), UserImportReader.Format.CSV);
+			statistics.clear();
+			UserImportResult result = importService.importUsers(new GeneratedCsvReader("bench-" + runId, rows),
+					UserImportReader.Format.CSV);
+
+			System.out.printf("%nToplu içe aktarma: %d satır, chunk %d, JDBC batch %d, BCrypt maliyeti %s, %d çekirdek%n",
+					rows, chunkSize, batchSize, strength > 0 ? strength : "kalibre",
+					Runtime.getRuntime().availableProcessors());
+			System.out.printf("eklenen %d, hatalı %d%n", result.getImported(), result.getFailed());
+			System.out.printf("toplam %d ms, hash %d ms, yazma %d ms%n",
+					result.getElapsedMillis(), result.getHashMillis(), result.getWriteMillis());
+			System.out.printf("%.0f satır/sn, yazma adımı %.0f satır/sn, %d SQL ifadesi%n", result.getRowsPerSecond(),
+					result.getWriteMillis() > 0 ? result.getImported() * 1000.0 / result.getWriteMillis() : 0,
+					statistics.getPrepareStatementCount());
+		} finally {
+			if (context != null) {
+				context.close();
+			}
+			greenMail.stop();
+			if (postgres != null) {
+				postgres.close();
+			}
+		}
+	}
+
+	/**
+	 * İstenen sayıda satırı okundukça üreten CSV kaynağı; dosyanın tamamı bellekte tutulmaz
+	 */
+	private static final class GeneratedCsvReader extends Reader {
+		private final String prefix;
+		private final int rows;
+		private int next = -1;
+		private String line = "";
+		private int position;
+
+		private GeneratedCsvReader(String prefix, int rows) {
+			this.prefix = prefix;
+			this.rows = rows;
+		}
+
+		@Override
+		public int read(char[] buffer, int offset, int length) {
+			if (position == line.length()) {
+				if (next == rows) {
+					return -1;
+				}
+				line = next < 0
+						? "firstName,lastName,email,password,role\n"
+						: "Mağaza,Sahibi " + next + "," + prefix + "-" + next + "@toptanstreet.test,Sifre-" + next + ","
+						+ (next % 4 == 0 ? "WHOLESALER" : "RETAILER") + "\n";
+				next++;
+				position = 0;
+			}
+			int count = Math.min(length, line.length() - position);
+			line.getChars(position, position + count, buffer, offset);
+			position += count;
+			return count;
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+
+}
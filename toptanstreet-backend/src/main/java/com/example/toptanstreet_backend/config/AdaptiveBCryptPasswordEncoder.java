@@ -0,0 +1,124 @@
+package com.example.toptanstreet_backend.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Maliyeti (strength) başlangıçta donanıma göre ölçülerek seçilen BCrypt encoder.
+ * Veritabanındaki hash'in maliyeti yapılandırılandan farklıysa upgradeEncoding true döner,
+ * böylece başarılı girişten sonra hash yeni maliyetle yeniden üretilir; operatör maliyeti
+ * düşürerek giriş gecikmesini de azaltabilir.
+ * <p>
+ * Kalibre edilen encoder'da varsayılan olarak yalnızca düşük maliyetli hash'ler yenilenir:
+ * kalibrasyon her açılışta yeniden yapıldığından ölçüm gürültüsü maliyeti aşağı çektiğinde
+ * hash'ler sessizce zayıflatılmaz. Bu durumda düşürme allowDowngrade ile açıkça istenmelidir.
+ */
+@Slf4j
+public class AdaptiveBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private static final int CALIBRATION_RUNS = 3;
+
+    private final int strength;
+    private final boolean allowDowngrade;
+    private final long calibrationMillis;
+
+    private AdaptiveBCryptPasswordEncoder(int strength, boolean allowDowngrade, long calibrationMillis) {
+        super(strength);
+        this.strength = strength;
+        this.allowDowngrade = allowDowngrade;
+        this.calibrationMillis = calibrationMillis;
+    }
+
+    /**
+     * Sabit maliyetli encoder oluşturur. Maliyet operatör tarafından açıkça seçildiği için
+     * farklı maliyetteki tüm hash'ler (daha yüksek olanlar da) yenilenir.
+     *
+     * @param strength BCrypt maliyeti (4-31)
+     * @return Encoder
+     */
+    public static AdaptiveBCryptPasswordEncoder fixed(int strength) {
+        return new AdaptiveBCryptPasswordEncoder(strength, true, 0);
+    }
+
+    /**
+     * Tek bir hash'in hedef süreyi aşmadığı en yüksek maliyeti ölçerek encoder oluşturur
+     *
+     * @param targetMillis Hash başına hedef süre
+     * @param minStrength  Alt sınır (güvenlik tabanı)
+     * @param maxStrength  Üst sınır
+     * @param allowDowngrade Ölçülen maliyetten yüksek hash'ler de yenilensin mi
+     * @return Kalibre edilmiş encoder
+     */
+    public static AdaptiveBCryptPasswordEncoder calibrate(long targetMillis, int minStrength, int maxStrength,
+                                                          boolean allowDowngrade) {
+        long startedAt = System.nanoTime();
+
+        // JIT ısınması
+        measureMillis(4);
+        measureMillis(4);
+
+        int strength = minStrength;
+        long elapsed = measureMillis(strength);
+        // Her maliyet artışı süreyi yaklaşık iki katına çıkarır; tahmin tutmazsa (ölçülen süre
+        // hedefi aşarsa) bir önceki maliyette kalınır
+        while (strength < maxStrength && elapsed * 2 <= targetMillis) {
+            long next = measureMillis(strength + 1);
+            if (next > targetMillis) {
+                break;
+            }
+            strength++;
+            elapsed = next;
+        }
+
+        long calibrationMillis = (System.nanoTime() - startedAt) / 1_000_000;
+        log.info("🔐 BCrypt maliyeti kalibre edildi: strength={}, hash süresi≈{} ms (hedef {} ms, kalibrasyon {} ms)",
+                strength, elapsed, targetMillis, calibrationMillis);
+        return new AdaptiveBCryptPasswordEncoder(strength, allowDowngrade, calibrationMillis);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        int storedStrength = strengthOf(encodedPassword);
+        if (storedStrength <= 0) {
+            return false;
+        }
+        return allowDowngrade ? storedStrength != strength : storedStrength < strength;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    public long getCalibrationMillis() {
+        return calibrationMillis;
+    }
+
+    /**
+     * $2a$10$... biçimindeki hash'ten maliyeti okur
+     *
+     * @return Maliyet, okunamazsa -1
+     */
+    static int strengthOf(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$'
+                || encodedPassword.charAt(3) != '$' || encodedPassword.charAt(6) != '$') {
+            return -1;
+        }
+        char tens = encodedPassword.charAt(4);
+        char ones = encodedPassword.charAt(5);
+        if (!Character.isDigit(tens) || !Character.isDigit(ones)) {
+            return -1;
+        }
+        return (tens - '0') * 10 + (ones - '0');
+    }
+
+    private static long measureMillis(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_RUNS; i++) {
+            long startedAt = System.nanoTime();
+            encoder.encode("calibration-password");
+            best = Math.min(best, System.nanoTime() - startedAt);
+        }
+        return best / 1_000_000;
+    }
+}
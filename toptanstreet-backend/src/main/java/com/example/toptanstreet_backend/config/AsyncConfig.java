@@ -1,27 +1,76 @@
 package com.example.toptanstreet_backend.config;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
- * Asenkron e-posta gönderimi için threadpool yapılandırması
+ * Asenkron işler için threadpool yapılandırması.
+ * spring.threads.virtual.enabled=true olduğunda genel amaçlı executor (ve Tomcat)
+ * virtual thread kullanır.
+ * Havuzların aktif thread ve kuyruk metrikleri (executor.active, executor.queued, ...) Spring Boot
+ * tarafından bean adıyla etiketlenerek otomatik kaydedilir; reddedilen işler burada sayılır.
+ * Tüm executor'lar çağıran thread'in trace context'ini (ve log MDC'sini) işi çalıştıran thread'e taşır.
  */
 @Configuration
 @EnableAsync
 public class AsyncConfig {
     
+    /**
+     * Varsayılan @Async ve bloklayan I/O işleri için executor (platform thread modu)
+     */
     @Bean(name = "taskExecutor")
-    public Executor taskExecutor() {
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public Executor taskExecutor(MeterRegistry meterRegistry) {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(2);
         executor.setMaxPoolSize(5);
         executor.setQueueCapacity(25);
-        executor.setThreadNamePrefix("EmailThread-");
+        executor.setThreadNamePrefix("AsyncThread-");
+        executor.setTaskDecorator(new ContextPropagatingTaskDecorator());
+        executor.setRejectedExecutionHandler(countingRejections(meterRegistry, "taskExecutor"));
         executor.initialize();
         return executor;
     }
+    
+    /**
+     * Varsayılan @Async ve bloklayan I/O işleri için executor (virtual thread modu).
+     * Her iş kendi virtual thread'inde çalışır, havuz ve kuyruk sınırı yoktur.
+     */
+    @Bean(name = "taskExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public Executor virtualThreadTaskExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("AsyncVirtual-");
+        executor.setVirtualThreads(true);
+        executor.setTaskDecorator(new ContextPropagatingTaskDecorator());
+        executor.setTaskTerminationTimeout(10_000);
+        return executor;
+    }
+    
+    /**
+     * Reddedilen işleri executor.rejected sayacına yazar, ardından varsayılan davranışla
+     * (RejectedExecutionException) çağırana bildirir
+     */
+    private static RejectedExecutionHandler countingRejections(MeterRegistry meterRegistry, String name) {
+        Counter rejected = Counter.builder("executor.rejected")
+                .description("Havuz ve kuyruk dolu olduğu için reddedilen işler")
+                .tag("name", name)
+                .register(meterRegistry);
+        RejectedExecutionHandler delegate = new ThreadPoolExecutor.AbortPolicy();
+        return (task, executor) -> {
+            rejected.increment();
+            delegate.rejectedExecution(task, executor);
+        };
+    }
 }
@@ -0,0 +1,96 @@
+package com.example.toptanstreet_backend.config;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * İstek gövdesini bir kez okuyup belleğe alan ve sonraki okumalarda tekrar sunan wrapper.
+ * Filtrelerin gövdeye bakıp (ör. e-posta alanı) isteği controller'a aynen iletmesini sağlar.
+ * Gövde en fazla maxBytes kadar okunur; aşılırsa PayloadTooLargeException fırlatılır.
+ */
+public class CachedBodyHttpServletRequest extends HttpServletRequestWrapper {
+
+    /**
+     * Gövde izin verilen boyutu aştığında fırlatılır; filtreler 413 Payload Too Large döndürür.
+     */
+    public static class PayloadTooLargeException extends IOException {
+        public PayloadTooLargeException(int maxBytes) {
+            super("İstek gövdesi " + maxBytes + " baytı aşıyor");
+        }
+    }
+
+    private final byte[] body;
+
+    public CachedBodyHttpServletRequest(HttpServletRequest request, int maxBytes) throws IOException {
+        super(request);
+        // Content-Length bildirilmişse gövde hiç okunmadan reddedilir
+        if (request.getContentLengthLong() > maxBytes) {
+            throw new PayloadTooLargeException(maxBytes);
+        }
+        // Chunked gövdelerde uzunluk bilinmez: en fazla bir bayt fazlası okunur
+        this.body = request.getInputStream().readNBytes(maxBytes + 1);
+        if (body.length > maxBytes) {
+            throw new PayloadTooLargeException(maxBytes);
+        }
+    }
+
+    /**
+     * Zincirde daha önce bir filtre gövdeyi önbelleğe aldıysa aynı wrapper'ı döndürür,
+     * böylece gövde istek başına bir kez okunur ve kopyalanır.
+     */
+    public static CachedBodyHttpServletRequest of(HttpServletRequest request, int maxBytes) throws IOException {
+        return request instanceof CachedBodyHttpServletRequest cached
+                ? cached
+                : new CachedBodyHttpServletRequest(request, maxBytes);
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+        ByteArrayInputStream input = new ByteArrayInputStream(body);
+        return new ServletInputStream() {
+            @Override
+            public boolean isFinished() {
+                return input.available() == 0;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public int read() {
+                return input.read();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                return input.read(b, off, len);
+            }
+        };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+        Charset charset = getCharacterEncoding() != null ? Charset.forName(getCharacterEncoding()) : StandardCharsets.UTF_8;
+        return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+    }
+}
@@ -30,33 +30,23 @@ public class CustomAuthenticationEntryPoint implements AuthenticationEntryPoint
         
         // Auth endpoint'lerine erişimde security filter'i bypass et
         if (requestPath.startsWith("/api/v1/auth/") || requestPath.startsWith("/api/v1/verification/")) {
-            System.out.println("\n\n[GEÇİCİ FIX] Security filtre atlanıyor: " + requestPath + " " + method);
-            System.out.println("Bu endpoint'ler için izin verildi\n\n");
+            logger.debug("[GEÇİCİ FIX] Security filtre atlanıyor: {} {}", method, requestPath);
             
             // Auth endpoint'lerine erişimde filtreleri atla, işlemi controller'a bırak
             // Normalde burayı atlamak güvenlik riski oluşturabilir ama geçici fix için güvenli bir ortamda kullanıyoruz
             return;
         }
         
-        // Özel hata mesajı oluşturmak için loglama
-        System.out.println("\n\n==============================================");
-        System.out.println("ÖZEL HATA MESAJI TETİKLENDİ! CustomAuthenticationEntryPoint.commence() çağrıldı!");
-        System.out.println("Request URI: " + requestPath);
-        System.out.println("Request Method: " + method);
-        System.out.println("Exception: " + authException.getMessage());
-        System.out.println("Exception type: " + authException.getClass().getName());
-        System.out.println("==============================================\n\n");
-        
-        logger.error("Yetkisiz erişim hatası: {} - {}", requestPath, authException.getMessage());
+        // Özel hata mesajı oluşturmak için loglama - istek başına tek olay
+        logger.warn("Yetkisiz erişim: {} {} - {}: {}", method, requestPath,
+                authException.getClass().getSimpleName(), authException.getMessage());
         
         // Özel hata mesajını hazırla - URL'ye göre kararlaştır
         String errorMessage;
         if (requestPath.contains("/api/v1/auth/initiate-register")) {
             errorMessage = "Kayıt işlemi başarısız. Bu email adresi zaten sistemde kayıtlı olabilir.";
-            logger.error("Kayıt işlemi başarısız. Muhtemelen email zaten kayıtlı.");
         } else if (requestPath.contains("/api/v1/auth/login")) {
             errorMessage = "Giriş yapılamadı. Email veya şifre hatalı.";
-            logger.error("Giriş işlemi başarısız. Email veya şifre hatalı.");
         } else {
             // Genel kimlik doğrulama hatası
             errorMessage = "Yetkisiz erişim. Bu işlem için giriş yapmanız gerekmektedir.";
@@ -74,9 +64,6 @@ public class CustomAuthenticationEntryPoint implements AuthenticationEntryPoint
             PrintWriter writer = response.getWriter();
             writer.write(jsonResponse);
             writer.flush();
-            
-            // Debug: Gönderilen yanıtı logla
-            System.out.println("Gönderilen API Yanıtı: " + jsonResponse);
         } catch (Exception e) {
             logger.error("JSON dönüştürme hatası: {}", e.getMessage(), e);
         }
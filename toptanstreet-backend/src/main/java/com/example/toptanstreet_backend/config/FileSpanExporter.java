@@ -0,0 +1,200 @@
+package com.example.toptanstreet_backend.config;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanId;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.EventData;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tamamlanan span'leri satır başına bir JSON nesnesi olacak şekilde (JSON Lines) dosyaya yazar.
+ * Harici bir collector gerektirmeden gecikme dağılımı jq veya benzeri araçlarla incelenebilir.
+ * Dosya max boyuta ulaştığında ".1" uzantılı yedeğe taşınır ve yeni dosya açılır.
+ * <p>
+ * Export, OpenTelemetry BatchSpanProcessor'ün tek worker thread'inden çağrılır;
+ * istek thread'leri dosya I/O'su beklemez.
+ */
+@Slf4j
+public class FileSpanExporter implements SpanExporter {
+
+    private final Path path;
+    private final long maxBytes;
+    private final JsonFactory jsonFactory;
+
+    private CountingOutputStream out;
+
+    public FileSpanExporter(Path path, long maxBytes, JsonFactory jsonFactory) {
+        this.path = path;
+        this.maxBytes = maxBytes;
+        this.jsonFactory = jsonFactory;
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        try {
+            if (out == null) {
+                open();
+            }
+            try (JsonGenerator generator = jsonFactory.createGenerator(out, JsonEncoding.UTF8)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+                for (SpanData span : spans) {
+                    write(generator, span);
+                    generator.writeRaw('\n');
+                }
+            }
+            out.flush();
+            if (out.count >= maxBytes) {
+                rotate();
+            }
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            log.warn("Span'ler dosyaya yazılamadı: {}: {}", path, e.getMessage());
+            closeQuietly();
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    @Override
+    public synchronized CompletableResultCode flush() {
+        try {
+            if (out != null) {
+                out.flush();
+            }
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    @Override
+    public synchronized CompletableResultCode shutdown() {
+        closeQuietly();
+        return CompletableResultCode.ofSuccess();
+    }
+
+    private void write(JsonGenerator generator, SpanData span) throws IOException {
+        long startNanos = span.getStartEpochNanos();
+        generator.writeStartObject();
+        generator.writeStringField("traceId", span.getTraceId());
+        generator.writeStringField("spanId", span.getSpanId());
+        if (SpanId.isValid(span.getParentSpanId())) {
+            generator.writeStringField("parentSpanId", span.getParentSpanId());
+        }
+        generator.writeStringField("name", span.getName());
+        generator.writeStringField("kind", span.getKind().name());
+        generator.writeStringField("start", Instant.ofEpochSecond(0, startNanos).toString());
+        generator.writeNumberField("durationMicros", TimeUnit.NANOSECONDS.toMicros(span.getEndEpochNanos() - startNanos));
+        generator.writeStringField("status", span.getStatus().getStatusCode().name());
+
+        generator.writeObjectFieldStart("attributes");
+        for (Map.Entry<AttributeKey<?>, Object> attribute : span.getAttributes().asMap().entrySet()) {
+            generator.writeStringField(attribute.getKey().getKey(), String.valueOf(attribute.getValue()));
+        }
+        generator.writeEndObject();
+
+        if (!span.getEvents().isEmpty()) {
+            generator.writeArrayFieldStart("events");
+            for (EventData event : span.getEvents()) {
+                generator.writeStartObject();
+                generator.writeStringField("name", event.getName());
+                generator.writeNumberField("offsetMicros", TimeUnit.NANOSECONDS.toMicros(event.getEpochNanos() - startNanos));
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+
+        if (!span.getLinks().isEmpty()) {
+            generator.writeArrayFieldStart("links");
+            for (LinkData link : span.getLinks()) {
+                generator.writeStartObject();
+                generator.writeStringField("traceId", link.getSpanContext().getTraceId());
+                generator.writeStringField("spanId", link.getSpanContext().getSpanId());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+        generator.writeEndObject();
+    }
+
+    private void open() throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        long existing = Files.exists(path) ? Files.size(path) : 0;
+        out = new CountingOutputStream(new BufferedOutputStream(Files.newOutputStream(path,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)), existing);
+    }
+
+    private void rotate() throws IOException {
+        out.close();
+        out = null;
+        Files.move(path, path.resolveSibling(path.getFileName() + ".1"), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void closeQuietly() {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.close();
+        } catch (IOException e) {
+            log.debug("Span dosyası kapatılırken hata: {}", e.getMessage());
+        }
+        out = null;
+    }
+
+    /**
+     * Dosya boyutunu her yazımda diskten okumamak için yazılan byte'ları sayar
+     */
+    private static final class CountingOutputStream extends OutputStream {
+        private final OutputStream delegate;
+        private long count;
+
+        private CountingOutputStream(OutputStream delegate, long count) {
+            this.delegate = delegate;
+            this.count = count;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.toptanstreet_backend.config;
+
+import com.example.toptanstreet_backend.dto.ApiResponse;
+import com.example.toptanstreet_backend.util.IdempotencyStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Idempotency-Key başlığı taşıyan POST isteklerini tekilleştirir. Aynı anahtarla tekrar gelen
+ * istek servise ulaşmaz; ilk isteğin ApiResponse yanıtı aynen (Idempotent-Replayed: true ile)
+ * döner. İlk istek sürerken gelen kopyalar onun bitmesini bekler; ilk istek istisnayla düşerse
+ * bekleyenlerden biri anahtarı yeniden sahiplenip isteği çalıştırır. Yalnızca 2xx yanıtlar saklanır;
+ * hata yanıtında anahtar serbest kalır ve istemci aynı anahtarla yeniden deneyebilir.
+ * Aynı anahtar farklı bir gövdeyle gelirse 422 döner. Başlık yoksa istek olduğu gibi geçer.
+ */
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final long IN_PROGRESS_RETRY_AFTER_SECONDS = 1;
+
+    private final IdempotencyStore store;
+    private final Set<String> paths;
+    private final Duration waitTimeout;
+    private final int maxStoredBodyBytes;
+    private final int maxRequestBodyBytes;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    public IdempotencyFilter(IdempotencyStore store, Set<String> paths, Duration waitTimeout, int maxStoredBodyBytes,
+                             int maxRequestBodyBytes, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.store = store;
+        this.paths = paths;
+        this.waitTimeout = waitTimeout;
+        this.maxStoredBodyBytes = maxStoredBodyBytes;
+        this.maxRequestBodyBytes = maxRequestBodyBytes;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("idempotency.keys", store, IdempotencyStore::size).register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod()) || !paths.contains(request.getRequestURI())
+                || request.getHeader(KEY_HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String key = request.getHeader(KEY_HEADER).trim();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            recordOutcome("invalid");
+            reject(response, HttpStatus.BAD_REQUEST, null,
+                    "Idempotency-Key 1-" + MAX_KEY_LENGTH + " karakter olmalıdır");
+            return;
+        }
+
+        CachedBodyHttpServletRequest cachedRequest;
+        try {
+            cachedRequest = CachedBodyHttpServletRequest.of(request, maxRequestBodyBytes);
+        } catch (CachedBodyHttpServletRequest.PayloadTooLargeException e) {
+            recordOutcome("too_large");
+            reject(response, HttpStatus.PAYLOAD_TOO_LARGE, null, e.getMessage());
+            return;
+        }
+        String storeKey = request.getRequestURI() + ":" + key;
+        String fingerprint = fingerprint(cachedRequest.getBody());
+        IdempotencyStore.Claim claim = store.claim(storeKey, fingerprint);
+
+        while (!claim.isOwner()) {
+            if (!claim.getEntry().getFingerprint().equals(fingerprint)) {
+                recordOutcome("mismatch");
+                reject(response, HttpStatus.UNPROCESSABLE_ENTITY, null,
+                        "Bu Idempotency-Key farklı bir istek için kullanılmış");
+                return;
+            }
+            IdempotencyStore.StoredResponse stored;
+            try {
+                stored = store.await(claim.getEntry(), waitTimeout);
+            } catch (TimeoutException | InterruptedException e) {
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                recordOutcome("timeout");
+                reject(response, HttpStatus.CONFLICT, IN_PROGRESS_RETRY_AFTER_SECONDS,
+                        "Aynı Idempotency-Key ile gönderilen istek hâlâ işleniyor");
+                return;
+            }
+            if (stored != null) {
+                recordOutcome("replayed");
+                replay(response, stored);
+                return;
+            }
+            // Sahip yanıt üretemeden düştü ve anahtarı bıraktı: bekleyenlerden yalnızca biri
+            // yeni sahip olur, diğerleri onun yanıtını bekler
+            log.debug("Idempotency-Key sahibi yanıt üretemedi, anahtar yeniden sahipleniyor: {}", storeKey);
+            claim = store.claim(storeKey, fingerprint);
+        }
+
+        recordOutcome("executed");
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean completed = false;
+        try {
+            filterChain.doFilter(cachedRequest, wrapper);
+            byte[] body = wrapper.getContentAsByteArray();
+            IdempotencyStore.StoredResponse stored = new IdempotencyStore.StoredResponse(wrapper.getStatus(),
+                    wrapper.getContentType(), wrapper.getHeader(HttpHeaders.RETRY_AFTER), body);
+            boolean keep = HttpStatus.valueOf(wrapper.getStatus()).is2xxSuccessful() && body.length <= maxStoredBodyBytes;
+            store.complete(storeKey, claim.getEntry(), stored, keep);
+            completed = true;
+        } finally {
+            if (!completed) {
+                store.abandon(storeKey, claim.getEntry());
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private void replay(HttpServletResponse response, IdempotencyStore.StoredResponse stored) throws IOException {
+        response.setStatus(stored.getStatus());
+        if (stored.getContentType() != null) {
+            response.setContentType(stored.getContentType());
+        }
+        if (stored.getRetryAfter() != null) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, stored.getRetryAfter());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.getBody().length);
+        response.getOutputStream().write(stored.getBody());
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, Long retryAfterSeconds, String message)
+            throws IOException {
+        response.setStatus(status.value());
+        if (retryAfterSeconds != null) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        }
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getWriter(), ApiResponse.error(message));
+    }
+
+    private static String fingerprint(byte[] body) {
+        try {
+            return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 bulunamadı", e);
+        }
+    }
+
+    /**
+     * idempotency.requests sayacına sonuç yazar (executed, replayed, mismatch, timeout, invalid, too_large)
+     */
+    private void recordOutcome(String outcome) {
+        meterRegistry.counter("idempotency.requests", "outcome", outcome).increment();
+    }
+}
@@ -4,7 +4,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.JavaMailSenderImpl;
 
 import java.util.Properties;
@@ -22,8 +21,12 @@ public class MailConfig {
         this.env = env;
     }
 
+    /**
+     * JavaMailSender bean'i. SmtpConnectionPool oturum ve bağlantı bilgilerini
+     * buradan aldığı için somut JavaMailSenderImpl tipi döndürülür.
+     */
     @Bean
-    public JavaMailSender getJavaMailSender() {
+    public JavaMailSenderImpl getJavaMailSender() {
         JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
         
         // Ana ayarlar
@@ -50,7 +53,7 @@ public class MailConfig {
         props.put("mail.smtp.auth", env.getProperty("spring.mail.properties.mail.smtp.auth", "true"));
         props.put("mail.smtp.starttls.enable", env.getProperty("spring.mail.properties.mail.smtp.starttls.enable", "true"));
         props.put("mail.smtp.starttls.required", env.getProperty("spring.mail.properties.mail.smtp.starttls.required", "true"));
-        props.put("mail.debug", "true"); // Debug modunu aktifleştir
+        props.put("mail.debug", env.getProperty("spring.mail.properties.mail.debug", "true")); // Debug modunu aktifleştir
         props.put("mail.smtp.ssl.trust", "*"); // SSL güven sorunlarını önler (dev için güvenli olmayan mod)
         props.put("mail.smtp.ssl.protocols", "TLSv1.2");
         
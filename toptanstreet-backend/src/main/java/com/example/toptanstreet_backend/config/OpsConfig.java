@@ -0,0 +1,49 @@
+package com.example.toptanstreet_backend.config;
+
+import com.example.toptanstreet_backend.service.AllocationTracked;
+import com.example.toptanstreet_backend.service.AllocationTracker;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotationUtils;
+
+/**
+ * Operasyon endpoint'lerinin ihtiyaç duyduğu ölçümler.
+ * &#64;AllocationTracked metotların çağıran thread üzerindeki tahsisi AllocationTracker'a yazılır.
+ */
+@Configuration
+public class OpsConfig {
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor allocationTrackingAdvisor(ObjectProvider<AllocationTracker> trackerProvider) {
+        MethodInterceptor interceptor = invocation -> {
+            AllocationTracker tracker = trackerProvider.getObject();
+            long before = tracker.currentThreadAllocatedBytes();
+            if (before < 0) {
+                return invocation.proceed();
+            }
+            try {
+                return invocation.proceed();
+            } finally {
+                long after = tracker.currentThreadAllocatedBytes();
+                AllocationTracked tracked = AnnotationUtils.findAnnotation(invocation.getMethod(), AllocationTracked.class);
+                if (after >= before && tracked != null) {
+                    tracker.record(tracked.value(), after - before);
+                }
+            }
+        };
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                AnnotationMatchingPointcut.forMethodAnnotation(AllocationTracked.class), interceptor);
+        // Tracing advisor'ının içinde çalışır; span oluşturma tahsisi ölçüme karışmaz
+        advisor.setOrder(Ordered.LOWEST_PRECEDENCE);
+        return advisor;
+    }
+}
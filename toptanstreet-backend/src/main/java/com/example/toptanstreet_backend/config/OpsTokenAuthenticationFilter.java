@@ -0,0 +1,59 @@
+package com.example.toptanstreet_backend.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+
+/**
+ * Operasyon endpoint'leri (/api/v1/ops/**) ve Prometheus scrape endpoint'i için X-Ops-Token
+ * başlığını app.ops.token ile karşılaştırır ve eşleşirse ROLE_OPS yetkisi verir. Karşılaştırma SHA-256 özetleri
+ * üzerinden sabit sürede yapılır. Token tanımlı değilse hiçbir istek yetkilendirilmez.
+ */
+public class OpsTokenAuthenticationFilter extends OncePerRequestFilter {
+
+    static final String HEADER = "X-Ops-Token";
+    static final String PATH_PREFIX = "/api/v1/ops/";
+    static final String PROMETHEUS_PATH = "/actuator/prometheus";
+
+    private final byte[] expectedDigest;
+
+    public OpsTokenAuthenticationFilter(String token) {
+        this.expectedDigest = token == null || token.isBlank() ? null : sha256(token);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return expectedDigest == null || !(uri.startsWith(PATH_PREFIX) || uri.equals(PROMETHEUS_PATH));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String token = request.getHeader(HEADER);
+        if (token != null && MessageDigest.isEqual(sha256(token), expectedDigest)) {
+            SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                    "ops", null, List.of(new SimpleGrantedAuthority("ROLE_OPS"))));
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
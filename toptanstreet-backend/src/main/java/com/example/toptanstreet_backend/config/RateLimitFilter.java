@@ -0,0 +1,143 @@
+package com.example.toptanstreet_backend.config;
+
+import com.example.toptanstreet_backend.dto.ApiResponse;
+import com.example.toptanstreet_backend.util.TokenBucketRateLimiter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pahalı endpoint'leri (SMTP gönderimi veya BCrypt doğrulaması yapanlar) e-posta ve
+ * istemci IP'si başına token bucket ile sınırlar. Limit aşılırsa istek controller'a
+ * ulaşmadan 429 Too Many Requests ve Retry-After başlığı ile döner. POST isteklerinde e-posta
+ * JSON gövdeden okunur (gövde maxBodyBytes ile sınırlıdır, aşarsa 413); GET isteklerinde
+ * (ör. doğrulama durumu akışı) email sorgu parametresinden alınır.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    /**
+     * Endpoint için e-posta ve IP kuralları. Mail gönderen endpoint'ler aynı grubu
+     * paylaşır, böylece aynı e-postaya iki farklı yoldan gönderim aynı kovadan düşer.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class EndpointLimit {
+        private final String group;
+        private final TokenBucketRateLimiter.Rule perEmail;
+        private final TokenBucketRateLimiter.Rule perIp;
+    }
+
+    private final TokenBucketRateLimiter limiter;
+    private final Map<String, EndpointLimit> limits;
+    private final int maxBodyBytes;
+    private final ObjectMapper objectMapper;
+    private final Counter rejectedByEmail;
+    private final Counter rejectedByIp;
+
+    public RateLimitFilter(TokenBucketRateLimiter limiter, Map<String, EndpointLimit> limits, int maxBodyBytes,
+                           ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.limiter = limiter;
+        this.limits = limits;
+        this.maxBodyBytes = maxBodyBytes;
+        this.objectMapper = objectMapper;
+        this.rejectedByEmail = Counter.builder("rate.limit.rejected").tag("key", "email").register(meterRegistry);
+        this.rejectedByIp = Counter.builder("rate.limit.rejected").tag("key", "ip").register(meterRegistry);
+        Gauge.builder("rate.limit.buckets", limiter, TokenBucketRateLimiter::size).register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !("POST".equals(request.getMethod()) || "GET".equals(request.getMethod()))
+                || !limits.containsKey(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        EndpointLimit limit = limits.get(request.getRequestURI());
+
+        // IP kontrolü gövde okunmadan yapılır
+        long waitNanos = limiter.tryAcquire(limit.getGroup() + ":ip:" + request.getRemoteAddr(), limit.getPerIp());
+        if (waitNanos > 0) {
+            rejectedByIp.increment();
+            reject(response, waitNanos);
+            return;
+        }
+
+        HttpServletRequest forwarded = request;
+        String email;
+        if ("GET".equals(request.getMethod())) {
+            email = normalize(request.getParameter("email"));
+        } else {
+            // Idempotency filtresi gövdeyi zaten önbelleğe aldıysa aynı wrapper kullanılır
+            CachedBodyHttpServletRequest cachedRequest;
+            try {
+                cachedRequest = CachedBodyHttpServletRequest.of(request, maxBodyBytes);
+            } catch (CachedBodyHttpServletRequest.PayloadTooLargeException e) {
+                writeError(response, HttpStatus.PAYLOAD_TOO_LARGE, e.getMessage());
+                return;
+            }
+            forwarded = cachedRequest;
+            email = extractEmail(cachedRequest.getBody());
+        }
+        if (email != null) {
+            waitNanos = limiter.tryAcquire(limit.getGroup() + ":email:" + email, limit.getPerEmail());
+            if (waitNanos > 0) {
+                rejectedByEmail.increment();
+                reject(response, waitNanos);
+                return;
+            }
+        }
+
+        filterChain.doFilter(forwarded, response);
+    }
+
+    private String extractEmail(byte[] body) {
+        if (body.length == 0) {
+            return null;
+        }
+        try {
+            JsonNode email = objectMapper.readTree(body).get("email");
+            return email != null && email.isTextual() ? normalize(email.asText()) : null;
+        } catch (IOException e) {
+            // Geçersiz JSON: hatayı controller üretsin
+            return null;
+        }
+    }
+
+    private static String normalize(String email) {
+        return email != null ? email.trim().toLowerCase(Locale.ROOT) : null;
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + Duration.ofSeconds(1).toNanos() - 1));
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        writeError(response, HttpStatus.TOO_MANY_REQUESTS,
+                "Çok fazla istek. Lütfen " + retryAfterSeconds + " saniye sonra tekrar deneyin.");
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getWriter(), ApiResponse.error(message));
+    }
+}
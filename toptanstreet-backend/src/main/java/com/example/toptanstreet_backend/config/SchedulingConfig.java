@@ -0,0 +1,28 @@
+package com.example.toptanstreet_backend.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Zamanlanmış arka plan işleri (outbox gönderimi vb.) için yapılandırma
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    /**
+     * Zamanlanmış işler virtual thread modunda da platform thread üzerinde çalışır:
+     * outbox gönderimi JavaMail'in synchronized metotlarına girer ve virtual thread'i sabitler.
+     */
+    @Bean
+    public TaskScheduler taskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(2);
+        scheduler.setThreadNamePrefix("Scheduler-");
+        scheduler.initialize();
+        return scheduler;
+    }
+}
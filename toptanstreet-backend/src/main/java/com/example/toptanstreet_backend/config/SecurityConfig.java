@@ -1,40 +1,70 @@
 package com.example.toptanstreet_backend.config;
 
+import com.example.toptanstreet_backend.service.JwtService;
+import com.example.toptanstreet_backend.util.IdempotencyStore;
+import com.example.toptanstreet_backend.util.TokenBucketRateLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Configuration
 @EnableWebSecurity
+@Slf4j
 public class SecurityConfig {
 
     private final CustomAuthenticationEntryPoint authenticationEntryPoint;
+    private final JwtService jwtService;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Environment env;
     
     // Constructor injection - @Autowired yerine (daha güvenli)
-    public SecurityConfig(CustomAuthenticationEntryPoint authenticationEntryPoint) {
+    public SecurityConfig(CustomAuthenticationEntryPoint authenticationEntryPoint, JwtService jwtService,
+                          ObjectMapper objectMapper, MeterRegistry meterRegistry, Environment env) {
         this.authenticationEntryPoint = authenticationEntryPoint;
-        System.out.println("SecurityConfig yüklendi! CustomAuthenticationEntryPoint: " + 
-            (authenticationEntryPoint != null ? "başarıyla inject edildi" : "NULL - HATA!"));
+        this.jwtService = jwtService;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.env = env;
     }
     
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         // Tüm auth ve verification endpointlerini açıkça logla
-        System.out.println("\n\nÖNEMLİ GÜVENLİK AYARLARI:\n" + 
-                          "Tüm /api/v1/auth/* ve /api/v1/verification/* endpoint'leri permitAll() ile açılıyor.\n" +
-                          "Özellikle /api/v1/auth/initiate-register açık erişimli\n\n");
+        log.info("Güvenlik ayarları: /api/v1/auth/** ve /api/v1/verification/** endpoint'leri permitAll() ile açılıyor");
+        
+        // Idempotency-Key tekrarları - istek sınırlamasından önce, böylece tekrar oynatılan yanıt token harcamaz
+        if (env.getProperty("app.idempotency.enabled", Boolean.class, true)) {
+            http.addFilterBefore(idempotencyFilter(), UsernamePasswordAuthenticationFilter.class);
+        }
+        
+        // E-posta ve IP başına istek sınırlaması - JWT filtresinden ve controller'lardan önce çalışır
+        // (aynı konuma eklenen filtreler ekleme sırasına göre çalışır)
+        if (env.getProperty("app.rate-limit.enabled", Boolean.class, true)) {
+            http.addFilterBefore(rateLimitFilter(), UsernamePasswordAuthenticationFilter.class);
+        }
         
         http
             // CORS konfigürasyonu - Flutter ile backend arasındaki cross-origin istekleri için
@@ -52,6 +82,20 @@ public class SecurityConfig {
                 // Genel olarak tüm auth endpoint'leri
                 auth.requestMatchers("/api/v1/auth/**").permitAll();
                 
+                // Operasyon endpoint'leri (JFR, thread dökümü, histogram) yalnızca ops token ile
+                auth.requestMatchers("/api/v1/ops/**").hasRole("OPS");
+
+                // Ürün araması ve detayı tüm kullanıcılara, katalog yönetimi yalnızca toptancılara
+                auth.requestMatchers(HttpMethod.GET, "/api/v1/catalog/products/mine").hasRole("WHOLESALER");
+                auth.requestMatchers(HttpMethod.GET, "/api/v1/catalog/search", "/api/v1/catalog/products/*").authenticated();
+                auth.requestMatchers("/api/v1/catalog/**").hasRole("WHOLESALER");
+
+                // Sağlık kontrolü herkese açık (diğer actuator endpoint'leri yayınlanmaz)
+                auth.requestMatchers("/actuator/health/**").permitAll();
+
+                // Prometheus metrikleri (endpoint gecikmeleri, hız sınırı, outbox sayaçları) yalnızca ops token ile
+                auth.requestMatchers("/actuator/prometheus").hasRole("OPS");
+                
                 // Diğer tüm istekler kimlik doğrulama gerektirir
                 auth.anyRequest().authenticated();
             })
@@ -62,14 +106,70 @@ public class SecurityConfig {
             // Oturum yönetimi - durumsuz RESTful servisler için
             .sessionManagement(sess -> sess
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
-            );
+            )
+            // Bearer JWT doğrulaması - veritabanı sorgusu olmadan
+            .addFilterBefore(new JwtAuthenticationFilter(jwtService), UsernamePasswordAuthenticationFilter.class)
+            // Operasyon ve Prometheus endpoint'leri için X-Ops-Token doğrulaması (app.ops.token boşsa devre dışı)
+            .addFilterBefore(new OpsTokenAuthenticationFilter(env.getProperty("app.ops.token")),
+                    UsernamePasswordAuthenticationFilter.class);
+        
+        log.debug("Security konfigürasyonu yüklendi");
         
-        System.out.println("Security konfigürasyonu yüklendi! AuthenticationEntryPoint: " + 
-            (authenticationEntryPoint != null ? "aktif" : "NULL - DİKKAT!"));
-            
         return http.build();
     }
     
+    /**
+     * Mail gönderen kayıt ve kod gönderme endpoint'leri için Idempotency-Key deposu.
+     * Mobil istemcinin yeniden denemeleri yeni kod ve yeni SMTP gönderimi üretmez.
+     */
+    private IdempotencyFilter idempotencyFilter() {
+        IdempotencyStore store = new IdempotencyStore(
+                Duration.ofSeconds(env.getProperty("app.idempotency.ttl-seconds", Long.class, 600L)),
+                env.getProperty("app.idempotency.max-keys", Long.class, 100_000L));
+        
+        return new IdempotencyFilter(store, Set.of(
+                "/api/v1/verification/send",
+                "/api/v1/auth/initiate-register"),
+                Duration.ofMillis(env.getProperty("app.idempotency.wait-timeout-ms", Long.class, 10_000L)),
+                env.getProperty("app.idempotency.max-body-bytes", Integer.class, 16_384),
+                maxRequestBodyBytes(), objectMapper, meterRegistry);
+    }
+    
+    /**
+     * Mail gönderen ve BCrypt doğrulaması yapan endpoint'ler için istek sınırlayıcı.
+     * Filtre bean olarak tanımlanmaz; aksi halde servlet container'a da kaydedilirdi.
+     */
+    private RateLimitFilter rateLimitFilter() {
+        Duration window = Duration.ofSeconds(env.getProperty("app.rate-limit.window-seconds", Long.class, 60L));
+        Duration idleExpiry = Duration.ofSeconds(env.getProperty("app.rate-limit.idle-expiry-seconds", Long.class, 600L));
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(
+                idleExpiry.compareTo(window) > 0 ? idleExpiry : window,
+                env.getProperty("app.rate-limit.max-keys", Long.class, 100_000L));
+        
+        RateLimitFilter.EndpointLimit mail = new RateLimitFilter.EndpointLimit("mail",
+                new TokenBucketRateLimiter.Rule(env.getProperty("app.rate-limit.mail.email-capacity", Integer.class, 3), window),
+                new TokenBucketRateLimiter.Rule(env.getProperty("app.rate-limit.mail.ip-capacity", Integer.class, 20), window));
+        RateLimitFilter.EndpointLimit login = new RateLimitFilter.EndpointLimit("login",
+                new TokenBucketRateLimiter.Rule(env.getProperty("app.rate-limit.login.email-capacity", Integer.class, 10), window),
+                new TokenBucketRateLimiter.Rule(env.getProperty("app.rate-limit.login.ip-capacity", Integer.class, 60), window));
+        RateLimitFilter.EndpointLimit statusStream = new RateLimitFilter.EndpointLimit("status-stream",
+                new TokenBucketRateLimiter.Rule(env.getProperty("app.rate-limit.status-stream.email-capacity", Integer.class, 10), window),
+                new TokenBucketRateLimiter.Rule(env.getProperty("app.rate-limit.status-stream.ip-capacity", Integer.class, 30), window));
+        
+        return new RateLimitFilter(limiter, Map.of(
+                "/api/v1/verification/send", mail,
+                "/api/v1/auth/initiate-register", mail,
+                "/api/v1/auth/login", login,
+                "/api/v1/verification/status/stream", statusStream), maxRequestBodyBytes(), objectMapper, meterRegistry);
+    }
+    
+    /**
+     * Filtrelerin belleğe okuduğu istek gövdesi sınırı; aşan istekler 413 ile reddedilir
+     */
+    private int maxRequestBodyBytes() {
+        return env.getProperty("app.request.max-body-bytes", Integer.class, 16_384);
+    }
+    
     /**
      * CORS konfigürasyonu - Flutter uygulamalarının backend ile haberleşmesini sağlar
      * Geliştirme ortamında tüm isteklere izin veriyoruz (*)
@@ -86,13 +186,34 @@ public class SecurityConfig {
         
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
-        System.out.println("CORS konfigürasyonu aktifleştirildi - Tüm isteklere izin veriliyor");
+        log.debug("CORS konfigürasyonu aktifleştirildi - Tüm isteklere izin veriliyor");
         return source;
     }
     
+    /**
+     * BCrypt encoder - maliyet başlangıçta hedef hash süresine göre kalibre edilir.
+     * app.password-hashing.strength > 0 ise kalibrasyon yapılmaz, sabit maliyet kullanılır ve
+     * farklı maliyetteki hash'ler girişte bu maliyete getirilir. Kalibrasyonda daha yüksek
+     * maliyetli hash'ler yalnızca app.password-hashing.allow-downgrade=true ise düşürülür.
+     */
     @Bean
     @Primary
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${app.password-hashing.strength:0}") int strength,
+                                           @Value("${app.password-hashing.target-ms:50}") long targetMillis,
+                                           @Value("${app.password-hashing.min-strength:10}") int minStrength,
+                                           @Value("${app.password-hashing.max-strength:14}") int maxStrength,
+                                           @Value("${app.password-hashing.allow-downgrade:false}") boolean allowDowngrade) {
+        AdaptiveBCryptPasswordEncoder encoder = strength > 0
+                ? AdaptiveBCryptPasswordEncoder.fixed(strength)
+                : AdaptiveBCryptPasswordEncoder.calibrate(targetMillis, minStrength, maxStrength, allowDowngrade);
+        
+        Gauge.builder("password.hash.strength", encoder, AdaptiveBCryptPasswordEncoder::getStrength)
+                .description("Kullanılan BCrypt maliyeti")
+                .register(meterRegistry);
+        Gauge.builder("password.hash.calibration.duration", encoder, AdaptiveBCryptPasswordEncoder::getCalibrationMillis)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        return encoder;
     }
 }
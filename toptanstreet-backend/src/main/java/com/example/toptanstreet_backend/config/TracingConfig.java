@@ -0,0 +1,128 @@
+package com.example.toptanstreet_backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.context.ContextRegistry;
+import io.micrometer.observation.ObservationPredicate;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.contextpropagation.ObservationAwareSpanThreadLocalAccessor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.scheduling.support.ScheduledTaskObservationContext;
+import org.springframework.stereotype.Service;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.file.Path;
+
+/**
+ * İstek bazında span dökümü için izleme (tracing) yapılandırması.
+ * <ul>
+ *   <li>HTTP istekleri Spring Boot tarafından, her JDBC bağlantısı ve sorgusu datasource-micrometer
+ *   tarafından span olarak kaydedilir</li>
+ *   <li>Controller, servis ve repository metotları "Sınıf.metot" span'leri ile sarılır</li>
+ *   <li>BCrypt ve SMTP span'leri PasswordHashingService ve SmtpConnectionPool içinde açılır</li>
+ *   <li>Span'ler harici collector olmadan JSON Lines dosyasına yazılır (FileSpanExporter)</li>
+ * </ul>
+ * Örnekleme oranı management.tracing.sampling.probability ile ayarlanır.
+ */
+@Configuration
+@Slf4j
+public class TracingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.tracing.file.enabled", havingValue = "true", matchIfMissing = true)
+    public FileSpanExporter fileSpanExporter(ObjectMapper objectMapper,
+                                             @Value("${app.tracing.file.path:logs/spans.jsonl}") String path,
+                                             @Value("${app.tracing.file.max-size-mb:100}") long maxSizeMb) {
+        log.info("🔎 Span'ler dosyaya yazılıyor: {}", Path.of(path).toAbsolutePath());
+        return new FileSpanExporter(Path.of(path), maxSizeMb * 1024 * 1024, objectMapper.getFactory());
+    }
+
+    /**
+     * Her saniye çalışan zamanlanmış işler (outbox taraması vb.) ve Prometheus/health istekleri
+     * izlenmez; aksi halde span dosyası boş döngülerle dolar. JDBC sorguları yalnızca devam eden
+     * bir trace içindeyse span üretir. Outbox gönderimi kendi kök span'ini açar (EmailOutboxDispatcher).
+     */
+    @Bean
+    public ObservationPredicate tracingNoiseFilter(ObjectProvider<Tracer> tracer,
+                                                   @Value("${app.tracing.scheduled-tasks:false}") boolean traceScheduledTasks) {
+        return (name, context) -> {
+            if (context instanceof ScheduledTaskObservationContext) {
+                return traceScheduledTasks;
+            }
+            if (context instanceof ServerRequestObservationContext request) {
+                return !request.getCarrier().getRequestURI().startsWith("/actuator");
+            }
+            if (name.startsWith("jdbc.")) {
+                return tracer.getIfAvailable(() -> Tracer.NOOP).currentSpan() != null;
+            }
+            return true;
+        };
+    }
+
+    /**
+     * Observation dışında açılan span'lerin (servis, BCrypt, SMTP) de @Async ve hash havuzu
+     * thread'lerine taşınabilmesi için context-propagation kaydı
+     */
+    @Bean
+    public SmartInitializingSingleton spanContextPropagation(ObjectProvider<Tracer> tracer) {
+        return () -> ContextRegistry.getInstance()
+                .registerThreadLocalAccessor(new ObservationAwareSpanThreadLocalAccessor(tracer.getIfAvailable(() -> Tracer.NOOP)));
+    }
+
+    /**
+     * Servis (@Service) ve controller (@RestController) sınıflarının public metotları için span.
+     * Transaction'ı da kapsaması için @Transactional advisor'ından önce çalışır.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor tracingServiceAdvisor(ObjectProvider<Tracer> tracer) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                new AnnotationMatchingPointcut(Service.class, true),
+                new TracingMethodInterceptor(tracer, "service", null));
+        advisor.setOrder(Ordered.LOWEST_PRECEDENCE - 100);
+        return advisor;
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor tracingControllerAdvisor(ObjectProvider<Tracer> tracer) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                new AnnotationMatchingPointcut(RestController.class, true),
+                new TracingMethodInterceptor(tracer, "controller", null));
+        advisor.setOrder(Ordered.LOWEST_PRECEDENCE - 100);
+        return advisor;
+    }
+
+    /**
+     * Spring Data repository proxy'lerine span interceptor'ı ekler. Türetilmiş sorgu metotlarının
+     * (existsByEmail vb.) gerçek bir hedef sınıfı olmadığından span adı repository arayüzünden alınır.
+     */
+    @Bean
+    public static BeanPostProcessor repositoryTracingPostProcessor(ObjectProvider<Tracer> tracer) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, information) -> proxyFactory.addAdvice(new TracingMethodInterceptor(
+                                    tracer, "repository", information.getRepositoryInterface().getSimpleName()))));
+                }
+                return bean;
+            }
+        };
+    }
+}
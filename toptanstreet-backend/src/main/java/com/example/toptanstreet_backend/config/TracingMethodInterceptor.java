@@ -0,0 +1,65 @@
+package com.example.toptanstreet_backend.config;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Controller, servis ve repository metot çağrılarını "Sınıf.metot" adlı span ile sarar.
+ * Yalnızca devam eden bir trace içinde (ör. HTTP isteği) span açılır; başlangıç ve
+ * izlenmeyen arka plan işlerindeki çağrılar kök span üretmez.
+ */
+class TracingMethodInterceptor implements MethodInterceptor {
+
+    private final ObjectProvider<Tracer> tracerProvider;
+    private final String layer;
+    private final String className;
+    private volatile Tracer tracer;
+
+    /**
+     * @param tracerProvider Tracer (bean'ler oluşturulurken henüz hazır olmayabilir)
+     * @param layer          controller, service veya repository
+     * @param className      Span adında kullanılacak sınıf adı; null ise hedef sınıftan alınır
+     */
+    TracingMethodInterceptor(ObjectProvider<Tracer> tracerProvider, String layer, String className) {
+        this.tracerProvider = tracerProvider;
+        this.layer = layer;
+        this.className = className;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Tracer tracer = tracer();
+        if (tracer.currentSpan() == null) {
+            return invocation.proceed();
+        }
+
+        String owner = className != null ? className
+                : ClassUtils.getUserClass(AopUtils.getTargetClass(invocation.getThis())).getSimpleName();
+        Span span = tracer.nextSpan()
+                .name(owner + "." + invocation.getMethod().getName())
+                .tag("app.layer", layer)
+                .start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            return invocation.proceed();
+        } catch (Throwable t) {
+            span.error(t);
+            throw t;
+        } finally {
+            span.end();
+        }
+    }
+
+    private Tracer tracer() {
+        Tracer resolved = tracer;
+        if (resolved == null) {
+            resolved = tracerProvider.getIfAvailable(() -> Tracer.NOOP);
+            tracer = resolved;
+        }
+        return resolved;
+    }
+}
@@ -3,13 +3,15 @@ package com.example.toptanstreet_backend.controller;
 import com.example.toptanstreet_backend.dto.ApiResponse;
 import com.example.toptanstreet_backend.dto.LoginRequest;
 import com.example.toptanstreet_backend.dto.RegisterRequest;
-
+import com.example.toptanstreet_backend.exception.ServiceBusyException;
 import com.example.toptanstreet_backend.model.User;
 import com.example.toptanstreet_backend.service.AuthService;
 import com.example.toptanstreet_backend.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -72,16 +74,14 @@ public class AuthController {
                 logger.info("✅ Registration initiated successfully for: {}", request.getEmail());
                 return ResponseEntity.ok(ApiResponse.success("Doğrulama kodu gönderildi", response));
                 
+            } catch (ServiceBusyException ex) {
+                // Mail kuyruğu dolu - doğrulama kodu zamanında gönderilemeyecek
+                return serviceBusy(ex).body(ApiResponse.error(ex.getMessage()));
             } catch (RuntimeException ex) {
                 // UserService'den gelen RuntimeException'ları yakala ve detaylı logla
                 errorMessage = ex.getMessage();
                 
-                logger.error("🔴 HATA YAKALANDI (RuntimeException): {}", errorMessage);
-                logger.error("🔴 Hata sınıfı: {}", ex.getClass().getName());
-                logger.error("🔴 Stack trace:");
-                for (StackTraceElement element : ex.getStackTrace()) {
-                    logger.error("   ⚠️ at {}", element);
-                }
+                logger.error("🔴 HATA YAKALANDI (RuntimeException): {}", request.getEmail(), ex);
                 
                 // Kullanıcı dostu hata mesajı oluştur
                 if (errorMessage != null && errorMessage.contains("Email zaten kullanımda")) {
@@ -100,14 +100,7 @@ public class AuthController {
             // GENEL HATA - Tüm diğer exception'ları yakala ve detaylı logla
             errorMessage = "Kayıt sırasında beklenmeyen bir hata oluştu: " + e.getMessage();
             
-            logger.error("❌ GENİŞ HATA YAKALANDI (Exception): {}", e.getMessage());
-            logger.error("❌ Hata sınıfı: {}", e.getClass().getName());
-            logger.error("❌ Stack trace:");
-            for (StackTraceElement element : e.getStackTrace()) {
-                logger.error("   ⚠️ at {}", element);
-            }
-            
-            logger.error("Registration failed with unexpected error: {}", errorMessage);
+            logger.error("❌ GENİŞ HATA YAKALANDI (Exception): {}", request.getEmail(), e);
             
             // Gerçek hata mesajını döndür
             ApiResponse<Map<String, Object>> errorResponse = new ApiResponse<>(false, errorMessage, null);
@@ -126,6 +119,8 @@ public class AuthController {
         try {
             User registeredUser = userService.registerUser(request);
             return ResponseEntity.ok(ApiResponse.success("Kayıt başarılı", registeredUser));
+        } catch (ServiceBusyException e) {
+            return serviceBusy(e).body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
@@ -136,8 +131,19 @@ public class AuthController {
         try {
             var loginResult = authService.login(request);
             return ResponseEntity.ok(ApiResponse.success("Giriş başarılı", loginResult));
+        } catch (ServiceBusyException e) {
+            return serviceBusy(e).body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
     }
+    
+    /**
+     * Kaynak dolu olduğunda 503 ve Retry-After başlığı ile yanıt hazırlar
+     */
+    private static ResponseEntity.BodyBuilder serviceBusy(ServiceBusyException e) {
+        logger.warn("İstek reddedildi, sunucu yoğun: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()));
+    }
 }
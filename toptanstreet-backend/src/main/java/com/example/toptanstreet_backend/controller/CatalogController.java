@@ -0,0 +1,132 @@
+package com.example.toptanstreet_backend.controller;
+
+import com.example.toptanstreet_backend.dto.ApiResponse;
+import com.example.toptanstreet_backend.dto.CatalogNameRequest;
+import com.example.toptanstreet_backend.dto.JwtPrincipal;
+import com.example.toptanstreet_backend.dto.ProductRequest;
+import com.example.toptanstreet_backend.dto.ProductSearchResult;
+import com.example.toptanstreet_backend.model.Brand;
+import com.example.toptanstreet_backend.model.Category;
+import com.example.toptanstreet_backend.model.Product;
+import com.example.toptanstreet_backend.service.CatalogService;
+import com.example.toptanstreet_backend.service.ProductSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Ürün kataloğu. Arama ve ürün detayı giriş yapmış tüm kullanıcılara açıktır; ürün, marka ve
+ * kategori yönetimi yalnızca toptancılara (SecurityConfig) ve yalnızca kendi kayıtlarına açıktır.
+ */
+@RestController
+@RequestMapping("/api/v1/catalog")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class CatalogController {
+
+    private final CatalogService catalogService;
+    private final ProductSearchService productSearchService;
+
+    /**
+     * Ürün araması. Terimlerin hepsi ürünün adı, markası, kategorisi veya açıklamasında geçmelidir;
+     * son kelime önek olarak aranır ("sams" → "samsung"). Türkçe karakterler katlanır.
+     *
+     * @param q     Arama metni
+     * @param limit En fazla sonuç sayısı
+     * @return Skora göre sıralı aktif ürünler
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<ProductSearchResult>> search(@RequestParam String q,
+                                                                   @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(ApiResponse.success(productSearchService.search(q, limit)));
+    }
+
+    @GetMapping("/products/mine")
+    public ResponseEntity<ApiResponse<List<Product>>> myProducts(@AuthenticationPrincipal JwtPrincipal principal,
+                                                                 @RequestParam(defaultValue = "0") int page,
+                                                                 @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(ApiResponse.success(catalogService.listMyProducts(principal.getUserId(), page, size)));
+    }
+
+    @GetMapping("/products/{id}")
+    public ResponseEntity<ApiResponse<Product>> getProduct(@PathVariable Long id) {
+        return ResponseEntity.ok(ApiResponse.success(catalogService.getProduct(id)));
+    }
+
+    @PostMapping("/products")
+    public ResponseEntity<ApiResponse<Product>> createProduct(@AuthenticationPrincipal JwtPrincipal principal,
+                                                              @RequestBody ProductRequest request) {
+        Product product = catalogService.createProduct(principal.getUserId(), request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success("Ürün oluşturuldu", product));
+    }
+
+    @PutMapping("/products/{id}")
+    public ResponseEntity<ApiResponse<Product>> updateProduct(@AuthenticationPrincipal JwtPrincipal principal,
+                                                              @PathVariable Long id,
+                                                              @RequestBody ProductRequest request) {
+        return ResponseEntity.ok(ApiResponse.success("Ürün güncellendi",
+                catalogService.updateProduct(principal.getUserId(), id, request)));
+    }
+
+    @DeleteMapping("/products/{id}")
+    public ResponseEntity<ApiResponse<Void>> deleteProduct(@AuthenticationPrincipal JwtPrincipal principal,
+                                                           @PathVariable Long id) {
+        catalogService.deleteProduct(principal.getUserId(), id);
+        return ResponseEntity.ok(ApiResponse.success("Ürün silindi", null));
+    }
+
+    @GetMapping("/brands")
+    public ResponseEntity<ApiResponse<List<Brand>>> listBrands(@AuthenticationPrincipal JwtPrincipal principal) {
+        return ResponseEntity.ok(ApiResponse.success(catalogService.listBrands(principal.getUserId())));
+    }
+
+    @PostMapping("/brands")
+    public ResponseEntity<ApiResponse<Brand>> createBrand(@AuthenticationPrincipal JwtPrincipal principal,
+                                                          @RequestBody CatalogNameRequest request) {
+        Brand brand = catalogService.createBrand(principal.getUserId(), request.getName());
+        return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success("Marka oluşturuldu", brand));
+    }
+
+    @PutMapping("/brands/{id}")
+    public ResponseEntity<ApiResponse<Brand>> renameBrand(@AuthenticationPrincipal JwtPrincipal principal,
+                                                          @PathVariable Long id,
+                                                          @RequestBody CatalogNameRequest request) {
+        return ResponseEntity.ok(ApiResponse.success("Marka güncellendi",
+                catalogService.renameBrand(principal.getUserId(), id, request.getName())));
+    }
+
+    @GetMapping("/categories")
+    public ResponseEntity<ApiResponse<List<Category>>> listCategories(@AuthenticationPrincipal JwtPrincipal principal) {
+        return ResponseEntity.ok(ApiResponse.success(catalogService.listCategories(principal.getUserId())));
+    }
+
+    @PostMapping("/categories")
+    public ResponseEntity<ApiResponse<Category>> createCategory(@AuthenticationPrincipal JwtPrincipal principal,
+                                                                @RequestBody CatalogNameRequest request) {
+        Category category = catalogService.createCategory(principal.getUserId(), request.getName());
+        return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success("Kategori oluşturuldu", category));
+    }
+
+    @PutMapping("/categories/{id}")
+    public ResponseEntity<ApiResponse<Category>> renameCategory(@AuthenticationPrincipal JwtPrincipal principal,
+                                                                @PathVariable Long id,
+                                                                @RequestBody CatalogNameRequest request) {
+        return ResponseEntity.ok(ApiResponse.success("Kategori güncellendi",
+                catalogService.renameCategory(principal.getUserId(), id, request.getName())));
+    }
+
+    @ExceptionHandler(NoSuchElementException.class)
+    public ResponseEntity<ApiResponse<Void>> handleNotFound(NoSuchElementException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.error(e.getMessage()));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ApiResponse<Void>> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.toptanstreet_backend.controller;
+
+import com.example.toptanstreet_backend.dto.AllocationReport;
+import com.example.toptanstreet_backend.dto.ApiResponse;
+import com.example.toptanstreet_backend.dto.JfrRecordingInfo;
+import com.example.toptanstreet_backend.dto.JfrStartRequest;
+import com.example.toptanstreet_backend.service.AllocationTracker;
+import com.example.toptanstreet_backend.service.JfrRecordingService;
+import com.example.toptanstreet_backend.service.JvmDiagnosticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Canlı instance üzerinde performans incelemesi için operasyon endpoint'leri:
+ * JFR kayıtları, thread dökümü, sınıf histogramı ve auth akışlarının tahsis hızı.
+ * Yalnızca X-Ops-Token başlığı app.ops.token ile eşleşen istekler erişebilir
+ * (OpsTokenAuthenticationFilter); token tanımlı değilse endpoint'ler kapalıdır.
+ */
+@RestController
+@RequestMapping("/api/v1/ops")
+@RequiredArgsConstructor
+@Slf4j
+public class OpsController {
+
+    private static final MediaType JFR = MediaType.parseMediaType("application/vnd.jfr");
+    private static final long MAX_ALLOCATION_WINDOW_SECONDS = 60;
+
+    private final JfrRecordingService jfrRecordingService;
+    private final JvmDiagnosticsService jvmDiagnosticsService;
+    private final AllocationTracker allocationTracker;
+
+    /**
+     * JFR kaydı başlatır
+     *
+     * @param request Ayar dosyası (default/profile), olay ayarları, süre ve boyut sınırı
+     * @return Başlatılan kaydın bilgisi
+     */
+    @PostMapping("/jfr/recordings")
+    public ResponseEntity<ApiResponse<JfrRecordingInfo>> startRecording(@RequestBody(required = false) JfrStartRequest request)
+            throws IOException {
+        JfrRecordingInfo info = jfrRecordingService.start(request != null ? request : new JfrStartRequest());
+        return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success("JFR kaydı başlatıldı", info));
+    }
+
+    @GetMapping("/jfr/recordings")
+    public ResponseEntity<ApiResponse<List<JfrRecordingInfo>>> listRecordings() {
+        return ResponseEntity.ok(ApiResponse.success(jfrRecordingService.list()));
+    }
+
+    @PostMapping("/jfr/recordings/{id}/stop")
+    public ResponseEntity<ApiResponse<JfrRecordingInfo>> stopRecording(@PathVariable long id) {
+        return ResponseEntity.ok(ApiResponse.success("JFR kaydı durduruldu", jfrRecordingService.stop(id)));
+    }
+
+    /**
+     * .jfr dosyasını indirir (JDK Mission Control veya "jfr print" ile açılabilir).
+     * Kayıt devam ediyorsa o ana kadarki verinin anlık görüntüsü döner.
+     */
+    @GetMapping("/jfr/recordings/{id}/file")
+    public ResponseEntity<Resource> downloadRecording(@PathVariable long id) throws IOException {
+        Path file = jfrRecordingService.file(id);
+        return ResponseEntity.ok()
+                .contentType(JFR)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(file.getFileName().toString()).build().toString())
+                .body(new FileSystemResource(file));
+    }
+
+    @DeleteMapping("/jfr/recordings/{id}")
+    public ResponseEntity<ApiResponse<Void>> deleteRecording(@PathVariable long id) {
+        jfrRecordingService.delete(id);
+        return ResponseEntity.ok(ApiResponse.success("JFR kaydı silindi", null));
+    }
+
+    /**
+     * Thread dökümü. format=text jstack biçimindedir (kilit bilgisiyle, yalnızca platform
+     * thread'leri); format=json virtual thread'leri de içerir.
+     */
+    @GetMapping("/threads")
+    public ResponseEntity<String> threadDump(@RequestParam(defaultValue = "text") String format) throws IOException {
+        if ("json".equalsIgnoreCase(format)) {
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(jvmDiagnosticsService.threadDumpJson());
+        }
+        return ResponseEntity.ok().contentType(MediaType.TEXT_PLAIN).body(jvmDiagnosticsService.threadDump());
+    }
+
+    /**
+     * Heap sınıf histogramı. all=false (varsayılan) yalnızca canlı nesneleri sayar ve tam GC tetikler.
+     */
+    @GetMapping("/heap/histogram")
+    public ResponseEntity<String> classHistogram(@RequestParam(defaultValue = "false") boolean all,
+                                                 @RequestParam(defaultValue = "100") int limit) {
+        log.info("📊 Sınıf histogramı isteniyor (all={})", all);
+        return ResponseEntity.ok().contentType(MediaType.TEXT_PLAIN)
+                .body(jvmDiagnosticsService.classHistogram(all, limit));
+    }
+
+    /**
+     * Verilen pencere boyunca auth akışlarının ve JVM'in tahsis hızını ölçer. İstek pencere
+     * süresince bekler.
+     *
+     * @param windowSeconds Ölçüm süresi (1-60 sn)
+     */
+    @GetMapping("/allocations")
+    public ResponseEntity<ApiResponse<AllocationReport>> allocations(@RequestParam(defaultValue = "10") long windowSeconds)
+            throws InterruptedException {
+        if (windowSeconds < 1 || windowSeconds > MAX_ALLOCATION_WINDOW_SECONDS) {
+            throw new IllegalArgumentException("windowSeconds 1 ile " + MAX_ALLOCATION_WINDOW_SECONDS + " arasında olmalı");
+        }
+        return ResponseEntity.ok(ApiResponse.success(allocationTracker.sample(Duration.ofSeconds(windowSeconds))));
+    }
+
+    @ExceptionHandler(NoSuchElementException.class)
+    public ResponseEntity<ApiResponse<Void>> handleNotFound(NoSuchElementException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.error(e.getMessage()));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ApiResponse<Void>> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+    }
+
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<ApiResponse<Void>> handleConflict(IllegalStateException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiResponse.error(e.getMessage()));
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.toptanstreet_backend.controller;
+
+import com.example.toptanstreet_backend.dto.ApiResponse;
+import com.example.toptanstreet_backend.dto.JwtPrincipal;
+import com.example.toptanstreet_backend.model.User;
+import com.example.toptanstreet_backend.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/users")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class UserController {
+
+    private final UserService userService;
+
+    /**
+     * Giriş yapmış kullanıcının tam profili. Giriş yanıtı yalnızca özet içerir;
+     * ad, soyad ve zaman damgaları istemci ihtiyaç duyduğunda buradan alınır.
+     *
+     * @param principal JWT'den çıkarılan kimlik
+     * @return Kullanıcı profili
+     */
+    @GetMapping("/me")
+    public ResponseEntity<ApiResponse<User>> me(@AuthenticationPrincipal JwtPrincipal principal) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success("Kullanıcı profili", userService.findUserById(principal.getUserId())));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.error(e.getMessage()));
+        }
+    }
+}
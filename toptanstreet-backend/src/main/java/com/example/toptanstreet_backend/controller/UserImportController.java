@@ -0,0 +1,66 @@
+package com.example.toptanstreet_backend.controller;
+
+import com.example.toptanstreet_backend.dto.ApiResponse;
+import com.example.toptanstreet_backend.dto.UserImportResult;
+import com.example.toptanstreet_backend.exception.ServiceBusyException;
+import com.example.toptanstreet_backend.service.UserImportReader;
+import com.example.toptanstreet_backend.service.UserImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Partner ağlarının toplu kaydı. Gövde istekten doğrudan stream edilir; yanıt işlem
+ * bittiğinde özet ve satır bazlı hata raporuyla döner. /api/v1/ops altında olduğu için
+ * yalnızca X-Ops-Token ile erişilir.
+ */
+@RestController
+@RequestMapping("/api/v1/ops/users")
+@RequiredArgsConstructor
+@Slf4j
+public class UserImportController {
+
+    private static final String TEXT_CSV = "text/csv";
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final UserImportService userImportService;
+
+    /**
+     * Kullanıcıları içe aktarır
+     *
+     * @param request text/csv (başlık satırlı) veya application/x-ndjson gövdeli istek
+     * @return İçe aktarma özeti; hatalı satırlar errors listesinde satır numarasıyla döner
+     */
+    @PostMapping(value = "/import", consumes = {TEXT_CSV, NDJSON})
+    public ResponseEntity<ApiResponse<UserImportResult>> importUsers(HttpServletRequest request) throws IOException {
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+        UserImportReader.Format format = contentType.isCompatibleWith(MediaType.parseMediaType(TEXT_CSV))
+                ? UserImportReader.Format.CSV
+                : UserImportReader.Format.NDJSON;
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+        log.info("📥 Toplu içe aktarma isteği: {}", format);
+        try {
+            UserImportResult result = userImportService.importUsers(
+                    new InputStreamReader(request.getInputStream(), charset), format);
+            return ResponseEntity.ok(ApiResponse.success("Toplu içe aktarma tamamlandı", result));
+        } catch (ServiceBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+}
@@ -3,10 +3,21 @@ package com.example.toptanstreet_backend.controller;
 import com.example.toptanstreet_backend.dto.ApiResponse;
 import com.example.toptanstreet_backend.dto.SendVerificationRequest;
 import com.example.toptanstreet_backend.dto.VerifyCodeRequest;
+import com.example.toptanstreet_backend.dto.VerifyCodeResponse;
+import com.example.toptanstreet_backend.exception.RateLimitExceededException;
+import com.example.toptanstreet_backend.exception.ServiceBusyException;
+import com.example.toptanstreet_backend.model.VerificationState;
 import com.example.toptanstreet_backend.service.VerificationService;
+import com.example.toptanstreet_backend.service.VerificationStatusService;
+import com.example.toptanstreet_backend.service.VerificationTicketService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/v1/verification")
@@ -15,6 +26,8 @@ import org.springframework.web.bind.annotation.*;
 public class VerificationController {
 
     private final VerificationService verificationService;
+    private final VerificationTicketService verificationTicketService;
+    private final VerificationStatusService verificationStatusService;
 
     /**
      * Doğrulama kodu gönderme endpoint'i
@@ -27,6 +40,11 @@ public class VerificationController {
         try {
             verificationService.createAndSendVerificationCode(request.getEmail());
             return ResponseEntity.ok(ApiResponse.success("Doğrulama kodu e-posta adresinize gönderildi", null));
+        } catch (ServiceBusyException e) {
+            // Mail kuyruğu dolu - istemci Retry-After süresi sonunda tekrar denemeli
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(ApiResponse.error("Doğrulama kodu gönderilemedi: " + e.getMessage()));
         }
@@ -36,28 +54,54 @@ public class VerificationController {
      * Doğrulama kodu kontrol endpoint'i
      * 
      * @param request E-posta ve doğrulama kodunu içeren istek
-     * @return İşlem sonucu
+     * @return İşlem sonucu; başarılıysa /auth/register için kısa ömürlü doğrulama bileti
      */
     @PostMapping("/verify")
-    public ResponseEntity<ApiResponse<Boolean>> verifyCode(@RequestBody VerifyCodeRequest request) {
+    public ResponseEntity<ApiResponse<VerifyCodeResponse>> verifyCode(@RequestBody VerifyCodeRequest request) {
         boolean isVerified = verificationService.verifyCode(request.getEmail(), request.getCode());
         
         if (isVerified) {
-            return ResponseEntity.ok(ApiResponse.success("E-posta doğrulama başarılı", true));
+            VerifyCodeResponse response = new VerifyCodeResponse(true,
+                    verificationTicketService.issue(request.getEmail()), verificationTicketService.getTtlSeconds());
+            return ResponseEntity.ok(ApiResponse.success("E-posta doğrulama başarılı", response));
         } else {
             return ResponseEntity.badRequest().body(ApiResponse.error("Geçersiz veya süresi dolmuş doğrulama kodu"));
         }
     }
 
     /**
-     * E-posta doğrulama durumu kontrolü endpoint'i
+     * E-posta doğrulama durumu kontrolü endpoint'i. Aynı e-posta için eşzamanlı istekler tek sorguda birleştirilir.
+     * Doğrulama ekranında bekleyen istemciler yoklama yerine /status/stream kullanmalı.
      * 
      * @param email Kontrol edilecek e-posta adresi
      * @return Doğrulama durumu
      */
     @GetMapping("/status")
     public ResponseEntity<ApiResponse<Boolean>> checkVerificationStatus(@RequestParam String email) {
-        boolean isVerified = verificationService.isEmailVerified(email);
+        boolean isVerified = verificationStatusService.currentStatus(email).getStatus() == VerificationState.VERIFIED;
         return ResponseEntity.ok(ApiResponse.success(isVerified));
     }
+
+    /**
+     * Doğrulama durumu akışı (Server-Sent Events). İlk olay güncel durumdur (pending, verified, expired);
+     * kod doğrulandığında veya süresi dolduğunda olay gönderilip akış kapatılır, yeni kod
+     * gönderildiğinde yeni son geçerlilik zamanıyla pending gönderilir.
+     *
+     * @param email Takip edilecek e-posta adresi
+     * @return SSE akışı; IP veya e-posta başına akış sınırı aşıldıysa 429, toplam sınır aşıldıysa 503 (Retry-After ile)
+     */
+    @GetMapping(path = "/status/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamVerificationStatus(@RequestParam String email, HttpServletRequest request) {
+        try {
+            return ResponseEntity.ok(verificationStatusService.subscribe(email, request.getRemoteAddr()));
+        } catch (RateLimitExceededException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .build();
+        } catch (ServiceBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .build();
+        }
+    }
 }
@@ -0,0 +1,31 @@
+package com.example.toptanstreet_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Bir ölçüm penceresindeki heap tahsis hızı: JVM geneli ve @AllocationTracked işlemler
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class AllocationReport {
+    private final long windowMillis;
+    private final long jvmBytesPerSecond;
+    private final List<Operation> operations;
+
+    @Getter
+    @ToString
+    @AllArgsConstructor
+    public static class Operation {
+        private final String operation;
+        private final long calls;
+        private final long bytesPerCall;
+        private final long bytesPerSecond;
+        /** JVM genelindeki tahsisin yüzdesi */
+        private final double jvmSharePercent;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.toptanstreet_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Marka veya kategori oluşturma/yeniden adlandırma isteği
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogNameRequest {
+    private String name;
+}
@@ -0,0 +1,23 @@
+package com.example.toptanstreet_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+/**
+ * Bir JFR kaydının durumu ve dosya bilgisi
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class JfrRecordingInfo {
+    private final long id;
+    private final String name;
+    private final String state;
+    private final Instant startTime;
+    private final Instant stopTime;
+    private final Long maxDurationSeconds;
+    private final long sizeBytes;
+}
@@ -0,0 +1,23 @@
+package com.example.toptanstreet_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * JFR kaydı başlatma isteği. settings JDK ile gelen ayar dosyalarından biridir
+ * ("default": ~%1 ek yük, "profile": daha sık örnekleme, ~%2 ek yük); events ile
+ * tek tek olay ayarları ezilebilir, ör. {"jdk.ObjectAllocationSample#throttle": "300/s"}.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class JfrStartRequest {
+    private String name;
+    private String settings;
+    private Map<String, String> events;
+    private Long maxDurationSeconds;
+    private Long maxSizeMb;
+}
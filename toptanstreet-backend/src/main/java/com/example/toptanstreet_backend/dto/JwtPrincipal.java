@@ -0,0 +1,20 @@
+package com.example.toptanstreet_backend.dto;
+
+import com.example.toptanstreet_backend.model.UserRole;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Doğrulanmış JWT'den çıkarılan kimlik bilgileri. İstek başına veritabanına gidilmeden
+ * SecurityContext'e principal olarak konur.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class JwtPrincipal {
+    private final Long userId;
+    private final String email;
+    private final UserRole role;
+    private final long expiresAtMillis;
+}
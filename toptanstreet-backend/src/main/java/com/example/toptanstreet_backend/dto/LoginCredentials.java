@@ -0,0 +1,22 @@
+package com.example.toptanstreet_backend.dto;
+
+import com.example.toptanstreet_backend.model.UserRole;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Giriş için gereken kullanıcı alanları. JPQL constructor ifadesiyle doğrudan oluşturulur;
+ * User entity'si yüklenmez, persistence context'e girmez ve dirty checking yapılmaz.
+ * İstemciye gönderilmez.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class LoginCredentials {
+    private final Long id;
+    @ToString.Exclude
+    private final String passwordHash;
+    private final UserRole role;
+    private final Boolean paymentStatus;
+}
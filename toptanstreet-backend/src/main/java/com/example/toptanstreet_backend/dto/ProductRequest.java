@@ -0,0 +1,24 @@
+package com.example.toptanstreet_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Ürün oluşturma/güncelleme isteği. Marka ve kategori isteği yapan toptancıya ait olmalıdır.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductRequest {
+    private String name;
+    private String description;
+    private Long brandId;
+    private Long categoryId;
+    private BigDecimal price;
+    private Integer stock;
+    // null ise aktif kabul edilir
+    private Boolean active;
+}
@@ -0,0 +1,20 @@
+package com.example.toptanstreet_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Arama indeksine giren ürün metinleri: ad, marka adı, kategori adı ve açıklama.
+ * JPQL constructor ifadesiyle doğrudan oluşturulur; istemciye gönderilmez.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class ProductSearchDocument {
+    private final Long id;
+    private final String name;
+    private final String description;
+    private final String brandName;
+    private final String categoryName;
+}
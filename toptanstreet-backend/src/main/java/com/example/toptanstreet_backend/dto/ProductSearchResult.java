@@ -0,0 +1,29 @@
+package com.example.toptanstreet_backend.dto;
+
+import com.example.toptanstreet_backend.model.Product;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Ürün araması yanıtı: BM25 skoruna göre sıralı ürünler ve indeks araması süresi
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class ProductSearchResult {
+    private final String query;
+    /** Yalnızca indeks araması, ürünlerin yüklenmesi hariç */
+    private final double searchMillis;
+    private final List<Item> items;
+
+    @Getter
+    @ToString
+    @AllArgsConstructor
+    public static class Item {
+        private final Product product;
+        private final float score;
+    }
+}
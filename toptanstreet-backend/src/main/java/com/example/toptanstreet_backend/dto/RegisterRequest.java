@@ -14,4 +14,6 @@ public class RegisterRequest {
     private String email;
     private String password;
     private UserRole role;
+    // /verification/verify yanıtındaki bilet; eski istemciler göndermez
+    private String verificationTicket;
 }
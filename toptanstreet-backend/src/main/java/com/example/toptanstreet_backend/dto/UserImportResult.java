@@ -0,0 +1,38 @@
+package com.example.toptanstreet_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Toplu kullanıcı içe aktarmanın özeti ve satır bazlı hata raporu. Hata listesi
+ * app.user-import.max-reported-errors ile sınırlıdır; fazlası yalnızca failed sayısına girer.
+ */
+@Data
+@NoArgsConstructor
+public class UserImportResult {
+    private long totalRows;
+    private long imported;
+    private long failed;
+    private long elapsedMillis;
+    /** Şifre hashlemede geçen duvar saati süresi */
+    private long hashMillis;
+    /** Veritabanı kontrolleri ve insert'lerde geçen süre */
+    private long writeMillis;
+    private double rowsPerSecond;
+    private List<RowError> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class RowError {
+        /** Dosyadaki satır numarası (1'den başlar, CSV başlığı dahil) */
+        private long line;
+        private String email;
+        private String message;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.toptanstreet_backend.dto;
+
+import com.example.toptanstreet_backend.model.UserRole;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Giriş yanıtındaki kullanıcı bilgisi. Ad, soyad ve zaman damgaları dahil tam profil
+ * GET /api/v1/users/me ile istendiğinde yüklenir.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserSummary {
+    private Long id;
+    private String email;
+    private UserRole role;
+    private Boolean paymentStatus;
+}
@@ -0,0 +1,20 @@
+package com.example.toptanstreet_backend.dto;
+
+import com.example.toptanstreet_backend.model.VerificationState;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * /verification/status/stream üzerinden gönderilen durum olayı
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class VerificationStatusEvent {
+    private VerificationState status;
+    // Yalnızca PENDING durumunda dolu; kodun son geçerlilik zamanı
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,18 @@
+package com.example.toptanstreet_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Başarılı doğrulama yanıtı. verificationTicket /auth/register isteğinde gönderilirse
+ * kayıt adımı doğrulama tablosuna gitmeden tamamlanır.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class VerifyCodeResponse {
+    private boolean verified;
+    private String verificationTicket;
+    private long expiresInSeconds;
+}
@@ -0,0 +1,19 @@
+package com.example.toptanstreet_backend.exception;
+
+/**
+ * Tek bir istemci (IP veya e-posta) kendi sınırını aştığında fırlatılır.
+ * Controller'lar bunu 429 Too Many Requests ve Retry-After başlığı ile döndürür.
+ */
+public class RateLimitExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.toptanstreet_backend.exception;
+
+/**
+ * Bir kaynak (ör. şifre hashleme havuzu) dolu olduğunda fırlatılır.
+ * Controller'lar bunu 503 Service Unavailable ve Retry-After başlığı ile döndürür.
+ */
+public class ServiceBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.toptanstreet_backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Toptancının ürünlerinde kullandığı marka; adı ürün aramasında indekslenir
+ */
+@Entity
+@Table(name = "brands", schema = "toptanstreet",
+        uniqueConstraints = @UniqueConstraint(name = "uk_brands_owner_name", columnNames = {"owner_id", "name"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Brand {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "brands_seq")
+    @SequenceGenerator(name = "brands_seq", sequenceName = "brands_seq", schema = "toptanstreet", allocationSize = 50)
+    private Long id;
+
+    // Sahibi olan toptancı (User.id)
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
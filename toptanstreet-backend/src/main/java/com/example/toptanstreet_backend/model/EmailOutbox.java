@@ -0,0 +1,94 @@
+package com.example.toptanstreet_backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Gönderilmeyi bekleyen e-postalar. Kayıtlar iş verisiyle (ör. doğrulama kodu)
+ * aynı transaction içinde yazılır, gönderimi EmailOutboxDispatcher yapar.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "email_outbox", schema = "toptanstreet",
+        indexes = @Index(name = "idx_email_outbox_dispatch_order",
+                columnList = "status, priority, deadline, next_attempt_at, id"))
+public class EmailOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Column(nullable = false)
+    private String subject;
+
+    /**
+     * HTML gövde. Şablondan üretilen e-postalarda boştur; gövde gönderim anında
+     * MailTemplateEngine'in önbellekteki kodlanmış şablonundan oluşturulur.
+     */
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String content;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 32)
+    private MailTemplateType template;
+
+    /**
+     * Şablon dili (BCP 47, ör. "tr")
+     */
+    @Column(length = 16)
+    private String locale;
+
+    @Convert(converter = TemplateFieldsConverter.class)
+    @Column(name = "template_fields", columnDefinition = "TEXT")
+    private Map<String, String> templateFields;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private EmailOutboxStatus status;
+
+    /**
+     * Gönderim önceliği; sıra numarası olarak saklanır (0 = CRITICAL)
+     */
+    @Enumerated(EnumType.ORDINAL)
+    @Column(nullable = false, columnDefinition = "smallint default 1")
+    private MailPriority priority;
+
+    /**
+     * Bu zamandan sonra gönderimin anlamı kalmaz (ör. doğrulama kodunun geçerlilik sonu).
+     * Aynı öncelikteki kayıtlar arasında süresi en yakın olan önce gönderilir; süresi dolan
+     * kayıt gönderilmeden EXPIRED olarak işaretlenir.
+     */
+    @Column(name = "deadline")
+    private LocalDateTime deadline;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    /**
+     * Kaydı oluşturan isteğin W3C traceparent değeri; gönderim span'i bu trace'e bağlanır
+     */
+    @Column(name = "trace_parent", length = 55)
+    private String traceParent;
+}
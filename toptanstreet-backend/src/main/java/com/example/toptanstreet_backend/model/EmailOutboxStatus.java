@@ -0,0 +1,8 @@
+package com.example.toptanstreet_backend.model;
+
+public enum EmailOutboxStatus {
+    PENDING,  // Gönderim bekliyor
+    SENT,     // Gönderildi
+    FAILED,   // Deneme hakkı bitti
+    EXPIRED   // Son geçerlilik zamanı gönderilemeden doldu
+}
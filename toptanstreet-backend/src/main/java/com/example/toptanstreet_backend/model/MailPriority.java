@@ -0,0 +1,12 @@
+package com.example.toptanstreet_backend.model;
+
+/**
+ * Outbox'taki e-postaların öncelik sınıfı. Veritabanında sıra numarası (ordinal) olarak
+ * saklanır ve dispatcher küçük değerden büyüğe doğru gönderir; bu yüzden sabitlerin
+ * sırası değiştirilmemeli, yeni sınıflar sona eklenmelidir.
+ */
+public enum MailPriority {
+    CRITICAL,  // Süreli doğrulama kodları - yük atmada en son reddedilir
+    NORMAL,    // İşlemsel bildirimler
+    BULK       // Toplu ve test e-postaları - yük atmada ilk reddedilir
+}
@@ -0,0 +1,30 @@
+package com.example.toptanstreet_backend.model;
+
+import java.util.Set;
+
+/**
+ * Şablondan üretilen e-posta türleri. Her tür için classpath'te mail-templates/ altında
+ * dil başına bir HTML ve bir düz metin gövdesi ile subjects_&lt;dil&gt;.properties içinde
+ * bir konu bulunur. Şablonlar yalnızca burada tanımlı alanları kullanabilir.
+ */
+public enum MailTemplateType {
+    VERIFICATION_CODE("verification-code", Set.of("code", "expiryMinutes")),
+    WELCOME("welcome", Set.of("firstName")),
+    PAYMENT_REMINDER("payment-reminder", Set.of("firstName", "amount", "dueDate"));
+
+    private final String resourceName;
+    private final Set<String> fields;
+
+    MailTemplateType(String resourceName, Set<String> fields) {
+        this.resourceName = resourceName;
+        this.fields = fields;
+    }
+
+    public String getResourceName() {
+        return resourceName;
+    }
+
+    public Set<String> getFields() {
+        return fields;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.toptanstreet_backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Toptancının kataloğundaki ürün. Marka ve kategori ID ile tutulur (entity'lerde lazy ilişki yok);
+ * arama sonuçları ikinci seviye önbellekten yüklenir.
+ */
+@Entity
+@Table(name = "products", schema = "toptanstreet",
+        indexes = {
+                @Index(name = "idx_products_owner_id", columnList = "owner_id"),
+                @Index(name = "idx_products_brand_id", columnList = "brand_id"),
+                @Index(name = "idx_products_category_id", columnList = "category_id")
+        })
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "toptanstreet.product")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Product {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_seq")
+    @SequenceGenerator(name = "products_seq", sequenceName = "products_seq", schema = "toptanstreet", allocationSize = 50)
+    private Long id;
+
+    // Sahibi olan toptancı (User.id)
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId;
+
+    @Column(nullable = false, length = 200)
+    private String name;
+
+    @Column(length = 2000)
+    private String description;
+
+    @Column(name = "brand_id")
+    private Long brandId;
+
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal price;
+
+    @Column(nullable = false)
+    private Integer stock = 0;
+
+    // Pasif ürünler aramada görünmez
+    @Column(nullable = false)
+    private Boolean active = true;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -6,20 +6,36 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "users", schema = "toptanstreet")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "toptanstreet.user")
+@NaturalIdCache(region = "toptanstreet.user-email")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class User {
 
+    /**
+     * users_seq'in artış miktarı; Hibernate her sequence çağrısında bu kadar ID ayırır
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // IDENTITY, Hibernate'in JDBC insert batch'lemesini kapatır; sequence ile ID'ler insert'ten
+    // önce bloklar halinde alınır. Eski IDENTITY kayıtlarıyla çakışmaması için sequence
+    // açılışta tablodaki en büyük ID'ye hizalanır (UserBulkInsertRepository.alignIdSequence)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", schema = "toptanstreet",
+            allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
@@ -28,6 +44,7 @@ public class User {
     @Column(nullable = false)
     private String lastName;
 
+    @NaturalId
     @Column(nullable = false, unique = true)
     private String email;
 
@@ -3,6 +3,8 @@ package com.example.toptanstreet_backend.model;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
@@ -11,7 +13,12 @@ import java.time.LocalDateTime;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "verification_codes", schema = "toptanstreet")
+@Table(name = "verification_codes", schema = "toptanstreet",
+        indexes = {
+                @Index(name = "idx_verification_codes_email_code", columnList = "email, code"),
+                @Index(name = "idx_verification_codes_expires_at", columnList = "expires_at")
+        })
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "toptanstreet.verification-code")
 public class VerificationCode {
     
     @Id
@@ -24,7 +31,7 @@ public class VerificationCode {
     @Column(nullable = false, length = 6)
     private String code;
     
-    @Column(nullable = false)
+    @Column(name = "expires_at", nullable = false)
     private LocalDateTime expiresAt;
     
     @Column(nullable = false)
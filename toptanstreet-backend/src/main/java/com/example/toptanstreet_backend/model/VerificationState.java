@@ -0,0 +1,13 @@
+package com.example.toptanstreet_backend.model;
+
+/**
+ * Bir e-posta adresinin en son doğrulama kodunun durumu
+ */
+public enum VerificationState {
+    /** Kod gönderildi, henüz doğrulanmadı ve süresi dolmadı */
+    PENDING,
+    /** Kod doğrulandı; kayıt tamamlanabilir */
+    VERIFIED,
+    /** Kodun süresi doldu veya hiç kod yok; yeni kod istenmeli */
+    EXPIRED
+}
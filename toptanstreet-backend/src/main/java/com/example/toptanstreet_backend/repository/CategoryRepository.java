@@ -0,0 +1,18 @@
+package com.example.toptanstreet_backend.repository;
+
+import com.example.toptanstreet_backend.model.Category;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CategoryRepository extends JpaRepository<Category, Long> {
+
+    List<Category> findByOwnerIdOrderByName(Long ownerId);
+
+    Optional<Category> findByIdAndOwnerId(Long id, Long ownerId);
+
+    boolean existsByOwnerIdAndName(Long ownerId, String name);
+}
@@ -0,0 +1,49 @@
+package com.example.toptanstreet_backend.repository;
+
+import com.example.toptanstreet_backend.model.EmailOutbox;
+import com.example.toptanstreet_backend.model.EmailOutboxStatus;
+import com.example.toptanstreet_backend.model.MailPriority;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    /**
+     * Zamanı gelmiş bekleyen e-postaları kilitleyerek getirir. SKIP LOCKED sayesinde
+     * birden fazla instance aynı kaydı aynı anda almaz. Önce öncelik sınıfına, sınıf içinde
+     * son geçerlilik zamanı en yakın olana göre sıralanır.
+     *
+     * @param now   Şu anki zaman
+     * @param limit En fazla kaç kayıt alınacağı
+     * @return Gönderilecek e-postalar
+     */
+    @Query(value = "SELECT * FROM toptanstreet.email_outbox "
+            + "WHERE status = 'PENDING' AND next_attempt_at <= :now "
+            + "ORDER BY priority, deadline NULLS LAST, next_attempt_at, id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<EmailOutbox> lockDueBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Belirli durumdaki kayıtların öncelik sınıfı bazında sayısı ve en eskisinin oluşturulma zamanı
+     *
+     * @param status Outbox durumu
+     * @return Kaydı olan her sınıf için bir satır
+     */
+    @Query("SELECT o.priority AS priority, COUNT(o) AS count, MIN(o.createdAt) AS oldestCreatedAt "
+            + "FROM EmailOutbox o WHERE o.status = :status GROUP BY o.priority")
+    List<PriorityBacklog> summarizeByPriority(@Param("status") EmailOutboxStatus status);
+
+    interface PriorityBacklog {
+        MailPriority getPriority();
+
+        long getCount();
+
+        LocalDateTime getOldestCreatedAt();
+    }
+}
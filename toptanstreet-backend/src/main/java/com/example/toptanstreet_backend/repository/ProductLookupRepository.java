@@ -0,0 +1,20 @@
+package com.example.toptanstreet_backend.repository;
+
+import com.example.toptanstreet_backend.model.Product;
+
+import java.util.List;
+
+/**
+ * Arama sonuçlarındaki ürünleri ID listesiyle yükleyen işlemler
+ */
+public interface ProductLookupRepository {
+
+    /**
+     * Ürünleri verilen ID sırasıyla yükler; önce ikinci seviye önbelleğe bakılır, yalnızca
+     * önbellekte olmayanlar tek bir IN sorgusuyla okunur. Bulunamayan ID'ler atlanır.
+     *
+     * @param ids Ürün ID'leri
+     * @return Ürünler, ids sırasıyla
+     */
+    List<Product> findAllInOrder(List<Long> ids);
+}
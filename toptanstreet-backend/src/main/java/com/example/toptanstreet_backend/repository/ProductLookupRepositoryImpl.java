@@ -0,0 +1,46 @@
+package com.example.toptanstreet_backend.repository;
+
+import com.example.toptanstreet_backend.model.Product;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnit;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ProductLookupRepository'nin Hibernate multiLoad gerçeklemesi. UserLoginRepositoryImpl gibi
+ * Spring transaction'ı açmadan kısa ömürlü, salt okunur bir oturum kullanır; tüm sonuçlar
+ * önbellekteyse bağlantı havuzuna gidilmez.
+ */
+public class ProductLookupRepositoryImpl implements ProductLookupRepository {
+
+    private SessionFactory sessionFactory;
+
+    @PersistenceUnit
+    public void setEntityManagerFactory(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    @Override
+    public List<Product> findAllInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        try (Session session = sessionFactory.withOptions().flushMode(FlushMode.MANUAL).openSession()) {
+            session.setDefaultReadOnly(true);
+            List<Product> loaded = session.byMultipleIds(Product.class)
+                    .enableOrderedReturn(true)
+                    .multiLoad(ids);
+            List<Product> products = new ArrayList<>(loaded.size());
+            for (Product product : loaded) {
+                if (product != null) {
+                    products.add(product);
+                }
+            }
+            return products;
+        }
+    }
+}
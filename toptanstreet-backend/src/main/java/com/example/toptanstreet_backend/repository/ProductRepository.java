@@ -0,0 +1,48 @@
+package com.example.toptanstreet_backend.repository;
+
+import com.example.toptanstreet_backend.dto.ProductSearchDocument;
+import com.example.toptanstreet_backend.model.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductLookupRepository {
+
+    String SEARCH_DOCUMENT = "SELECT new com.example.toptanstreet_backend.dto.ProductSearchDocument("
+            + "p.id, p.name, p.description, b.name, c.name) FROM Product p "
+            + "LEFT JOIN Brand b ON b.id = p.brandId LEFT JOIN Category c ON c.id = p.categoryId "
+            + "WHERE p.active = true";
+
+    List<Product> findByOwnerIdOrderByIdDesc(Long ownerId, Pageable pageable);
+
+    /**
+     * Aktif ürünlerin arama metinlerini entity yüklemeden stream eder. Açık bir transaction
+     * içinde tüketilmeli ve kapatılmalıdır.
+     *
+     * @return Arama belgeleri
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(SEARCH_DOCUMENT)
+    Stream<ProductSearchDocument> streamSearchDocuments();
+
+    /**
+     * Bir markanın aktif ürünlerinin arama metinleri (marka yeniden adlandırıldığında)
+     */
+    @Query(SEARCH_DOCUMENT + " AND p.brandId = :brandId")
+    List<ProductSearchDocument> findSearchDocumentsByBrandId(@Param("brandId") Long brandId);
+
+    /**
+     * Bir kategorinin aktif ürünlerinin arama metinleri (kategori yeniden adlandırıldığında)
+     */
+    @Query(SEARCH_DOCUMENT + " AND p.categoryId = :categoryId")
+    List<ProductSearchDocument> findSearchDocumentsByCategoryId(@Param("categoryId") Long categoryId);
+}
@@ -0,0 +1,27 @@
+package com.example.toptanstreet_backend.repository;
+
+import com.example.toptanstreet_backend.model.User;
+
+import java.util.List;
+
+/**
+ * Toplu kullanıcı içe aktarma için batch insert ve ID sequence işlemleri
+ */
+public interface UserBulkInsertRepository {
+
+    /**
+     * Kullanıcıları tek transaction'da JDBC batch'leri halinde ekler. İkinci seviye önbelleğe
+     * yazılmaz; persistence context sonunda temizlenir.
+     *
+     * @param users ID'si atanmamış yeni kullanıcılar
+     */
+    void insertBatch(List<User> users);
+
+    /**
+     * users_seq tablodaki en büyük ID'nin gerisindeyse (ör. IDENTITY'den geçişte ilk açılış)
+     * sequence'i ileri alır; gerisinde değilse dokunmaz
+     *
+     * @return Sequence ileri alındıysa true
+     */
+    boolean alignIdSequence();
+}
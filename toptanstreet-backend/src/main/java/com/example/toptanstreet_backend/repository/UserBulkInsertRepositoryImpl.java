@@ -0,0 +1,57 @@
+package com.example.toptanstreet_backend.repository;
+
+import com.example.toptanstreet_backend.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * UserBulkInsertRepository'nin Hibernate/PostgreSQL gerçeklemesi. Insert'lerin batch'lenmesi
+ * hibernate.jdbc.batch_size ve sequence tabanlı ID'ye, tek çok satırlı INSERT'e dönüşmesi
+ * sürücünün reWriteBatchedInserts ayarına dayanır (application.properties).
+ */
+public class UserBulkInsertRepositoryImpl implements UserBulkInsertRepository {
+
+    private static final String SEQUENCE = "toptanstreet.users_seq";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public void insertBatch(List<User> users) {
+        // Toplu eklenen kullanıcılar ikinci seviye önbelleği doldurup sıcak kayıtları dışarı atmasın
+        entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+        for (User user : users) {
+            entityManager.persist(user);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Override
+    @Transactional
+    public boolean alignIdSequence() {
+        Object[] state = (Object[]) entityManager
+                .createNativeQuery("SELECT last_value, is_called FROM " + SEQUENCE)
+                .getSingleResult();
+        long lastValue = ((Number) state[0]).longValue();
+        boolean called = (Boolean) state[1];
+        long maxId = ((Number) entityManager
+                .createNativeQuery("SELECT COALESCE(MAX(id), 0) FROM toptanstreet.users")
+                .getSingleResult()).longValue();
+        if (called && lastValue >= maxId) {
+            return false;
+        }
+        // is_called=false: bir sonraki nextval tam bu değeri döner, Hibernate (pooled) bloğu
+        // maxId + 1 .. maxId + ID_ALLOCATION_SIZE olarak kullanır
+        entityManager.createNativeQuery("SELECT setval('" + SEQUENCE + "', :value, false)")
+                .setParameter("value", maxId + User.ID_ALLOCATION_SIZE)
+                .getSingleResult();
+        return true;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.toptanstreet_backend.repository;
+
+import com.example.toptanstreet_backend.dto.LoginCredentials;
+
+import java.util.Optional;
+
+/**
+ * Giriş için kullanıcıyı entity yüklemeden okuyan işlemler
+ */
+public interface UserLoginRepository {
+
+    /**
+     * Giriş için yalnızca ID, şifre hash'i, rol ve ödeme durumunu okur
+     *
+     * @param email Kullanıcı e-posta adresi
+     * @return Giriş bilgileri, kullanıcı yoksa boş Optional
+     */
+    Optional<LoginCredentials> findLoginCredentialsByEmail(String email);
+}
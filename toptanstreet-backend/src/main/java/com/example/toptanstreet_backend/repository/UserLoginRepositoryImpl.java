@@ -0,0 +1,49 @@
+package com.example.toptanstreet_backend.repository;
+
+import com.example.toptanstreet_backend.dto.LoginCredentials;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnit;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+
+import java.util.Optional;
+
+/**
+ * UserLoginRepository'nin DTO projeksiyonu ile gerçeklemesi. Sorgu kısa ömürlü, salt okunur
+ * ve flush etmeyen bir Hibernate oturumunda çalışır; entity persistence context'e girmez.
+ * <p>
+ * Spring transaction'ı bilinçli olarak açılmaz: tek bir SELECT için transaction başlatıp
+ * bitirmek, önbellekten dönen okumanın tamamından daha pahalıdır (LoginReadPathBenchmark).
+ * Sonuç sorgu önbelleğinde tutulur, isabette bağlantı havuzundan bağlantı bile alınmaz;
+ * ıskada sorgu autocommit tek SELECT olarak çalışır. users tablosuna yapılan her yazım
+ * (kayıt, şifre güncelleme, ödeme durumu) önbelleği geçersiz kılar.
+ */
+public class UserLoginRepositoryImpl implements UserLoginRepository {
+
+    private static final String CREDENTIALS_QUERY = "SELECT new com.example.toptanstreet_backend.dto.LoginCredentials("
+            + "u.id, u.password, u.role, u.paymentStatus) FROM User u WHERE u.email = :email";
+    private static final String CACHE_REGION = "toptanstreet.login-credentials";
+
+    private SessionFactory sessionFactory;
+
+    @PersistenceUnit
+    public void setEntityManagerFactory(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    @Override
+    public Optional<LoginCredentials> findLoginCredentialsByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        try (Session session = sessionFactory.withOptions().flushMode(FlushMode.MANUAL).openSession()) {
+            session.setDefaultReadOnly(true);
+            return session.createSelectionQuery(CREDENTIALS_QUERY, LoginCredentials.class)
+                    .setParameter("email", email)
+                    .setCacheable(true)
+                    .setCacheRegion(CACHE_REGION)
+                    .uniqueResultOptional();
+        }
+    }
+}
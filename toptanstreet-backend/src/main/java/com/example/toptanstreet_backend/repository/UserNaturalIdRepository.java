@@ -0,0 +1,31 @@
+package com.example.toptanstreet_backend.repository;
+
+import com.example.toptanstreet_backend.model.User;
+
+import java.util.Optional;
+
+/**
+ * E-posta (natural id) ile kullanıcı aramaları. Hibernate natural-id önbelleğini
+ * kullandığı için tekrarlayan girişlerde veritabanına gidilmez.
+ */
+public interface UserNaturalIdRepository {
+
+    /**
+     * E-posta ile kullanıcı arar
+     *
+     * @param email Kullanıcı e-posta adresi
+     * @return Kullanıcı, yoksa boş Optional
+     */
+    Optional<User> findByEmail(String email);
+
+    /**
+     * E-posta ile kayıtlı kullanıcı olup olmadığını kontrol eder. Entity yüklenmez; yalnızca
+     * e-posta ID'ye çözülür (natural-id önbelleği, yoksa ID sorgusu). Olmayan e-postalar
+     * önbelleğe alınmaz; bu aramaları RegisteredEmailFilter (Bloom filtresi) veritabanına
+     * gelmeden keser.
+     *
+     * @param email Kullanıcı e-posta adresi
+     * @return Kayıtlıysa true
+     */
+    boolean existsByEmail(String email);
+}
@@ -0,0 +1,43 @@
+package com.example.toptanstreet_backend.repository;
+
+import com.example.toptanstreet_backend.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * UserNaturalIdRepository'nin Hibernate natural-id API'si ile gerçeklemesi.
+ * Spring Data, UserRepository'deki aynı isimli metotlar için bu sınıfı kullanır.
+ */
+public class UserNaturalIdRepositoryImpl implements UserNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(email);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean existsByEmail(String email) {
+        if (email == null) {
+            return false;
+        }
+        // getReference entity'yi yüklemez: ID natural-id önbelleğinden, yoksa yalnızca ID seçen
+        // bir sorguyla çözülür ve bulunamazsa null döner
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .getReference(email) != null;
+    }
+}
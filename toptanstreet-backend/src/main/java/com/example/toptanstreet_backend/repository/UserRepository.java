@@ -1,13 +1,52 @@
 package com.example.toptanstreet_backend.repository;
 
 import com.example.toptanstreet_backend.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Optional;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<User> findByEmail(String email);
-    boolean existsByEmail(String email);
+public interface UserRepository extends JpaRepository<User, Long>, UserNaturalIdRepository, UserLoginRepository,
+        UserBulkInsertRepository {
+    
+    /**
+     * Kullanıcının şifre hash'ini entity yüklemeden günceller
+     * 
+     * @param id       Kullanıcı ID
+     * @param password Yeni şifre hash'i
+     * @return Güncellenen satır sayısı
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
+    
+    /**
+     * Tüm kayıtlı e-postaları entity yüklemeden stream eder. Açık bir transaction
+     * içinde tüketilmeli ve kapatılmalıdır.
+     * 
+     * @return E-posta adresleri
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT u.email FROM User u")
+    Stream<String> streamAllEmails();
+    
+    /**
+     * Verilen e-postalardan kayıtlı olanları döner (toplu içe aktarmada chunk başına tek sorgu)
+     * 
+     * @param emails Kontrol edilecek e-posta adresleri
+     * @return Kayıtlı olanlar
+     */
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findRegisteredEmails(@Param("emails") Collection<String> emails);
 }
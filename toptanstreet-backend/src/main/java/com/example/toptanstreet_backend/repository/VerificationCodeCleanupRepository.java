@@ -0,0 +1,34 @@
+package com.example.toptanstreet_backend.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Süresi dolmuş doğrulama kodlarını entity yüklemeden toplu olarak silen işlemler
+ */
+public interface VerificationCodeCleanupRepository {
+
+    /**
+     * Süresi dolmuş doğrulanmamış kodları ve saklama süresi geçmiş doğrulanmış kodları
+     * en fazla batchSize satır olacak şekilde siler
+     *
+     * @param expiredBefore         Bu zamandan önce süresi dolan doğrulanmamış kodlar silinir
+     * @param verifiedExpiredBefore Bu zamandan önce süresi dolan doğrulanmış kodlar silinir
+     * @param batchSize             Tek seferde silinecek en fazla satır
+     * @return Silinen satır sayısı
+     */
+    int purgeExpiredBatch(LocalDateTime expiredBefore, LocalDateTime verifiedExpiredBefore, int batchSize);
+
+    /**
+     * Tablodaki yaklaşık satır sayısı (PostgreSQL istatistiklerinden, tablo taranmaz)
+     *
+     * @return Tahmini satır sayısı
+     */
+    long estimateRowCount();
+
+    /**
+     * Tablonun indeksler dahil diskte kapladığı alan
+     *
+     * @return Byte cinsinden boyut
+     */
+    long totalRelationSize();
+}
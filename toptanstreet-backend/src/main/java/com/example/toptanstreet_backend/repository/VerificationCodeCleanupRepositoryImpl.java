@@ -0,0 +1,60 @@
+package com.example.toptanstreet_backend.repository;
+
+import com.example.toptanstreet_backend.model.VerificationCode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * VerificationCodeCleanupRepository'nin PostgreSQL gerçeklemesi. DELETE ifadesi LIMIT
+ * desteklemediği için silinecek ID'ler expires_at indeksi üzerinden alt sorguyla seçilir.
+ */
+public class VerificationCodeCleanupRepositoryImpl implements VerificationCodeCleanupRepository {
+
+    private static final String PURGE_SQL = "DELETE FROM toptanstreet.verification_codes WHERE id IN ("
+            + "SELECT id FROM toptanstreet.verification_codes "
+            + "WHERE (verified = false AND expires_at < :expiredBefore) "
+            + "OR (verified = true AND expires_at < :verifiedExpiredBefore) "
+            + "LIMIT :batchSize)";
+
+    private static final String TABLE = "toptanstreet.verification_codes";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public int purgeExpiredBatch(LocalDateTime expiredBefore, LocalDateTime verifiedExpiredBefore, int batchSize) {
+        // Senkronize entity sınıfı verilmezse Hibernate native DELETE sonrası tüm ikinci seviye önbelleği temizler
+        return entityManager.createNativeQuery(PURGE_SQL)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(VerificationCode.class)
+                .setParameter("expiredBefore", expiredBefore)
+                .setParameter("verifiedExpiredBefore", verifiedExpiredBefore)
+                .setParameter("batchSize", batchSize)
+                .executeUpdate();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long estimateRowCount() {
+        Number rows = (Number) entityManager
+                .createNativeQuery("SELECT GREATEST(reltuples, 0)::bigint FROM pg_class WHERE oid = CAST(:table AS regclass)")
+                .setParameter("table", TABLE)
+                .getSingleResult();
+        return rows.longValue();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long totalRelationSize() {
+        Number bytes = (Number) entityManager
+                .createNativeQuery("SELECT pg_total_relation_size(CAST(:table AS regclass))")
+                .setParameter("table", TABLE)
+                .getSingleResult();
+        return bytes.longValue();
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.toptanstreet_backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Doğrulama kodunu tek bir koşullu UPDATE ile kontrol edip tüketen işlemler
+ */
+public interface VerificationCodeConsumeRepository {
+
+    /**
+     * E-posta ve koda ait doğrulanmamış, süresi dolmamış kaydı doğrulanmış olarak işaretler.
+     * Kontrol ve güncelleme tek SQL ifadesinde yapıldığından aynı kodu eşzamanlı doğrulayan
+     * iki istekten yalnızca biri başarılı olur.
+     *
+     * @param email Kullanıcı e-posta adresi
+     * @param code  Doğrulama kodu
+     * @param now   Şu anki zaman
+     * @return Tüketilen kaydın ID'si, eşleşen geçerli kod yoksa boş Optional
+     */
+    Optional<Long> consumeCode(String email, String code, LocalDateTime now);
+}
@@ -0,0 +1,79 @@
+package com.example.toptanstreet_backend.repository;
+
+import com.example.toptanstreet_backend.model.VerificationCode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.cache.spi.TimestampsCache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * VerificationCodeConsumeRepository'nin PostgreSQL UPDATE ... RETURNING ile gerçeklemesi.
+ * Sorgu (email, code) indeksini kullanır.
+ */
+public class VerificationCodeConsumeRepositoryImpl implements VerificationCodeConsumeRepository {
+
+    private static final String CONSUME_SQL = "UPDATE toptanstreet.verification_codes SET verified = true "
+            + "WHERE email = :email AND code = :code AND verified = false AND expires_at > :now "
+            + "RETURNING id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    @SuppressWarnings("unchecked")
+    public Optional<Long> consumeCode(String email, String code, LocalDateTime now) {
+        List<Long> ids = entityManager.createNativeQuery(CONSUME_SQL, Long.class)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(VerificationCode.class)
+                .setParameter("email", email)
+                .setParameter("code", code)
+                .setParameter("now", now)
+                .getResultList();
+
+        // Güncelleme Hibernate dışında ve SELECT olarak çalıştı: Hibernate ne ikinci seviye önbellekteki
+        // kaydı düşürür ne de tablonun sorgu önbelleği zaman damgasını günceller. İkisi burada yapılır.
+        // Commit'ten önce eşzamanlı bir okuma henüz commit edilmemiş (doğrulanmamış) satırı önbelleğe
+        // geri koyabileceği için commit'ten sonra bir kez daha yapılır (Hibernate toplu güncellemelerindeki sıra).
+        if (!ids.isEmpty()) {
+            invalidateCaches(ids);
+        }
+        return ids.stream().findFirst();
+    }
+
+    private void invalidateCaches(List<Long> ids) {
+        SessionFactoryImplementor sessionFactory = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class);
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        CacheImplementor cache = sessionFactory.getCache();
+        TimestampsCache timestamps = cache.getTimestampsCache();
+        Serializable[] querySpaces = sessionFactory.getMappingMetamodel()
+                .getEntityDescriptor(VerificationCode.class).getQuerySpaces();
+        String[] spaces = Arrays.copyOf(querySpaces, querySpaces.length, String[].class);
+
+        timestamps.preInvalidate(spaces, session);
+        ids.forEach(id -> cache.evict(VerificationCode.class, id));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    timestamps.invalidate(spaces, session);
+                    ids.forEach(id -> cache.evict(VerificationCode.class, id));
+                }
+            });
+        } else {
+            timestamps.invalidate(spaces, session);
+        }
+    }
+}
@@ -1,23 +1,30 @@
 package com.example.toptanstreet_backend.repository;
 
 import com.example.toptanstreet_backend.model.VerificationCode;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface VerificationCodeRepository extends JpaRepository<VerificationCode, Long> {
+public interface VerificationCodeRepository extends JpaRepository<VerificationCode, Long>,
+        VerificationCodeConsumeRepository, VerificationCodeCleanupRepository {
     
     /**
-     * E-posta ve kod ile doğrulama kodu arar
+     * E-posta ve kod ile en son oluşturulan doğrulama kodunu arar
      * 
      * @param email Kullanıcı e-posta adresi
      * @param code Doğrulama kodu
      * @return İlgili doğrulama kodu, yoksa boş Optional
      */
-    Optional<VerificationCode> findByEmailAndCode(String email, String code);
+    Optional<VerificationCode> findTopByEmailAndCodeOrderByIdDesc(String email, String code);
     
     /**
      * Belirli bir email adresine ait tüm doğrulama kodlarını bulur
@@ -28,10 +35,22 @@ public interface VerificationCodeRepository extends JpaRepository<VerificationCo
     List<VerificationCode> findAllByEmail(String email);
     
     /**
-     * E-posta ile en son oluşturulan doğrulama kodu
+     * Belirli bir email adresine ait tüm doğrulama kodlarını tek DELETE ifadesiyle siler
+     * 
+     * @param email Kullanıcı e-posta adresi
+     * @return Silinen satır sayısı
+     */
+    @Modifying
+    @Query("DELETE FROM VerificationCode v WHERE v.email = :email")
+    int bulkDeleteByEmail(@Param("email") String email);
+    
+    /**
+     * E-posta ile en son oluşturulan doğrulama kodu. Sonuç sorgu önbelleğinde tutulur;
+     * verification_codes tablosuna yapılan her yazım önbelleği geçersiz kılar.
      * 
      * @param email Kullanıcı e-posta adresi
      * @return En son oluşturulan doğrulama kodu, yoksa boş Optional
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<VerificationCode> findTopByEmailOrderByIdDesc(String email);
 }
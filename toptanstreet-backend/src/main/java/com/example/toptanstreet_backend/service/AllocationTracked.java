@@ -0,0 +1,23 @@
+package com.example.toptanstreet_backend.service;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * İşaretlenen metot çağrısının, çağıran thread üzerinde yaptığı heap tahsisini
+ * (byte) AllocationTracker'a kaydeder. Yalnızca Spring proxy'si üzerinden yapılan
+ * çağrılar ölçülür; başka thread'lere devredilen iş (ör. BCrypt havuzu) dahil değildir.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface AllocationTracked {
+
+    /**
+     * Metrik ve rapordaki işlem adı (ör. "auth.login")
+     */
+    String value();
+}
@@ -1,11 +1,16 @@
 package com.example.toptanstreet_backend.service;
 
+import com.example.toptanstreet_backend.dto.LoginCredentials;
 import com.example.toptanstreet_backend.dto.LoginRequest;
-import com.example.toptanstreet_backend.model.User;
+import com.example.toptanstreet_backend.dto.UserSummary;
+import com.example.toptanstreet_backend.exception.ServiceBusyException;
+import com.example.toptanstreet_backend.model.UserRole;
 import com.example.toptanstreet_backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
@@ -19,101 +24,95 @@ public class AuthService {
     
     @PostConstruct
     public void checkEncoderAndTestBCrypt() {
-        System.out.println("\n🔍 AuthService encoder instance: " + System.identityHashCode(passwordEncoder));
-        System.out.println("🔍 AuthService encoder class: " + passwordEncoder.getClass().getName());
+        log.debug("🔍 AuthService hashing service instance: {}", System.identityHashCode(passwordHashingService));
         
         // BCrypt self-test
         String testPassword = "test123";
-        String hashedPassword = passwordEncoder.encode(testPassword);
-        boolean matches = passwordEncoder.matches(testPassword, hashedPassword);
-        System.out.println("🔒 BCrypt self-test on AuthService: " + (matches ? "BAŞARILI ✅" : "BAŞARISIZ ❌"));
-        System.out.println("🔒 Generated hash: " + hashedPassword);
+        String hashedPassword = passwordHashingService.encode(testPassword);
+        boolean matches = passwordHashingService.matches(testPassword, hashedPassword);
+        log.info("🔒 BCrypt self-test on AuthService: {}", matches ? "BAŞARILI ✅" : "BAŞARISIZ ❌");
     }
     
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final JwtService jwtService;
+    private final RegisteredEmailFilter registeredEmailFilter;
     
+    @AllocationTracked("auth.login")
     public Map<String, Object> login(LoginRequest loginRequest) {
         log.info("🔑 Giriş denemesi: {}", loginRequest.getEmail());
-        System.out.println("\n\n🔑 🔑 🔑 GİRİŞ DENEMESİ: " + loginRequest.getEmail() + " 🔑 🔑 🔑\n");
         
         try {
-            // Kullanıcıyı e-posta ile ara
+            // Bloom filtresi e-postanın kesinlikle kayıtlı olmadığını söylüyorsa veritabanına gitme
+            if (!registeredEmailFilter.mightBeRegistered(loginRequest.getEmail())) {
+                log.warn("⚠️ Giriş başarısız: {} kullanıcısı bulunamadı (Bloom filtresi)", loginRequest.getEmail());
+                throw new BadCredentialsException("Geçersiz kullanıcı adı veya şifre (kullanıcı bulunamadı)");
+            }
+            
+            // Yalnızca giriş için gereken alanlar okunur; tam profil /users/me ile istenir
             log.debug("Veritabanında kullanıcı aranıyor: {}", loginRequest.getEmail());
-            User user = userRepository.findByEmail(loginRequest.getEmail())
+            LoginCredentials user = userRepository.findLoginCredentialsByEmail(loginRequest.getEmail())
                     .orElseThrow(() -> {
-                        String errorMsg = "Geçersiz kullanıcı adı veya şifre (kullanıcı bulunamadı)";
+                        registeredEmailFilter.recordFalsePositive();
                         log.warn("⚠️ Giriş başarısız: {} kullanıcısı bulunamadı", loginRequest.getEmail());
-                        System.out.println("❌ HATA: " + errorMsg);
-                        return new RuntimeException(errorMsg);
+                        return new BadCredentialsException("Geçersiz kullanıcı adı veya şifre (kullanıcı bulunamadı)");
                     });
             
-            // Kullanıcı bilgileri logu
-            System.out.println("✅ Kullanıcı bulundu: ID=" + user.getId() + ", Email=" + user.getEmail() + ", Role=" + user.getRole());
-            
-            // Şifre kontrolü - DETAYLI LOGLAMA
-            log.debug("🔐 Şifre doğrulama işlemi başlatıldı");
-            System.out.println("🔐 ŞİFRE DOĞRULAMA İŞLEMİ BAŞLATILDI");
+            log.debug("✅ Kullanıcı bulundu: ID={}, Role={}", user.getId(), user.getRole());
             
             String rawPassword = loginRequest.getPassword();
-            String hashedPassword = user.getPassword();
-            
-            // Şifre logu
-            System.out.println("🔐 Girişte kullanıcının girdiği şifre: " + rawPassword);
-            System.out.println("🔐 Veritabanındaki hash: " + hashedPassword);
+            String hashedPassword = user.getPasswordHash();
             
             // Şifre null veya boş mu kontrolü
             if (rawPassword == null || rawPassword.isEmpty()) {
-                String errorMsg = "Geçersiz kullanıcı adı veya şifre (şifre boş)";
                 log.warn("❌ Giriş başarısız: Şifre boş");
-                System.out.println("❌ HATA: " + errorMsg);
-                throw new RuntimeException(errorMsg);
+                throw new BadCredentialsException("Geçersiz kullanıcı adı veya şifre (şifre boş)");
             }
             
             // Hash formatı kontrolü
             if (hashedPassword == null || !hashedPassword.startsWith("$2a$")) {
                 String displayHash = hashedPassword != null ? hashedPassword.substring(0, Math.min(hashedPassword.length(), 10)) + "..." : "null";
-                String errorMsg = "Veritabanında şifre formatı hatalı: " + displayHash;
-                log.error("❌ Hash formatı geçersiz: {}", displayHash);
-                System.out.println("❌ HATA: " + errorMsg);
-                throw new RuntimeException(errorMsg);
+                throw new IllegalStateException("Veritabanında şifre formatı hatalı: " + displayHash);
             }
             
-            // Şifre encoder'in sınıfını logla
-            System.out.println("🔐 Kullanılan PasswordEncoder sınıfı: " + passwordEncoder.getClass().getName());
-            
-            // BCrypt matches metoduyla karşılaştırma
-            boolean matches = passwordEncoder.matches(rawPassword, hashedPassword);
-            
-            // Karşılaştırma sonucu
-            System.out.println("🔐 Karşılaştırma sonucu: " + matches);
+            // BCrypt karşılaştırması - ayrı hashleme havuzunda çalışır, havuz doluysa ServiceBusyException
+            boolean matches = passwordHashingService.matches(rawPassword, hashedPassword);
             
             if (!matches) {
-                String errorMsg = "Geçersiz kullanıcı adı veya şifre (hash eşleşmedi)";
                 log.warn("❌ Şifre eşleşmedi: {} için", loginRequest.getEmail());
-                System.out.println("❌ HATA: " + errorMsg);
-                throw new RuntimeException(errorMsg);
+                throw new BadCredentialsException("Geçersiz kullanıcı adı veya şifre (hash eşleşmedi)");
             }
             
             log.debug("✅ Şifre doğrulaması başarılı: {}", loginRequest.getEmail());
-            System.out.println("✅ ŞİFRE DOĞRULAMASI BAŞARILI!");
             
             // Eğer toptancı ise ve ödeme yapılmadıysa uyarı
-            if (user.getRole().name().equals("WHOLESALER") && !user.getPaymentStatus()) {
+            if (user.getRole() == UserRole.WHOLESALER && !Boolean.TRUE.equals(user.getPaymentStatus())) {
                 log.warn("⚠️ Toptancı ödemesi yapılmamış: {}", loginRequest.getEmail());
-                throw new RuntimeException("Toptancı hesabınız için ödeme yapmanız gerekmektedir");
+                throw new DisabledException("Toptancı hesabınız için ödeme yapmanız gerekmektedir");
             }
             
+            // Hash daha düşük bir BCrypt maliyetiyle üretildiyse yeni maliyetle güncelle (yalnızca
+            // kabul edilen girişlerde; reddedilecek giriş için hash ve yazma maliyeti harcanmaz)
+            passwordHashingService.rehashIfNeeded(rawPassword, hashedPassword).ifPresent(rehashed -> {
+                userRepository.updatePassword(user.getId(), rehashed);
+                log.info("🔐 Şifre hash'i güncel BCrypt maliyetiyle yenilendi: {}", loginRequest.getEmail());
+            });
+            
             // Token ve kullanıcı bilgilerini içeren yanıt oluştur
             Map<String, Object> responseMap = new HashMap<>();
-            responseMap.put("user", user);
-            responseMap.put("token", "simulated-jwt-token-" + user.getId()); // Gerçek projede JWT token oluşturulacak
+            responseMap.put("user", new UserSummary(user.getId(), loginRequest.getEmail(), user.getRole(), user.getPaymentStatus()));
+            responseMap.put("token", jwtService.generateToken(user.getId(), loginRequest.getEmail(), user.getRole()));
+            responseMap.put("expiresIn", jwtService.getExpirationMillis());
             
             log.info("✅ Giriş başarılı: {} (ID: {})", loginRequest.getEmail(), user.getId());
             return responseMap;
             
-        } catch (Exception e) {
-            log.error("🔴 Giriş sırasında hata: {} - {}", e.getClass().getSimpleName(), e.getMessage());
+        } catch (AuthenticationException | ServiceBusyException e) {
+            // Beklenen hatalar atıldıkları yerde loglandı
+            throw e;
+        } catch (RuntimeException e) {
+            // Beklenmeyen hata: stack trace ile tek bir olay
+            log.error("🔴 Giriş sırasında hata: {}", loginRequest.getEmail(), e);
             throw e;
         }
     }
@@ -0,0 +1,208 @@
+package com.example.toptanstreet_backend.service;
+
+import com.example.toptanstreet_backend.dto.ProductRequest;
+import com.example.toptanstreet_backend.model.Brand;
+import com.example.toptanstreet_backend.model.Category;
+import com.example.toptanstreet_backend.model.Product;
+import com.example.toptanstreet_backend.repository.BrandRepository;
+import com.example.toptanstreet_backend.repository.CategoryRepository;
+import com.example.toptanstreet_backend.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Toptancı kataloğu: marka, kategori ve ürün yönetimi. Her kayıt sahibi olan toptancıya
+ * aittir; başka bir toptancının kaydı bulunamamış gibi davranılır. Değişiklikler commit'ten
+ * sonra ürün arama indeksine yansıtılır.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogService {
+
+    private static final int MAX_PRODUCT_NAME_LENGTH = 200;
+    private static final int MAX_DESCRIPTION_LENGTH = 2000;
+    private static final int MAX_CATALOG_NAME_LENGTH = 100;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final ProductRepository productRepository;
+    private final BrandRepository brandRepository;
+    private final CategoryRepository categoryRepository;
+    private final ProductSearchService productSearchService;
+
+    public List<Brand> listBrands(Long ownerId) {
+        return brandRepository.findByOwnerIdOrderByName(ownerId);
+    }
+
+    @Transactional
+    public Brand createBrand(Long ownerId, String name) {
+        String normalized = validateCatalogName(name);
+        if (brandRepository.existsByOwnerIdAndName(ownerId, normalized)) {
+            throw new IllegalArgumentException("Bu isimde bir marka zaten var: " + normalized);
+        }
+        Brand brand = new Brand();
+        brand.setOwnerId(ownerId);
+        brand.setName(normalized);
+        return brandRepository.save(brand);
+    }
+
+    /**
+     * Markayı yeniden adlandırır; markanın ürünleri yeni adla yeniden indekslenir
+     */
+    @Transactional
+    public Brand renameBrand(Long ownerId, Long brandId, String name) {
+        String normalized = validateCatalogName(name);
+        Brand brand = brandRepository.findByIdAndOwnerId(brandId, ownerId)
+                .orElseThrow(() -> new NoSuchElementException("Marka bulunamadı: " + brandId));
+        if (!brand.getName().equals(normalized)) {
+            if (brandRepository.existsByOwnerIdAndName(ownerId, normalized)) {
+                throw new IllegalArgumentException("Bu isimde bir marka zaten var: " + normalized);
+            }
+            brand.setName(normalized);
+            productSearchService.reindexBrandAfterCommit(brandId);
+        }
+        return brand;
+    }
+
+    public List<Category> listCategories(Long ownerId) {
+        return categoryRepository.findByOwnerIdOrderByName(ownerId);
+    }
+
+    @Transactional
+    public Category createCategory(Long ownerId, String name) {
+        String normalized = validateCatalogName(name);
+        if (categoryRepository.existsByOwnerIdAndName(ownerId, normalized)) {
+            throw new IllegalArgumentException("Bu isimde bir kategori zaten var: " + normalized);
+        }
+        Category category = new Category();
+        category.setOwnerId(ownerId);
+        category.setName(normalized);
+        return categoryRepository.save(category);
+    }
+
+    /**
+     * Kategoriyi yeniden adlandırır; kategorinin ürünleri yeni adla yeniden indekslenir
+     */
+    @Transactional
+    public Category renameCategory(Long ownerId, Long categoryId, String name) {
+        String normalized = validateCatalogName(name);
+        Category category = categoryRepository.findByIdAndOwnerId(categoryId, ownerId)
+                .orElseThrow(() -> new NoSuchElementException("Kategori bulunamadı: " + categoryId));
+        if (!category.getName().equals(normalized)) {
+            if (categoryRepository.existsByOwnerIdAndName(ownerId, normalized)) {
+                throw new IllegalArgumentException("Bu isimde bir kategori zaten var: " + normalized);
+            }
+            category.setName(normalized);
+            productSearchService.reindexCategoryAfterCommit(categoryId);
+        }
+        return category;
+    }
+
+    /**
+     * Aktif bir ürünü getirir (arama sonucundan detay sayfası için)
+     */
+    public Product getProduct(Long productId) {
+        return productRepository.findById(productId)
+                .filter(product -> Boolean.TRUE.equals(product.getActive()))
+                .orElseThrow(() -> new NoSuchElementException("Ürün bulunamadı: " + productId));
+    }
+
+    /**
+     * Toptancının ürünleri, pasifler dahil, en yeniden eskiye
+     */
+    public List<Product> listMyProducts(Long ownerId, int page, int size) {
+        int boundedSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        return productRepository.findByOwnerIdOrderByIdDesc(ownerId, PageRequest.of(Math.max(0, page), boundedSize));
+    }
+
+    @Transactional
+    public Product createProduct(Long ownerId, ProductRequest request) {
+        Product product = new Product();
+        product.setOwnerId(ownerId);
+        Product saved = applyRequest(ownerId, product, request);
+        log.info("📦 Ürün oluşturuldu: {} (toptancı {})", saved.getId(), ownerId);
+        return saved;
+    }
+
+    @Transactional
+    public Product updateProduct(Long ownerId, Long productId, ProductRequest request) {
+        return applyRequest(ownerId, findOwnedProduct(ownerId, productId), request);
+    }
+
+    @Transactional
+    public void deleteProduct(Long ownerId, Long productId) {
+        productRepository.delete(findOwnedProduct(ownerId, productId));
+        productSearchService.removeAfterCommit(productId);
+        log.info("🗑️ Ürün silindi: {} (toptancı {})", productId, ownerId);
+    }
+
+    private Product findOwnedProduct(Long ownerId, Long productId) {
+        return productRepository.findById(productId)
+                .filter(product -> product.getOwnerId().equals(ownerId))
+                .orElseThrow(() -> new NoSuchElementException("Ürün bulunamadı: " + productId));
+    }
+
+    /**
+     * İsteği doğrulayıp ürüne uygular ve indeks güncellemesini commit sonrasına planlar
+     */
+    private Product applyRequest(Long ownerId, Product product, ProductRequest request) {
+        if (request == null) {
+            throw new IllegalArgumentException("Ürün bilgileri gerekli");
+        }
+        String name = request.getName() != null ? request.getName().trim() : "";
+        if (name.isEmpty() || name.length() > MAX_PRODUCT_NAME_LENGTH) {
+            throw new IllegalArgumentException("Ürün adı 1-" + MAX_PRODUCT_NAME_LENGTH + " karakter olmalı");
+        }
+        if (request.getDescription() != null && request.getDescription().length() > MAX_DESCRIPTION_LENGTH) {
+            throw new IllegalArgumentException("Açıklama en fazla " + MAX_DESCRIPTION_LENGTH + " karakter olabilir");
+        }
+        if (request.getPrice() == null || request.getPrice().compareTo(BigDecimal.ZERO) < 0) {
+            throw new IllegalArgumentException("Fiyat sıfır veya daha büyük olmalı");
+        }
+        if (request.getStock() != null && request.getStock() < 0) {
+            throw new IllegalArgumentException("Stok negatif olamaz");
+        }
+
+        String brandName = null;
+        if (request.getBrandId() != null) {
+            brandName = brandRepository.findByIdAndOwnerId(request.getBrandId(), ownerId)
+                    .orElseThrow(() -> new IllegalArgumentException("Marka bulunamadı: " + request.getBrandId()))
+                    .getName();
+        }
+        String categoryName = null;
+        if (request.getCategoryId() != null) {
+            categoryName = categoryRepository.findByIdAndOwnerId(request.getCategoryId(), ownerId)
+                    .orElseThrow(() -> new IllegalArgumentException("Kategori bulunamadı: " + request.getCategoryId()))
+                    .getName();
+        }
+
+        product.setName(name);
+        product.setDescription(request.getDescription());
+        product.setBrandId(request.getBrandId());
+        product.setCategoryId(request.getCategoryId());
+        product.setPrice(request.getPrice());
+        product.setStock(request.getStock() != null ? request.getStock() : 0);
+        product.setActive(request.getActive() == null || request.getActive());
+        if (product.getId() == null) {
+            // Sequence ID'si indeks için gerekli
+            productRepository.save(product);
+        }
+        productSearchService.indexAfterCommit(product, brandName, categoryName);
+        return product;
+    }
+
+    private static String validateCatalogName(String name) {
+        String normalized = name != null ? name.trim() : "";
+        if (normalized.isEmpty() || normalized.length() > MAX_CATALOG_NAME_LENGTH) {
+            throw new IllegalArgumentException("İsim 1-" + MAX_CATALOG_NAME_LENGTH + " karakter olmalı");
+        }
+        return normalized;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.toptanstreet_backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * {{alan}} yer tutuculu bir şablonun derlenmiş hali: sabit metin parçaları ve aralarındaki
+ * alan adları. Şablon bir kez ayrıştırılır; her çağrıda yalnızca parçalar ve değerler
+ * birleştirilir.
+ */
+final class CompiledTemplate {
+
+    private static final Pattern SLOT = Pattern.compile("\\{\\{\\s*([A-Za-z][A-Za-z0-9]*)\\s*}}");
+
+    private final String[] segments;
+    private final String[] slots;
+    private final int staticLength;
+
+    private CompiledTemplate(String[] segments, String[] slots) {
+        this.segments = segments;
+        this.slots = slots;
+        int length = 0;
+        for (String segment : segments) {
+            length += segment.length();
+        }
+        this.staticLength = length;
+    }
+
+    static CompiledTemplate compile(String source) {
+        List<String> segments = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+        Matcher matcher = SLOT.matcher(source);
+        int position = 0;
+        while (matcher.find()) {
+            segments.add(source.substring(position, matcher.start()));
+            slots.add(matcher.group(1));
+            position = matcher.end();
+        }
+        segments.add(source.substring(position));
+        return new CompiledTemplate(segments.toArray(String[]::new), slots.toArray(String[]::new));
+    }
+
+    /**
+     * Sabit parçalar; uzunluğu alan sayısından bir fazladır
+     */
+    String[] segments() {
+        return segments;
+    }
+
+    /**
+     * Alan adları; i. alan i. ve (i+1). parçalar arasındadır
+     */
+    String[] slots() {
+        return slots;
+    }
+
+    /**
+     * @param values  Alan değerleri
+     * @param escaper Değerlere uygulanacak kaçış (HTML için htmlEscape, düz metin için identity)
+     * @return Doldurulmuş metin
+     * @throws IllegalArgumentException Değeri verilmeyen alan varsa
+     */
+    String render(Map<String, String> values, UnaryOperator<String> escaper) {
+        StringBuilder result = new StringBuilder(staticLength + slots.length * 16);
+        for (int i = 0; i < slots.length; i++) {
+            result.append(segments[i]).append(escaper.apply(value(values, slots[i])));
+        }
+        return result.append(segments[slots.length]).toString();
+    }
+
+    static String value(Map<String, String> values, String slot) {
+        String value = values.get(slot);
+        if (value == null) {
+            throw new IllegalArgumentException("Şablon alanı için değer yok: " + slot);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.toptanstreet_backend.service;
+
+import com.example.toptanstreet_backend.model.EmailOutbox;
+import com.example.toptanstreet_backend.model.EmailOutboxStatus;
+import io.micrometer.tracing.Link;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.TraceContext;
+import io.micrometer.tracing.Tracer;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Outbox tablosundaki e-postaları batch'ler halinde, öncelik sınıfı ve son geçerlilik
+ * zamanı sırasıyla gönderir. Başarısız gönderimler geri çekilme süresi sonunda tekrar denenir.
+ * Batch gönderim süreleri MailLoadShedder'ın hız tahminini besler.
+ * Her batch kendi kök span'i ("mail.outbox.batch") altında gönderilir; span, e-postaları
+ * outbox'a yazan isteklerin trace'lerine link ile bağlanır.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmailOutboxDispatcher {
+
+    private final EmailOutboxService emailOutboxService;
+    private final EmailService emailService;
+    private final MailLoadShedder mailLoadShedder;
+    private final Tracer tracer;
+
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval-ms:1000}")
+    public void dispatch() {
+        try {
+            List<EmailOutbox> batch;
+            do {
+                batch = emailOutboxService.claimDueBatch();
+                if (!batch.isEmpty()) {
+                    sendBatch(batch);
+                }
+                // Kuyruk doluyken döngü uzun süre çıkmaz; kabul kontrolünün bekleyen sayıları
+                // gönderilenler düşülsün diye her batch'ten sonra tazelenir
+                emailOutboxService.refreshBacklogStats();
+            } while (batch.size() >= emailOutboxService.getBatchSize());
+        } catch (Exception e) {
+            log.error("Outbox gönderim döngüsünde hata: {}", e.getMessage(), e);
+        }
+    }
+
+    private void sendBatch(List<EmailOutbox> batch) {
+        Span span = batchSpan(batch);
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            send(batch);
+        } catch (RuntimeException e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    private void send(List<EmailOutbox> batch) {
+        List<Long> sentIds = new ArrayList<>(batch.size());
+        Map<Long, String> errors = new HashMap<>();
+
+        // Mesajları hazırla, oluşturulamayanları doğrudan hatalı say
+        List<EmailOutbox> prepared = new ArrayList<>(batch.size());
+        List<MimeMessage> messages = new ArrayList<>(batch.size());
+        for (EmailOutbox outbox : batch) {
+            if (outbox.getStatus() != EmailOutboxStatus.PENDING) {
+                continue; // Süresi doldu, claimDueBatch işaretledi
+            }
+            try {
+                messages.add(outbox.getTemplate() != null
+                        ? emailService.createTemplatedMessage(outbox.getRecipient(), outbox.getSubject(),
+                                outbox.getTemplate(), Locale.forLanguageTag(outbox.getLocale()), outbox.getTemplateFields())
+                        : emailService.createMessage(outbox.getRecipient(), outbox.getSubject(), outbox.getContent()));
+                prepared.add(outbox);
+            } catch (Exception e) {
+                errors.put(outbox.getId(), e.getMessage());
+            }
+        }
+
+        // Tüm batch havuzdaki açık SMTP bağlantıları üzerinden gönderilir
+        long started = System.nanoTime();
+        Map<Integer, MessagingException> failures = emailService.deliverBatch(messages);
+        mailLoadShedder.recordThroughput(messages.size(), System.nanoTime() - started);
+        for (int i = 0; i < prepared.size(); i++) {
+            EmailOutbox outbox = prepared.get(i);
+            MessagingException failure = failures.get(i);
+            if (failure == null) {
+                sentIds.add(outbox.getId());
+            } else {
+                log.warn("E-posta gönderilemedi (deneme {}): id={}, alıcı={}, hata={}",
+                        outbox.getAttempts(), outbox.getId(), outbox.getRecipient(), failure.getMessage());
+                errors.put(outbox.getId(), failure.getMessage());
+            }
+        }
+
+        emailOutboxService.completeBatch(sentIds, errors);
+        log.debug("Outbox batch işlendi: gönderilen={}, hatalı={}", sentIds.size(), errors.size());
+    }
+
+    private Span batchSpan(List<EmailOutbox> batch) {
+        Span.Builder builder = tracer.spanBuilder()
+                .setNoParent()
+                .name("mail.outbox.batch")
+                .tag("mail.batch.size", String.valueOf(batch.size()));
+        for (EmailOutbox outbox : batch) {
+            TraceContext origin = parseTraceParent(outbox.getTraceParent());
+            if (origin != null) {
+                builder.addLink(new Link(origin));
+            }
+        }
+        return builder.start();
+    }
+
+    /**
+     * 00-traceId-spanId-bayraklar biçimindeki traceparent değerini çözer; geçersizse null
+     */
+    private TraceContext parseTraceParent(String traceParent) {
+        if (traceParent == null) {
+            return null;
+        }
+        String[] parts = traceParent.split("-");
+        if (parts.length != 4) {
+            return null;
+        }
+        return tracer.traceContextBuilder()
+                .traceId(parts[1])
+                .spanId(parts[2])
+                .sampled("01".equals(parts[3]))
+                .build();
+    }
+}
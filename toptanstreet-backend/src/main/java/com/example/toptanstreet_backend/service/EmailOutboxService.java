@@ -0,0 +1,285 @@
+package com.example.toptanstreet_backend.service;
+
+import com.example.toptanstreet_backend.model.EmailOutbox;
+import com.example.toptanstreet_backend.model.EmailOutboxStatus;
+import com.example.toptanstreet_backend.model.MailPriority;
+import com.example.toptanstreet_backend.model.MailTemplateType;
+import com.example.toptanstreet_backend.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.TraceContext;
+import io.micrometer.tracing.Tracer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * E-posta outbox tablosunu yönetir: kayıt ekleme, gönderilecek kayıtları alma,
+ * sonuçları işleme ve kuyruk metrikleri.
+ * <p>
+ * Kayıtlar öncelik sınıfı ve son geçerlilik zamanına göre gönderilir; kabul kontrolünü
+ * MailLoadShedder yapar. Süresi dolan kayıtlar gönderilmez, EXPIRED olarak işaretlenir.
+ * Gecikme ve kuyruk metrikleri priority etiketiyle sınıf bazında yayınlanır.
+ */
+@Service
+@Slf4j
+public class EmailOutboxService {
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final MailLoadShedder mailLoadShedder;
+    private final Tracer tracer;
+
+    private final Map<MailPriority, AtomicLong> oldestPendingAgeSeconds = new EnumMap<>(MailPriority.class);
+    private final Map<MailPriority, Timer> sendLagTimers = new EnumMap<>(MailPriority.class);
+    private final Map<MailPriority, Counter> expiredCounters = new EnumMap<>(MailPriority.class);
+    private final Counter sentCounter;
+    private final Counter retryCounter;
+    private final Counter failedCounter;
+
+    @Value("${app.mail.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.mail.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.mail.outbox.initial-backoff-ms:2000}")
+    private long initialBackoffMs;
+
+    @Value("${app.mail.outbox.max-backoff-ms:300000}")
+    private long maxBackoffMs;
+
+    @Value("${app.mail.outbox.lease-ms:60000}")
+    private long leaseMs;
+
+    public EmailOutboxService(EmailOutboxRepository emailOutboxRepository, MailLoadShedder mailLoadShedder,
+                              MeterRegistry meterRegistry, Tracer tracer) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.mailLoadShedder = mailLoadShedder;
+        this.tracer = tracer;
+
+        for (MailPriority priority : MailPriority.values()) {
+            String tag = priority.name().toLowerCase();
+            AtomicLong oldestAge = new AtomicLong();
+            oldestPendingAgeSeconds.put(priority, oldestAge);
+            Gauge.builder("mail.outbox.oldest.pending.age", oldestAge, AtomicLong::get)
+                    .description("En eski bekleyen e-postanın yaşı")
+                    .tag("priority", tag)
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+            sendLagTimers.put(priority, Timer.builder("mail.outbox.send.lag")
+                    .description("Outbox'a yazılma ile gönderim arasındaki süre")
+                    .tag("priority", tag)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry));
+            expiredCounters.put(priority, Counter.builder("mail.outbox.expired")
+                    .description("Son geçerlilik zamanı dolduğu için gönderilmeyen e-postalar")
+                    .tag("priority", tag)
+                    .register(meterRegistry));
+        }
+        this.sentCounter = Counter.builder("mail.outbox.sent").register(meterRegistry);
+        this.retryCounter = Counter.builder("mail.outbox.retried").register(meterRegistry);
+        this.failedCounter = Counter.builder("mail.outbox.failed").register(meterRegistry);
+    }
+
+    /**
+     * E-postayı outbox'a yazar. Çağıranın transaction'ına katılır, böylece
+     * iş verisi ile e-posta kaydı birlikte commit ya da rollback olur.
+     *
+     * @param to       Alıcı e-posta adresi
+     * @param subject  E-posta konusu
+     * @param content  E-posta içeriği (HTML)
+     * @param priority Öncelik sınıfı
+     * @param deadline Bu zamandan sonra gönderilmez (yoksa null)
+     * @throws com.example.toptanstreet_backend.exception.ServiceBusyException Kuyruk bu sınıf için doluysa
+     *         veya e-posta süresi dolmadan gönderilemeyecekse
+     */
+    @Transactional
+    public void enqueue(String to, String subject, String content, MailPriority priority, LocalDateTime deadline) {
+        EmailOutbox outbox = newOutbox(to, subject, priority, deadline);
+        outbox.setContent(content);
+        save(outbox);
+    }
+
+    /**
+     * Şablondan üretilecek e-postayı outbox'a yazar. Yalnızca şablon türü, dil ve alan
+     * değerleri saklanır; gövde gönderim anında oluşturulur.
+     *
+     * @param to       Alıcı e-posta adresi
+     * @param subject  Doldurulmuş konu
+     * @param template Şablon türü
+     * @param locale   Şablon dili
+     * @param fields   Alan değerleri
+     * @param priority Öncelik sınıfı
+     * @param deadline Bu zamandan sonra gönderilmez (yoksa null)
+     * @throws com.example.toptanstreet_backend.exception.ServiceBusyException Kuyruk bu sınıf için doluysa
+     *         veya e-posta süresi dolmadan gönderilemeyecekse
+     */
+    @Transactional
+    public void enqueueTemplate(String to, String subject, MailTemplateType template, Locale locale,
+                                Map<String, String> fields, MailPriority priority, LocalDateTime deadline) {
+        EmailOutbox outbox = newOutbox(to, subject, priority, deadline);
+        outbox.setContent("");
+        outbox.setTemplate(template);
+        outbox.setLocale(locale.toLanguageTag());
+        outbox.setTemplateFields(fields);
+        save(outbox);
+    }
+
+    private EmailOutbox newOutbox(String to, String subject, MailPriority priority, LocalDateTime deadline) {
+        mailLoadShedder.admit(priority, deadline);
+        LocalDateTime now = LocalDateTime.now();
+
+        EmailOutbox outbox = new EmailOutbox();
+        outbox.setRecipient(to);
+        outbox.setSubject(subject);
+        outbox.setStatus(EmailOutboxStatus.PENDING);
+        outbox.setPriority(priority);
+        outbox.setDeadline(deadline);
+        outbox.setAttempts(0);
+        outbox.setNextAttemptAt(now);
+        outbox.setCreatedAt(now);
+        outbox.setTraceParent(currentTraceParent());
+        return outbox;
+    }
+
+    private void save(EmailOutbox outbox) {
+        emailOutboxRepository.save(outbox);
+        log.debug("E-posta outbox'a eklendi: alıcı={}, konu={}, öncelik={}",
+                outbox.getRecipient(), outbox.getSubject(), outbox.getPriority());
+    }
+
+    /**
+     * Zamanı gelmiş kayıtlardan bir batch alır. Alınan kayıtların bir sonraki deneme
+     * zamanı lease süresi kadar ileri atılır; instance gönderim sırasında çökerse
+     * kayıtlar lease dolduğunda tekrar işlenir. Süresi dolmuş kayıtlar EXPIRED olarak
+     * işaretlenir; dispatcher yalnızca PENDING kalanları gönderir.
+     *
+     * @return Kilitlenen kayıtlar
+     */
+    @Transactional
+    public List<EmailOutbox> claimDueBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutbox> batch = emailOutboxRepository.lockDueBatch(now, batchSize);
+        for (EmailOutbox outbox : batch) {
+            if (isExpired(outbox, now)) {
+                expire(outbox);
+                continue;
+            }
+            outbox.setAttempts(outbox.getAttempts() + 1);
+            outbox.setNextAttemptAt(now.plus(Duration.ofMillis(leaseMs)));
+        }
+        return batch;
+    }
+
+    /**
+     * Gönderim sonuçlarını tek transaction içinde işler
+     *
+     * @param sentIds Başarıyla gönderilen kayıtlar
+     * @param errors  Gönderilemeyen kayıtlar ve hata mesajları
+     */
+    @Transactional
+    public void completeBatch(Collection<Long> sentIds, Map<Long, String> errors) {
+        LocalDateTime now = LocalDateTime.now();
+
+        for (EmailOutbox outbox : emailOutboxRepository.findAllById(sentIds)) {
+            outbox.setStatus(EmailOutboxStatus.SENT);
+            outbox.setSentAt(now);
+            outbox.setLastError(null);
+            sentCounter.increment();
+            sendLagTimers.get(outbox.getPriority()).record(Duration.between(outbox.getCreatedAt(), now));
+        }
+
+        for (EmailOutbox outbox : emailOutboxRepository.findAllById(errors.keySet())) {
+            outbox.setLastError(truncate(errors.get(outbox.getId())));
+            if (outbox.getAttempts() >= maxAttempts) {
+                outbox.setStatus(EmailOutboxStatus.FAILED);
+                failedCounter.increment();
+                log.error("E-posta {} denemeden sonra gönderilemedi: id={}, alıcı={}",
+                        outbox.getAttempts(), outbox.getId(), outbox.getRecipient());
+            } else {
+                outbox.setNextAttemptAt(now.plus(backoff(outbox.getAttempts())));
+                if (isExpired(outbox, outbox.getNextAttemptAt())) {
+                    expire(outbox);
+                } else {
+                    retryCounter.increment();
+                }
+            }
+        }
+    }
+
+    /**
+     * Sınıf bazında kuyruk derinliğini (kabul kontrolü için) ve en eski bekleyen kaydın
+     * yaşı metriklerini tek sorguyla günceller
+     */
+    @Transactional(readOnly = true)
+    public void refreshBacklogStats() {
+        LocalDateTime now = LocalDateTime.now();
+        Map<MailPriority, Long> counts = new EnumMap<>(MailPriority.class);
+        oldestPendingAgeSeconds.values().forEach(age -> age.set(0));
+        for (EmailOutboxRepository.PriorityBacklog backlog
+                : emailOutboxRepository.summarizeByPriority(EmailOutboxStatus.PENDING)) {
+            counts.put(backlog.getPriority(), backlog.getCount());
+            oldestPendingAgeSeconds.get(backlog.getPriority())
+                    .set(Duration.between(backlog.getOldestCreatedAt(), now).toSeconds());
+        }
+        mailLoadShedder.refresh(counts);
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    private static boolean isExpired(EmailOutbox outbox, LocalDateTime at) {
+        return outbox.getDeadline() != null && !outbox.getDeadline().isAfter(at);
+    }
+
+    private void expire(EmailOutbox outbox) {
+        outbox.setStatus(EmailOutboxStatus.EXPIRED);
+        expiredCounters.get(outbox.getPriority()).increment();
+        log.warn("⏰ E-posta süresi dolduğu için gönderilmedi: id={}, alıcı={}, öncelik={}",
+                outbox.getId(), outbox.getRecipient(), outbox.getPriority());
+    }
+
+    /**
+     * Aktif span'in W3C traceparent gösterimi (00-traceId-spanId-bayraklar); trace yoksa null
+     */
+    private String currentTraceParent() {
+        Span span = tracer.currentSpan();
+        if (span == null) {
+            return null;
+        }
+        TraceContext context = span.context();
+        return "00-" + context.traceId() + "-" + context.spanId() + (Boolean.TRUE.equals(context.sampled()) ? "-01" : "-00");
+    }
+
+    /**
+     * Üstel geri çekilme süresi (%20'ye kadar rastgele sapma ile)
+     */
+    private Duration backoff(int attempts) {
+        long delay = initialBackoffMs << Math.min(attempts - 1, 20);
+        delay = Math.min(delay, maxBackoffMs);
+        delay += ThreadLocalRandom.current().nextLong(delay / 5 + 1);
+        return Duration.ofMillis(delay);
+    }
+
+    private String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() > 1000 ? error.substring(0, 1000) : error;
+    }
+}
@@ -1,14 +1,22 @@
 package com.example.toptanstreet_backend.service;
 
+import com.example.toptanstreet_backend.model.MailPriority;
+import com.example.toptanstreet_backend.model.MailTemplateType;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
 import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -23,82 +31,134 @@ public class EmailService {
     @org.springframework.beans.factory.annotation.Value("${spring.mail.username:}")
     private String mailUsername;
 
-    private final JavaMailSender mailSender;
+    private final JavaMailSenderImpl mailSender;
+    private final SmtpConnectionPool smtpConnectionPool;
+    private final EmailOutboxService emailOutboxService;
+    private final MailTemplateEngine mailTemplateEngine;
 
     /**
-     * E-posta gönderimi asenkron olarak gerçekleştirilir
+     * E-postayı verilen öncelikle outbox'a yazar; gönderim EmailOutboxDispatcher tarafından yapılır.
+     * Toplu veya bildirim e-postaları NORMAL ya da BULK ile gönderilmeli, böylece yoğunlukta
+     * doğrulama kodlarının önüne geçmez ve önce bunlar reddedilir.
+     *
+     * @param to        Alıcı e-posta adresi
+     * @param subject   E-posta konusu
+     * @param content   E-posta içeriği (HTML formatında olabilir)
+     * @param priority  Öncelik sınıfı
+     * @throws com.example.toptanstreet_backend.exception.ServiceBusyException Bu sınıfın kuyruğu doluysa
+     */
+    public void sendEmail(String to, String subject, String content, MailPriority priority) {
+        emailOutboxService.enqueue(to, subject, content, priority, null);
+    }
+    
+    /**
+     * E-postayı çağıran thread üzerinde senkron olarak gönderir. Hatalar çağırana iletilir.
      *
      * @param to        Alıcı e-posta adresi
      * @param subject   E-posta konusu
      * @param content   E-posta içeriği (HTML formatında olabilir)
+     * @throws MessagingException Mesaj oluşturulamaz veya gönderilemezse
      */
-    @Async
-    public void sendEmail(String to, String subject, String content) {
-        try {
-            log.info("📧 E-posta gönderimi başlatılıyor: alıcı={}, konu={}", to, subject);
-            
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-            
-            // Gönderen adresini açıkça belirt - ÖNEMLİ!
-            helper.setFrom(mailUsername);
-            log.debug("Gönderen adresi ayarlandı: {}", mailUsername);
-            
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(content, true); // true -> HTML içeriği olarak işaretler
-            
-            log.debug("Mail sunucusuna bağlanılıyor: {}:{}", mailHost, mailPort);
-            log.debug("Kullanıcı adı: {}", mailUsername);
-                     
-            mailSender.send(message);
-            log.info("✅ E-posta başarıyla gönderildi: {}", to);
-        } catch (MessagingException e) {
-            log.error("❌ E-posta gönderimi başarısız: {}", e.getMessage());
-            log.error("❌ Hata sınıfı: {}", e.getClass().getName());
-            log.error("❌ Stack trace:");
-            for (StackTraceElement element : e.getStackTrace()) {
-                log.error("   ⚠️ at {}", element);
-            }
-            // Eğer MailAuthenticationException ise özel loglama yap
-            if (e.getMessage().contains("535 5.7.8") || 
-                e.getMessage().contains("Authentication failed") || 
-                e.getMessage().contains("authentication failed")) {
-                log.error("🔐 GMAIL KİMLİK DOĞRULAMA HATASI: Gmail için ya uygulama şifresi yanlış ya da 2FA ayarlanmamış.");
-                log.error("🔑 Gmail'de 'Uygulama Şifreleri' özelliğini etkinleştirmeniz ve buradan aldığınız şifreyi kullanmanız gerekiyor.");
-            }
-        } catch (Exception e) {
-            log.error("⚠️ Beklenmeyen e-posta hatası: {}", e.getMessage());
-            for (StackTraceElement element : e.getStackTrace()) {
-                log.error("   ⚠️ at {}", element);
-            }
+    public void deliver(String to, String subject, String content) throws MessagingException {
+        log.info("📧 E-posta gönderimi başlatılıyor: alıcı={}, konu={}", to, subject);
+        
+        MessagingException failure = deliverBatch(List.of(createMessage(to, subject, content))).get(0);
+        if (failure != null) {
+            throw failure;
         }
+        log.info("✅ E-posta başarıyla gönderildi: {}", to);
     }
     
     /**
-     * Doğrulama kodu içeren e-posta gönderir
+     * Mesajları havuzdaki açık SMTP bağlantıları üzerinden toplu olarak gönderir
      *
-     * @param to   Alıcı e-posta adresi
-     * @param code Doğrulama kodu
+     * @param messages Gönderilecek mesajlar
+     * @return Gönderilemeyen mesajların listedeki sırası ve hatası
      */
-    public void sendVerificationCode(String to, String code) {
-        String subject = "Toptan Street - E-posta Doğrulama Kodu";
-        String content = "<div style=\"font-family: Arial, sans-serif; max-width: 600px; margin: 0 auto; padding: 20px; border: 1px solid #ddd; border-radius: 5px;\">"
-                + "<h2 style=\"color: #1A237E; text-align: center;\">Toptan Street</h2>"
-                + "<h3 style=\"text-align: center;\">E-posta Doğrulama Kodu</h3>"
-                + "<p>Merhaba,</p>"
-                + "<p>E-posta adresinizi doğrulamak için aşağıdaki kodu kullanın:</p>"
-                + "<div style=\"text-align: center; margin: 30px 0;\">"
-                + "<h1 style=\"font-size: 36px; letter-spacing: 5px; color: #1A237E; background-color: #f5f5f5; display: inline-block; padding: 10px 20px; border-radius: 5px;\">"
-                + code
-                + "</h1>"
-                + "</div>"
-                + "<p>Bu kod 5 dakika süreyle geçerlidir.</p>"
-                + "<p>Eğer bu işlemi siz başlatmadıysanız, lütfen bu e-postayı dikkate almayın.</p>"
-                + "<hr style=\"margin: 20px 0;\">"
-                + "<p style=\"text-align: center; color: #666; font-size: 12px;\">© 2025 Toptan Street. Tüm hakları saklıdır.</p>"
-                + "</div>";
-
-        sendEmail(to, subject, content);
+    public Map<Integer, MessagingException> deliverBatch(List<MimeMessage> messages) {
+        log.debug("Mail sunucusuna {} mesaj gönderiliyor: {}:{}", messages.size(), mailHost, mailPort);
+        return smtpConnectionPool.sendBatch(messages);
+    }
+    
+    /**
+     * Gönderime hazır HTML e-posta mesajı oluşturur
+     *
+     * @param to        Alıcı e-posta adresi
+     * @param subject   E-posta konusu
+     * @param content   E-posta içeriği (HTML formatında olabilir)
+     * @return Oluşturulan mesaj
+     * @throws MessagingException Mesaj oluşturulamazsa
+     */
+    public MimeMessage createMessage(String to, String subject, String content) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+        
+        // Gönderen adresini açıkça belirt - ÖNEMLİ!
+        helper.setFrom(mailUsername);
+        helper.setTo(to);
+        helper.setSubject(subject);
+        helper.setText(content, true); // true -> HTML içeriği olarak işaretler
+        return message;
+    }
+    
+    /**
+     * Şablondan üretilen bir e-postanın gönderime hazır mesajını oluşturur. Gövde, şablonun
+     * önbellekteki kodlanmış halinden oluşturulur; MimeMessageHelper kullanılmaz.
+     *
+     * @param to       Alıcı e-posta adresi
+     * @param subject  Doldurulmuş konu
+     * @param template Şablon türü
+     * @param locale   Şablon dili
+     * @param fields   Alan değerleri
+     * @return Oluşturulan mesaj
+     * @throws MessagingException Adres geçersizse
+     */
+    public MimeMessage createTemplatedMessage(String to, String subject, MailTemplateType template, Locale locale,
+                                              Map<String, String> fields) throws MessagingException {
+        return mailTemplateEngine.createMessage(mailSender.getSession(), mailUsername, to, subject, template, locale, fields);
+    }
+    
+    /**
+     * Şablondan üretilecek e-postayı isteğin diline (Accept-Language) göre outbox'a yazar.
+     * İstek dışında (zamanlanmış işler vb.) çağrılıyorsa dili açıkça alan sürüm kullanılmalı.
+     *
+     * @param to       Alıcı e-posta adresi
+     * @param template Şablon türü
+     * @param fields   Alan değerleri
+     * @param priority Öncelik sınıfı
+     * @param deadline Bu zamandan sonra gönderilmez (yoksa null)
+     */
+    public void sendTemplate(String to, MailTemplateType template, Map<String, String> fields,
+                             MailPriority priority, LocalDateTime deadline) {
+        sendTemplate(to, template, LocaleContextHolder.getLocale(), fields, priority, deadline);
+    }
+    
+    /**
+     * Şablondan üretilecek e-postayı verilen dilde outbox'a yazar. Desteklenmeyen dillerde
+     * varsayılan dil kullanılır.
+     */
+    public void sendTemplate(String to, MailTemplateType template, Locale locale, Map<String, String> fields,
+                             MailPriority priority, LocalDateTime deadline) {
+        Locale resolved = mailTemplateEngine.resolveLocale(locale);
+        String subject = mailTemplateEngine.renderSubject(template, resolved, fields);
+        emailOutboxService.enqueueTemplate(to, subject, template, resolved, fields, priority, deadline);
+    }
+    
+    /**
+     * Doğrulama kodu içeren e-postayı en yüksek öncelikle outbox'a yazar. Gönderim
+     * EmailOutboxDispatcher tarafından yapılır; kayıt çağıranın transaction'ı ile birlikte
+     * commit edilir. Kodun süresi dolana kadar gönderilemezse e-posta atılır.
+     *
+     * @param to        Alıcı e-posta adresi
+     * @param code      Doğrulama kodu
+     * @param expiresAt Kodun geçerlilik sonu
+     * @throws com.example.toptanstreet_backend.exception.ServiceBusyException Kod süresi dolmadan
+     *         gönderilemeyecekse
+     */
+    public void sendVerificationCode(String to, String code, LocalDateTime expiresAt) {
+        long expiryMinutes = Math.max(1, Duration.between(LocalDateTime.now(), expiresAt).plusSeconds(30).toMinutes());
+        sendTemplate(to, MailTemplateType.VERIFICATION_CODE,
+                Map.of("code", code, "expiryMinutes", String.valueOf(expiryMinutes)),
+                MailPriority.CRITICAL, expiresAt);
     }
 }
@@ -0,0 +1,226 @@
+package com.example.toptanstreet_backend.service;
+
+import com.example.toptanstreet_backend.dto.JfrRecordingInfo;
+import com.example.toptanstreet_backend.dto.JfrStartRequest;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Çalışan instance üzerinde Java Flight Recorder kayıtlarını yönetir: başlatma, durdurma,
+ * dosyayı indirme ve silme. Yeniden başlatma veya harici agent gerektirmez.
+ * <p>
+ * Ek yükü sınırlamak için aynı anda çalışan kayıt sayısı, kayıt süresi ve boyutu sınırlıdır;
+ * süresi dolan kayıt kendiliğinden durur ve dosyası yazılır. Durmuş kayıtların en eskileri
+ * max-retained aşıldığında diskten silinir.
+ */
+@Service
+@Slf4j
+public class JfrRecordingService implements DisposableBean {
+
+    private static final Pattern SETTINGS_NAME = Pattern.compile("[A-Za-z0-9_-]+");
+
+    private final Path directory;
+    private final int maxActive;
+    private final int maxRetained;
+    private final Duration maxDuration;
+    private final long maxSizeBytes;
+
+    private final Map<Long, Recording> recordings = new ConcurrentHashMap<>();
+
+    public JfrRecordingService(@Value("${app.ops.jfr.directory:}") String directory,
+                               @Value("${app.ops.jfr.max-active:1}") int maxActive,
+                               @Value("${app.ops.jfr.max-retained:5}") int maxRetained,
+                               @Value("${app.ops.jfr.max-duration-seconds:900}") long maxDurationSeconds,
+                               @Value("${app.ops.jfr.max-size-mb:256}") long maxSizeMb) {
+        this.directory = directory.isBlank()
+                ? Path.of(System.getProperty("java.io.tmpdir"), "toptanstreet-jfr")
+                : Path.of(directory);
+        this.maxActive = maxActive;
+        this.maxRetained = maxRetained;
+        this.maxDuration = Duration.ofSeconds(maxDurationSeconds);
+        this.maxSizeBytes = maxSizeMb * 1024 * 1024;
+    }
+
+    /**
+     * Yeni bir kayıt başlatır
+     *
+     * @param request Ayar dosyası, olay ayarları ve sınırlar
+     * @return Başlatılan kaydın bilgisi
+     * @throws IllegalArgumentException Ayar dosyası bulunamazsa
+     * @throws IllegalStateException    Aktif kayıt sınırı doluysa
+     */
+    public synchronized JfrRecordingInfo start(JfrStartRequest request) throws IOException {
+        Map<String, String> settings = new HashMap<>(loadSettings(request.getSettings()));
+        if (request.getEvents() != null) {
+            settings.putAll(request.getEvents());
+        }
+
+        long active = recordings.values().stream().filter(JfrRecordingService::isActive).count();
+        if (active >= maxActive) {
+            throw new IllegalStateException("Aynı anda en fazla " + maxActive + " JFR kaydı çalışabilir");
+        }
+        Duration duration = request.getMaxDurationSeconds() != null
+                ? Duration.ofSeconds(Math.min(request.getMaxDurationSeconds(), maxDuration.toSeconds()))
+                : maxDuration;
+        long maxSize = request.getMaxSizeMb() != null
+                ? Math.min(request.getMaxSizeMb() * 1024 * 1024, maxSizeBytes)
+                : maxSizeBytes;
+
+        Files.createDirectories(directory);
+        Recording recording = new Recording(settings);
+        recording.setName(request.getName() != null ? request.getName() : "ops-" + recording.getId());
+        recording.setToDisk(true);
+        recording.setMaxSize(maxSize);
+        recording.setDuration(duration);
+        recording.setDestination(file(recording));
+        recording.start();
+        recordings.put(recording.getId(), recording);
+        evictOldRecordings();
+
+        log.info("🎥 JFR kaydı başlatıldı: id={}, ad={}, süre={} sn", recording.getId(), recording.getName(),
+                duration.toSeconds());
+        return info(recording);
+    }
+
+    /**
+     * Kaydı durdurur; veriler kayıt dosyasına yazılır
+     */
+    public JfrRecordingInfo stop(long id) {
+        Recording recording = find(id);
+        if (isActive(recording)) {
+            recording.stop();
+            log.info("🎥 JFR kaydı durduruldu: id={}", id);
+        }
+        return info(recording);
+    }
+
+    public List<JfrRecordingInfo> list() {
+        return recordings.values().stream()
+                .sorted(Comparator.comparingLong(Recording::getId))
+                .map(this::info)
+                .toList();
+    }
+
+    /**
+     * İndirilecek .jfr dosyası. Kayıt devam ediyorsa o ana kadarki veriler ayrı bir
+     * anlık görüntü dosyasına yazılır, kayıt durmadan devam eder.
+     *
+     * @return Kayıt dosyasının yolu
+     */
+    public Path file(long id) throws IOException {
+        Recording recording = find(id);
+        if (isActive(recording)) {
+            Path snapshot = directory.resolve("recording-" + id + "-snapshot.jfr");
+            recording.dump(snapshot);
+            return snapshot;
+        }
+        Path file = file(recording);
+        if (!Files.exists(file)) {
+            throw new IllegalStateException("JFR kaydının dosyası yok: " + id);
+        }
+        return file;
+    }
+
+    /**
+     * Kaydı kapatır ve dosyalarını siler
+     */
+    public void delete(long id) {
+        Recording recording = recordings.remove(id);
+        if (recording == null) {
+            throw new NoSuchElementException("JFR kaydı bulunamadı: " + id);
+        }
+        close(recording);
+    }
+
+    @Override
+    public void destroy() {
+        recordings.values().forEach(Recording::close);
+        recordings.clear();
+    }
+
+    private Recording find(long id) {
+        Recording recording = recordings.get(id);
+        if (recording == null) {
+            throw new NoSuchElementException("JFR kaydı bulunamadı: " + id);
+        }
+        return recording;
+    }
+
+    private Map<String, String> loadSettings(String name) {
+        String settingsName = name != null ? name : "profile";
+        if (!SETTINGS_NAME.matcher(settingsName).matches()) {
+            throw new IllegalArgumentException("Geçersiz JFR ayar adı: " + settingsName);
+        }
+        try {
+            return Configuration.getConfiguration(settingsName).getSettings();
+        } catch (IOException | ParseException e) {
+            throw new IllegalArgumentException("JFR ayar dosyası yüklenemedi: " + settingsName, e);
+        }
+    }
+
+    /**
+     * Durmuş kayıtlardan en eskilerini max-retained sınırına inene kadar siler
+     */
+    private void evictOldRecordings() {
+        List<Recording> stopped = new ArrayList<>(recordings.values().stream()
+                .filter(recording -> !isActive(recording))
+                .sorted(Comparator.comparingLong(Recording::getId))
+                .toList());
+        while (stopped.size() > maxRetained) {
+            Recording oldest = stopped.remove(0);
+            recordings.remove(oldest.getId());
+            close(oldest);
+        }
+    }
+
+    private void close(Recording recording) {
+        recording.close();
+        try {
+            Files.deleteIfExists(file(recording));
+            Files.deleteIfExists(directory.resolve("recording-" + recording.getId() + "-snapshot.jfr"));
+        } catch (IOException e) {
+            log.warn("JFR dosyası silinemedi: id={}: {}", recording.getId(), e.getMessage());
+        }
+    }
+
+    private Path file(Recording recording) {
+        return directory.resolve("recording-" + recording.getId() + ".jfr");
+    }
+
+    private JfrRecordingInfo info(Recording recording) {
+        Path file = file(recording);
+        long size;
+        try {
+            size = isActive(recording) ? recording.getSize() : Files.exists(file) ? Files.size(file) : 0;
+        } catch (IOException e) {
+            size = 0;
+        }
+        return new JfrRecordingInfo(recording.getId(), recording.getName(), recording.getState().name(),
+                recording.getStartTime(), recording.getStopTime(),
+                recording.getDuration() != null ? recording.getDuration().toSeconds() : null, size);
+    }
+
+    private static boolean isActive(Recording recording) {
+        RecordingState state = recording.getState();
+        return state == RecordingState.RUNNING || state == RecordingState.DELAYED || state == RecordingState.NEW;
+    }
+}
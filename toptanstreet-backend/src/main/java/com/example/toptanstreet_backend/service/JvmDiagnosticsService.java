@@ -0,0 +1,85 @@
+package com.example.toptanstreet_backend.service;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+import org.springframework.boot.actuate.management.ThreadDumpEndpoint;
+import org.springframework.stereotype.Service;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Çalışan JVM'den thread dökümü ve sınıf histogramı alır (jstack / jcmd GC.class_histogram
+ * karşılıkları). Harici araç veya agent bağlamaya gerek yoktur.
+ */
+@Service
+public class JvmDiagnosticsService {
+
+    private static final String DIAGNOSTIC_COMMAND = "com.sun.management:type=DiagnosticCommand";
+    private static final int HISTOGRAM_HEADER_LINES = 2;
+
+    private final ThreadDumpEndpoint threadDumpEndpoint = new ThreadDumpEndpoint();
+
+    /**
+     * Platform thread'lerinin kilit ve monitor bilgisiyle birlikte jstack biçiminde dökümü
+     */
+    public String threadDump() {
+        return threadDumpEndpoint.textThreadDump();
+    }
+
+    /**
+     * Virtual thread'leri de içeren JSON biçiminde thread dökümü (HotSpot dumpThreads).
+     * Kilit bilgisi içermez.
+     */
+    public String threadDumpJson() throws IOException {
+        Path file = Files.createTempFile("threads-", ".json");
+        Files.delete(file); // dumpThreads var olan dosyanın üzerine yazmaz
+        try {
+            ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class)
+                    .dumpThreads(file.toAbsolutePath().toString(), HotSpotDiagnosticMXBean.ThreadDumpFormat.JSON);
+            return Files.readString(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Heap'teki sınıfların örnek sayısı ve toplam boyutuna göre histogramı.
+     * Varsayılan olarak yalnızca erişilebilir nesneler sayılır; bu tam GC tetikler.
+     *
+     * @param includeUnreachable true ise GC yapılmadan ölü nesneler de sayılır
+     * @param limit              Döndürülecek en büyük sınıf sayısı (0 = tümü)
+     * @return jcmd GC.class_histogram çıktısı
+     */
+    public String classHistogram(boolean includeUnreachable, int limit) {
+        String[] args = includeUnreachable ? new String[]{"-all"} : new String[0];
+        String histogram;
+        try {
+            histogram = (String) ManagementFactory.getPlatformMBeanServer().invoke(
+                    new ObjectName(DIAGNOSTIC_COMMAND), "gcClassHistogram",
+                    new Object[]{args}, new String[]{String[].class.getName()});
+        } catch (JMException e) {
+            throw new IllegalStateException("Sınıf histogramı alınamadı: " + e.getMessage(), e);
+        }
+        return limit > 0 ? truncate(histogram, limit) : histogram;
+    }
+
+    /**
+     * Başlık, ilk limit satır ve "Total" satırını bırakır
+     */
+    private static String truncate(String histogram, int limit) {
+        String[] lines = histogram.split("\n");
+        if (lines.length <= HISTOGRAM_HEADER_LINES + limit + 1) {
+            return histogram;
+        }
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < HISTOGRAM_HEADER_LINES + limit; i++) {
+            result.append(lines[i]).append('\n');
+        }
+        result.append("...\n").append(lines[lines.length - 1]).append('\n');
+        return result.toString();
+    }
+}
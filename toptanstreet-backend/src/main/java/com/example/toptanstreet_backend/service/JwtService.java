@@ -0,0 +1,147 @@
+package com.example.toptanstreet_backend.service;
+
+import com.example.toptanstreet_backend.dto.JwtPrincipal;
+import com.example.toptanstreet_backend.model.User;
+import com.example.toptanstreet_backend.model.UserRole;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * İmzalı JWT üretir ve doğrular. Doğrulanan token'lar sınırlı bir önbellekte tutulur;
+ * aynı istemcinin tekrarlayan isteklerinde imza ve claim ayrıştırması atlanır.
+ */
+@Service
+@Slf4j
+public class JwtService {
+
+    private static final String CLAIM_EMAIL = "email";
+    private static final String CLAIM_ROLE = "role";
+
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final long expirationMillis;
+    private final Cache<String, JwtPrincipal> verifiedTokens;
+
+    public JwtService(MeterRegistry meterRegistry,
+                      @Value("${jwt.secret}") String secret,
+                      @Value("${jwt.expiration}") long expirationMillis,
+                      @Value("${jwt.cache.max-size:10000}") long cacheMaxSize,
+                      @Value("${jwt.cache.max-ttl-ms:300000}") long cacheMaxTtlMillis) {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.expirationMillis = expirationMillis;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new TokenExpiry(cacheMaxTtlMillis))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt.verified");
+    }
+
+    /**
+     * Kullanıcı için imzalı erişim token'ı üretir
+     *
+     * @param user Giriş yapan kullanıcı
+     * @return JWT
+     */
+    public String generateToken(User user) {
+        return generateToken(user.getId(), user.getEmail(), user.getRole());
+    }
+
+    /**
+     * Entity yüklemeden, yalnızca token'a giren alanlarla erişim token'ı üretir
+     *
+     * @param userId Kullanıcı ID
+     * @param email  Kullanıcı e-posta adresi
+     * @param role   Kullanıcı rolü
+     * @return JWT
+     */
+    public String generateToken(Long userId, String email, UserRole role) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .subject(String.valueOf(userId))
+                .claim(CLAIM_EMAIL, email)
+                .claim(CLAIM_ROLE, role.name())
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + expirationMillis))
+                .signWith(signingKey)
+                .compact();
+    }
+
+    /**
+     * Token'ı doğrular. Daha önce doğrulanmış token'lar önbellekten döner.
+     *
+     * @param token JWT
+     * @return Geçerliyse principal, değilse boş Optional
+     */
+    @AllocationTracked("jwt.verify")
+    public Optional<JwtPrincipal> verify(String token) {
+        JwtPrincipal cached = verifiedTokens.getIfPresent(token);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        try {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            JwtPrincipal principal = new JwtPrincipal(
+                    Long.valueOf(claims.getSubject()),
+                    claims.get(CLAIM_EMAIL, String.class),
+                    UserRole.valueOf(claims.get(CLAIM_ROLE, String.class)),
+                    claims.getExpiration().getTime());
+            verifiedTokens.put(token, principal);
+            return Optional.of(principal);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Geçersiz JWT: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public long getExpirationMillis() {
+        return expirationMillis;
+    }
+
+    /**
+     * Önbellek kaydı token'ın kendi süresi dolduğunda ya da en geç maxTtl sonunda düşer
+     */
+    private static final class TokenExpiry implements Expiry<String, JwtPrincipal> {
+
+        private final long maxTtlNanos;
+
+        private TokenExpiry(long maxTtlMillis) {
+            this.maxTtlNanos = TimeUnit.MILLISECONDS.toNanos(maxTtlMillis);
+        }
+
+        @Override
+        public long expireAfterCreate(String token, JwtPrincipal principal, long currentTime) {
+            long untilExpiry = TimeUnit.MILLISECONDS.toNanos(principal.getExpiresAtMillis() - System.currentTimeMillis());
+            return Math.max(0, Math.min(untilExpiry, maxTtlNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, JwtPrincipal principal, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String token, JwtPrincipal principal, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.toptanstreet_backend.service;
+
+import com.example.toptanstreet_backend.exception.ServiceBusyException;
+import com.example.toptanstreet_backend.model.MailPriority;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Outbox'a yazılacak e-postalar için öncelik sınıfı bazında kabul kontrolü (yük atma).
+ * <p>
+ * Her sınıfın bekleyen kayıt sayısı tutulur (dispatcher her batch'ten sonra veritabanından tazeler,
+ * aradaki eklemeler yerelde sayılır) ve gönderim hızı batch sürelerinden üstel ortalama ile
+ * tahmin edilir. Bir e-posta iki durumda reddedilir; çağırana Retry-After süresiyle
+ * ServiceBusyException döner:
+ * <ul>
+ *   <li>sınıfın bekleyen kayıt sınırı doluysa (sınır 0 ise sınırsız),</li>
+ *   <li>son geçerlilik zamanı verilmişse ve önündeki kayıtlar (aynı ve daha yüksek öncelikli
+ *   sınıflar) gönderilmeden süresi dolacaksa.</li>
+ * </ul>
+ * Böylece toplu e-posta yığılmaları doğrulama kodlarının önünü tıkamaz; süresi dolacak bir
+ * kod ise kuyruğa hiç girmez ve kullanıcı ne zaman tekrar deneyebileceğini hemen öğrenir.
+ */
+@Component
+@Slf4j
+public class MailLoadShedder {
+
+    private static final double THROUGHPUT_SMOOTHING = 0.2;
+    private static final long MAX_RETRY_AFTER_SECONDS = 300;
+
+    private final Map<MailPriority, AtomicLong> pending = new EnumMap<>(MailPriority.class);
+    private final Map<MailPriority, Long> maxPending = new EnumMap<>(MailPriority.class);
+    private final Map<MailPriority, Counter> shedByLimit = new EnumMap<>(MailPriority.class);
+    private final Map<MailPriority, Counter> shedByDeadline = new EnumMap<>(MailPriority.class);
+
+    private final long pollIntervalMs;
+
+    private volatile double throughputPerSecond;
+
+    public MailLoadShedder(MeterRegistry meterRegistry,
+                           @Value("${app.mail.scheduler.max-pending.critical:0}") long maxCritical,
+                           @Value("${app.mail.scheduler.max-pending.normal:5000}") long maxNormal,
+                           @Value("${app.mail.scheduler.max-pending.bulk:500}") long maxBulk,
+                           @Value("${app.mail.scheduler.initial-throughput-per-second:20}") double initialThroughput,
+                           @Value("${app.mail.outbox.poll-interval-ms:1000}") long pollIntervalMs) {
+        this.maxPending.put(MailPriority.CRITICAL, maxCritical);
+        this.maxPending.put(MailPriority.NORMAL, maxNormal);
+        this.maxPending.put(MailPriority.BULK, maxBulk);
+        this.throughputPerSecond = initialThroughput;
+        this.pollIntervalMs = pollIntervalMs;
+
+        for (MailPriority priority : MailPriority.values()) {
+            AtomicLong count = new AtomicLong();
+            pending.put(priority, count);
+            String tag = priority.name().toLowerCase();
+            Gauge.builder("mail.outbox.pending", count, AtomicLong::get)
+                    .description("Gönderim bekleyen e-posta sayısı")
+                    .tag("priority", tag)
+                    .register(meterRegistry);
+            shedByLimit.put(priority, Counter.builder("mail.outbox.shed")
+                    .description("Kuyruk sınırı veya süre tahmini nedeniyle reddedilen e-postalar")
+                    .tag("priority", tag)
+                    .tag("reason", "limit")
+                    .register(meterRegistry));
+            shedByDeadline.put(priority, Counter.builder("mail.outbox.shed")
+                    .description("Kuyruk sınırı veya süre tahmini nedeniyle reddedilen e-postalar")
+                    .tag("priority", tag)
+                    .tag("reason", "deadline")
+                    .register(meterRegistry));
+        }
+        Gauge.builder("mail.outbox.throughput", this, MailLoadShedder::getThroughputPerSecond)
+                .description("Tahmini gönderim hızı")
+                .baseUnit("messages.per.second")
+                .register(meterRegistry);
+    }
+
+    /**
+     * E-postanın kuyruğa alınıp alınamayacağına karar verir; kabul edilirse sınıfın
+     * bekleyen sayısını artırır
+     *
+     * @param priority Öncelik sınıfı
+     * @param deadline Son geçerlilik zamanı (yoksa null)
+     * @throws ServiceBusyException Kuyruk doluysa veya e-posta süresi dolmadan gönderilemeyecekse
+     */
+    public void admit(MailPriority priority, LocalDateTime deadline) {
+        long limit = maxPending.get(priority);
+        long ahead = ahead(priority);
+        if (limit > 0 && pending.get(priority).get() >= limit) {
+            shedByLimit.get(priority).increment();
+            log.warn("⚠️ E-posta reddedildi, {} kuyruğu dolu (sınır {})", priority, limit);
+            throw new ServiceBusyException("E-posta kuyruğu dolu. Lütfen biraz sonra tekrar deneyin.",
+                    retryAfterSeconds(ahead));
+        }
+        if (deadline != null && LocalDateTime.now().plus(estimatedWait(ahead)).isAfter(deadline)) {
+            shedByDeadline.get(priority).increment();
+            log.warn("⚠️ E-posta reddedildi, önündeki {} kayıt gönderilmeden süresi dolacak ({})", ahead, priority);
+            throw new ServiceBusyException("E-posta şu anda zamanında gönderilemiyor. Lütfen biraz sonra tekrar deneyin.",
+                    retryAfterSeconds(ahead));
+        }
+        pending.get(priority).incrementAndGet();
+    }
+
+    /**
+     * Bekleyen sayıları veritabanındaki değerlerle değiştirir. Geri alınan transaction'lar
+     * nedeniyle yerelde fazla sayılan kayıtlar da bu sayede düzelir.
+     *
+     * @param counts Sınıf başına bekleyen kayıt sayısı (olmayan sınıf = 0)
+     */
+    public void refresh(Map<MailPriority, Long> counts) {
+        for (MailPriority priority : MailPriority.values()) {
+            pending.get(priority).set(counts.getOrDefault(priority, 0L));
+        }
+    }
+
+    /**
+     * Bir batch'in gönderim süresiyle hız tahminini günceller
+     *
+     * @param messages     Gönderilmeye çalışılan mesaj sayısı
+     * @param elapsedNanos Gönderim süresi
+     */
+    public synchronized void recordThroughput(int messages, long elapsedNanos) {
+        if (messages <= 0 || elapsedNanos <= 0) {
+            return;
+        }
+        double rate = messages * 1_000_000_000.0 / elapsedNanos;
+        throughputPerSecond = THROUGHPUT_SMOOTHING * rate + (1 - THROUGHPUT_SMOOTHING) * throughputPerSecond;
+    }
+
+    public long getPending(MailPriority priority) {
+        return pending.get(priority).get();
+    }
+
+    public double getThroughputPerSecond() {
+        return throughputPerSecond;
+    }
+
+    /**
+     * Bu sınıftan yeni bir kaydın önünde gönderilecek kayıt sayısı (kendisi dahil)
+     */
+    private long ahead(MailPriority priority) {
+        long ahead = 1;
+        for (MailPriority other : MailPriority.values()) {
+            if (other.ordinal() <= priority.ordinal()) {
+                ahead += pending.get(other).get();
+            }
+        }
+        return ahead;
+    }
+
+    /**
+     * Verilen sayıda kaydın gönderilmesi için tahmini süre (dispatcher'ın bir tarama aralığı dahil)
+     */
+    private Duration estimatedWait(long messages) {
+        return Duration.ofMillis(pollIntervalMs + (long) Math.ceil(messages * 1000 / Math.max(throughputPerSecond, 0.001)));
+    }
+
+    private long retryAfterSeconds(long messages) {
+        return Math.min(Math.max(1, estimatedWait(messages).toSeconds()), MAX_RETRY_AFTER_SECONDS);
+    }
+}
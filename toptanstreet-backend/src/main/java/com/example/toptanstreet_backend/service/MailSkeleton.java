@@ -0,0 +1,147 @@
+package com.example.toptanstreet_backend.service;
+
+import org.springframework.web.util.HtmlUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Bir şablon türü ve dili için önceden kodlanmış multipart/alternative gövdesi (düz metin + HTML).
+ * <p>
+ * Sabit parçalar başlangıçta bir kez quoted-printable olarak kodlanır. Her alanın önüne ve
+ * arkasına yumuşak satır sonu ("=" CRLF) konur; böylece her değer yeni bir satırda başlar,
+ * satır uzunluğu sınırı (76) değerin uzunluğundan bağımsız korunur ve gönderimde yalnızca
+ * alıcıya özel değerler kodlanıp parçaların arasına eklenir. Sınır (boundary) "=_" içerir;
+ * quoted-printable çıktıda "=" her zaman "=3D" olarak kodlandığından içerikte geçemez.
+ */
+final class MailSkeleton {
+
+    private static final byte[] SOFT_BREAK = "=\r\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+    private static final int MAX_LINE_LENGTH = 76;
+
+    private final String contentType;
+    private final byte[][] chunks;
+    private final String[] slots;
+    private final boolean[] htmlSlots;
+
+    private MailSkeleton(String contentType, byte[][] chunks, String[] slots, boolean[] htmlSlots) {
+        this.contentType = contentType;
+        this.chunks = chunks;
+        this.slots = slots;
+        this.htmlSlots = htmlSlots;
+    }
+
+    static MailSkeleton build(CompiledTemplate text, CompiledTemplate html) {
+        String boundary = "=_ts_" + UUID.randomUUID().toString().replace("-", "");
+        Builder builder = new Builder();
+        builder.write("--" + boundary + "\r\n"
+                + "Content-Type: text/plain; charset=UTF-8\r\n"
+                + "Content-Transfer-Encoding: quoted-printable\r\n\r\n");
+        builder.part(text, false);
+        builder.write("\r\n--" + boundary + "\r\n"
+                + "Content-Type: text/html; charset=UTF-8\r\n"
+                + "Content-Transfer-Encoding: quoted-printable\r\n\r\n");
+        builder.part(html, true);
+        builder.write("\r\n--" + boundary + "--\r\n");
+        return builder.build("multipart/alternative; boundary=\"" + boundary + "\"");
+    }
+
+    String contentType() {
+        return contentType;
+    }
+
+    /**
+     * Sabit parçaları ve kodlanmış alan değerlerini yazım sırasıyla döndürür
+     *
+     * @throws IllegalArgumentException Değeri verilmeyen alan varsa
+     */
+    byte[][] splice(Map<String, String> values) {
+        byte[][] body = new byte[chunks.length + slots.length][];
+        for (int i = 0; i < slots.length; i++) {
+            String value = CompiledTemplate.value(values, slots[i]);
+            body[2 * i] = chunks[i];
+            body[2 * i + 1] = quotedPrintable(htmlSlots[i] ? HtmlUtils.htmlEscape(value, StandardCharsets.UTF_8.name()) : value);
+        }
+        body[body.length - 1] = chunks[slots.length];
+        return body;
+    }
+
+    /**
+     * Metni UTF-8 quoted-printable olarak kodlar (RFC 2045). Satır sonları CRLF olur, satırlar
+     * 76 karakteri aşınca yumuşak satır sonu eklenir. Satır ve metin sonundaki boşluklar
+     * kodlanır; metin her zaman satır başından başlıyor kabul edilir.
+     */
+    static byte[] quotedPrintable(String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length + bytes.length / 4 + 8);
+        int column = 0;
+        for (int i = 0; i < bytes.length; i++) {
+            int b = bytes[i] & 0xff;
+            if (b == '\r' && i + 1 < bytes.length && bytes[i + 1] == '\n') {
+                continue;
+            }
+            if (b == '\n') {
+                out.write('\r');
+                out.write('\n');
+                column = 0;
+                continue;
+            }
+            boolean lineEnd = i + 1 == bytes.length || bytes[i + 1] == '\n' || bytes[i + 1] == '\r';
+            boolean literal = (b >= 33 && b <= 126 && b != '=') || ((b == ' ' || b == '\t') && !lineEnd);
+            int width = literal ? 1 : 3;
+            if (column + width > MAX_LINE_LENGTH - 1) {
+                out.write(SOFT_BREAK, 0, SOFT_BREAK.length);
+                column = 0;
+            }
+            if (literal) {
+                out.write(b);
+            } else {
+                out.write('=');
+                out.write(HEX[b >> 4]);
+                out.write(HEX[b & 0x0f]);
+            }
+            column += width;
+        }
+        return out.toByteArray();
+    }
+
+    private static final class Builder {
+        private final List<byte[]> chunks = new ArrayList<>();
+        private final List<String> slots = new ArrayList<>();
+        private final List<Boolean> htmlSlots = new ArrayList<>();
+        private final ByteArrayOutputStream current = new ByteArrayOutputStream();
+
+        void write(String ascii) {
+            current.writeBytes(ascii.getBytes(StandardCharsets.US_ASCII));
+        }
+
+        void part(CompiledTemplate template, boolean html) {
+            String[] segments = template.segments();
+            String[] templateSlots = template.slots();
+            for (int i = 0; i < templateSlots.length; i++) {
+                current.writeBytes(quotedPrintable(segments[i]));
+                current.writeBytes(SOFT_BREAK);
+                chunks.add(current.toByteArray());
+                current.reset();
+                slots.add(templateSlots[i]);
+                htmlSlots.add(html);
+                current.writeBytes(SOFT_BREAK);
+            }
+            current.writeBytes(quotedPrintable(segments[templateSlots.length]));
+        }
+
+        MailSkeleton build(String contentType) {
+            chunks.add(current.toByteArray());
+            boolean[] html = new boolean[htmlSlots.size()];
+            for (int i = 0; i < html.length; i++) {
+                html[i] = htmlSlots.get(i);
+            }
+            return new MailSkeleton(contentType, chunks.toArray(byte[][]::new), slots.toArray(String[]::new), html);
+        }
+    }
+}
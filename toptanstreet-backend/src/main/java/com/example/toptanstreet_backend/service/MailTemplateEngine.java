@@ -0,0 +1,170 @@
+package com.example.toptanstreet_backend.service;
+
+import com.example.toptanstreet_backend.model.MailTemplateType;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.HtmlUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+/**
+ * Classpath'teki mail-templates/ dizininden e-posta şablonlarını başlangıçta bir kez yükler,
+ * sabit parçalar ve alanlar olarak derler ve her tür/dil için kodlanmış MIME gövdesini
+ * önbellekte tutar. Gönderimde yalnızca alıcıya özel değerler (kod, ad vb.) kodlanıp eklenir.
+ * <p>
+ * Dosya adları: &lt;tür&gt;_&lt;dil&gt;.html, &lt;tür&gt;_&lt;dil&gt;.txt ve konular için
+ * subjects_&lt;dil&gt;.properties. Desteklenmeyen bir dil istenirse varsayılan dil kullanılır.
+ * Eksik dosya veya türde tanımlı olmayan bir alan uygulamanın başlamasını engeller.
+ */
+@Service
+@Slf4j
+public class MailTemplateEngine {
+
+    private static final String TEMPLATE_DIRECTORY = "mail-templates/";
+
+    private final Locale defaultLocale;
+    private final Map<String, Map<MailTemplateType, Variant>> variants = new HashMap<>();
+
+    public MailTemplateEngine(@Value("${app.mail.template.locales:tr,en}") List<String> languages,
+                              @Value("${app.mail.template.default-locale:tr}") String defaultLanguage) {
+        for (String language : languages) {
+            variants.put(language, load(language));
+        }
+        if (!variants.containsKey(defaultLanguage)) {
+            throw new IllegalStateException("Varsayılan e-posta dili yüklenmedi: " + defaultLanguage);
+        }
+        this.defaultLocale = Locale.forLanguageTag(defaultLanguage);
+        log.info("✉️ E-posta şablonları derlendi: {} tür, diller={}", MailTemplateType.values().length, languages);
+    }
+
+    /**
+     * İstenen dil destekleniyorsa onu, değilse varsayılan dili döndürür
+     */
+    public Locale resolveLocale(Locale requested) {
+        if (requested != null && variants.containsKey(requested.getLanguage())) {
+            return Locale.forLanguageTag(requested.getLanguage());
+        }
+        return defaultLocale;
+    }
+
+    public String renderSubject(MailTemplateType type, Locale locale, Map<String, String> values) {
+        return variant(type, locale).subject.render(values, UnaryOperator.identity());
+    }
+
+    /**
+     * HTML gövdeyi metin olarak üretir (önizleme ve karşılaştırma için; gönderimde kullanılmaz)
+     */
+    public String renderHtml(MailTemplateType type, Locale locale, Map<String, String> values) {
+        return variant(type, locale).html.render(values, value -> HtmlUtils.htmlEscape(value, StandardCharsets.UTF_8.name()));
+    }
+
+    /**
+     * Önbellekteki kodlanmış gövdeye alıcıya özel değerleri ekleyerek gönderime hazır mesaj oluşturur
+     *
+     * @param session JavaMail oturumu
+     * @param from    Gönderen adresi
+     * @param to      Alıcı adresi
+     * @param subject Konu (renderSubject ile üretilmiş)
+     * @param type    Şablon türü
+     * @param locale  Dil
+     * @param values  Alan değerleri
+     * @return Mesaj
+     * @throws MessagingException       Adresler geçersizse
+     * @throws IllegalArgumentException Şablondaki bir alanın değeri verilmemişse
+     */
+    public MimeMessage createMessage(Session session, String from, String to, String subject,
+                                     MailTemplateType type, Locale locale, Map<String, String> values)
+            throws MessagingException {
+        MailSkeleton skeleton = variant(type, locale).skeleton;
+        MimeMessage message = new PrecompiledMimeMessage(session, skeleton.splice(values));
+        message.setFrom(new InternetAddress(from));
+        message.setRecipient(Message.RecipientType.TO, new InternetAddress(to));
+        message.setSubject(subject, StandardCharsets.UTF_8.name());
+        message.setSentDate(new Date());
+        message.setHeader("MIME-Version", "1.0");
+        message.setHeader("Content-Type", skeleton.contentType());
+        return message;
+    }
+
+    private Variant variant(MailTemplateType type, Locale locale) {
+        Map<MailTemplateType, Variant> byType = variants.get(resolveLocale(locale).getLanguage());
+        return byType.get(type);
+    }
+
+    private static Map<MailTemplateType, Variant> load(String language) {
+        Properties subjects = new Properties();
+        try (Reader reader = new InputStreamReader(open("subjects_" + language + ".properties"), StandardCharsets.UTF_8)) {
+            subjects.load(reader);
+        } catch (IOException e) {
+            throw new IllegalStateException("E-posta konuları okunamadı: " + language, e);
+        }
+
+        Map<MailTemplateType, Variant> byType = new EnumMap<>(MailTemplateType.class);
+        for (MailTemplateType type : MailTemplateType.values()) {
+            String name = type.getResourceName();
+            String subject = subjects.getProperty(name);
+            if (subject == null) {
+                throw new IllegalStateException("E-posta konusu tanımlı değil: " + name + " (" + language + ")");
+            }
+            CompiledTemplate subjectTemplate = checked(type, CompiledTemplate.compile(subject));
+            CompiledTemplate text = checked(type, CompiledTemplate.compile(read(name + "_" + language + ".txt")));
+            CompiledTemplate html = checked(type, CompiledTemplate.compile(read(name + "_" + language + ".html")));
+            byType.put(type, new Variant(subjectTemplate, html, MailSkeleton.build(text, html)));
+        }
+        return byType;
+    }
+
+    private static CompiledTemplate checked(MailTemplateType type, CompiledTemplate template) {
+        Set<String> fields = type.getFields();
+        for (String slot : template.slots()) {
+            if (!fields.contains(slot)) {
+                throw new IllegalStateException("Şablonda tanımsız alan: " + type.getResourceName() + " -> " + slot);
+            }
+        }
+        return template;
+    }
+
+    private static String read(String file) {
+        try (InputStream in = open(file)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException("E-posta şablonu okunamadı: " + file, e);
+        }
+    }
+
+    private static InputStream open(String file) throws IOException {
+        return new ClassPathResource(TEMPLATE_DIRECTORY + file).getInputStream();
+    }
+
+    private static final class Variant {
+        private final CompiledTemplate subject;
+        private final CompiledTemplate html;
+        private final MailSkeleton skeleton;
+
+        private Variant(CompiledTemplate subject, CompiledTemplate html, MailSkeleton skeleton) {
+            this.subject = subject;
+            this.html = html;
+            this.skeleton = skeleton;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.toptanstreet_backend.service;
+
+import com.example.toptanstreet_backend.exception.ServiceBusyException;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tüm şifre hashleme ve doğrulama işlemlerini CPU çekirdek sayısı kadar thread'e sahip
+ * ayrı bir havuzda çalıştırır. Bekleme kuyruğu dolduğunda istek beklemeden reddedilir,
+ * böylece BCrypt yükü diğer endpoint'leri aç bırakmaz.
+ * Her işlem bir trace içindeyse "bcrypt encode/matches" span'i açar; span kuyrukta bekleme
+ * süresini de kapsar, hesaplamanın başladığı an "dequeued" olayı ile işaretlenir.
+ */
+@Service
+@Slf4j
+public class PasswordHashingService implements DisposableBean {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long retryAfterSeconds;
+    private final Tracer tracer;
+    private final ContextSnapshotFactory contextSnapshotFactory = ContextSnapshotFactory.builder().build();
+
+    private final Timer encodeQueueTimer;
+    private final Timer encodeHashTimer;
+    private final Timer matchesQueueTimer;
+    private final Timer matchesHashTimer;
+    private final Counter rejectedCounter;
+    private final Counter rehashedCounter;
+    private final Counter rehashSkippedCounter;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  MeterRegistry meterRegistry,
+                                  Tracer tracer,
+                                  @Value("${app.password-hashing.threads:0}") int threads,
+                                  @Value("${app.password-hashing.queue-capacity:32}") int queueCapacity,
+                                  @Value("${app.password-hashing.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.passwordEncoder = passwordEncoder;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.tracer = tracer;
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("PasswordHash-"),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeQueueTimer = queueTimer(meterRegistry, "encode");
+        this.encodeHashTimer = hashTimer(meterRegistry, "encode");
+        this.matchesQueueTimer = queueTimer(meterRegistry, "matches");
+        this.matchesHashTimer = hashTimer(meterRegistry, "matches");
+        this.rejectedCounter = Counter.builder("password.hash.rejected")
+                .description("Havuz dolu olduğu için reddedilen şifre işlemleri")
+                .register(meterRegistry);
+        this.rehashedCounter = Counter.builder("password.hash.rehash")
+                .description("Maliyeti farklı olduğu için yeniden hashlenen şifreler")
+                .tag("result", "rehashed")
+                .register(meterRegistry);
+        this.rehashSkippedCounter = Counter.builder("password.hash.rehash")
+                .description("Maliyeti farklı olduğu için yeniden hashlenen şifreler")
+                .tag("result", "skipped")
+                .register(meterRegistry);
+        Gauge.builder("password.hash.queue.size", executor, e -> e.getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder("password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+
+        log.info("🔐 Şifre hashleme havuzu: {} thread, {} kuyruk kapasitesi", poolSize, queueCapacity);
+    }
+
+    /**
+     * Şifreyi hashler
+     *
+     * @param rawPassword Ham şifre
+     * @return Hashlenmiş şifre
+     * @throws ServiceBusyException Havuz doluysa
+     */
+    public String encode(CharSequence rawPassword) {
+        return execute("encode", () -> passwordEncoder.encode(rawPassword), encodeQueueTimer, encodeHashTimer);
+    }
+
+    /**
+     * Ham şifrenin hash ile eşleşip eşleşmediğini kontrol eder
+     *
+     * @param rawPassword     Ham şifre
+     * @param encodedPassword Veritabanındaki hash
+     * @return Eşleşiyorsa true
+     * @throws ServiceBusyException Havuz doluysa
+     */
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute("matches", () -> passwordEncoder.matches(rawPassword, encodedPassword), matchesQueueTimer, matchesHashTimer);
+    }
+
+    /**
+     * Hash encoder yenilenmesini istiyorsa (maliyet yapılandırılandan farklı) şifreyi yeniden hashler.
+     * Yalnızca şifre doğrulandıktan sonra çağrılmalıdır. Havuz doluysa yeniden hashleme
+     * atlanır ve bir sonraki girişte tekrar denenir.
+     *
+     * @param rawPassword     Doğrulanmış ham şifre
+     * @param encodedPassword Veritabanındaki hash
+     * @return Yeni hash, gerek yoksa veya atlandıysa boş Optional
+     */
+    public Optional<String> rehashIfNeeded(CharSequence rawPassword, String encodedPassword) {
+        if (!passwordEncoder.upgradeEncoding(encodedPassword)) {
+            return Optional.empty();
+        }
+        try {
+            String rehashed = encode(rawPassword);
+            rehashedCounter.increment();
+            return Optional.of(rehashed);
+        } catch (ServiceBusyException e) {
+            rehashSkippedCounter.increment();
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private <T> T execute(String operation, Callable<T> task, Timer queueTimer, Timer hashTimer) {
+        Span span = tracer.currentSpan() != null
+                ? tracer.nextSpan().name("bcrypt " + operation).start()
+                : Span.NOOP;
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            Callable<T> timed = () -> {
+                long startedAt = System.nanoTime();
+                queueTimer.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                span.event("dequeued");
+                try {
+                    return task.call();
+                } finally {
+                    hashTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            };
+            future = executor.submit(wrapInSpan(span, timed));
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            span.error(e);
+            span.end();
+            log.warn("⚠️ Şifre hashleme havuzu dolu, istek reddedildi");
+            throw new ServiceBusyException("Sunucu şu anda yoğun. Lütfen biraz sonra tekrar deneyin.", retryAfterSeconds);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Şifre işlemi beklenirken kesildi", e);
+        } catch (ExecutionException e) {
+            span.error(e.getCause());
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Şifre işlemi başarısız: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * İşi, span'i ve çağıranın context'ini havuz thread'inde geri yükleyecek şekilde sarar
+     */
+    private <T> Callable<T> wrapInSpan(Span span, Callable<T> task) {
+        if (span.isNoop()) {
+            return contextSnapshotFactory.captureAll().wrap(task);
+        }
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            return contextSnapshotFactory.captureAll().wrap(task);
+        }
+    }
+
+    private static Timer queueTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("password.hash.queue.wait")
+                .description("Şifre işleminin havuz kuyruğunda beklediği süre")
+                .tag("operation", operation)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static Timer hashTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("password.hash.duration")
+                .description("BCrypt hesaplama süresi")
+                .tag("operation", operation)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.toptanstreet_backend.service;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+
+/**
+ * Gövdesi önceden kodlanmış parçalardan oluşan MIME mesajı. Başlıklar olağan şekilde
+ * ayarlanır; gövde JavaMail tarafından yeniden ayrıştırılmadan veya kodlanmadan
+ * parçalar halinde doğrudan SMTP akışına yazılır.
+ */
+final class PrecompiledMimeMessage extends MimeMessage {
+
+    private static final byte[] CRLF = {'\r', '\n'};
+
+    private final byte[][] body;
+
+    PrecompiledMimeMessage(Session session, byte[][] body) {
+        super(session);
+        this.body = body;
+    }
+
+    /**
+     * Content-Type ve kodlama başlıkları şablondan gelir; yalnızca Message-ID üretilir
+     */
+    @Override
+    protected void updateHeaders() throws MessagingException {
+        if (getHeader("Message-ID") == null) {
+            updateMessageID();
+        }
+    }
+
+    @Override
+    public void writeTo(OutputStream os, String[] ignoreList) throws IOException, MessagingException {
+        if (!saved) {
+            saveChanges();
+        }
+        Enumeration<String> lines = getNonMatchingHeaderLines(ignoreList);
+        while (lines.hasMoreElements()) {
+            os.write(lines.nextElement().getBytes(StandardCharsets.ISO_8859_1));
+            os.write(CRLF);
+        }
+        os.write(CRLF);
+        for (byte[] part : body) {
+            os.write(part);
+        }
+        os.flush();
+    }
+
+    @Override
+    public int getSize() {
+        int size = 0;
+        for (byte[] part : body) {
+            size += part.length;
+        }
+        return size;
+    }
+
+    /**
+     * getContent() ile içeriğin okunabilmesi için (loglama, testler) gövdeyi birleştirir
+     */
+    @Override
+    protected InputStream getContentStream() {
+        byte[] content = new byte[getSize()];
+        int position = 0;
+        for (byte[] part : body) {
+            System.arraycopy(part, 0, content, position, part.length);
+            position += part.length;
+        }
+        return new ByteArrayInputStream(content);
+    }
+}
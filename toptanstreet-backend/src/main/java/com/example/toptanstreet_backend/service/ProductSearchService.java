@@ -0,0 +1,241 @@
+package com.example.toptanstreet_backend.service;
+
+import com.example.toptanstreet_backend.dto.ProductSearchDocument;
+import com.example.toptanstreet_backend.dto.ProductSearchResult;
+import com.example.toptanstreet_backend.model.Product;
+import com.example.toptanstreet_backend.repository.ProductRepository;
+import com.example.toptanstreet_backend.util.InvertedIndex;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Ürün araması. Aktif ürünlerin adı, marka adı, kategori adı ve açıklaması bellek içi ters
+ * indekste (InvertedIndex) tutulur; arama SQL'e gitmez, yalnızca bulunan ürünler ID ile
+ * (çoğunlukla ikinci seviye önbellekten) yüklenir.
+ * <p>
+ * İndeks açılışta veritabanından stream edilerek oluşturulur ve ürün, marka veya kategori
+ * değiştiğinde commit'ten sonra artımlı güncellenir. Yeniden oluşturma sırasında gelen
+ * değişiklikler sıraya alınır ve yeni indekse geçmeden önce uygulanır. Birden fazla instance
+ * çalışıyorsa diğer instance'lardaki değişiklikler en geç refresh-interval sonunda görünür.
+ */
+@Service
+@Slf4j
+public class ProductSearchService {
+
+    // Alan ağırlıkları: ad, marka, kategori, açıklama
+    private static final int[] FIELD_WEIGHTS = {3, 2, 2, 1};
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int maxLimit;
+    private final Timer searchTimer;
+
+    private volatile InvertedIndex index = new InvertedIndex(FIELD_WEIGHTS);
+    // Yeniden oluşturma sürerken gelen değişiklikler; yalnızca changeLock altında okunur/yazılır
+    private Queue<Change> pending;
+    private final Object changeLock = new Object();
+
+    public ProductSearchService(ProductRepository productRepository,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.catalog.search.max-limit:100}") int maxLimit) {
+        this.productRepository = productRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.maxLimit = maxLimit;
+
+        this.searchTimer = Timer.builder("catalog.search.duration")
+                .description("Ters indeks araması süresi (ürünlerin yüklenmesi hariç)")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("catalog.search.documents", this, s -> s.index.size())
+                .register(meterRegistry);
+        Gauge.builder("catalog.search.terms", this, s -> s.index.termCount())
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param query Arama metni (son kelime önek olarak aranır)
+     * @param limit En fazla sonuç sayısı (max-limit ile sınırlanır)
+     * @return Skora göre sıralı ürünler
+     */
+    public ProductSearchResult search(String query, int limit) {
+        int boundedLimit = Math.max(1, Math.min(limit, maxLimit));
+        long startedAt = System.nanoTime();
+        List<InvertedIndex.Hit> hits = index.search(query != null ? query : "", boundedLimit);
+        long searchNanos = System.nanoTime() - startedAt;
+        searchTimer.record(searchNanos, TimeUnit.NANOSECONDS);
+
+        List<Long> ids = new ArrayList<>(hits.size());
+        Map<Long, Float> scores = new HashMap<>();
+        for (InvertedIndex.Hit hit : hits) {
+            ids.add(hit.getId());
+            scores.put(hit.getId(), hit.getScore());
+        }
+        List<ProductSearchResult.Item> items = new ArrayList<>(hits.size());
+        for (Product product : productRepository.findAllInOrder(ids)) {
+            // İndeks commit'ten sonra güncellendiği için pasifleşen ürün kısa süre görünebilir
+            if (Boolean.TRUE.equals(product.getActive())) {
+                items.add(new ProductSearchResult.Item(product, scores.get(product.getId())));
+            }
+        }
+        return new ProductSearchResult(query, searchNanos / 1_000_000.0, items);
+    }
+
+    /**
+     * Ürünü transaction commit edildikten sonra indekse yazar (aktif değilse indeksten çıkarır)
+     *
+     * @param product      Kaydedilmiş ürün
+     * @param brandName    Marka adı (yoksa null)
+     * @param categoryName Kategori adı (yoksa null)
+     */
+    public void indexAfterCommit(Product product, String brandName, String categoryName) {
+        Change change = Boolean.TRUE.equals(product.getActive())
+                ? Change.upsert(new ProductSearchDocument(product.getId(), product.getName(), product.getDescription(),
+                        brandName, categoryName))
+                : Change.remove(product.getId());
+        afterCommit(() -> apply(change));
+    }
+
+    public void removeAfterCommit(Long productId) {
+        afterCommit(() -> apply(Change.remove(productId)));
+    }
+
+    /**
+     * Markanın ürünlerini commit'ten sonra yeni marka adıyla yeniden indeksler
+     */
+    public void reindexBrandAfterCommit(Long brandId) {
+        afterCommit(() -> productRepository.findSearchDocumentsByBrandId(brandId)
+                .forEach(document -> apply(Change.upsert(document))));
+    }
+
+    /**
+     * Kategorinin ürünlerini commit'ten sonra yeni kategori adıyla yeniden indeksler
+     */
+    public void reindexCategoryAfterCommit(Long categoryId) {
+        afterCommit(() -> productRepository.findSearchDocumentsByCategoryId(categoryId)
+                .forEach(document -> apply(Change.upsert(document))));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    /**
+     * İndeksi veritabanından yeniden oluşturur. Eski indeks oluşturma bitene kadar aramalara
+     * cevap vermeye devam eder.
+     */
+    @Scheduled(initialDelayString = "${app.catalog.search.refresh-interval-ms:3600000}",
+            fixedDelayString = "${app.catalog.search.refresh-interval-ms:3600000}")
+    public void rebuild() {
+        long startedAt = System.currentTimeMillis();
+        InvertedIndex next = new InvertedIndex(FIELD_WEIGHTS);
+        synchronized (changeLock) {
+            pending = new ConcurrentLinkedQueue<>();
+        }
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<ProductSearchDocument> documents = productRepository.streamSearchDocuments()) {
+                    documents.forEach(document -> addDocument(next, document));
+                }
+            });
+            int replayed;
+            synchronized (changeLock) {
+                replayed = pending.size();
+                for (Change change : pending) {
+                    change.applyTo(next);
+                }
+                index = next;
+            }
+            log.info("🔎 Ürün arama indeksi hazır: {} ürün, {} terim, {} bekleyen değişiklik, {} ms",
+                    next.size(), next.termCount(), replayed, System.currentTimeMillis() - startedAt);
+        } catch (Exception e) {
+            log.error("Ürün arama indeksi oluşturulamadı, mevcut indeks kullanılmaya devam ediliyor: {}", e.getMessage(), e);
+        } finally {
+            synchronized (changeLock) {
+                pending = null;
+            }
+        }
+    }
+
+    private void apply(Change change) {
+        synchronized (changeLock) {
+            change.applyTo(index);
+            if (pending != null) {
+                pending.add(change);
+            }
+        }
+    }
+
+    private static void addDocument(InvertedIndex target, ProductSearchDocument document) {
+        target.upsert(document.getId(), document.getName(), document.getBrandName(), document.getCategoryName(),
+                document.getDescription());
+    }
+
+    /**
+     * Transaction içindeyse commit'ten sonra, değilse hemen çalıştırır
+     */
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * İndekse uygulanacak tek değişiklik: belge yazma veya silme
+     */
+    private static final class Change {
+        private final long id;
+        private final ProductSearchDocument document;
+
+        private Change(long id, ProductSearchDocument document) {
+            this.id = id;
+            this.document = document;
+        }
+
+        private static Change upsert(ProductSearchDocument document) {
+            return new Change(document.getId(), document);
+        }
+
+        private static Change remove(long id) {
+            return new Change(id, null);
+        }
+
+        private void applyTo(InvertedIndex target) {
+            if (document != null) {
+                addDocument(target, document);
+            } else {
+                target.remove(id);
+            }
+        }
+    }
+}
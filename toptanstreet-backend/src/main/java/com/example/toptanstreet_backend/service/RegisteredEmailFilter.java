@@ -0,0 +1,173 @@
+package com.example.toptanstreet_backend.service;
+
+import com.example.toptanstreet_backend.repository.UserRepository;
+import com.example.toptanstreet_backend.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Stream;
+
+/**
+ * Kayıtlı e-postaların bellek içi Bloom filtresi. "Kesinlikle kayıtlı değil" cevabını
+ * veritabanına gitmeden verir; kayıt dalgalarında ve credential-stuffing denemelerinde
+ * olmayan e-postalar için yapılan sorguları keser.
+ *
+ * Filtre açılışta UserRepository'den stream edilerek doldurulur ve yeni kayıtlarla
+ * güncellenir. Diğer instance'lardaki kayıtlar filtreye ancak bir sonraki yeniden
+ * oluşturmada girer. Uygulama tek instance olarak dağıtıldığından filtre varsayılan olarak
+ * açıktır; birden fazla instance çalıştırılacaksa app.email-bloom.single-instance=false verilmeli,
+ * bu durumda her arama veritabanına gider.
+ */
+@Service
+@Slf4j
+public class RegisteredEmailFilter {
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    // Filtrenin "kayıtlı değil" cevabı yalnızca tek instance çalışırken kesindir
+    private final boolean enabled;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+    // Son yeniden oluşturmanın başlangıcından beri eklenen e-postalar (bkz. rebuild)
+    private volatile Queue<String> recentAdditions = new ConcurrentLinkedQueue<>();
+    private volatile boolean ready;
+
+    private final Counter negativeCounter;
+    private final Counter falsePositiveCounter;
+
+    public RegisteredEmailFilter(UserRepository userRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.email-bloom.enabled:true}") boolean enabled,
+                                 @Value("${app.email-bloom.single-instance:true}") boolean singleInstance,
+                                 @Value("${app.email-bloom.expected-insertions:1000000}") long expectedInsertions,
+                                 @Value("${app.email-bloom.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled && singleInstance;
+        if (enabled && !singleInstance) {
+            log.info("📧 Kayıtlı e-posta Bloom filtresi kullanılmıyor: app.email-bloom.single-instance=true değil");
+        }
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedInsertions, falsePositiveRate);
+
+        Gauge.builder("email.bloom.size", this, f -> f.filter.getSizeInBytes())
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("email.bloom.insertions", this, f -> f.filter.getInsertions())
+                .register(meterRegistry);
+        Gauge.builder("email.bloom.expected.false.positive.rate", this, f -> f.filter.expectedFalsePositiveRate())
+                .register(meterRegistry);
+        this.negativeCounter = Counter.builder("email.bloom.lookups")
+                .description("Bloom filtresinin veritabanına gitmeden cevapladığı aramalar")
+                .tag("result", "definitely-absent")
+                .register(meterRegistry);
+        this.falsePositiveCounter = Counter.builder("email.bloom.lookups")
+                .description("Bloom filtresinin veritabanına gitmeden cevapladığı aramalar")
+                .tag("result", "false-positive")
+                .register(meterRegistry);
+    }
+
+    /**
+     * E-postanın kayıtlı olma ihtimali var mı? false ise e-posta kesinlikle kayıtlı değildir.
+     * Filtre kapalıysa (tek instance ayarı yoksa) veya henüz doldurulmadıysa her zaman true döner.
+     *
+     * @param email E-posta adresi
+     * @return Kayıtlı olabilirse true
+     */
+    public boolean mightBeRegistered(String email) {
+        if (!enabled || !ready || email == null) {
+            return true;
+        }
+        if (filter.mightContain(email)) {
+            return true;
+        }
+        negativeCounter.increment();
+        return false;
+    }
+
+    /**
+     * Filtre "olabilir" dediği halde veritabanında bulunamayan aramayı kaydeder
+     */
+    public void recordFalsePositive() {
+        falsePositiveCounter.increment();
+    }
+
+    /**
+     * Yeni kayıt edilen e-postayı filtreye ekler. Kayıt commit edilmeden önce eklenir;
+     * rollback yalnızca bir yanlış pozitife yol açar.
+     *
+     * @param email E-posta adresi
+     */
+    public void add(String email) {
+        if (!enabled) {
+            return;
+        }
+        // Önce sıraya, sonra filtreye: rebuild sıradaki e-postayı görmediyse filtre okuması
+        // yeni filtrenin yerleşmesinden sonra yapılmıştır
+        recentAdditions.add(email);
+        filter.add(email);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void populateOnStartup() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Filtreyi veritabanından yeniden oluşturur. Yeni filtre yerleştikten sonra iki kümedeki
+     * e-postalar ona tekrar eklenir: oluşturma sırasında eklenenler ve bir önceki oluşturmadan
+     * bu yana eklenenler. İkincisi, add() çağrısı oluşturmadan önce yapılıp transaction'ı
+     * e-posta stream'i okunduktan sonra commit edilen kayıtları kapsar.
+     */
+    @Scheduled(initialDelayString = "${app.email-bloom.refresh-interval-ms:600000}",
+            fixedDelayString = "${app.email-bloom.refresh-interval-ms:600000}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long startedAt = System.currentTimeMillis();
+        Queue<String> previousAdditions = recentAdditions;
+        Queue<String> currentAdditions = new ConcurrentLinkedQueue<>();
+        recentAdditions = currentAdditions;
+        try {
+            long capacity = Math.max(expectedInsertions, (long) (userRepository.count() * 1.5));
+            BloomFilter next = new BloomFilter(capacity, falsePositiveRate);
+
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<String> emails = userRepository.streamAllEmails()) {
+                    emails.forEach(next::add);
+                }
+            });
+
+            filter = next;
+            previousAdditions.forEach(next::add);
+            currentAdditions.forEach(next::add);
+            ready = true;
+            log.info("📧 Kayıtlı e-posta Bloom filtresi hazır: {} e-posta, {} KB, {} hash, {} ms",
+                    next.getInsertions(), next.getSizeInBytes() / 1024, next.getHashCount(),
+                    System.currentTimeMillis() - startedAt);
+        } catch (Exception e) {
+            // Eski filtre kullanılmaya devam ediyor; bir sonraki oluşturma bu e-postaları da eklemeli
+            currentAdditions.addAll(previousAdditions);
+            log.error("Bloom filtresi oluşturulamadı, mevcut filtre kullanılmaya devam ediliyor: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package com.example.toptanstreet_backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Açık SMTP bağlantılarını (Transport) tekrar kullanan havuz.
+ * Her mesajda yeniden bağlanma, STARTTLS ve AUTH maliyetini ortadan kaldırır;
+ * bir bağlantı üzerinden birden fazla mesaj gönderilir.
+ * Bir trace içinde çağrıldığında her bağlantı açılışı ("smtp connect") ve her mesaj
+ * ("smtp send") ayrı span olarak kaydedilir.
+ */
+@Component
+@Slf4j
+public class SmtpConnectionPool implements DisposableBean {
+
+    private final JavaMailSenderImpl mailSender;
+    private final Tracer tracer;
+    private final int maxMessagesPerConnection;
+    private final long idleTimeoutMs;
+    private final long keepAliveCheckMs;
+    private final long borrowTimeoutMs;
+
+    private final BlockingDeque<PooledTransport> idle = new LinkedBlockingDeque<>();
+    private final Semaphore permits;
+    private final AtomicInteger openConnections = new AtomicInteger();
+    private final Counter createdCounter;
+    private final Timer sendSuccessTimer;
+    private final Timer sendFailureTimer;
+    private final Counter rejectedCounter;
+    private final Counter errorCounter;
+    private final Counter unavailableCounter;
+
+    public SmtpConnectionPool(JavaMailSenderImpl mailSender,
+                              MeterRegistry meterRegistry,
+                              Tracer tracer,
+                              @Value("${app.mail.pool.max-connections:4}") int maxConnections,
+                              @Value("${app.mail.pool.max-messages-per-connection:100}") int maxMessagesPerConnection,
+                              @Value("${app.mail.pool.idle-timeout-ms:60000}") long idleTimeoutMs,
+                              @Value("${app.mail.pool.keep-alive-check-ms:15000}") long keepAliveCheckMs,
+                              @Value("${app.mail.pool.borrow-timeout-ms:5000}") long borrowTimeoutMs) {
+        this.mailSender = mailSender;
+        this.tracer = tracer;
+        this.maxMessagesPerConnection = maxMessagesPerConnection;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.keepAliveCheckMs = keepAliveCheckMs;
+        this.borrowTimeoutMs = borrowTimeoutMs;
+        this.permits = new Semaphore(maxConnections, true);
+
+        Gauge.builder("mail.smtp.connections.open", openConnections, AtomicInteger::get)
+                .register(meterRegistry);
+        Gauge.builder("mail.smtp.connections.idle", idle, BlockingDeque::size)
+                .register(meterRegistry);
+        this.createdCounter = Counter.builder("mail.smtp.connections.created")
+                .register(meterRegistry);
+        this.sendSuccessTimer = sendTimer(meterRegistry, "success");
+        this.sendFailureTimer = sendTimer(meterRegistry, "failure");
+        this.rejectedCounter = failureCounter(meterRegistry, "rejected");
+        this.errorCounter = failureCounter(meterRegistry, "error");
+        this.unavailableCounter = failureCounter(meterRegistry, "unavailable");
+    }
+
+    /**
+     * Mesajları havuzdan alınan bağlantılar üzerinden sırayla gönderir. Bir bağlantı
+     * mesaj limitine ulaştığında kapatılır ve gerekirse yenisi açılır.
+     *
+     * @param messages Gönderilecek mesajlar
+     * @return Gönderilemeyen mesajların listedeki sırası ve hatası
+     */
+    public Map<Integer, MessagingException> sendBatch(List<MimeMessage> messages) {
+        Map<Integer, MessagingException> failures = new HashMap<>();
+        PooledTransport pooled = null;
+        try {
+            for (int i = 0; i < messages.size(); i++) {
+                if (pooled == null) {
+                    try {
+                        pooled = borrow();
+                    } catch (MessagingException e) {
+                        // Bağlantı alınamıyorsa kalan mesajları da hatalı say
+                        for (int j = i; j < messages.size(); j++) {
+                            failures.put(j, e);
+                        }
+                        unavailableCounter.increment(messages.size() - i);
+                        break;
+                    }
+                }
+
+                MimeMessage message = messages.get(i);
+                Span span = startSpan("smtp send");
+                long start = System.nanoTime();
+                try {
+                    if (message.getSentDate() == null) {
+                        message.setSentDate(new Date());
+                    }
+                    message.saveChanges();
+                    pooled.transport.sendMessage(message, message.getAllRecipients());
+                    pooled.messagesSent++;
+                    sendSuccessTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                } catch (SendFailedException e) {
+                    // Alıcı reddedildi, bağlantı kullanılabilir durumda
+                    failures.put(i, e);
+                    sendFailureTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    rejectedCounter.increment();
+                    span.error(e);
+                } catch (MessagingException e) {
+                    failures.put(i, e);
+                    sendFailureTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    errorCounter.increment();
+                    span.error(e);
+                    invalidate(pooled);
+                    pooled = null;
+                    continue;
+                } finally {
+                    span.end();
+                }
+
+                if (pooled.messagesSent >= maxMessagesPerConnection) {
+                    release(pooled);
+                    pooled = null;
+                }
+            }
+        } finally {
+            if (pooled != null) {
+                release(pooled);
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * Havuzdan bağlantı alır; boşta bağlantı yoksa ve limit aşılmadıysa yeni bağlantı açar
+     */
+    PooledTransport borrow() throws MessagingException {
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new MessagingException("SMTP bağlantı havuzu dolu, " + borrowTimeoutMs + " ms beklendi");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("SMTP bağlantısı beklenirken kesildi", e);
+        }
+
+        try {
+            PooledTransport pooled;
+            while ((pooled = idle.pollFirst()) != null) {
+                if (isUsable(pooled)) {
+                    return pooled;
+                }
+                close(pooled);
+            }
+            return open();
+        } catch (MessagingException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Bağlantıyı havuza geri bırakır. Mesaj limitine ulaşmış bağlantılar kapatılır.
+     */
+    void release(PooledTransport pooled) {
+        if (pooled.messagesSent >= maxMessagesPerConnection) {
+            close(pooled);
+        } else {
+            pooled.lastUsedAt = System.currentTimeMillis();
+            // LIFO: sıcak bağlantılar öne, soğuyanlar boşta kalıp kapatılır
+            idle.offerFirst(pooled);
+        }
+        permits.release();
+    }
+
+    /**
+     * Hatalı bağlantıyı havuza geri koymadan kapatır
+     */
+    void invalidate(PooledTransport pooled) {
+        close(pooled);
+        permits.release();
+    }
+
+    /**
+     * Boşta bekleme süresini aşan bağlantıları kapatır
+     */
+    @Scheduled(fixedDelayString = "${app.mail.pool.eviction-interval-ms:15000}")
+    public void evictIdle() {
+        long now = System.currentTimeMillis();
+        for (PooledTransport pooled : new ArrayList<>(idle)) {
+            if (now - pooled.lastUsedAt >= idleTimeoutMs && idle.remove(pooled)) {
+                log.debug("Boşta kalan SMTP bağlantısı kapatılıyor ({} mesaj gönderdi)", pooled.messagesSent);
+                close(pooled);
+            }
+        }
+    }
+
+    int getOpenConnections() {
+        return openConnections.get();
+    }
+
+    @Override
+    public void destroy() {
+        PooledTransport pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            close(pooled);
+        }
+    }
+
+    private boolean isUsable(PooledTransport pooled) {
+        long idleFor = System.currentTimeMillis() - pooled.lastUsedAt;
+        if (pooled.messagesSent >= maxMessagesPerConnection || idleFor >= idleTimeoutMs) {
+            return false;
+        }
+        // Uzun süre boşta kalan bağlantı NOOP ile kontrol edilir
+        return idleFor < keepAliveCheckMs || pooled.transport.isConnected();
+    }
+
+    private PooledTransport open() throws MessagingException {
+        String protocol = mailSender.getProtocol() != null ? mailSender.getProtocol() : JavaMailSenderImpl.DEFAULT_PROTOCOL;
+        Transport transport = mailSender.getSession().getTransport(protocol);
+        Span span = startSpan("smtp connect")
+                .tag("server.address", String.valueOf(mailSender.getHost()));
+        try {
+            transport.connect(mailSender.getHost(), mailSender.getPort(),
+                    mailSender.getUsername(), mailSender.getPassword());
+        } catch (MessagingException e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+        openConnections.incrementAndGet();
+        createdCounter.increment();
+        log.debug("Yeni SMTP bağlantısı açıldı: {}:{}", mailSender.getHost(), mailSender.getPort());
+        return new PooledTransport(transport);
+    }
+
+    private void close(PooledTransport pooled) {
+        openConnections.decrementAndGet();
+        try {
+            pooled.transport.close();
+        } catch (MessagingException e) {
+            log.debug("SMTP bağlantısı kapatılırken hata: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Devam eden bir trace varsa alt span açar; yoksa izlenmeyen no-op span döner
+     */
+    private Span startSpan(String name) {
+        if (tracer.currentSpan() == null) {
+            return Span.NOOP;
+        }
+        return tracer.nextSpan().name(name).start();
+    }
+
+    private static Timer sendTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("mail.smtp.send")
+                .description("Tek bir mesajın SMTP sunucusuna gönderim süresi")
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static Counter failureCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("mail.smtp.send.failures")
+                .description("Gönderilemeyen mesajlar (rejected: alıcı reddedildi, error: bağlantı/protokol hatası, unavailable: bağlantı alınamadı)")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    static final class PooledTransport {
+        private final Transport transport;
+        private long lastUsedAt = System.currentTimeMillis();
+        private int messagesSent;
+
+        private PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.toptanstreet_backend.service;
+
+import com.example.toptanstreet_backend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+/**
+ * Kullanıcı ID sequence'ini tablodaki mevcut ID'lerin ilerisine taşır (toplu içe aktarmanın
+ * JDBC batch insert'leri IDENTITY yerine users_seq kullanır). Tüm singleton'lar oluşturulduktan
+ * sonra, web sunucusu başlamadan, yani ilk insert'ten önce bir kez çalışır.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserIdSequenceInitializer implements SmartInitializingSingleton {
+
+    private final UserRepository userRepository;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (userRepository.alignIdSequence()) {
+            log.info("🔢 users_seq tablodaki en büyük ID'ye hizalandı");
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.toptanstreet_backend.service;
+
+import com.example.toptanstreet_backend.dto.RegisterRequest;
+import com.example.toptanstreet_backend.model.UserRole;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Toplu içe aktarma dosyasını satır satır okur; dosyanın tamamı belleğe alınmaz.
+ * <ul>
+ *   <li>CSV: ilk satır başlıktır (firstName, lastName, email, password, role; sıra serbest,
+ *   büyük/küçük harf duyarsız, fazla sütunlar yok sayılır). Alanlar çift tırnakla sarılabilir,
+ *   tırnak içinde "" bir tırnak demektir. Tırnak içinde satır sonu desteklenmez.</li>
+ *   <li>NDJSON: her satır bir RegisterRequest JSON nesnesidir.</li>
+ * </ul>
+ * Boş satırlar atlanır. Ayrıştırılamayan veya zorunlu alanı eksik satırlar hata mesajıyla döner.
+ */
+public class UserImportReader {
+
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    /**
+     * Okunan satır. error doluysa satır içe aktarılmaz; request ayrıştırılamadıysa null'dır
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Row {
+        private final long line;
+        private final RegisterRequest request;
+        private final String error;
+    }
+
+    private static final int MAX_EMAIL_LENGTH = 255;
+    private static final String[] CSV_COLUMNS = {"firstname", "lastname", "email", "password", "role"};
+
+    private final BufferedReader reader;
+    private final Format format;
+    private final ObjectReader jsonReader;
+    private final int[] columnIndexes = new int[CSV_COLUMNS.length];
+    private long lineNumber;
+
+    /**
+     * @throws IllegalArgumentException CSV başlığı yoksa veya zorunlu sütun eksikse
+     */
+    public UserImportReader(Reader reader, Format format, ObjectMapper objectMapper) throws IOException {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader, 64 * 1024);
+        this.format = format;
+        this.jsonReader = objectMapper.readerFor(RegisterRequest.class);
+        if (format == Format.CSV) {
+            readHeader();
+        }
+    }
+
+    /**
+     * @return Sonraki satır, dosya bittiyse null
+     */
+    public Row next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+        } while (line.isBlank());
+
+        RegisterRequest request;
+        try {
+            request = format == Format.CSV ? parseCsv(line) : jsonReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            return new Row(lineNumber, null, "Geçersiz JSON: " + e.getOriginalMessage());
+        } catch (IllegalArgumentException e) {
+            return new Row(lineNumber, null, e.getMessage());
+        }
+        if (request == null) {
+            return new Row(lineNumber, null, "Satır bir JSON nesnesi değil");
+        }
+        if (request.getEmail() != null) {
+            request.setEmail(request.getEmail().trim());
+        }
+        return new Row(lineNumber, request, validate(request));
+    }
+
+    private void readHeader() throws IOException {
+        String header;
+        do {
+            header = reader.readLine();
+            if (header == null) {
+                throw new IllegalArgumentException("CSV dosyası boş, başlık satırı bekleniyor");
+            }
+            lineNumber++;
+        } while (header.isBlank());
+        if (header.charAt(0) == '\uFEFF') {
+            header = header.substring(1);
+        }
+
+        List<String> names = splitCsv(header);
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            positions.putIfAbsent(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        List<String> missing = new ArrayList<>();
+        for (int i = 0; i < CSV_COLUMNS.length; i++) {
+            Integer position = positions.get(CSV_COLUMNS[i]);
+            if (position == null) {
+                missing.add(CSV_COLUMNS[i]);
+            } else {
+                columnIndexes[i] = position;
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("CSV başlığında eksik sütun: " + String.join(", ", missing));
+        }
+    }
+
+    private RegisterRequest parseCsv(String line) {
+        List<String> fields = splitCsv(line);
+        RegisterRequest request = new RegisterRequest();
+        request.setFirstName(field(fields, 0));
+        request.setLastName(field(fields, 1));
+        request.setEmail(field(fields, 2));
+        request.setPassword(field(fields, 3));
+        String role = field(fields, 4);
+        if (role != null && !role.isBlank()) {
+            try {
+                request.setRole(UserRole.valueOf(role.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Geçersiz rol: " + role);
+            }
+        }
+        return request;
+    }
+
+    private String field(List<String> fields, int column) {
+        int index = columnIndexes[column];
+        return index < fields.size() ? fields.get(index) : null;
+    }
+
+    /**
+     * Tek bir CSV satırını alanlarına ayırır (RFC 4180 tırnak kuralları, satır içi)
+     */
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Kapanmamış tırnak");
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private static String validate(RegisterRequest request) {
+        if (isBlank(request.getFirstName()) || isBlank(request.getLastName())) {
+            return "Ad ve soyad zorunludur";
+        }
+        String email = request.getEmail();
+        if (isBlank(email)) {
+            return "E-posta zorunludur";
+        }
+        int at = email.indexOf('@');
+        if (at <= 0 || at == email.length() - 1 || email.length() > MAX_EMAIL_LENGTH) {
+            return "Geçersiz e-posta adresi";
+        }
+        if (isBlank(request.getPassword())) {
+            return "Şifre zorunludur";
+        }
+        if (request.getRole() == null) {
+            return "Rol zorunludur (WHOLESALER veya RETAILER)";
+        }
+        return null;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,307 @@
+package com.example.toptanstreet_backend.service;
+
+import com.example.toptanstreet_backend.dto.RegisterRequest;
+import com.example.toptanstreet_backend.dto.UserImportResult;
+import com.example.toptanstreet_backend.exception.ServiceBusyException;
+import com.example.toptanstreet_backend.model.User;
+import com.example.toptanstreet_backend.model.UserRole;
+import com.example.toptanstreet_backend.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Toptancı/perakendeci ağlarını tek istekte kaydeden toplu içe aktarma. Dosya satır satır
+ * okunur ve chunk-size satırlık parçalar halinde işlenir; her parça için:
+ * <ol>
+ *   <li>Ayrıştırma/doğrulama hataları ve dosyada tekrar eden e-postalar ayıklanır</li>
+ *   <li>Kayıtlı e-postalar tek IN sorgusuyla elenir (Bloom filtresi "kesinlikle yok" dediklerine sorulmaz)</li>
+ *   <li>Şifreler ayrı, hash-threads ile sınırlı bir havuzda paralel hashlenir; giriş ve kayıt
+ *   istekleri PasswordHashingService havuzunda çalışmaya devam eder</li>
+ *   <li>Kullanıcılar kendi transaction'ında JDBC batch'leri halinde eklenir. Parça eşzamanlı bir
+ *   kayıtla çakışırsa satırlar tek tek denenir, yalnızca çakışan satır hatalı sayılır</li>
+ * </ol>
+ * Başarılı parçalar commit edilir; sonraki bir parçadaki hata öncekileri geri almaz.
+ * Aynı anda yalnızca bir içe aktarma çalışır.
+ */
+@Service
+@Slf4j
+public class UserImportService implements DisposableBean {
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final RegisteredEmailFilter registeredEmailFilter;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolExecutor hashExecutor;
+    private final int hashThreads;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+    private final long retryAfterSeconds;
+    private final Semaphore running = new Semaphore(1);
+
+    private final Counter importedCounter;
+    private final Counter failedCounter;
+
+    public UserImportService(UserRepository userRepository,
+                             PasswordEncoder passwordEncoder,
+                             RegisteredEmailFilter registeredEmailFilter,
+                             ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.user-import.hash-threads:0}") int hashThreads,
+                             @Value("${app.user-import.chunk-size:500}") int chunkSize,
+                             @Value("${app.user-import.max-reported-errors:1000}") int maxReportedErrors,
+                             @Value("${app.user-import.retry-after-seconds:30}") long retryAfterSeconds) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.registeredEmailFilter = registeredEmailFilter;
+        this.objectMapper = objectMapper;
+        this.hashThreads = hashThreads > 0 ? hashThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+        this.retryAfterSeconds = retryAfterSeconds;
+        // Kuyruk sınırsız ama parça başına en fazla hashThreads iş gönderilir
+        this.hashExecutor = new ThreadPoolExecutor(this.hashThreads, this.hashThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("ImportHash-"));
+
+        this.importedCounter = Counter.builder("user.import.rows")
+                .description("Toplu içe aktarmada işlenen satırlar")
+                .tag("result", "imported")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("user.import.rows")
+                .description("Toplu içe aktarmada işlenen satırlar")
+                .tag("result", "failed")
+                .register(meterRegistry);
+
+        log.info("📥 Toplu içe aktarma: {} hash thread'i, {} satırlık parçalar", this.hashThreads, chunkSize);
+    }
+
+    /**
+     * Dosyadaki kullanıcıları içe aktarır. Ödeme durumu tekil kayıttaki gibi role göre atanır.
+     *
+     * @param input  Dosya içeriği
+     * @param format CSV veya NDJSON
+     * @return Özet ve satır bazlı hata raporu
+     * @throws ServiceBusyException     Başka bir içe aktarma sürüyorsa
+     * @throws IllegalArgumentException CSV başlığı geçersizse
+     */
+    public UserImportResult importUsers(Reader input, UserImportReader.Format format) throws IOException {
+        if (!running.tryAcquire()) {
+            throw new ServiceBusyException("Başka bir toplu içe aktarma devam ediyor. Lütfen daha sonra tekrar deneyin.",
+                    retryAfterSeconds);
+        }
+        try {
+            long startedAt = System.nanoTime();
+            UserImportReader reader = new UserImportReader(input, format, objectMapper);
+            ImportRun run = new ImportRun();
+            List<UserImportReader.Row> chunk = new ArrayList<>(chunkSize);
+            UserImportReader.Row row;
+            while ((row = reader.next()) != null) {
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, run);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(chunk, run);
+            }
+
+            UserImportResult result = run.result;
+            long elapsedNanos = System.nanoTime() - startedAt;
+            result.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+            result.setHashMillis(TimeUnit.NANOSECONDS.toMillis(run.hashNanos));
+            result.setWriteMillis(TimeUnit.NANOSECONDS.toMillis(run.writeNanos));
+            result.setRowsPerSecond(elapsedNanos > 0 ? result.getTotalRows() * 1e9 / elapsedNanos : 0);
+            log.info("📥 Toplu içe aktarma tamamlandı: {} satır, {} eklendi, {} hatalı, {} ms ({} satır/sn)",
+                    result.getTotalRows(), result.getImported(), result.getFailed(), result.getElapsedMillis(),
+                    Math.round(result.getRowsPerSecond()));
+            return result;
+        } finally {
+            running.release();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        hashExecutor.shutdownNow();
+    }
+
+    private void importChunk(List<UserImportReader.Row> rows, ImportRun run) {
+        run.result.setTotalRows(run.result.getTotalRows() + rows.size());
+        List<UserImportReader.Row> candidates = new ArrayList<>(rows.size());
+        for (UserImportReader.Row row : rows) {
+            if (row.getError() != null) {
+                run.reject(row, row.getError());
+            } else if (!run.seenEmails.add(row.getRequest().getEmail())) {
+                run.reject(row, "E-posta dosyada daha önce geçti");
+            } else {
+                candidates.add(row);
+            }
+        }
+
+        long checkStartedAt = System.nanoTime();
+        candidates = withoutRegistered(candidates, run);
+        run.writeNanos += System.nanoTime() - checkStartedAt;
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        long hashStartedAt = System.nanoTime();
+        String[] hashes = hashAll(candidates);
+        run.hashNanos += System.nanoTime() - hashStartedAt;
+
+        List<User> users = new ArrayList<>(candidates.size());
+        for (int i = 0; i < candidates.size(); i++) {
+            users.add(toUser(candidates.get(i).getRequest(), hashes[i]));
+        }
+        long insertStartedAt = System.nanoTime();
+        insert(candidates, users, run);
+        run.writeNanos += System.nanoTime() - insertStartedAt;
+    }
+
+    /**
+     * Veritabanında kayıtlı e-postaları eler
+     */
+    private List<UserImportReader.Row> withoutRegistered(List<UserImportReader.Row> rows, ImportRun run) {
+        List<String> maybeRegistered = new ArrayList<>();
+        for (UserImportReader.Row row : rows) {
+            if (registeredEmailFilter.mightBeRegistered(row.getRequest().getEmail())) {
+                maybeRegistered.add(row.getRequest().getEmail());
+            }
+        }
+        if (maybeRegistered.isEmpty()) {
+            return rows;
+        }
+        Set<String> registered = new HashSet<>(userRepository.findRegisteredEmails(maybeRegistered));
+        if (registered.isEmpty()) {
+            return rows;
+        }
+        List<UserImportReader.Row> remaining = new ArrayList<>(rows.size());
+        for (UserImportReader.Row row : rows) {
+            if (registered.contains(row.getRequest().getEmail())) {
+                run.reject(row, "E-posta zaten kayıtlı");
+            } else {
+                remaining.add(row);
+            }
+        }
+        return remaining;
+    }
+
+    /**
+     * Şifreleri hashThreads işe bölüp paralel hashler; iş başına tek görev gönderildiği için
+     * havuz kuyruğu parça boyutundan bağımsız kalır
+     */
+    private String[] hashAll(List<UserImportReader.Row> rows) {
+        String[] hashes = new String[rows.size()];
+        int slices = Math.min(hashThreads, rows.size());
+        List<Future<?>> futures = new ArrayList<>(slices);
+        for (int slice = 0; slice < slices; slice++) {
+            int first = slice;
+            futures.add(hashExecutor.submit(() -> {
+                for (int i = first; i < hashes.length; i += slices) {
+                    hashes[i] = passwordEncoder.encode(rows.get(i).getRequest().getPassword());
+                }
+            }));
+        }
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Şifre hashleme beklenirken kesildi", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("Şifre hashlenemedi: " + e.getCause().getMessage(), e.getCause());
+        }
+        return hashes;
+    }
+
+    private void insert(List<UserImportReader.Row> rows, List<User> users, ImportRun run) {
+        // Tekil kayıttaki gibi commit'ten önce filtreye eklenir; rollback yalnızca yanlış pozitif üretir
+        users.forEach(user -> registeredEmailFilter.add(user.getEmail()));
+        try {
+            userRepository.insertBatch(users);
+            run.imported(users.size());
+            return;
+        } catch (DataAccessException e) {
+            log.warn("⚠️ Toplu insert başarısız, {} satırlık parça tek tek deneniyor: {}",
+                    users.size(), e.getMostSpecificCause().getMessage());
+        }
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            // Geri alınan transaction'da atanan ID ve zaman damgaları yeniden üretilir
+            user.setId(null);
+            user.setCreatedAt(null);
+            user.setUpdatedAt(null);
+            try {
+                userRepository.insertBatch(List.of(user));
+                run.imported(1);
+            } catch (DataIntegrityViolationException e) {
+                run.reject(rows.get(i), "E-posta zaten kayıtlı");
+            } catch (DataAccessException e) {
+                run.reject(rows.get(i), "Kaydedilemedi: " + e.getMostSpecificCause().getMessage());
+            }
+        }
+    }
+
+    private static User toUser(RegisterRequest request, String hashedPassword) {
+        User user = new User();
+        user.setFirstName(request.getFirstName());
+        user.setLastName(request.getLastName());
+        user.setEmail(request.getEmail());
+        user.setPassword(hashedPassword);
+        user.setRole(request.getRole());
+        // Toptancılar ödeme bekler, perakendeciler için ödeme gerekmez (UserService.registerUser ile aynı)
+        user.setPaymentStatus(request.getRole() != UserRole.WHOLESALER);
+        return user;
+    }
+
+    /**
+     * Tek bir içe aktarmanın birikmiş durumu
+     */
+    private final class ImportRun {
+        private final UserImportResult result = new UserImportResult();
+        private final Set<String> seenEmails = new HashSet<>();
+        private long hashNanos;
+        private long writeNanos;
+
+        private void imported(int count) {
+            result.setImported(result.getImported() + count);
+            importedCounter.increment(count);
+        }
+
+        private void reject(UserImportReader.Row row, String message) {
+            result.setFailed(result.getFailed() + 1);
+            failedCounter.increment();
+            if (result.getErrors().size() < maxReportedErrors) {
+                String email = row.getRequest() != null ? row.getRequest().getEmail() : null;
+                result.getErrors().add(new UserImportResult.RowError(row.getLine(), email, message));
+            } else {
+                result.setErrorsTruncated(true);
+            }
+        }
+    }
+}
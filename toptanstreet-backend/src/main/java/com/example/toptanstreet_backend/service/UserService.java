@@ -7,7 +7,6 @@ import com.example.toptanstreet_backend.repository.UserRepository;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,20 +17,20 @@ public class UserService {
     
     @PostConstruct
     public void checkEncoderAndTestBCrypt() {
-        System.out.println("\n🔍 UserService encoder instance: " + System.identityHashCode(passwordEncoder));
-        System.out.println("🔍 UserService encoder class: " + passwordEncoder.getClass().getName());
+        log.debug("🔍 UserService hashing service instance: {}", System.identityHashCode(passwordHashingService));
         
         // BCrypt self-test
         String testPassword = "test123";
-        String hashedPassword = passwordEncoder.encode(testPassword);
-        boolean matches = passwordEncoder.matches(testPassword, hashedPassword);
-        System.out.println("🔒 BCrypt self-test on UserService: " + (matches ? "BAŞARILI ✅" : "BAŞARISIZ ❌"));
-        System.out.println("🔒 Generated hash: " + hashedPassword);
+        String hashedPassword = passwordHashingService.encode(testPassword);
+        boolean matches = passwordHashingService.matches(testPassword, hashedPassword);
+        log.info("🔒 BCrypt self-test on UserService: {}", matches ? "BAŞARILI ✅" : "BAŞARISIZ ❌");
     }
     
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final VerificationService verificationService;
+    private final VerificationTicketService verificationTicketService;
+    private final RegisteredEmailFilter registeredEmailFilter;
     
     /**
      * İlk adım kayıt işlemi - doğrulama kodu gönderir
@@ -39,19 +38,13 @@ public class UserService {
      * @param registerRequest Kayıt bilgileri
      * @return Doğrulama kodu gönderildiği bilgisi
      */
+    @AllocationTracked("auth.initiate-register")
     public String initiateRegistration(RegisterRequest registerRequest) {
-        // Email kullanımda mı kontrol et
-        if (userRepository.existsByEmail(registerRequest.getEmail())) {
-            // Kullanıcı zaten kayıtlı - doğrulama durumunu kontrol et
-            boolean isVerified = verificationService.isEmailVerified(registerRequest.getEmail());
-            if (isVerified) {
-                // E-posta doğrulanmış, normale devam edilemez
-                throw new RuntimeException("Bu email adresi sistemde zaten kayıtlı. Lütfen giriş yapmayı deneyin.");
-            } else {
-                // E-posta doğrulanmamış, yeni doğrulama kodu gönderilebilir
-                // Önceki doğrulama kodunu sil ve yeni kod gönder
-                return verificationService.createAndSendVerificationCode(registerRequest.getEmail());
-            }
+        // Email kullanımda mı kontrol et (Bloom filtresi "kesinlikle yok" derse veritabanına gidilmez).
+        // Kullanıcı yalnızca doğrulamadan sonra oluşturulur; doğrulanmış kod temizlik işinde
+        // silinmiş olsa bile kayıtlı e-postaya yeni kod gönderilmez
+        if (isRegistered(registerRequest.getEmail())) {
+            throw new RuntimeException("Bu email adresi sistemde zaten kayıtlı. Lütfen giriş yapmayı deneyin.");
         }
         
         // Doğrulama kodu gönder (yeni kullanıcı)
@@ -65,30 +58,22 @@ public class UserService {
      * @return Kaydedilen kullanıcı
      */
     @Transactional
+    @AllocationTracked("auth.register")
     public User registerUser(RegisterRequest registerRequest) {
         // Email kullanımda mı kontrol et
-        if (userRepository.existsByEmail(registerRequest.getEmail())) {
+        if (isRegistered(registerRequest.getEmail())) {
             throw new RuntimeException("Email zaten kullanımda");
         }
         
         // Email doğrulanmış mı kontrol et
-        if (!verificationService.isEmailVerified(registerRequest.getEmail())) {
+        if (!isVerified(registerRequest)) {
             throw new RuntimeException("E-posta adresi doğrulanmamış");
         }
         
         log.info("🔐 Kullanıcı şifre hashlenme süreci başladı: {}", registerRequest.getEmail());
         
-        // Şifre durum logu
-        String rawPassword = registerRequest.getPassword();
-        log.debug("🔐 RAW şifre: {}", rawPassword);
-        System.out.println("🔐 RAW şifre: " + rawPassword);
-        
-        // Şifreyi hashle ve log'a yazdır
-        String hashedPassword = passwordEncoder.encode(rawPassword);
-        log.debug("🔐 HASHED şifre: {}", hashedPassword);
-        System.out.println("🔐 HASHED şifre: " + hashedPassword);
-        log.info("🔐 Hash kontrolü: BCrypt formatında mı? {}", hashedPassword.startsWith("$2a$"));
-        log.info("🔐 Hash uzunluğu: {} karakter", hashedPassword.length());
+        // Şifreyi hashle - ayrı hashleme havuzunda çalışır
+        String hashedPassword = passwordHashingService.encode(registerRequest.getPassword());
         
         // Yeni kullanıcı oluştur
         User newUser = new User();
@@ -106,17 +91,55 @@ public class UserService {
             newUser.setPaymentStatus(true);
         }
         
-        // Kullanıcıyı kaydet
+        // Kullanıcıyı kaydet - commit'ten önce filtreye eklenir, böylece yanlış negatif oluşmaz
+        registeredEmailFilter.add(newUser.getEmail());
         User savedUser = userRepository.save(newUser);
         
-        // Kaydedilen kullanıcının şifre hash'ini kontrol et
-        log.info("🔐 Kullanıcı kaydedildi. DB'ye yazılan şifre hash'i: {}", savedUser.getPassword().substring(0, 10) + "...");
+        log.info("🔐 Kullanıcı kaydedildi: {} (ID: {})", savedUser.getEmail(), savedUser.getId());
         
         return savedUser;
     }
     
+    /**
+     * Geçerli bir doğrulama bileti varsa bellekte doğrular; bilet yoksa veya geçersizse
+     * (eski istemciler, süresi dolmuş bilet) doğrulama tablosuna bakılır
+     */
+    private boolean isVerified(RegisterRequest registerRequest) {
+        String ticket = registerRequest.getVerificationTicket();
+        if (ticket != null && verificationTicketService.isValid(ticket, registerRequest.getEmail())) {
+            return true;
+        }
+        return verificationService.isEmailVerified(registerRequest.getEmail());
+    }
+    
+    /**
+     * E-postanın kayıtlı olup olmadığını önce Bloom filtresine, gerekirse veritabanına sorar
+     */
+    private boolean isRegistered(String email) {
+        if (!registeredEmailFilter.mightBeRegistered(email)) {
+            return false;
+        }
+        boolean exists = userRepository.existsByEmail(email);
+        if (!exists) {
+            registeredEmailFilter.recordFalsePositive();
+        }
+        return exists;
+    }
+    
     public User findUserByEmail(String email) {
         return userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("Kullanıcı bulunamadı: " + email));
     }
+    
+    /**
+     * Tam kullanıcı profilini ID ile yükler (ikinci seviye önbellekten gelebilir)
+     *
+     * @param id Kullanıcı ID
+     * @return Kullanıcı
+     */
+    @Transactional(readOnly = true)
+    public User findUserById(Long id) {
+        return userRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Kullanıcı bulunamadı: " + id));
+    }
 }
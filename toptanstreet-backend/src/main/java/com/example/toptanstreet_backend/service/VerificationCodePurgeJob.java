@@ -0,0 +1,92 @@
+package com.example.toptanstreet_backend.service;
+
+import com.example.toptanstreet_backend.repository.VerificationCodeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Süresi dolmuş ve tüketilmiş doğrulama kodlarını sınırlı batch'ler halinde periyodik olarak siler.
+ * Doğrulanmış kodlar, kullanıcı kaydını tamamlayabilsin diye saklama süresi boyunca tutulur.
+ */
+@Component
+@Slf4j
+public class VerificationCodePurgeJob {
+
+    private final VerificationCodeRepository verificationCodeRepository;
+
+    private final AtomicLong tableRows = new AtomicLong();
+    private final AtomicLong tableBytes = new AtomicLong();
+    private final Counter purgedCounter;
+    private final DistributionSummary purgedPerRun;
+
+    @Value("${app.verification.purge.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.verification.purge.max-batches-per-run:100}")
+    private int maxBatchesPerRun;
+
+    @Value("${app.verification.purge.verified-retention-hours:24}")
+    private long verifiedRetentionHours;
+
+    public VerificationCodePurgeJob(VerificationCodeRepository verificationCodeRepository, MeterRegistry meterRegistry) {
+        this.verificationCodeRepository = verificationCodeRepository;
+
+        this.purgedCounter = Counter.builder("verification.codes.purged")
+                .description("Silinen süresi dolmuş doğrulama kodları")
+                .register(meterRegistry);
+        this.purgedPerRun = DistributionSummary.builder("verification.codes.purged.per.run")
+                .description("Temizlik çalışması başına silinen satır")
+                .register(meterRegistry);
+        Gauge.builder("verification.codes.table.rows", tableRows, AtomicLong::get)
+                .description("verification_codes tablosundaki tahmini satır sayısı")
+                .register(meterRegistry);
+        Gauge.builder("verification.codes.table.size", tableBytes, AtomicLong::get)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${app.verification.purge.interval-ms:300000}",
+            fixedDelayString = "${app.verification.purge.interval-ms:300000}")
+    public void purge() {
+        long startedAt = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime verifiedExpiredBefore = now.minusHours(verifiedRetentionHours);
+
+        long purged = 0;
+        try {
+            // Her batch kendi transaction'ında çalışır, uzun kilitler tutulmaz
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                int deleted = verificationCodeRepository.purgeExpiredBatch(now, verifiedExpiredBefore, batchSize);
+                purged += deleted;
+                if (deleted < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.error("Doğrulama kodu temizliği sırasında hata: {}", e.getMessage(), e);
+        }
+
+        purgedCounter.increment(purged);
+        purgedPerRun.record(purged);
+
+        try {
+            tableRows.set(verificationCodeRepository.estimateRowCount());
+            tableBytes.set(verificationCodeRepository.totalRelationSize());
+        } catch (Exception e) {
+            log.warn("verification_codes tablo istatistikleri okunamadı: {}", e.getMessage());
+        }
+
+        if (purged > 0) {
+            log.info("🧹 {} süresi dolmuş doğrulama kodu silindi ({} ms)", purged, System.currentTimeMillis() - startedAt);
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.example.toptanstreet_backend.service;
 
+import com.example.toptanstreet_backend.exception.ServiceBusyException;
 import com.example.toptanstreet_backend.model.VerificationCode;
 import com.example.toptanstreet_backend.repository.VerificationCodeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -9,7 +11,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.Random;
 
 @Service
@@ -19,6 +20,8 @@ public class VerificationService {
     
     private final VerificationCodeRepository verificationCodeRepository;
     private final EmailService emailService;
+    private final MeterRegistry meterRegistry;
+    private final VerificationStatusService verificationStatusService;
     
     @Value("${app.verification.code-length:6}")
     private int codeLength;
@@ -31,8 +34,10 @@ public class VerificationService {
      *
      * @param email Doğrulama kodu gönderilecek e-posta adresi
      * @return Oluşturulan doğrulama kodu
+     * @throws ServiceBusyException Mail kuyruğu kodu süresi dolmadan gönderemeyecek kadar doluysa
      */
     @Transactional
+    @AllocationTracked("verification.send")
     public String createAndSendVerificationCode(String email) {
         try {
             log.info("📧 {} için doğrulama kodu oluşturuluyor...", email);
@@ -43,7 +48,6 @@ public class VerificationService {
             
             // Yeni kod oluştur
             String code = generateRandomCode();
-            log.debug("Yeni kod oluşturuldu: {}...", code.substring(0, 2) + "****");
             
             // Verification Code nesnesini oluştur
             VerificationCode verificationCode = new VerificationCode();
@@ -57,60 +61,39 @@ public class VerificationService {
                 VerificationCode saved = verificationCodeRepository.save(verificationCode);
                 log.debug("Doğrulama kodu başarıyla kaydedildi, ID: {}", saved.getId());
             } catch (Exception e) {
-                log.error("❌ HATA: Doğrulama kodu veritabanına kaydedilemedi: {}", e.getMessage());
-                log.error("❌ Hata türü: {}", e.getClass().getName());
-                for (StackTraceElement element : e.getStackTrace()) {
-                    log.error("   ⚠️ at {}", element);
-                }
+                // Loglama dış catch bloğunda tek olay olarak yapılır
                 throw new RuntimeException("Doğrulama kodu oluşturulamadı: " + e.getMessage(), e);
             }
             
-            // Kodu e-posta ile gönder veya mock et
-            log.info("📤 Doğrulama kodu {} adresine gönderiliyor: {}", email, code.substring(0, 2) + "****");
+            // Kodu outbox'a yaz - gönderim aynı transaction commit edildikten sonra arka planda yapılır
+            log.info("📤 Doğrulama kodu {} adresi için gönderim kuyruğuna alınıyor", email);
+            emailService.sendVerificationCode(email, code, verificationCode.getExpiresAt());
+            verificationStatusService.codeSent(email, verificationCode.getExpiresAt());
+            recordOutcome("sent");
             
-            try {
-                // E-posta göndermeyi dene
-                emailService.sendVerificationCode(email, code);
-            } catch (Exception e) {
-                // Hata durumunda konsola yazdır (mock girişim)
-                log.warn("⚠️ Mail sunucusu çalışmıyor veya kimlik doğrulama hatası - MOCK MODE: " + e.getMessage());
-                System.out.println("\n\n----------------------------------------------------------------------------");
-                System.out.println("| 📧 DOĞRULAMA KODU (MOCK): " + email + " için kod: " + code + " |");
-                System.out.println("----------------------------------------------------------------------------\n");
-                
-                // Hata loglama
-                log.error("Mail gönderimi başarısız, ancak işlem devam ediyor (mock): {}", e.getMessage());
-            }
-            
-            log.info("✅ Doğrulama kodu başarıyla oluşturuldu ve gönderildi");
+            log.info("✅ Doğrulama kodu başarıyla oluşturuldu ve gönderim kuyruğuna alındı");
             return code;
             
+        } catch (ServiceBusyException e) {
+            // Mail kuyruğu dolu - transaction geri alınır, çağıran 503 ve Retry-After döner
+            recordOutcome("shed");
+            throw e;
         } catch (Exception e) {
-            log.error("🔴 Doğrulama kodu oluşturma ve gönderme sırasında GENEL HATA: {}", e.getMessage());
-            log.error("🔴 Hata sınıfı: {}", e.getClass().getName());
-            log.error("🔴 Stack trace:");
-            for (StackTraceElement element : e.getStackTrace()) {
-                log.error("   ⚠️ at {}", element);
-            }
+            log.error("🔴 Doğrulama kodu oluşturma ve gönderme sırasında GENEL HATA: {}", email, e);
             throw new RuntimeException("Doğrulama işlemi başarısız: " + e.getMessage(), e);
         }
     }
     
     /**
-     * Verilen email için sistemde var olan tüm doğrulama kodlarını siler
+     * Verilen email için sistemde var olan tüm doğrulama kodlarını tek bir toplu DELETE ile siler
      * 
      * @param email Doğrulama kodları silinecek email adresi
      */
     @Transactional
     public void deleteExistingCodes(String email) {
         try {
-            List<VerificationCode> existingCodes = verificationCodeRepository.findAllByEmail(email);
-            if (existingCodes != null && !existingCodes.isEmpty()) {
-                log.debug("{} için {} adet eski doğrulama kodu siliniyor", email, existingCodes.size());
-                verificationCodeRepository.deleteAll(existingCodes);
-            } else {
-                log.debug("{} için silinecek eski doğrulama kodu bulunamadı", email);
-            }
+            int deleted = verificationCodeRepository.bulkDeleteByEmail(email);
+            log.debug("{} için {} adet eski doğrulama kodu silindi", email, deleted);
         } catch (Exception e) {
             log.warn("Eski doğrulama kodları silinirken hata: {}", e.getMessage());
         }
@@ -124,15 +107,30 @@ public class VerificationService {
      * @return Doğrulama başarılı ise true, değilse false
      */
     @Transactional
+    @AllocationTracked("verification.verify")
     public boolean verifyCode(String email, String code) {
-        return verificationCodeRepository.findByEmailAndCode(email, code)
-                .filter(VerificationCode::isValid)
-                .map(verificationCode -> {
-                    verificationCode.setVerified(true);
-                    verificationCodeRepository.save(verificationCode);
-                    return true;
-                })
-                .orElse(false);
+        // Geçerlilik kontrolü ve işaretleme tek koşullu UPDATE ile yapılır (eşzamanlı doğrulamalarda tek kazanan)
+        LocalDateTime now = LocalDateTime.now();
+        if (verificationCodeRepository.consumeCode(email, code, now).isPresent()) {
+            verificationStatusService.verified(email);
+            recordOutcome("verified");
+            return true;
+        }
+        
+        // Yalnızca başarısız denemelerde nedeni sınıflandırmak için ek sorgu yapılır
+        String outcome = verificationCodeRepository.findTopByEmailAndCodeOrderByIdDesc(email, code)
+                .map(existing -> existing.isVerified() ? "already_verified"
+                        : !existing.getExpiresAt().isAfter(now) ? "expired" : "wrong_code")
+                .orElse("wrong_code");
+        recordOutcome(outcome);
+        return false;
+    }
+    
+    /**
+     * verification.codes sayacına sonuç yazar (sent, shed, verified, expired, wrong_code, already_verified)
+     */
+    private void recordOutcome(String outcome) {
+        meterRegistry.counter("verification.codes", "outcome", outcome).increment();
     }
     
     /**
@@ -152,7 +150,7 @@ public class VerificationService {
      *
      * @return Belirtilen uzunlukta sayısal doğrulama kodu
      */
-    private String generateRandomCode() {
+    String generateRandomCode() {
         Random random = new Random();
         StringBuilder codeBuilder = new StringBuilder(codeLength);
         
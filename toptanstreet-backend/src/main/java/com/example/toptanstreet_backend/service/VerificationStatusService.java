@@ -0,0 +1,315 @@
+package com.example.toptanstreet_backend.service;
+
+import com.example.toptanstreet_backend.dto.VerificationStatusEvent;
+import com.example.toptanstreet_backend.exception.RateLimitExceededException;
+import com.example.toptanstreet_backend.exception.ServiceBusyException;
+import com.example.toptanstreet_backend.model.VerificationState;
+import com.example.toptanstreet_backend.repository.VerificationCodeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Doğrulama ekranında bekleyen istemcilere durum değişikliklerini Server-Sent Events ile iletir.
+ * İstemci e-posta başına bir kez abone olur; kod doğrulandığında, yeniden gönderildiğinde veya
+ * süresi dolduğunda bildirim alır. Abonelik başına tek bir durum sorgusu yapılır; süre dolumu
+ * bellekteki son geçerlilik zamanından anlaşılır, veritabanı yoklanmaz.
+ * <p>
+ * Aynı e-posta için eşzamanlı durum sorguları tek sorguda birleştirilir. Doğrulama veya yeni kod
+ * commit edildiğinde o e-posta için devam eden sorgu birleştirmeden çıkarılır; böylece değişiklikten
+ * sonra gelen istekler eski sonuca katılmaz. Bağlantılar servlet async ile tutulur, iş parçacığı
+ * bağlamaz. Durum tek uygulama örneğinin belleğindedir.
+ * <p>
+ * Toplam akış sınırının yanında IP ve e-posta başına açık akış sınırı vardır; tek bir istemci
+ * uydurma e-postalarla tüm akış kapasitesini tüketip gerçek kullanıcıları dışarıda bırakamaz.
+ */
+@Service
+@Slf4j
+public class VerificationStatusService {
+
+    private static final long BUSY_RETRY_AFTER_SECONDS = 5;
+
+    private final VerificationCodeRepository verificationCodeRepository;
+    private final MeterRegistry meterRegistry;
+    private final long streamTimeoutMillis;
+    private final int maxSubscribers;
+    private final int maxSubscribersPerIp;
+    private final int maxSubscribersPerEmail;
+
+    private final Map<String, CompletableFuture<VerificationStatusEvent>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Waiters> waiters = new ConcurrentHashMap<>();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final Map<String, Integer> subscribersByIp = new ConcurrentHashMap<>();
+    private final Map<String, Integer> subscribersByEmail = new ConcurrentHashMap<>();
+    private final Counter databaseLookups;
+    private final Counter coalescedLookups;
+
+    public VerificationStatusService(VerificationCodeRepository verificationCodeRepository,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${app.verification.status.stream-timeout-ms:300000}") long streamTimeoutMillis,
+                                     @Value("${app.verification.status.max-subscribers:5000}") int maxSubscribers,
+                                     @Value("${app.verification.status.max-subscribers-per-ip:20}") int maxSubscribersPerIp,
+                                     @Value("${app.verification.status.max-subscribers-per-email:3}") int maxSubscribersPerEmail) {
+        this.verificationCodeRepository = verificationCodeRepository;
+        this.meterRegistry = meterRegistry;
+        this.streamTimeoutMillis = streamTimeoutMillis;
+        this.maxSubscribers = maxSubscribers;
+        this.maxSubscribersPerIp = maxSubscribersPerIp;
+        this.maxSubscribersPerEmail = maxSubscribersPerEmail;
+
+        this.databaseLookups = Counter.builder("verification.status.lookups")
+                .description("Doğrulama durumu istekleri; database = repository sorgusu çalıştıran, coalesced = devam eden sorguya katılan")
+                .tag("source", "database")
+                .register(meterRegistry);
+        this.coalescedLookups = Counter.builder("verification.status.lookups")
+                .tag("source", "coalesced")
+                .register(meterRegistry);
+        Gauge.builder("verification.status.subscribers", subscribers, AtomicInteger::get)
+                .description("Açık doğrulama durumu akışları")
+                .register(meterRegistry);
+    }
+
+    /**
+     * E-postanın güncel doğrulama durumu. Aynı e-posta için devam eden bir sorgu varsa
+     * yeni sorgu açılmaz, onun sonucu beklenir.
+     *
+     * @param email E-posta adresi
+     * @return Durum ve PENDING ise son geçerlilik zamanı
+     */
+    public VerificationStatusEvent currentStatus(String email) {
+        CompletableFuture<VerificationStatusEvent> own = new CompletableFuture<>();
+        CompletableFuture<VerificationStatusEvent> existing = inFlight.putIfAbsent(email, own);
+        if (existing != null) {
+            coalescedLookups.increment();
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        try {
+            databaseLookups.increment();
+            VerificationStatusEvent status = load(email);
+            own.complete(status);
+            return status;
+        } catch (RuntimeException e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(email, own);
+        }
+    }
+
+    /**
+     * E-postanın durum akışına abone olur. İlk olay güncel durumdur; durum VERIFIED veya EXPIRED
+     * olduğunda olay gönderilip akış kapatılır. İstemci zaman aşımında yeniden bağlanabilir.
+     *
+     * @param email E-posta adresi
+     * @param clientIp İstemci IP'si
+     * @return SSE akışı
+     * @throws RateLimitExceededException IP veya e-posta başına açık akış sınırına ulaşıldıysa
+     * @throws ServiceBusyException Toplam açık akış sınırına ulaşıldıysa
+     */
+    public SseEmitter subscribe(String email, String clientIp) {
+        if (!tryAcquire(subscribersByIp, clientIp, maxSubscribersPerIp)) {
+            rejected("ip");
+            throw new RateLimitExceededException("Bu adresten çok fazla açık doğrulama durumu bağlantısı var",
+                    BUSY_RETRY_AFTER_SECONDS);
+        }
+        if (!tryAcquire(subscribersByEmail, email, maxSubscribersPerEmail)) {
+            release(subscribersByIp, clientIp);
+            rejected("email");
+            throw new RateLimitExceededException("Bu e-posta için çok fazla açık doğrulama durumu bağlantısı var",
+                    BUSY_RETRY_AFTER_SECONDS);
+        }
+        if (subscribers.incrementAndGet() > maxSubscribers) {
+            subscribers.decrementAndGet();
+            release(subscribersByIp, clientIp);
+            release(subscribersByEmail, email);
+            rejected("total");
+            throw new ServiceBusyException("Çok fazla açık doğrulama durumu bağlantısı var, lütfen daha sonra tekrar deneyin",
+                    BUSY_RETRY_AFTER_SECONDS);
+        }
+        SseEmitter emitter = new SseEmitter(streamTimeoutMillis);
+        emitter.onCompletion(() -> {
+            subscribers.decrementAndGet();
+            release(subscribersByIp, clientIp);
+            release(subscribersByEmail, email);
+            unregister(email, emitter);
+        });
+
+        // Önce kaydolunur, sonra durum okunur: arada commit edilen doğrulama bildirimle yakalanır
+        Waiters registered = waiters.compute(email, (key, current) -> {
+            Waiters result = current != null ? current : new Waiters();
+            result.emitters.add(emitter);
+            return result;
+        });
+
+        VerificationStatusEvent status;
+        try {
+            status = currentStatus(email);
+        } catch (RuntimeException e) {
+            log.warn("Doğrulama durumu okunamadı: {} - {}", email, e.getMessage());
+            unregister(email, emitter);
+            emitter.completeWithError(e);
+            return emitter;
+        }
+        if (status.getStatus() == VerificationState.PENDING) {
+            if (registered.expiresAt == null || registered.expiresAt.isBefore(status.getExpiresAt())) {
+                registered.expiresAt = status.getExpiresAt();
+            }
+            send(emitter, status);
+        } else {
+            unregister(email, emitter);
+            send(emitter, status);
+            emitter.complete();
+        }
+        return emitter;
+    }
+
+    /**
+     * Yeni kod oluşturulduğunu, transaction commit edildikten sonra bekleyenlere bildirir
+     */
+    public void codeSent(String email, LocalDateTime expiresAt) {
+        afterCommit(() -> {
+            inFlight.remove(email);
+            Waiters current = waiters.get(email);
+            if (current != null) {
+                current.expiresAt = expiresAt;
+                broadcast(current.emitters, new VerificationStatusEvent(VerificationState.PENDING, expiresAt), false);
+            }
+        });
+    }
+
+    /**
+     * Kodun doğrulandığını, transaction commit edildikten sonra bekleyenlere bildirir ve akışları kapatır
+     */
+    public void verified(String email) {
+        afterCommit(() -> {
+            inFlight.remove(email);
+            Waiters current = waiters.remove(email);
+            if (current != null) {
+                broadcast(current.emitters, new VerificationStatusEvent(VerificationState.VERIFIED, null), true);
+            }
+        });
+    }
+
+    /**
+     * Süresi dolan kodları bekleyenlere EXPIRED gönderir. Yalnızca bellekteki son geçerlilik
+     * zamanına bakılır; süresi dolmuş kod doğrulanamayacağı için veritabanına gidilmez.
+     */
+    @Scheduled(fixedDelayString = "${app.verification.status.sweep-interval-ms:1000}")
+    public void expireWaiting() {
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<String, Waiters> entry : waiters.entrySet()) {
+            Waiters current = entry.getValue();
+            LocalDateTime expiresAt = current.expiresAt;
+            if (expiresAt != null && !now.isBefore(expiresAt) && waiters.remove(entry.getKey(), current)) {
+                broadcast(current.emitters, new VerificationStatusEvent(VerificationState.EXPIRED, null), true);
+            }
+        }
+    }
+
+    int getWaitingEmailCount() {
+        return waiters.size();
+    }
+
+    /**
+     * Anahtarın açık akış sayısını sınırı aşmadan bir artırır
+     */
+    private static boolean tryAcquire(Map<String, Integer> counts, String key, int limit) {
+        boolean[] acquired = new boolean[1];
+        counts.compute(key, (k, current) -> {
+            int open = current != null ? current : 0;
+            if (open >= limit) {
+                return current;
+            }
+            acquired[0] = true;
+            return open + 1;
+        });
+        return acquired[0];
+    }
+
+    private static void release(Map<String, Integer> counts, String key) {
+        counts.computeIfPresent(key, (k, current) -> current > 1 ? current - 1 : null);
+    }
+
+    private void rejected(String limit) {
+        meterRegistry.counter("verification.status.rejected", "limit", limit).increment();
+    }
+
+    private void unregister(String email, SseEmitter emitter) {
+        waiters.computeIfPresent(email, (key, current) -> {
+            current.emitters.remove(emitter);
+            return current.emitters.isEmpty() ? null : current;
+        });
+    }
+
+    private VerificationStatusEvent load(String email) {
+        return verificationCodeRepository.findTopByEmailOrderByIdDesc(email)
+                .map(code -> code.isVerified() ? new VerificationStatusEvent(VerificationState.VERIFIED, null)
+                        : code.isValid() ? new VerificationStatusEvent(VerificationState.PENDING, code.getExpiresAt())
+                        : new VerificationStatusEvent(VerificationState.EXPIRED, null))
+                .orElseGet(() -> new VerificationStatusEvent(VerificationState.EXPIRED, null));
+    }
+
+    private void broadcast(List<SseEmitter> emitters, VerificationStatusEvent event, boolean complete) {
+        for (SseEmitter emitter : emitters) {
+            send(emitter, event);
+            if (complete) {
+                emitter.complete();
+            }
+        }
+    }
+
+    private void send(SseEmitter emitter, VerificationStatusEvent event) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .name(event.getStatus().name().toLowerCase())
+                    .data(event));
+            meterRegistry.counter("verification.status.events", "status", event.getStatus().name()).increment();
+        } catch (IOException | IllegalStateException e) {
+            // Kopmuş veya kapanmış bağlantı; container akışı tamamlar ve onCompletion kaydı siler
+            log.debug("Doğrulama durumu gönderilemedi: {}", e.getMessage());
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Bir e-posta için açık akışlar ve bellekteki son geçerlilik zamanı
+     */
+    private static final class Waiters {
+        private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+        private volatile LocalDateTime expiresAt;
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.toptanstreet_backend.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * E-posta doğrulandıktan sonra verilen kısa ömürlü, HMAC-SHA256 ile imzalı doğrulama bileti.
+ * /auth/register bileti bellekte doğrular; doğrulama tablosuna tekrar gidilmez ve kod tablosu
+ * temizlense bile kayıt adımı doğrulama sonucuna bağlı kalır.
+ * <p>
+ * Biçim: base64url(e-posta) "." son geçerlilik (epoch saniye) "." base64url(imza).
+ * İmza yalnızca bu bilet türü için kullanılan bir önek ile hesaplanır, JWT'lerle karışmaz.
+ */
+@Service
+@Slf4j
+public class VerificationTicketService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String SIGNATURE_PREFIX = "verification-ticket.v1\n";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final MeterRegistry meterRegistry;
+    private final long ttlSeconds;
+    private final ThreadLocal<Mac> macs;
+
+    public VerificationTicketService(MeterRegistry meterRegistry,
+                                     @Value("${app.verification.ticket.secret:${jwt.secret}}") String secret,
+                                     @Value("${app.verification.ticket.ttl-seconds:600}") long ttlSeconds) {
+        this.meterRegistry = meterRegistry;
+        this.ttlSeconds = ttlSeconds;
+        SecretKeySpec key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        // Mac thread-safe değildir; her iş parçacığı kendi örneğini kullanır
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Doğrulama bileti anahtarı hazırlanamadı", e);
+            }
+        });
+        // Anahtar hatası ilk istekte değil başlangıçta ortaya çıksın
+        macs.get();
+    }
+
+    /**
+     * Doğrulanmış e-posta için bilet üretir
+     *
+     * @param email Doğrulanan e-posta adresi
+     * @return İmzalı bilet
+     */
+    public String issue(String email) {
+        long expiresAt = Instant.now().getEpochSecond() + ttlSeconds;
+        String ticket = ENCODER.encodeToString(email.getBytes(StandardCharsets.UTF_8))
+                + "." + expiresAt
+                + "." + ENCODER.encodeToString(sign(email, expiresAt));
+        recordOutcome("issued");
+        return ticket;
+    }
+
+    public long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    /**
+     * Biletin bu e-posta için üretildiğini ve süresinin dolmadığını veritabanına gitmeden kontrol eder
+     *
+     * @param ticket Doğrulama bileti
+     * @param email  Kayıt olunan e-posta adresi
+     * @return Bilet geçerliyse true
+     */
+    public boolean isValid(String ticket, String email) {
+        String outcome = check(ticket, email);
+        recordOutcome(outcome);
+        if (!"accepted".equals(outcome)) {
+            log.debug("Doğrulama bileti reddedildi ({}): {}", outcome, email);
+        }
+        return "accepted".equals(outcome);
+    }
+
+    private String check(String ticket, String email) {
+        if (ticket == null || email == null) {
+            return "invalid";
+        }
+        String[] parts = ticket.split("\\.", -1);
+        if (parts.length != 3) {
+            return "invalid";
+        }
+        String ticketEmail;
+        long expiresAt;
+        byte[] signature;
+        try {
+            ticketEmail = new String(DECODER.decode(parts[0]), StandardCharsets.UTF_8);
+            expiresAt = Long.parseLong(parts[1]);
+            signature = DECODER.decode(parts[2]);
+        } catch (IllegalArgumentException e) {
+            return "invalid";
+        }
+        if (!MessageDigest.isEqual(signature, sign(ticketEmail, expiresAt))) {
+            return "invalid";
+        }
+        if (!ticketEmail.equals(email)) {
+            return "email_mismatch";
+        }
+        if (expiresAt <= Instant.now().getEpochSecond()) {
+            return "expired";
+        }
+        return "accepted";
+    }
+
+    private byte[] sign(String email, long expiresAt) {
+        return macs.get().doFinal((SIGNATURE_PREFIX + email + "\n" + expiresAt).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * verification.tickets sayacına sonuç yazar (issued, accepted, invalid, email_mismatch, expired)
+     */
+    private void recordOutcome(String outcome) {
+        meterRegistry.counter("verification.tickets", "outcome", outcome).increment();
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.toptanstreet_backend.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Idempotency-Key başına ilk isteğin yanıtını saklayan, boyutu ve ömrü sınırlı bellek deposu.
+ * Anahtarı ilk alan istek sahibi olur ve işi yapar; aynı anahtarla gelen diğer istekler
+ * sahibin sonucunu bekler ve aynı yanıtı alır. Kayıtlar yazıldıktan sonra ttl süresince
+ * tutulur, sayıları maxKeys ile sınırlıdır. Depo tek uygulama örneğinin belleğindedir.
+ */
+public class IdempotencyStore {
+
+    /**
+     * Saklanan yanıt: durum kodu, içerik tipi, Retry-After başlığı (yoksa null) ve gövde
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class StoredResponse {
+        private final int status;
+        private final String contentType;
+        private final String retryAfter;
+        private final byte[] body;
+    }
+
+    /**
+     * Bir anahtarın kaydı. İstek gövdesinin özeti, aynı anahtarın farklı bir istekle
+     * kullanılmasını ayırt etmek için tutulur.
+     */
+    @Getter
+    public static class Entry {
+        private final String fingerprint;
+        private final CompletableFuture<StoredResponse> result = new CompletableFuture<>();
+
+        Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+
+    /**
+     * claim sonucu: owner true ise isteği çalıştırıp complete veya abandon çağırmak çağıranın işidir
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Claim {
+        private final boolean owner;
+        private final Entry entry;
+    }
+
+    private final Cache<String, Entry> entries;
+
+    /**
+     * @param ttl     Kayıtların yazıldıktan sonra tutulacağı süre
+     * @param maxKeys Tutulacak en fazla anahtar sayısı
+     */
+    public IdempotencyStore(Duration ttl, long maxKeys) {
+        this(ttl, maxKeys, Ticker.systemTicker());
+    }
+
+    IdempotencyStore(Duration ttl, long maxKeys, Ticker ticker) {
+        this.entries = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxKeys)
+                .ticker(ticker)
+                .build();
+    }
+
+    /**
+     * Anahtarı sahiplenir ya da mevcut kaydı döner
+     *
+     * @param key         Depo anahtarı (ör. "/api/v1/verification/send:abc")
+     * @param fingerprint İstek gövdesinin özeti
+     */
+    public Claim claim(String key, String fingerprint) {
+        Entry own = new Entry(fingerprint);
+        Entry existing = entries.asMap().putIfAbsent(key, own);
+        return existing != null ? new Claim(false, existing) : new Claim(true, own);
+    }
+
+    /**
+     * Sahibin yanıtını bekleyenlere iletir. keep false ise kayıt silinir ve anahtar
+     * sonraki istekte yeniden çalıştırılır (ör. hata yanıtları).
+     */
+    public void complete(String key, Entry entry, StoredResponse response, boolean keep) {
+        if (!keep) {
+            entries.asMap().remove(key, entry);
+        }
+        entry.result.complete(response);
+    }
+
+    /**
+     * Sahip yanıt üretemediyse (istisna) kaydı siler; bekleyenler null alır
+     */
+    public void abandon(String key, Entry entry) {
+        entries.asMap().remove(key, entry);
+        entry.result.complete(null);
+    }
+
+    /**
+     * Sahibin yanıtını bekler
+     *
+     * @return Saklanan yanıt; sahip yanıt üretemediyse null
+     * @throws TimeoutException Süre içinde yanıt gelmediyse
+     */
+    public StoredResponse await(Entry entry, Duration timeout) throws TimeoutException, InterruptedException {
+        try {
+            return entry.result.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+
+    public long size() {
+        return entries.estimatedSize();
+    }
+}
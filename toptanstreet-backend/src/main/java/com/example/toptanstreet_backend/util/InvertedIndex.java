@@ -0,0 +1,559 @@
+package com.example.toptanstreet_backend.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Çok alanlı belgeler için bellek içi ters indeks ve BM25 sıralaması. Metin
+ * TurkishTextAnalyzer ile terimlere ayrılır; alan ağırlıkları terim frekansına çarpan
+ * olarak eklenir (ör. ürün adındaki eşleşme açıklamadakinden ağır basar).
+ * <p>
+ * Her belge artan bir iç sıra numarası alır ve terim listelerine (postings) sona eklenir,
+ * böylece listeler her zaman sıralı kalır. Güncelleme eski sıra numarasını silinmiş
+ * işaretleyip belgeyi yeni numarayla ekler; silinmiş oranı compactionRatio'yu geçince
+ * listeler yeniden numaralanarak sıkıştırılır. Lucene'deki gibi IDF, sıkıştırmaya kadar
+ * silinmiş belgeleri de sayar.
+ * <p>
+ * Sorgudaki tüm terimler eşleşmelidir (AND). Son terim sorgu boşlukla bitmiyorsa önek
+ * olarak aranır ("sams" → "samsung"); en sık geçen maxPrefixExpansions terime genişletilir.
+ * Kesişim en kısa listeden başlar, diğer listelerde galloping arama ile ilerlenir.
+ * Aramalar okuma kilidiyle eşzamanlı çalışır, güncellemeler yazma kilidi alır.
+ */
+public class InvertedIndex {
+
+    /**
+     * Arama sonucu: belge ID'si ve BM25 skoru
+     */
+    @Getter
+    @ToString
+    @AllArgsConstructor
+    public static class Hit {
+        private final long id;
+        private final float score;
+    }
+
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MIN_DELETED_FOR_COMPACTION = 1024;
+
+    private final int[] fieldWeights;
+    private final float k1;
+    private final float b;
+    private final int maxPrefixExpansions;
+    private final double compactionRatio;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    private final LongIntMap ordinals = new LongIntMap();
+    private final BitSet deleted = new BitSet();
+    private long[] docIds = new long[1024];
+    private int[] docLengths = new int[1024];
+    private int docCount;
+    private int deletedCount;
+    private long totalLength;
+    private long compactions;
+
+    /**
+     * k1=1.2, b=0.75, 32 önek genişletmesi ve %25 silinmiş oranında sıkıştırma ile indeks
+     *
+     * @param fieldWeights upsert'e verilecek alanların sırasıyla ağırlıkları
+     */
+    public InvertedIndex(int... fieldWeights) {
+        this(fieldWeights, 1.2f, 0.75f, 32, 0.25);
+    }
+
+    /**
+     * @param fieldWeights        upsert'e verilecek alanların sırasıyla ağırlıkları
+     * @param k1                  BM25 terim frekansı doygunluğu
+     * @param b                   BM25 belge uzunluğu normalizasyonu (0-1)
+     * @param maxPrefixExpansions Son terimin genişletileceği en fazla terim sayısı
+     * @param compactionRatio     Silinmiş belgelerin tüm belgelere oranı bunu aşınca sıkıştırılır
+     */
+    public InvertedIndex(int[] fieldWeights, float k1, float b, int maxPrefixExpansions, double compactionRatio) {
+        if (fieldWeights.length == 0) {
+            throw new IllegalArgumentException("En az bir alan ağırlığı gerekli");
+        }
+        this.fieldWeights = fieldWeights.clone();
+        this.k1 = k1;
+        this.b = b;
+        this.maxPrefixExpansions = maxPrefixExpansions;
+        this.compactionRatio = compactionRatio;
+    }
+
+    /**
+     * Belgeyi ekler; aynı ID ile önceki belge varsa yerine geçer. Hiç terim çıkmayan belge
+     * yalnızca silinir.
+     *
+     * @param id     Belge ID'si
+     * @param fields Alan metinleri, yapıcıdaki ağırlık sırasıyla (null olabilir)
+     */
+    public void upsert(long id, String... fields) {
+        if (fields.length > fieldWeights.length) {
+            throw new IllegalArgumentException("Alan sayısı ağırlık sayısını aşıyor: " + fields.length);
+        }
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = 0;
+        for (int field = 0; field < fields.length; field++) {
+            int weight = fieldWeights[field];
+            for (String token : TurkishTextAnalyzer.tokenize(fields[field])) {
+                frequencies.merge(token, weight, Integer::sum);
+                length += weight;
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            if (!frequencies.isEmpty()) {
+                int ordinal = docCount++;
+                if (ordinal == docIds.length) {
+                    int capacity = ordinal + (ordinal >> 1);
+                    docIds = Arrays.copyOf(docIds, capacity);
+                    docLengths = Arrays.copyOf(docLengths, capacity);
+                }
+                docIds[ordinal] = id;
+                docLengths[ordinal] = length;
+                totalLength += length;
+                ordinals.put(id, ordinal);
+                for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                    terms.computeIfAbsent(entry.getKey(), term -> new Postings()).add(ordinal, entry.getValue());
+                }
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param id Belge ID'si
+     * @return Belge indeksteyse true
+     */
+    public boolean remove(long id) {
+        lock.writeLock().lock();
+        try {
+            boolean removed = removeLocked(id);
+            compactIfNeeded();
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param query Kullanıcının yazdığı arama metni
+     * @param limit En fazla sonuç sayısı
+     * @return Skora göre azalan sonuçlar
+     */
+    public List<Hit> search(String query, int limit) {
+        List<String> tokens = TurkishTextAnalyzer.tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        String last = tokens.get(tokens.size() - 1);
+        boolean prefixLast = last.length() >= MIN_PREFIX_LENGTH
+                && Character.isLetterOrDigit(query.charAt(query.length() - 1));
+        Set<String> exact = new LinkedHashSet<>(tokens);
+        if (prefixLast) {
+            exact.remove(last);
+        }
+
+        lock.readLock().lock();
+        try {
+            int liveDocs = docCount - deletedCount;
+            if (liveDocs == 0) {
+                return List.of();
+            }
+            List<Clause> clauses = new ArrayList<>(exact.size() + 1);
+            for (String term : exact) {
+                Postings postings = terms.get(term);
+                if (postings == null) {
+                    return List.of();
+                }
+                clauses.add(new Clause(new Postings[]{postings}));
+            }
+            if (prefixLast) {
+                Postings[] expansions = expand(last);
+                if (expansions.length == 0) {
+                    return List.of();
+                }
+                clauses.add(new Clause(expansions));
+            }
+            clauses.sort(Comparator.comparingLong(clause -> clause.totalSize));
+            return score(clauses, liveDocs, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return İndeksteki (silinmemiş) belge sayısı
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docCount - deletedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return terms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long getCompactions() {
+        lock.readLock().lock();
+        try {
+            return compactions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean removeLocked(long id) {
+        int ordinal = ordinals.remove(id);
+        if (ordinal < 0) {
+            return false;
+        }
+        deleted.set(ordinal);
+        deletedCount++;
+        totalLength -= docLengths[ordinal];
+        return true;
+    }
+
+    /**
+     * Öneki taşıyan terimlerden en sık geçenleri seçer
+     */
+    private Postings[] expand(String prefix) {
+        Map<String, Postings> matching = terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        Postings[] expansions = matching.values().toArray(new Postings[0]);
+        if (expansions.length > maxPrefixExpansions) {
+            Arrays.sort(expansions, Comparator.comparingInt((Postings postings) -> postings.size).reversed());
+            expansions = Arrays.copyOf(expansions, maxPrefixExpansions);
+        }
+        return expansions;
+    }
+
+    private List<Hit> score(List<Clause> clauses, int liveDocs, int limit) {
+        float averageLength = (float) totalLength / liveDocs;
+        for (Clause clause : clauses) {
+            for (int i = 0; i < clause.postings.length; i++) {
+                int documentFrequency = clause.postings[i].size;
+                clause.idf[i] = (float) Math.log(1 + (docCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+            }
+        }
+
+        // En düşük skor başta; eşit skorda daha eski belge (küçük sıra numarası) önce atılır
+        PriorityQueue<Candidate> top = new PriorityQueue<>(limit + 1,
+                Comparator.comparingDouble((Candidate candidate) -> candidate.score)
+                        .thenComparingInt(candidate -> candidate.doc));
+        int[] candidates = clauses.get(0).candidates();
+        int candidateCount = clauses.get(0).postings.length == 1 ? clauses.get(0).postings[0].size : candidates.length;
+        for (int c = 0; c < candidateCount; c++) {
+            int doc = candidates[c];
+            if (deleted.get(doc)) {
+                continue;
+            }
+            float lengthNorm = k1 * (1 - b + b * docLengths[doc] / averageLength);
+            float score = 0;
+            boolean matchesAll = true;
+            for (Clause clause : clauses) {
+                boolean matched = false;
+                for (int i = 0; i < clause.postings.length; i++) {
+                    Postings postings = clause.postings[i];
+                    int position = advance(postings, clause.cursors[i], doc);
+                    clause.cursors[i] = position;
+                    if (position < postings.size && postings.docs[position] == doc) {
+                        int frequency = postings.freqs[position];
+                        score += clause.idf[i] * frequency * (k1 + 1) / (frequency + lengthNorm);
+                        matched = true;
+                    }
+                }
+                if (!matched) {
+                    matchesAll = false;
+                    break;
+                }
+            }
+            if (!matchesAll) {
+                continue;
+            }
+            if (top.size() < limit) {
+                top.add(new Candidate(doc, score));
+            } else if (score > top.peek().score) {
+                top.poll();
+                top.add(new Candidate(doc, score));
+            }
+        }
+
+        Hit[] hits = new Hit[top.size()];
+        for (int i = hits.length - 1; i >= 0; i--) {
+            Candidate candidate = top.poll();
+            hits[i] = new Hit(docIds[candidate.doc], candidate.score);
+        }
+        return Arrays.asList(hits);
+    }
+
+    /**
+     * postings.docs içinde from'dan itibaren target'a eşit veya büyük ilk konumu bulur
+     */
+    private static int advance(Postings postings, int from, int target) {
+        int[] docs = postings.docs;
+        int size = postings.size;
+        if (from >= size || docs[from] >= target) {
+            return from;
+        }
+        // docs[low] < target; adım ikiye katlanarak hedefi geçen ilk konum aranır
+        int low = from;
+        int step = 1;
+        int high = from + 1;
+        while (high < size && docs[high] < target) {
+            low = high;
+            step <<= 1;
+            high = low + step;
+        }
+        int index = Arrays.binarySearch(docs, low + 1, Math.min(high, size), target);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private void compactIfNeeded() {
+        if (deletedCount < MIN_DELETED_FOR_COMPACTION || deletedCount < docCount * compactionRatio) {
+            return;
+        }
+        int[] remap = new int[docCount];
+        int live = 0;
+        for (int ordinal = 0; ordinal < docCount; ordinal++) {
+            if (deleted.get(ordinal)) {
+                remap[ordinal] = -1;
+            } else {
+                remap[ordinal] = live;
+                docIds[live] = docIds[ordinal];
+                docLengths[live] = docLengths[ordinal];
+                live++;
+            }
+        }
+        Iterator<Postings> iterator = terms.values().iterator();
+        while (iterator.hasNext()) {
+            Postings postings = iterator.next();
+            postings.remap(remap);
+            if (postings.size == 0) {
+                iterator.remove();
+            }
+        }
+        ordinals.clear();
+        for (int ordinal = 0; ordinal < live; ordinal++) {
+            ordinals.put(docIds[ordinal], ordinal);
+        }
+        deleted.clear();
+        deletedCount = 0;
+        docCount = live;
+        compactions++;
+    }
+
+    /**
+     * Bir terimin belge sıra numaraları (artan) ve ağırlıklı frekansları
+     */
+    private static final class Postings {
+        private int[] docs = new int[2];
+        private int[] freqs = new int[2];
+        private int size;
+
+        private void add(int doc, int frequency) {
+            if (size == docs.length) {
+                int capacity = size + (size >> 1) + 1;
+                docs = Arrays.copyOf(docs, capacity);
+                freqs = Arrays.copyOf(freqs, capacity);
+            }
+            docs[size] = doc;
+            freqs[size] = frequency;
+            size++;
+        }
+
+        /**
+         * Silinmiş belgeleri atar, kalanları yeni numaralara taşır (eşleme artan olduğu için sıra korunur)
+         */
+        private void remap(int[] remap) {
+            int written = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = remap[docs[i]];
+                if (doc >= 0) {
+                    docs[written] = doc;
+                    freqs[written] = freqs[i];
+                    written++;
+                }
+            }
+            size = written;
+            if (docs.length > 2 * size + 2) {
+                docs = Arrays.copyOf(docs, size);
+                freqs = Arrays.copyOf(freqs, size);
+            }
+        }
+    }
+
+    /**
+     * Sorgudaki bir terim: tam eşleşmede tek liste, önekte genişletilen terimlerin listeleri.
+     * Belge bu listelerden en az birinde geçmelidir.
+     */
+    private static final class Clause {
+        private final Postings[] postings;
+        private final float[] idf;
+        private final int[] cursors;
+        private final long totalSize;
+
+        private Clause(Postings[] postings) {
+            this.postings = postings;
+            this.idf = new float[postings.length];
+            this.cursors = new int[postings.length];
+            long total = 0;
+            for (Postings p : postings) {
+                total += p.size;
+            }
+            this.totalSize = total;
+        }
+
+        /**
+         * Aday belgeler: tek listede listenin kendisi (ilk size eleman), birden fazla listede sıralı birleşim
+         */
+        private int[] candidates() {
+            if (postings.length == 1) {
+                return postings[0].docs;
+            }
+            int[] union = new int[(int) totalSize];
+            int offset = 0;
+            for (Postings p : postings) {
+                System.arraycopy(p.docs, 0, union, offset, p.size);
+                offset += p.size;
+            }
+            Arrays.sort(union);
+            int unique = 0;
+            for (int i = 0; i < union.length; i++) {
+                if (i == 0 || union[i] != union[i - 1]) {
+                    union[unique++] = union[i];
+                }
+            }
+            return Arrays.copyOf(union, unique);
+        }
+    }
+
+    @AllArgsConstructor
+    private static final class Candidate {
+        private final int doc;
+        private final float score;
+    }
+
+    /**
+     * long → int açık adresli (linear probing) harita; 1M ürün için Long/Integer kutulamasından kaçınır.
+     * Bulunamayan anahtar için -1 döner.
+     */
+    private static final class LongIntMap {
+        private static final long EMPTY = Long.MIN_VALUE;
+
+        private long[] keys;
+        private int[] values;
+        private int mask;
+        private int size;
+
+        private LongIntMap() {
+            allocate(1024);
+        }
+
+        private void put(long key, int value) {
+            if ((size + 1) * 2 > keys.length) {
+                resize();
+            }
+            int slot = slot(key);
+            while (keys[slot] != EMPTY) {
+                if (keys[slot] == key) {
+                    values[slot] = value;
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            values[slot] = value;
+            size++;
+        }
+
+        private int remove(long key) {
+            int slot = slot(key);
+            while (keys[slot] != EMPTY) {
+                if (keys[slot] == key) {
+                    int value = values[slot];
+                    closeGap(slot);
+                    size--;
+                    return value;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        private void clear() {
+            Arrays.fill(keys, EMPTY);
+            size = 0;
+        }
+
+        /**
+         * Silinen yuvadan sonraki zincirde, ideal yuvası boşluğu geçmeyen kayıtları geri kaydırır
+         */
+        private void closeGap(int gap) {
+            int slot = gap;
+            while (true) {
+                slot = (slot + 1) & mask;
+                if (keys[slot] == EMPTY) {
+                    break;
+                }
+                int ideal = slot(keys[slot]);
+                if (((slot - ideal) & mask) >= ((slot - gap) & mask)) {
+                    keys[gap] = keys[slot];
+                    values[gap] = values[slot];
+                    gap = slot;
+                }
+            }
+            keys[gap] = EMPTY;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            allocate(keys.length * 2);
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private void allocate(int capacity) {
+            keys = new long[capacity];
+            values = new int[capacity];
+            mask = capacity - 1;
+            size = 0;
+            Arrays.fill(keys, EMPTY);
+        }
+
+        private int slot(long key) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+    }
+}
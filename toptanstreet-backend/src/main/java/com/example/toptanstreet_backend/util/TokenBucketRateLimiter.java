@@ -0,0 +1,88 @@
+package com.example.toptanstreet_backend.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Anahtar başına kilitsiz token bucket. Her kova GCRA (generic cell rate algorithm)
+ * ile tek bir long değer (teorik varış zamanı) olarak tutulur ve tek CAS ile güncellenir;
+ * kapasite kadar ani isteğe izin verir, ardından pencere başına kapasite kadar token yeniler.
+ *
+ * Kovalar Caffeine'in bölümlenmiş (striped) haritasında tutulur ve boşta kalınca düşer,
+ * böylece bellek kullanımı aktif anahtar sayısıyla sınırlı kalır.
+ */
+public class TokenBucketRateLimiter {
+
+    private final Cache<String, AtomicLong> buckets;
+    private final LongSupplier nanoClock;
+
+    /**
+     * @param idleExpiry Bu süre boyunca kullanılmayan kovalar silinir (pencereden kısa olmamalı)
+     * @param maxKeys    Tutulacak en fazla kova sayısı
+     */
+    public TokenBucketRateLimiter(Duration idleExpiry, long maxKeys) {
+        this(idleExpiry, maxKeys, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(Duration idleExpiry, long maxKeys, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(idleExpiry)
+                .maximumSize(maxKeys)
+                .ticker(nanoClock::getAsLong)
+                .build();
+    }
+
+    /**
+     * Anahtarın kovasından bir token almaya çalışır
+     *
+     * @param key  Kova anahtarı (ör. "login:ip:10.0.0.1")
+     * @param rule Kapasite ve yenilenme kuralı
+     * @return 0 ise izin verildi; değilse bir sonraki token için beklenmesi gereken nanosaniye
+     */
+    public long tryAcquire(String key, Rule rule) {
+        long now = nanoClock.getAsLong();
+        AtomicLong theoreticalArrival = buckets.get(key, k -> new AtomicLong(now));
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long allowedAt = tat - rule.burstToleranceNanos;
+            if (now - allowedAt < 0) {
+                return allowedAt - now;
+            }
+            long next = Math.max(tat, now) + rule.emissionIntervalNanos;
+            if (theoreticalArrival.compareAndSet(tat, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public long size() {
+        return buckets.estimatedSize();
+    }
+
+    /**
+     * Pencere başına kapasite kadar istek; kapasite kadar ani isteğe izin verilir
+     */
+    public static final class Rule {
+
+        private final long emissionIntervalNanos;
+        private final long burstToleranceNanos;
+
+        public Rule(int capacity, Duration window) {
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("capacity pozitif olmalı");
+            }
+            this.emissionIntervalNanos = window.toNanos() / capacity;
+            this.burstToleranceNanos = emissionIntervalNanos * (capacity - 1);
+        }
+
+        public long getEmissionInterval(TimeUnit unit) {
+            return unit.convert(emissionIntervalNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.toptanstreet_backend.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Arama için Türkçe metni terimlere ayırır. Harfler küçültülür ve Türkçe karakterler ASCII
+ * karşılıklarına katlanır (ı/İ/I → i, ş → s, ğ → g, ü → u, ö → o, ç → c, â → a, î → i, û → u),
+ * böylece "IŞIK", "ışık" ve "isik" aynı terime düşer. Harf ve rakam dışındaki karakterler
+ * ayırıcıdır; kesme işaretinden sonraki ek atılır ("Samsung'un" → "samsung"). Birleşik
+ * aksan işaretleri (NFD girdide İ'nin noktası gibi) yok sayılır.
+ */
+public final class TurkishTextAnalyzer {
+
+    /** Bu uzunluğu aşan terimler kesilir (ürün kodları, URL parçaları) */
+    public static final int MAX_TOKEN_LENGTH = 40;
+
+    private TurkishTextAnalyzer() {
+    }
+
+    /**
+     * @param text Metin (null olabilir)
+     * @return Katlanmış terimler, metindeki sırayla (tekrarlar dahil)
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        StringBuilder current = new StringBuilder();
+        boolean skippingSuffix = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            int type = Character.getType(c);
+            if (type == Character.NON_SPACING_MARK || type == Character.ENCLOSING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                if (!skippingSuffix && current.length() < MAX_TOKEN_LENGTH) {
+                    current.append(fold(c));
+                }
+            } else if ((c == '\'' || c == '’') && current.length() > 0) {
+                skippingSuffix = true;
+            } else {
+                flush(current, tokens);
+                skippingSuffix = false;
+            }
+        }
+        flush(current, tokens);
+        return tokens;
+    }
+
+    /**
+     * Tek bir karakteri küçültüp katlar
+     */
+    static char fold(char c) {
+        return switch (c) {
+            case 'ı', 'I', 'İ', 'î', 'Î' -> 'i';
+            case 'ş', 'Ş' -> 's';
+            case 'ğ', 'Ğ' -> 'g';
+            case 'ü', 'Ü', 'û', 'Û' -> 'u';
+            case 'ö', 'Ö' -> 'o';
+            case 'ç', 'Ç' -> 'c';
+            case 'â', 'Â' -> 'a';
+            default -> Character.toLowerCase(c);
+        };
+    }
+
+    private static void flush(StringBuilder current, List<String> tokens) {
+        if (current.length() > 0) {
+            tokens.add(current.toString());
+            current.setLength(0);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.toptanstreet_backend.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveBCryptPasswordEncoderTests {
+
+	@Test
+	void fixedStrengthRehashesInBothDirections() {
+		AdaptiveBCryptPasswordEncoder encoder = AdaptiveBCryptPasswordEncoder.fixed(5);
+
+		assertThat(encoder.upgradeEncoding(hash(4))).isTrue();
+		assertThat(encoder.upgradeEncoding(hash(5))).isFalse();
+		// Operatör maliyeti düşürdüyse eski yüksek maliyetli hash'ler de yenilenir
+		assertThat(encoder.upgradeEncoding(hash(6))).isTrue();
+		assertThat(encoder.upgradeEncoding("düz-metin")).isFalse();
+	}
+
+	@Test
+	void calibratedStrengthOnlyDowngradesWhenAllowed() {
+		AdaptiveBCryptPasswordEncoder upgradeOnly = AdaptiveBCryptPasswordEncoder.calibrate(1, 4, 4, false);
+		AdaptiveBCryptPasswordEncoder downgrading = AdaptiveBCryptPasswordEncoder.calibrate(1, 4, 4, true);
+
+		assertThat(upgradeOnly.getStrength()).isEqualTo(4);
+		// Kalibrasyon bir açılışta daha düşük maliyet seçse de güçlü hash'ler zayıflatılmaz
+		assertThat(upgradeOnly.upgradeEncoding(hash(5))).isFalse();
+		assertThat(downgrading.upgradeEncoding(hash(5))).isTrue();
+		assertThat(upgradeOnly.upgradeEncoding(hash(4))).isFalse();
+		assertThat(downgrading.upgradeEncoding(hash(4))).isFalse();
+	}
+
+	@Test
+	void rehashedPasswordStillMatchesAtTheNewStrength() {
+		AdaptiveBCryptPasswordEncoder encoder = AdaptiveBCryptPasswordEncoder.fixed(4);
+		String stored = hash(6);
+
+		assertThat(encoder.matches("sifre", stored)).isTrue();
+		String rehashed = encoder.encode("sifre");
+		assertThat(AdaptiveBCryptPasswordEncoder.strengthOf(rehashed)).isEqualTo(4);
+		assertThat(encoder.upgradeEncoding(rehashed)).isFalse();
+		assertThat(encoder.matches("sifre", rehashed)).isTrue();
+	}
+
+	private static String hash(int strength) {
+		return new BCryptPasswordEncoder(strength).encode("sifre");
+	}
+
+}
@@ -0,0 +1,79 @@
+package com.example.toptanstreet_backend.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileSpanExporterTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void writesOneJsonLinePerSpanWithParentLinks() throws Exception {
+		Path file = dir.resolve("spans.jsonl");
+		SdkTracerProvider provider = provider(new FileSpanExporter(file, 1024 * 1024, objectMapper.getFactory()));
+		Tracer tracer = provider.get("test");
+
+		Span parent = tracer.spanBuilder("http post /api/v1/auth/initiate-register").startSpan();
+		try (Scope ignored = parent.makeCurrent()) {
+			Span child = tracer.spanBuilder("UserRepository.existsByEmail")
+					.setAttribute("app.layer", "repository")
+					.startSpan();
+			child.addEvent("dequeued");
+			child.end();
+		}
+		parent.end();
+		provider.shutdown().join(5, TimeUnit.SECONDS);
+
+		List<String> lines = Files.readAllLines(file);
+		assertThat(lines).hasSize(2);
+		JsonNode child = objectMapper.readTree(lines.get(0));
+		JsonNode root = objectMapper.readTree(lines.get(1));
+
+		assertThat(child.get("name").asText()).isEqualTo("UserRepository.existsByEmail");
+		assertThat(child.get("traceId").asText()).isEqualTo(root.get("traceId").asText());
+		assertThat(child.get("parentSpanId").asText()).isEqualTo(root.get("spanId").asText());
+		assertThat(child.get("attributes").get("app.layer").asText()).isEqualTo("repository");
+		assertThat(child.get("events").get(0).get("name").asText()).isEqualTo("dequeued");
+		assertThat(root.has("parentSpanId")).isFalse();
+		assertThat(root.get("durationMicros").asLong()).isGreaterThanOrEqualTo(child.get("durationMicros").asLong());
+	}
+
+	@Test
+	void rotatesFileWhenMaxSizeIsReached() throws Exception {
+		Path file = dir.resolve("spans.jsonl");
+		SdkTracerProvider provider = provider(new FileSpanExporter(file, 1, objectMapper.getFactory()));
+		Tracer tracer = provider.get("test");
+
+		tracer.spanBuilder("first").startSpan().end();
+		tracer.spanBuilder("second").startSpan().end();
+		provider.shutdown().join(5, TimeUnit.SECONDS);
+
+		assertThat(Files.readAllLines(dir.resolve("spans.jsonl.1"))).singleElement()
+				.satisfies(line -> assertThat(objectMapper.readTree(line).get("name").asText()).isEqualTo("second"));
+		assertThat(Files.exists(file)).isFalse();
+	}
+
+	private static SdkTracerProvider provider(FileSpanExporter exporter) {
+		return SdkTracerProvider.builder()
+				.addSpanProcessor(SimpleSpanProcessor.create(exporter))
+				.build();
+	}
+
+}
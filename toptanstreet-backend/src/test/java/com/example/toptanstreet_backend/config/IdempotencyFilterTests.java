@@ -0,0 +1,173 @@
+package com.example.toptanstreet_backend.config;
+
+import com.example.toptanstreet_backend.util.IdempotencyStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyFilterTests {
+
+	private static final String PATH = "/api/v1/verification/send";
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final IdempotencyFilter filter = new IdempotencyFilter(new IdempotencyStore(Duration.ofMinutes(10), 1_000),
+			Set.of(PATH), Duration.ofSeconds(5), 16_384, 1_024, new ObjectMapper(), meterRegistry);
+	private final AtomicInteger executions = new AtomicInteger();
+
+	@Test
+	void replaysStoredResponseWithoutRunningTheChainAgain() throws Exception {
+		FilterChain chain = respondWith(200, "{\"success\":true}");
+
+		MockHttpServletResponse first = send("key-1", "{\"email\":\"a@b.c\"}", chain);
+		MockHttpServletResponse second = send("key-1", "{\"email\":\"a@b.c\"}", chain);
+
+		assertThat(executions).hasValue(1);
+		assertThat(second.getStatus()).isEqualTo(200);
+		assertThat(second.getContentAsString()).isEqualTo(first.getContentAsString());
+		assertThat(second.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+		assertThat(first.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+	}
+
+	@Test
+	void concurrentDuplicateWaitsForTheFirstRequest() throws Exception {
+		CountDownLatch entered = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		FilterChain slow = (request, response) -> {
+			executions.incrementAndGet();
+			entered.countDown();
+			try {
+				release.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			response.setContentType("application/json");
+			response.getOutputStream().write("{\"success\":true}".getBytes(StandardCharsets.UTF_8));
+		};
+
+		CompletableFuture<MockHttpServletResponse> first = CompletableFuture.supplyAsync(() -> sendUnchecked("key-2", slow));
+		assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+		CompletableFuture<MockHttpServletResponse> duplicate = CompletableFuture.supplyAsync(() -> sendUnchecked("key-2", slow));
+		Thread.sleep(100);
+		assertThat(duplicate).isNotDone();
+
+		release.countDown();
+		assertThat(first.get(5, TimeUnit.SECONDS).getContentAsString()).isEqualTo("{\"success\":true}");
+		assertThat(duplicate.get(5, TimeUnit.SECONDS).getContentAsString()).isEqualTo("{\"success\":true}");
+		assertThat(executions).hasValue(1);
+	}
+
+	@Test
+	void onlyOneWaiterRunsTheRequestWhenTheOwnerThrows() throws Exception {
+		CountDownLatch entered = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		FilterChain failsFirst = (request, response) -> {
+			if (executions.incrementAndGet() == 1) {
+				entered.countDown();
+				try {
+					release.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				throw new IllegalStateException("SMTP bağlantısı koptu");
+			}
+			response.setContentType("application/json");
+			response.getOutputStream().write("{\"success\":true}".getBytes(StandardCharsets.UTF_8));
+		};
+
+		CompletableFuture<MockHttpServletResponse> owner = CompletableFuture.supplyAsync(() -> sendUnchecked("key-4", failsFirst));
+		assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+		List<CompletableFuture<MockHttpServletResponse>> waiters = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			waiters.add(CompletableFuture.supplyAsync(() -> sendUnchecked("key-4", failsFirst)));
+		}
+		Thread.sleep(100);
+		assertThat(waiters).noneMatch(CompletableFuture::isDone);
+
+		release.countDown();
+		assertThatThrownBy(() -> owner.get(5, TimeUnit.SECONDS)).hasRootCauseMessage("SMTP bağlantısı koptu");
+		for (CompletableFuture<MockHttpServletResponse> waiter : waiters) {
+			assertThat(waiter.get(5, TimeUnit.SECONDS).getContentAsString()).isEqualTo("{\"success\":true}");
+		}
+		// Sahip + bekleyenlerden yeni sahip olan tek istek
+		assertThat(executions).hasValue(2);
+	}
+
+	@Test
+	void doesNotStoreErrorsAndRejectsKeyReuseWithDifferentBody() throws Exception {
+		send("key-3", "{\"email\":\"a@b.c\"}", respondWith(400, "{\"success\":false}"));
+		MockHttpServletResponse retried = send("key-3", "{\"email\":\"a@b.c\"}", respondWith(200, "{\"success\":true}"));
+		MockHttpServletResponse reused = send("key-3", "{\"email\":\"x@y.z\"}", respondWith(200, "{\"success\":true}"));
+
+		assertThat(executions).hasValue(2);
+		assertThat(retried.getStatus()).isEqualTo(200);
+		assertThat(reused.getStatus()).isEqualTo(422);
+	}
+
+	@Test
+	void rejectsOversizedBodiesWithoutRunningTheChain() throws Exception {
+		MockHttpServletResponse response = send("key-5", "{\"email\":\"" + "a".repeat(2_048) + "\"}",
+				respondWith(200, "{\"success\":true}"));
+
+		assertThat(response.getStatus()).isEqualTo(413);
+		assertThat(executions).hasValue(0);
+	}
+
+	@Test
+	void reusesTheBodyAlreadyCachedByAnEarlierFilter() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", PATH);
+		request.addHeader(IdempotencyFilter.KEY_HEADER, "key-6");
+		request.setContent("{\"email\":\"a@b.c\"}".getBytes(StandardCharsets.UTF_8));
+		CachedBodyHttpServletRequest cached = new CachedBodyHttpServletRequest(request, 1_024);
+		AtomicReference<ServletRequest> forwarded = new AtomicReference<>();
+
+		filter.doFilter(cached, new MockHttpServletResponse(), (req, res) -> forwarded.set(req));
+
+		assertThat(forwarded.get()).isSameAs(cached);
+	}
+
+	private FilterChain respondWith(int status, String body) {
+		return (request, response) -> {
+			executions.incrementAndGet();
+			((HttpServletResponse) response).setStatus(status);
+			response.setContentType("application/json");
+			response.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+		};
+	}
+
+	private MockHttpServletResponse send(String key, String body, FilterChain chain) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", PATH);
+		request.addHeader(IdempotencyFilter.KEY_HEADER, key);
+		request.setContent(body.getBytes(StandardCharsets.UTF_8));
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, chain);
+		return response;
+	}
+
+	private MockHttpServletResponse sendUnchecked(String key, FilterChain chain) {
+		try {
+			return send(key, "{\"email\":\"a@b.c\"}", chain);
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
@@ -0,0 +1,65 @@
+package com.example.toptanstreet_backend.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OpsTokenAuthenticationFilterTests {
+
+	private final OpsTokenAuthenticationFilter filter = new OpsTokenAuthenticationFilter("secret");
+
+	@AfterEach
+	void clearContext() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void grantsOpsRoleOnPrometheusAndOpsPathsWithTheToken() throws Exception {
+		Authentication prometheus = authenticate("/actuator/prometheus", "secret");
+		assertThat(prometheus).isNotNull();
+		assertThat(prometheus.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_OPS");
+		assertThat(authenticate("/api/v1/ops/jfr", "secret")).isNotNull();
+	}
+
+	@Test
+	void ignoresWrongTokensAndOtherPaths() throws Exception {
+		assertThat(authenticate("/actuator/prometheus", "wrong")).isNull();
+		assertThat(authenticate("/actuator/prometheus", null)).isNull();
+		assertThat(authenticate("/api/v1/auth/login", "secret")).isNull();
+		assertThat(authenticate("/actuator/health", "secret")).isNull();
+	}
+
+	@Test
+	void authorizesNothingWhenNoTokenIsConfigured() throws Exception {
+		OpsTokenAuthenticationFilter disabled = new OpsTokenAuthenticationFilter("");
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/actuator/prometheus");
+		request.addHeader(OpsTokenAuthenticationFilter.HEADER, "");
+		AtomicReference<Authentication> seen = new AtomicReference<>();
+
+		disabled.doFilter(request, new MockHttpServletResponse(),
+				(req, res) -> seen.set(SecurityContextHolder.getContext().getAuthentication()));
+
+		assertThat(seen.get()).isNull();
+	}
+
+	private Authentication authenticate(String path, String token) throws Exception {
+		SecurityContextHolder.clearContext();
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+		if (token != null) {
+			request.addHeader(OpsTokenAuthenticationFilter.HEADER, token);
+		}
+		AtomicReference<Authentication> seen = new AtomicReference<>();
+		filter.doFilter(request, new MockHttpServletResponse(),
+				(req, res) -> seen.set(SecurityContextHolder.getContext().getAuthentication()));
+		return seen.get();
+	}
+
+}
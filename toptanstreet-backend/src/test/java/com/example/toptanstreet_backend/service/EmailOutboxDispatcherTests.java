@@ -0,0 +1,89 @@
+package com.example.toptanstreet_backend.service;
+
+import com.example.toptanstreet_backend.exception.ServiceBusyException;
+import com.example.toptanstreet_backend.model.EmailOutbox;
+import com.example.toptanstreet_backend.model.EmailOutboxStatus;
+import com.example.toptanstreet_backend.model.MailPriority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EmailOutboxDispatcherTests {
+
+	private static final int BATCH_SIZE = 10;
+	private static final int SATURATED_BATCHES = 150;
+
+	@Test
+	void pendingCountsFollowTheDatabaseWhileTheDispatcherStaysSaturated() throws Exception {
+		// Saniyede 1000 mesaj tahminiyle başlar, tarama aralığı 1 sn
+		MailLoadShedder shedder = new MailLoadShedder(new SimpleMeterRegistry(), 0, 1000, 100, 1000, 1000);
+		EmailOutboxService outboxService = mock(EmailOutboxService.class);
+		EmailService emailService = mock(EmailService.class);
+
+		// Kuyruk hiç boşalmaz: her tur dolu bir batch döner, veritabanında hep bir batch kadar kod bekler
+		AtomicInteger claimed = new AtomicInteger();
+		when(outboxService.getBatchSize()).thenReturn(BATCH_SIZE);
+		when(outboxService.claimDueBatch()).thenAnswer(invocation ->
+				claimed.incrementAndGet() <= SATURATED_BATCHES ? batch() : List.of());
+		doAnswer(invocation -> {
+			shedder.refresh(Map.of(MailPriority.CRITICAL, (long) BATCH_SIZE));
+			return null;
+		}).when(outboxService).refreshBacklogStats();
+		when(emailService.createMessage(anyString(), anyString(), any())).thenReturn(mock(MimeMessage.class));
+
+		// Gönderim sürerken gönderim hızında yeni doğrulama kodları gelir; 2 sn içinde gitmeleri gerekir
+		AtomicInteger shed = new AtomicInteger();
+		AtomicLong maxPending = new AtomicLong();
+		when(emailService.deliverBatch(anyList())).thenAnswer(invocation -> {
+			Thread.sleep(10);
+			for (int i = 0; i < BATCH_SIZE; i++) {
+				try {
+					shedder.admit(MailPriority.CRITICAL, LocalDateTime.now().plusSeconds(2));
+				} catch (ServiceBusyException e) {
+					shed.incrementAndGet();
+				}
+			}
+			maxPending.accumulateAndGet(shedder.getPending(MailPriority.CRITICAL), Math::max);
+			return Map.of();
+		});
+
+		new EmailOutboxDispatcher(outboxService, emailService, shedder, Tracer.NOOP).dispatch();
+
+		assertThat(claimed.get()).isEqualTo(SATURATED_BATCHES + 1);
+		// Gönderilenler her batch'ten sonra düşülür; sayılar tek bir turun eklemeleriyle sınırlı kalır
+		assertThat(maxPending.get()).isLessThanOrEqualTo(2L * BATCH_SIZE);
+		assertThat(shed.get()).isZero();
+	}
+
+	private static List<EmailOutbox> batch() {
+		List<EmailOutbox> batch = new ArrayList<>(BATCH_SIZE);
+		for (int i = 0; i < BATCH_SIZE; i++) {
+			EmailOutbox outbox = new EmailOutbox();
+			outbox.setId((long) i);
+			outbox.setRecipient("magaza" + i + "@toptanstreet.test");
+			outbox.setSubject("Doğrulama kodu");
+			outbox.setContent("123456");
+			outbox.setStatus(EmailOutboxStatus.PENDING);
+			outbox.setPriority(MailPriority.CRITICAL);
+			outbox.setDeadline(LocalDateTime.now().plusMinutes(5));
+			batch.add(outbox);
+		}
+		return batch;
+	}
+}
@@ -0,0 +1,67 @@
+package com.example.toptanstreet_backend.service;
+
+import com.example.toptanstreet_backend.dto.JfrRecordingInfo;
+import com.example.toptanstreet_backend.dto.JfrStartRequest;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JfrRecordingServiceTests {
+
+	@TempDir
+	Path directory;
+
+	private JfrRecordingService service;
+
+	@BeforeEach
+	void setUp() {
+		service = new JfrRecordingService(directory.toString(), 1, 5, 60, 16);
+	}
+
+	@AfterEach
+	void tearDown() {
+		service.destroy();
+	}
+
+	@Test
+	void stoppedRecordingIsReadableAndDeletable() throws Exception {
+		JfrStartRequest request = new JfrStartRequest();
+		request.setSettings("default");
+		request.setEvents(Map.of("jdk.ObjectAllocationSample#enabled", "false"));
+		JfrRecordingInfo started = service.start(request);
+		assertThat(started.getState()).isEqualTo("RUNNING");
+
+		JfrRecordingInfo stopped = service.stop(started.getId());
+		// Hedef dosyası olan kayıt durunca JFR tarafından dosyaya yazılıp kapatılır
+		assertThat(stopped.getState()).isIn("STOPPED", "CLOSED");
+		assertThat(stopped.getSizeBytes()).isPositive();
+
+		Path file = service.file(started.getId());
+		assertThat(RecordingFile.readAllEvents(file)).isNotEmpty();
+
+		service.delete(started.getId());
+		assertThat(Files.exists(file)).isFalse();
+		assertThatThrownBy(() -> service.file(started.getId())).isInstanceOf(NoSuchElementException.class);
+	}
+
+	@Test
+	void rejectsSecondActiveRecordingAndUnknownSettings() throws Exception {
+		service.start(new JfrStartRequest());
+
+		assertThatThrownBy(() -> service.start(new JfrStartRequest())).isInstanceOf(IllegalStateException.class);
+
+		JfrStartRequest invalid = new JfrStartRequest();
+		invalid.setSettings("../etc/passwd");
+		assertThatThrownBy(() -> service.start(invalid)).isInstanceOf(IllegalArgumentException.class);
+	}
+}
@@ -0,0 +1,68 @@
+package com.example.toptanstreet_backend.service;
+
+import com.example.toptanstreet_backend.dto.JwtPrincipal;
+import com.example.toptanstreet_backend.model.User;
+import com.example.toptanstreet_backend.model.UserRole;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtServiceTests {
+
+	private static final String SECRET = "test_secret_key_for_toptanstreet_jwt_service_tests_0123456789";
+
+	private SimpleMeterRegistry meterRegistry;
+	private JwtService jwtService;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		jwtService = new JwtService(meterRegistry, SECRET, 60_000, 100, 60_000);
+	}
+
+	@Test
+	void verifiesIssuedTokenAndCachesResult() {
+		String token = jwtService.generateToken(user());
+
+		Optional<JwtPrincipal> first = jwtService.verify(token);
+		Optional<JwtPrincipal> second = jwtService.verify(token);
+
+		assertThat(first).isPresent();
+		assertThat(first.get().getUserId()).isEqualTo(42L);
+		assertThat(first.get().getEmail()).isEqualTo("magaza@toptanstreet.test");
+		assertThat(first.get().getRole()).isEqualTo(UserRole.RETAILER);
+		assertThat(second).containsSame(first.get());
+		assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1.0);
+	}
+
+	@Test
+	void rejectsTamperedAndForeignTokens() {
+		String token = jwtService.generateToken(user());
+		String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+		JwtService otherKey = new JwtService(new SimpleMeterRegistry(), SECRET.replace('t', 'x'), 60_000, 100, 60_000);
+
+		assertThat(jwtService.verify(tampered)).isEmpty();
+		assertThat(otherKey.verify(token)).isEmpty();
+		assertThat(jwtService.verify("not-a-jwt")).isEmpty();
+	}
+
+	@Test
+	void rejectsExpiredToken() {
+		JwtService expired = new JwtService(new SimpleMeterRegistry(), SECRET, -1_000, 100, 60_000);
+
+		assertThat(jwtService.verify(expired.generateToken(user()))).isEmpty();
+	}
+
+	private User user() {
+		User user = new User();
+		user.setId(42L);
+		user.setEmail("magaza@toptanstreet.test");
+		user.setRole(UserRole.RETAILER);
+		return user;
+	}
+
+}
@@ -0,0 +1,95 @@
+package com.example.toptanstreet_backend.service;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.example.toptanstreet_backend.exception.ServiceBusyException;
+import com.example.toptanstreet_backend.model.MailPriority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MailLoadShedderTests {
+
+	// Her ret bir WARN satırı yazar; testler ret sayısını sayaçtan doğrular
+	private final Logger shedderLogger = (Logger) LoggerFactory.getLogger(MailLoadShedder.class);
+	private Level previousLevel;
+
+	private SimpleMeterRegistry meterRegistry;
+	private MailLoadShedder shedder;
+
+	@BeforeEach
+	void setUp() {
+		previousLevel = shedderLogger.getLevel();
+		shedderLogger.setLevel(Level.ERROR);
+		meterRegistry = new SimpleMeterRegistry();
+		// Saniyede 10 mesaj, BULK en fazla 100, NORMAL en fazla 1000 bekleyen
+		shedder = new MailLoadShedder(meterRegistry, 0, 1000, 100, 10, 1000);
+	}
+
+	@AfterEach
+	void restoreLogLevel() {
+		shedderLogger.setLevel(previousLevel);
+	}
+
+	@Test
+	void bulkBurstIsShedWhileVerificationCodesAreStillAdmitted() {
+		int admitted = 0;
+		int shed = 0;
+		for (int i = 0; i < 1000; i++) {
+			try {
+				shedder.admit(MailPriority.BULK, null);
+				admitted++;
+			} catch (ServiceBusyException e) {
+				shed++;
+				assertThat(e.getRetryAfterSeconds()).isPositive();
+			}
+		}
+		assertThat(admitted).isEqualTo(100);
+		assertThat(shed).isEqualTo(900);
+		assertThat(meterRegistry.get("mail.outbox.shed").tags("priority", "bulk", "reason", "limit").counter().count())
+				.isEqualTo(900);
+
+		// Toplu e-postalar doğrulama kodunun önünde sayılmaz: 5 dakikalık kod hemen kabul edilir
+		shedder.admit(MailPriority.CRITICAL, LocalDateTime.now().plusMinutes(5));
+		assertThat(shedder.getPending(MailPriority.CRITICAL)).isEqualTo(1);
+	}
+
+	@Test
+	void verificationCodeIsRejectedWhenItWouldExpireInTheQueue() {
+		// Önünde 3000 kod var, saniyede 10 mesajla 5 dakikadan uzun sürer
+		shedder.refresh(Map.of(MailPriority.CRITICAL, 3000L));
+
+		assertThatThrownBy(() -> shedder.admit(MailPriority.CRITICAL, LocalDateTime.now().plusMinutes(5)))
+				.isInstanceOf(ServiceBusyException.class)
+				.satisfies(e -> assertThat(((ServiceBusyException) e).getRetryAfterSeconds()).isBetween(1L, 300L));
+		assertThat(shedder.getPending(MailPriority.CRITICAL)).isEqualTo(3000);
+
+		// Gönderim hızı artınca aynı kuyrukla kabul edilir
+		for (int i = 0; i < 50; i++) {
+			shedder.recordThroughput(1000, 1_000_000_000L);
+		}
+		shedder.admit(MailPriority.CRITICAL, LocalDateTime.now().plusMinutes(5));
+		assertThat(shedder.getPending(MailPriority.CRITICAL)).isEqualTo(3001);
+	}
+
+	@Test
+	void refreshReplacesLocalCounts() {
+		for (int i = 0; i < 100; i++) {
+			shedder.admit(MailPriority.BULK, null);
+		}
+		assertThatThrownBy(() -> shedder.admit(MailPriority.BULK, null)).isInstanceOf(ServiceBusyException.class);
+
+		// Dispatcher kuyruğu boşalttı
+		shedder.refresh(Map.of());
+		shedder.admit(MailPriority.BULK, null);
+		assertThat(shedder.getPending(MailPriority.BULK)).isEqualTo(1);
+	}
+}
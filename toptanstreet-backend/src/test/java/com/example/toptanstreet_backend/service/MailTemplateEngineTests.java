@@ -0,0 +1,74 @@
+package com.example.toptanstreet_backend.service;
+
+import com.example.toptanstreet_backend.model.MailTemplateType;
+import jakarta.mail.BodyPart;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.internet.MimeMultipart;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MailTemplateEngineTests {
+
+	private final MailTemplateEngine engine = new MailTemplateEngine(List.of("tr", "en"), "tr");
+	private final Session session = Session.getInstance(new Properties());
+
+	@Test
+	void precompiledMessageDecodesToRenderedTemplate() throws Exception {
+		Map<String, String> fields = Map.of("firstName", "Çağrı <b>& Şule</b>");
+		String subject = engine.renderSubject(MailTemplateType.WELCOME, Locale.forLanguageTag("tr"), fields);
+		MimeMessage message = engine.createMessage(session, "noreply@toptanstreet.test", "user@toptanstreet.test",
+				subject, MailTemplateType.WELCOME, Locale.forLanguageTag("tr"), fields);
+
+		ByteArrayOutputStream raw = new ByteArrayOutputStream();
+		message.writeTo(raw);
+		for (String line : raw.toString(StandardCharsets.US_ASCII).split("\r\n")) {
+			assertThat(line.length()).isLessThanOrEqualTo(998);
+		}
+
+		MimeMessage parsed = new MimeMessage(session, new ByteArrayInputStream(raw.toByteArray()));
+		assertThat(parsed.getSubject()).isEqualTo("Toptan Street'e hoş geldiniz, Çağrı <b>& Şule</b>");
+		assertThat(parsed.getMessageID()).isNotNull();
+
+		MimeMultipart multipart = (MimeMultipart) parsed.getContent();
+		BodyPart text = multipart.getBodyPart(0);
+		BodyPart html = multipart.getBodyPart(1);
+		assertThat(text.isMimeType("text/plain")).isTrue();
+		assertThat((String) text.getContent()).contains("Merhaba Çağrı <b>& Şule</b>,");
+		assertThat(html.isMimeType("text/html")).isTrue();
+		assertThat(((String) html.getContent()).replace("\r\n", "\n"))
+				.isEqualTo(engine.renderHtml(MailTemplateType.WELCOME, Locale.forLanguageTag("tr"), fields))
+				.contains("Merhaba Çağrı &lt;b&gt;&amp; Şule&lt;/b&gt;,");
+	}
+
+	@Test
+	void quotedPrintableLinesStayWithinLimitAroundLongValues() {
+		String encoded = new String(MailSkeleton.quotedPrintable("ğ".repeat(200) + " \nson "), StandardCharsets.US_ASCII);
+		for (String line : encoded.split("\r\n")) {
+			assertThat(line.length()).isLessThanOrEqualTo(76);
+		}
+		assertThat(encoded).endsWith("son=20");
+	}
+
+	@Test
+	void fallsBackToDefaultLocaleAndRejectsMissingFields() {
+		assertThat(engine.resolveLocale(Locale.GERMAN)).isEqualTo(Locale.forLanguageTag("tr"));
+		assertThat(engine.renderSubject(MailTemplateType.VERIFICATION_CODE, Locale.ENGLISH, Map.of()))
+				.isEqualTo("Toptan Street - Email Verification Code");
+
+		assertThatThrownBy(() -> engine.createMessage(session, "noreply@toptanstreet.test", "user@toptanstreet.test",
+				"konu", MailTemplateType.VERIFICATION_CODE, Locale.ENGLISH, Map.of("code", "123456")))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("expiryMinutes");
+	}
+}
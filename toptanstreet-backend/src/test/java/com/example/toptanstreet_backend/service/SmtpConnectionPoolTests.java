@@ -0,0 +1,82 @@
+package com.example.toptanstreet_backend.service;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SmtpConnectionPoolTests {
+
+	@RegisterExtension
+	static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+	private SimpleMeterRegistry meterRegistry;
+	private JavaMailSenderImpl mailSender;
+	private SmtpConnectionPool pool;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		mailSender = new JavaMailSenderImpl();
+		mailSender.setHost("127.0.0.1");
+		mailSender.setPort(greenMail.getSmtp().getPort());
+		pool = new SmtpConnectionPool(mailSender, meterRegistry, Tracer.NOOP, 2, 5, 60_000, 15_000, 1_000);
+	}
+
+	@AfterEach
+	void tearDown() {
+		pool.destroy();
+	}
+
+	@Test
+	void sendsBatchOverReusedConnections() throws Exception {
+		List<MimeMessage> messages = new ArrayList<>();
+		for (int i = 0; i < 12; i++) {
+			messages.add(message("user" + i + "@toptanstreet.test"));
+		}
+
+		Map<Integer, MessagingException> failures = pool.sendBatch(messages);
+
+		assertThat(failures).isEmpty();
+		assertThat(greenMail.getReceivedMessages()).hasSize(12);
+		// 5 mesaj/bağlantı limiti ile 12 mesaj 3 bağlantı açar
+		assertThat(meterRegistry.get("mail.smtp.connections.created").counter().count()).isEqualTo(3.0);
+		// Limite ulaşan bağlantılar kapatılır, sonuncusu havuzda bekler
+		assertThat(pool.getOpenConnections()).isEqualTo(1);
+		assertThat(meterRegistry.get("mail.smtp.send").tag("result", "success").timer().count()).isEqualTo(12);
+	}
+
+	@Test
+	void reusesIdleConnectionAcrossBatches() throws Exception {
+		pool.sendBatch(List.of(message("a@toptanstreet.test")));
+		pool.sendBatch(List.of(message("b@toptanstreet.test")));
+
+		assertThat(greenMail.getReceivedMessages()).hasSize(2);
+		assertThat(meterRegistry.get("mail.smtp.connections.created").counter().count()).isEqualTo(1.0);
+	}
+
+	private MimeMessage message(String to) throws MessagingException {
+		MimeMessage message = mailSender.createMimeMessage();
+		MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+		helper.setFrom("noreply@toptanstreet.test");
+		helper.setTo(to);
+		helper.setSubject("Test");
+		helper.setText("<p>Test</p>", true);
+		return message;
+	}
+
+}
@@ -0,0 +1,87 @@
+package com.example.toptanstreet_backend.service;
+
+import com.example.toptanstreet_backend.model.UserRole;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserImportReaderTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	void readsCsvWithQuotedFieldsAndColumnsInAnyOrder() throws IOException {
+		String csv = "\uFEFFEmail,Role,firstName,lastName,password,city\n"
+				+ "a@b.c,wholesaler,\"Ayşe, Fatma\",\"Kaya \"\"Usta\"\"\",s3cret,İzmir\n"
+				+ "\n"
+				+ " d@e.f ,RETAILER,Ali,Demir,pw,Ankara\n";
+
+		List<UserImportReader.Row> rows = readAll(csv, UserImportReader.Format.CSV);
+
+		assertThat(rows).hasSize(2);
+		assertThat(rows.get(0).getError()).isNull();
+		assertThat(rows.get(0).getLine()).isEqualTo(2);
+		assertThat(rows.get(0).getRequest().getFirstName()).isEqualTo("Ayşe, Fatma");
+		assertThat(rows.get(0).getRequest().getLastName()).isEqualTo("Kaya \"Usta\"");
+		assertThat(rows.get(0).getRequest().getRole()).isEqualTo(UserRole.WHOLESALER);
+		assertThat(rows.get(1).getLine()).isEqualTo(4);
+		assertThat(rows.get(1).getRequest().getEmail()).isEqualTo("d@e.f");
+	}
+
+	@Test
+	void reportsInvalidRowsWithoutStopping() throws IOException {
+		String csv = "firstName,lastName,email,password,role\n"
+				+ "Ali,Demir,not-an-email,pw,RETAILER\n"
+				+ "Ali,Demir,a@b.c,pw,ADMIN\n"
+				+ "\"Ali,Demir,a@b.c,pw,RETAILER\n"
+				+ "Ali,Demir,a@b.c,,RETAILER\n"
+				+ "Ali,Demir,a@b.c,pw,RETAILER\n";
+
+		List<UserImportReader.Row> rows = readAll(csv, UserImportReader.Format.CSV);
+
+		assertThat(rows).extracting(UserImportReader.Row::getError).containsExactly(
+				"Geçersiz e-posta adresi", "Geçersiz rol: ADMIN", "Kapanmamış tırnak", "Şifre zorunludur", null);
+		assertThat(rows).extracting(UserImportReader.Row::getLine).containsExactly(2L, 3L, 4L, 5L, 6L);
+	}
+
+	@Test
+	void rejectsCsvWithMissingHeaderColumns() {
+		assertThatThrownBy(() -> readAll("firstName,email,password\n", UserImportReader.Format.CSV))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("lastname")
+				.hasMessageContaining("role");
+	}
+
+	@Test
+	void readsNdjson() throws IOException {
+		String ndjson = "{\"firstName\":\"Ali\",\"lastName\":\"Demir\",\"email\":\"a@b.c\",\"password\":\"pw\",\"role\":\"RETAILER\"}\n"
+				+ "{\"firstName\":\"Ali\"\n"
+				+ "null\n";
+
+		List<UserImportReader.Row> rows = readAll(ndjson, UserImportReader.Format.NDJSON);
+
+		assertThat(rows).hasSize(3);
+		assertThat(rows.get(0).getError()).isNull();
+		assertThat(rows.get(0).getRequest().getRole()).isEqualTo(UserRole.RETAILER);
+		assertThat(rows.get(1).getError()).startsWith("Geçersiz JSON");
+		assertThat(rows.get(2).getError()).isNotNull();
+	}
+
+	private List<UserImportReader.Row> readAll(String content, UserImportReader.Format format) throws IOException {
+		UserImportReader reader = new UserImportReader(new StringReader(content), format, objectMapper);
+		List<UserImportReader.Row> rows = new ArrayList<>();
+		UserImportReader.Row row;
+		while ((row = reader.next()) != null) {
+			rows.add(row);
+		}
+		return rows;
+	}
+
+}
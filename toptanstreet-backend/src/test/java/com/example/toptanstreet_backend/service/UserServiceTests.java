@@ -0,0 +1,37 @@
+package com.example.toptanstreet_backend.service;
+
+import com.example.toptanstreet_backend.dto.RegisterRequest;
+import com.example.toptanstreet_backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserServiceTests {
+
+	private static final String EMAIL = "magaza@toptanstreet.test";
+
+	private final UserRepository userRepository = mock(UserRepository.class);
+	private final VerificationService verificationService = mock(VerificationService.class);
+	private final RegisteredEmailFilter registeredEmailFilter = mock(RegisteredEmailFilter.class);
+	private final UserService userService = new UserService(userRepository, mock(PasswordHashingService.class),
+			verificationService, mock(VerificationTicketService.class), registeredEmailFilter);
+
+	@Test
+	void registeringAgainAfterTheVerifiedCodeIsPurgedSendsNoNewCode() {
+		when(registeredEmailFilter.mightBeRegistered(EMAIL)).thenReturn(true);
+		when(userRepository.existsByEmail(EMAIL)).thenReturn(true);
+		// Temizlik işi doğrulanmış kodu sildi
+		when(verificationService.isEmailVerified(EMAIL)).thenReturn(false);
+
+		RegisterRequest request = new RegisterRequest();
+		request.setEmail(EMAIL);
+
+		assertThatThrownBy(() -> userService.initiateRegistration(request)).hasMessageContaining("zaten kayıtlı");
+		verify(verificationService, never()).createAndSendVerificationCode(anyString());
+	}
+}
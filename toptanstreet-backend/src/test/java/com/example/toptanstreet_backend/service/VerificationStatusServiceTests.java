@@ -0,0 +1,128 @@
+package com.example.toptanstreet_backend.service;
+
+import com.example.toptanstreet_backend.dto.VerificationStatusEvent;
+import com.example.toptanstreet_backend.exception.RateLimitExceededException;
+import com.example.toptanstreet_backend.exception.ServiceBusyException;
+import com.example.toptanstreet_backend.model.VerificationCode;
+import com.example.toptanstreet_backend.model.VerificationState;
+import com.example.toptanstreet_backend.repository.VerificationCodeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class VerificationStatusServiceTests {
+
+	private static final String EMAIL = "magaza@toptanstreet.test";
+	private static final String IP = "10.0.0.1";
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final VerificationCodeRepository repository = mock(VerificationCodeRepository.class);
+
+	@Test
+	void concurrentLookupsForSameEmailShareOneQuery() throws Exception {
+		CountDownLatch entered = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger queries = new AtomicInteger();
+		when(repository.findTopByEmailOrderByIdDesc(EMAIL)).thenAnswer(invocation -> {
+			queries.incrementAndGet();
+			entered.countDown();
+			release.await(5, TimeUnit.SECONDS);
+			return Optional.of(code(false, LocalDateTime.now().plusMinutes(5)));
+		});
+		VerificationStatusService statusService = new VerificationStatusService(repository, meterRegistry, 60_000, 10, 10, 10);
+
+		List<Future<VerificationStatusEvent>> results = new ArrayList<>();
+		try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+			results.add(executor.submit(() -> statusService.currentStatus(EMAIL)));
+			assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+			for (int i = 0; i < 7; i++) {
+				results.add(executor.submit(() -> statusService.currentStatus(EMAIL)));
+			}
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+			while (coalesced() < 7 && System.nanoTime() < deadline) {
+				Thread.sleep(5);
+			}
+			release.countDown();
+			for (Future<VerificationStatusEvent> result : results) {
+				assertThat(result.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(VerificationState.PENDING);
+			}
+		}
+		assertThat(queries.get()).isEqualTo(1);
+		assertThat(coalesced()).isEqualTo(7.0);
+	}
+
+	@Test
+	void waitersAreReleasedOnVerificationOrExpiryWithoutQuerying() throws Exception {
+		when(repository.findTopByEmailOrderByIdDesc(EMAIL))
+				.thenReturn(Optional.of(code(false, LocalDateTime.now().plusMinutes(5))));
+		when(repository.findTopByEmailOrderByIdDesc("diger@toptanstreet.test"))
+				.thenReturn(Optional.of(code(false, LocalDateTime.now().plusNanos(300_000_000))));
+		VerificationStatusService statusService = new VerificationStatusService(repository, meterRegistry, 60_000, 2, 10, 10);
+
+		statusService.subscribe(EMAIL, IP);
+		statusService.subscribe("diger@toptanstreet.test", IP);
+		assertThat(statusService.getWaitingEmailCount()).isEqualTo(2);
+		assertThatThrownBy(() -> statusService.subscribe("ucuncu@toptanstreet.test", IP))
+				.isInstanceOf(ServiceBusyException.class);
+
+		statusService.verified(EMAIL);
+		assertThat(statusService.getWaitingEmailCount()).isEqualTo(1);
+
+		Thread.sleep(400);
+		statusService.expireWaiting();
+		assertThat(statusService.getWaitingEmailCount()).isZero();
+		assertThat(meterRegistry.get("verification.status.events").tag("status", "EXPIRED").counter().count()).isEqualTo(1.0);
+		// Abonelik başına yalnızca ilk durum sorgusu yapılır
+		assertThat(meterRegistry.get("verification.status.lookups").tag("source", "database").counter().count()).isEqualTo(2.0);
+	}
+
+	@Test
+	void oneClientCannotTakeOverTheStreamCapacity() {
+		when(repository.findTopByEmailOrderByIdDesc(anyString()))
+				.thenReturn(Optional.of(code(false, LocalDateTime.now().plusMinutes(5))));
+		VerificationStatusService statusService = new VerificationStatusService(repository, meterRegistry, 60_000, 100, 3, 2);
+
+		// Uydurma e-postalarla akış açan istemci kendi IP sınırına takılır
+		for (int i = 0; i < 3; i++) {
+			statusService.subscribe("uydurma" + i + "@toptanstreet.test", "10.6.6.6");
+		}
+		assertThatThrownBy(() -> statusService.subscribe("uydurma3@toptanstreet.test", "10.6.6.6"))
+				.isInstanceOf(RateLimitExceededException.class);
+
+		// Aynı e-postaya farklı IP'lerden açılan akışlar e-posta sınırına takılır
+		statusService.subscribe(EMAIL, "10.0.0.1");
+		statusService.subscribe(EMAIL, "10.0.0.2");
+		assertThatThrownBy(() -> statusService.subscribe(EMAIL, "10.0.0.3"))
+				.isInstanceOf(RateLimitExceededException.class);
+
+		// Reddedilen denemeler sayaç tutmaz; gerçek kullanıcı hâlâ abone olabilir
+		statusService.subscribe("gercek@toptanstreet.test", "10.0.0.3");
+		assertThat(meterRegistry.get("verification.status.subscribers").gauge().value()).isEqualTo(6.0);
+		assertThat(meterRegistry.get("verification.status.rejected").tag("limit", "ip").counter().count()).isEqualTo(1.0);
+		assertThat(meterRegistry.get("verification.status.rejected").tag("limit", "email").counter().count()).isEqualTo(1.0);
+	}
+
+	private double coalesced() {
+		return meterRegistry.get("verification.status.lookups").tag("source", "coalesced").counter().count();
+	}
+
+	private static VerificationCode code(boolean verified, LocalDateTime expiresAt) {
+		return new VerificationCode(1L, EMAIL, "123456", expiresAt, verified);
+	}
+}
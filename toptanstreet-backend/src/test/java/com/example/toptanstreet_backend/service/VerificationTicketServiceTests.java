@@ -0,0 +1,46 @@
+package com.example.toptanstreet_backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerificationTicketServiceTests {
+
+	private static final String SECRET = "test_secret_key_for_toptanstreet_verification_tickets_0123456789";
+	private static final String EMAIL = "magaza@toptanstreet.test";
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final VerificationTicketService ticketService = new VerificationTicketService(meterRegistry, SECRET, 600);
+
+	@Test
+	void acceptsIssuedTicketOnlyForSameEmail() {
+		String ticket = ticketService.issue(EMAIL);
+
+		assertThat(ticketService.isValid(ticket, EMAIL)).isTrue();
+		assertThat(ticketService.isValid(ticket, "baska@toptanstreet.test")).isFalse();
+		assertThat(meterRegistry.get("verification.tickets").tag("outcome", "email_mismatch").counter().count()).isEqualTo(1.0);
+	}
+
+	@Test
+	void rejectsTamperedForeignAndExpiredTickets() {
+		String ticket = ticketService.issue(EMAIL);
+		String[] parts = ticket.split("\\.");
+
+		// Süreyi uzatmak veya e-postayı değiştirmek imzayı bozar
+		assertThat(ticketService.isValid(parts[0] + "." + (Long.parseLong(parts[1]) + 3600) + "." + parts[2], EMAIL)).isFalse();
+		String otherEmail = Base64.getUrlEncoder().withoutPadding().encodeToString("baska@toptanstreet.test".getBytes(StandardCharsets.UTF_8));
+		assertThat(ticketService.isValid(otherEmail + "." + parts[1] + "." + parts[2], "baska@toptanstreet.test")).isFalse();
+		assertThat(ticketService.isValid("bilet-degil", EMAIL)).isFalse();
+
+		VerificationTicketService otherKey = new VerificationTicketService(new SimpleMeterRegistry(), SECRET + "-baska", 600);
+		assertThat(otherKey.isValid(ticket, EMAIL)).isFalse();
+
+		VerificationTicketService expired = new VerificationTicketService(meterRegistry, SECRET, 0);
+		assertThat(expired.isValid(expired.issue(EMAIL), EMAIL)).isFalse();
+		assertThat(meterRegistry.get("verification.tickets").tag("outcome", "expired").counter().count()).isEqualTo(1.0);
+	}
+}
@@ -0,0 +1,30 @@
+package com.example.toptanstreet_backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTests {
+
+	@Test
+	void hasNoFalseNegativesAndStaysNearTargetRate() {
+		BloomFilter filter = new BloomFilter(100_000, 0.01);
+		for (int i = 0; i < 100_000; i++) {
+			filter.add("kullanici" + i + "@toptanstreet.test");
+		}
+
+		for (int i = 0; i < 100_000; i++) {
+			assertThat(filter.mightContain("kullanici" + i + "@toptanstreet.test")).isTrue();
+		}
+
+		int falsePositives = 0;
+		for (int i = 0; i < 100_000; i++) {
+			if (filter.mightContain("yok" + i + "@toptanstreet.test")) {
+				falsePositives++;
+			}
+		}
+		assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+		assertThat(filter.expectedFalsePositiveRate()).isLessThan(0.02);
+	}
+
+}
@@ -0,0 +1,73 @@
+package com.example.toptanstreet_backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvertedIndexTests {
+
+	@Test
+	void foldsTurkishCharactersAndDropsSuffixAfterApostrophe() {
+		assertThat(TurkishTextAnalyzer.tokenize("IŞIK Çağrı'nın ÜRÜNLERİ, 55\" İnç"))
+				.containsExactly("isik", "cagri", "urunleri", "55", "inc");
+
+		InvertedIndex index = new InvertedIndex(3, 1);
+		index.upsert(1, "Işıklı Ayna", null);
+
+		assertThat(ids(index.search("isikli ayna", 10))).containsExactly(1L);
+		assertThat(ids(index.search("IŞIKLI", 10))).containsExactly(1L);
+	}
+
+	@Test
+	void requiresAllTermsAndRanksByFieldWeight() {
+		InvertedIndex index = new InvertedIndex(3, 1);
+		index.upsert(1, "Samsung Televizyon", "Uzaktan kumandalı");
+		index.upsert(2, "Kumanda Pili", "Samsung televizyon ile uyumlu");
+		index.upsert(3, "Samsung Telefon", "Akıllı telefon");
+
+		assertThat(ids(index.search("samsung televizyon ", 10))).containsExactly(1L, 2L);
+		assertThat(ids(index.search("samsung buzdolabı ", 10))).isEmpty();
+		assertThat(ids(index.search("samsung ", 1))).hasSize(1);
+	}
+
+	@Test
+	void expandsLastTermAsPrefixUnlessQueryEndsWithSpace() {
+		InvertedIndex index = new InvertedIndex(1);
+		index.upsert(1, "Samsung televizyon");
+		index.upsert(2, "Sams marka çorap");
+
+		assertThat(ids(index.search("sams", 10))).containsExactlyInAnyOrder(1L, 2L);
+		assertThat(ids(index.search("sams ", 10))).containsExactly(2L);
+		assertThat(ids(index.search("televizyon sam", 10))).containsExactly(1L);
+	}
+
+	@Test
+	void appliesUpdatesAndDeletesIncrementallyAcrossCompactions() {
+		InvertedIndex index = new InvertedIndex(1);
+		for (int i = 0; i < 5_000; i++) {
+			index.upsert(i, "eski ürün " + i);
+		}
+		for (int i = 0; i < 5_000; i += 2) {
+			index.upsert(i, "yeni ürün " + i);
+		}
+		for (int i = 1; i < 5_000; i += 4) {
+			index.remove(i);
+		}
+
+		assertThat(index.getCompactions()).isPositive();
+		assertThat(index.size()).isEqualTo(3_750);
+		assertThat(index.search("yeni ", 10_000)).hasSize(2_500);
+		assertThat(index.search("eski ", 10_000)).hasSize(1_250);
+		assertThat(ids(index.search("eski 2", 10))).isEmpty();
+		assertThat(ids(index.search("yeni 2 ", 10))).containsExactly(2L);
+		assertThat(ids(index.search("eski 3 ", 10))).containsExactly(3L);
+		assertThat(index.remove(1)).isFalse();
+	}
+
+	private static List<Long> ids(List<InvertedIndex.Hit> hits) {
+		return hits.stream().map(InvertedIndex.Hit::getId).toList();
+	}
+
+}
@@ -0,0 +1,40 @@
+package com.example.toptanstreet_backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketRateLimiterTests {
+
+	private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+	private final TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(Duration.ofMinutes(10), 1_000, clock::get);
+	private final TokenBucketRateLimiter.Rule threePerMinute = new TokenBucketRateLimiter.Rule(3, Duration.ofMinutes(1));
+
+	@Test
+	void allowsBurstUpToCapacityThenRefillsOneTokenPerInterval() {
+		assertThat(limiter.tryAcquire("k", threePerMinute)).isZero();
+		assertThat(limiter.tryAcquire("k", threePerMinute)).isZero();
+		assertThat(limiter.tryAcquire("k", threePerMinute)).isZero();
+
+		long wait = limiter.tryAcquire("k", threePerMinute);
+		assertThat(wait).isEqualTo(Duration.ofSeconds(20).toNanos());
+
+		clock.addAndGet(wait);
+		assertThat(limiter.tryAcquire("k", threePerMinute)).isZero();
+		assertThat(limiter.tryAcquire("k", threePerMinute)).isPositive();
+	}
+
+	@Test
+	void keepsKeysIndependent() {
+		for (int i = 0; i < 3; i++) {
+			limiter.tryAcquire("a", threePerMinute);
+		}
+
+		assertThat(limiter.tryAcquire("a", threePerMinute)).isPositive();
+		assertThat(limiter.tryAcquire("b", threePerMinute)).isZero();
+	}
+
+}